@@ -0,0 +1,300 @@
+package org.opentosca.bus.management.api.java;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+import javax.xml.bind.JAXBException;
+import javax.xml.namespace.QName;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.common.SystemException;
+import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
+import org.opentosca.container.core.next.model.PlanType;
+import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.service.ICoreEndpointService;
+import org.opentosca.container.engine.plan.plugin.bpel.BpelPlanEnginePlugin;
+import org.opentosca.planbuilder.export.Exporter;
+import org.opentosca.planbuilder.importer.Importer;
+import org.opentosca.planbuilder.model.plan.bpel.BPELPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the deployed situation adaptation plans, keyed by a hash of the CSAR and the sorted node and relationship
+ * templates of the source and target configuration of the adaptation.
+ * <p>
+ * The cache is filled with the adaptation plans deployed so far when it is first used. Plans that are not found are
+ * generated and deployed once, concurrent requests for the same adaptation wait for that plan. Plans for adaptations
+ * that are likely to be requested next can be prepared in the background, see {@link
+ * Settings#SITUATION_ADAPTATION_PLAN_PREGENERATION}.
+ */
+@Component
+public class AdaptationPlanCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptationPlanCache.class);
+
+    // adaptations waiting to be prepared in the background, further ones are dropped
+    private static final int PREPARATION_QUEUE_CAPACITY = 100;
+
+    private final Importer importer;
+    private final Exporter exporter;
+    private final ICoreEndpointService endpointService;
+    private final BpelPlanEnginePlugin bpelDeployPlugin;
+
+    // hash of the adaptation -> deployed plan, null if the plan could not be deployed
+    private final Map<String, CompletableFuture<AdaptationPlan>> plans = new ConcurrentHashMap<>();
+
+    private final ExecutorService preparation;
+
+    private volatile boolean loaded = false;
+
+    @Inject
+    public AdaptationPlanCache(Importer importer, Exporter exporter, ICoreEndpointService endpointService,
+                               BpelPlanEnginePlugin bpelPlanEnginePlugin) {
+        this.importer = importer;
+        this.exporter = exporter;
+        this.endpointService = endpointService;
+        this.bpelDeployPlugin = bpelPlanEnginePlugin;
+        // single thread, as generating plans is expensive and only meant to use spare capacity
+        this.preparation = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(PREPARATION_QUEUE_CAPACITY),
+            new ThreadFactoryBuilder().setNameFormat("adaptation-plan-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.DiscardPolicy());
+        endpointService.addWSDLEndpointRemovalListener(this::endpointRemoved);
+    }
+
+    /**
+     * Returns the plan adapting the given instance from the source to the target configuration of the given
+     * transition, generating and deploying it first if necessary.
+     *
+     * @return the deployed plan or <code>null</code> if it could not be generated or deployed
+     */
+    public AdaptationPlan getOrCreate(final ServiceTemplateInstance instance, final Transition transition) {
+        ensureLoaded();
+        final String hash = transition.hash(instance.getCsarId());
+        final CompletableFuture<AdaptationPlan> created = new CompletableFuture<>();
+        final CompletableFuture<AdaptationPlan> existing = this.plans.putIfAbsent(hash, created);
+        if (existing != null) {
+            return existing.join();
+        }
+        return create(hash, created, instance, transition);
+    }
+
+    /**
+     * Generates and deploys the plan for the given transition in the background, unless it exists already.
+     */
+    public void prepare(final ServiceTemplateInstance instance, final Transition transition) {
+        this.preparation.execute(() -> {
+            ensureLoaded();
+            final String hash = transition.hash(instance.getCsarId());
+            final CompletableFuture<AdaptationPlan> created = new CompletableFuture<>();
+            if (this.plans.putIfAbsent(hash, created) == null) {
+                LOG.debug("Preparing adaptation plan {} for service template instance {}", hash, instance.getId());
+                create(hash, created, instance, transition);
+            }
+        });
+    }
+
+    private AdaptationPlan create(final String hash, final CompletableFuture<AdaptationPlan> created,
+                                  final ServiceTemplateInstance instance, final Transition transition) {
+        AdaptationPlan plan = null;
+        try {
+            plan = generateAndDeploy(instance, transition);
+        } catch (final RuntimeException e) {
+            LOG.error("Generating adaptation plan failed", e);
+        } finally {
+            if (plan == null) {
+                // let the next request try again
+                this.plans.remove(hash, created);
+            }
+            created.complete(plan);
+        }
+        return plan;
+    }
+
+    private AdaptationPlan generateAndDeploy(final ServiceTemplateInstance instance, final Transition transition) {
+        final CsarId csarId = instance.getCsarId();
+        Path tempFile = null;
+        try {
+            // FIXME the QName conversion of the instance is probably a bad idea
+            final BPELPlan adaptationPlan =
+                (BPELPlan) importer.generateAdaptationPlan(csarId.toOldCsarId(), QName.valueOf(instance.getTemplateId()),
+                    new ArrayList<>(transition.sourceNodeIds), new ArrayList<>(transition.sourceRelationIds),
+                    new ArrayList<>(transition.targetNodeIds), new ArrayList<>(transition.targetRelationIds));
+
+            final PlanType planType = PlanType.fromString(adaptationPlan.getType().toString());
+            final Collection<String> inputs = adaptationPlan.getWsdl().getInputMessageLocalNames();
+            tempFile = Files.createTempFile(adaptationPlan.getId(), ".zip");
+            exporter.exportToPlanFile(tempFile.toUri(), adaptationPlan);
+
+            final Map<String, String> endpointMetadata = transition.toEndpointMetadata();
+            endpointMetadata.put("PLANTYPE", planType.toString());
+            endpointMetadata.put("INPUTS", String.join(",", inputs));
+
+            final QName planId = new QName(tempFile.getFileName().toString());
+            if (!bpelDeployPlugin.deployPlanFile(tempFile, csarId, planId, endpointMetadata)) {
+                LOG.error("Deployment of adaptation plan {} failed", planId);
+                return null;
+            }
+            final WSDLEndpoint endpoint =
+                endpointService.getWSDLEndpointForPlanId(Settings.OPENTOSCA_CONTAINER_HOSTNAME, csarId, planId);
+            return new AdaptationPlan(planId, planType, inputs, endpoint == null ? null : endpoint.getURI());
+        } catch (final SystemException e) {
+            LOG.error("Internal error", e);
+        } catch (final IOException e) {
+            LOG.error("Couldn't read files", e);
+        } catch (final JAXBException e) {
+            LOG.error("Couldn't parse files", e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    // the deployed plan is kept by the plan engine
+                    Files.deleteIfExists(tempFile);
+                } catch (final IOException e) {
+                    LOG.debug("Couldn't delete temporary plan file {}", tempFile, e);
+                }
+            }
+        }
+        return null;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                for (final WSDLEndpoint endpoint : endpointService.getWSDLEndpoints()) {
+                    final Map<String, String> metadata = endpoint.getMetadata();
+                    if (metadata == null || !metadata.containsKey("SOURCENODES") || !metadata.containsKey("PLANTYPE")) {
+                        continue;
+                    }
+                    final Transition transition = new Transition(split(metadata.get("SOURCENODES")),
+                        split(metadata.get("SOURCERELATIONS")), split(metadata.get("TARGETNODES")),
+                        split(metadata.get("TARGETRELATIONS")));
+                    final AdaptationPlan plan = new AdaptationPlan(endpoint.getPlanId(),
+                        PlanType.fromString(metadata.get("PLANTYPE")), split(metadata.get("INPUTS")),
+                        endpoint.getURI());
+                    this.plans.putIfAbsent(transition.hash(endpoint.getCsarId()), CompletableFuture.completedFuture(plan));
+                }
+                loaded = true;
+                LOG.debug("Loaded {} deployed adaptation plans", this.plans.size());
+            }
+        }
+    }
+
+    private void endpointRemoved(final URI uri) {
+        this.plans.values().removeIf(plan -> {
+            final AdaptationPlan deployed = plan.getNow(null);
+            return deployed != null && Objects.equals(deployed.endpoint, uri);
+        });
+    }
+
+    private static Collection<String> split(final String csv) {
+        if (csv == null || csv.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(csv.split(",")).filter(part -> !part.isEmpty()).collect(Collectors.toList());
+    }
+
+    /**
+     * The node and relationship templates of the configurations before and after an adaptation. The order of the
+     * templates is not regarded.
+     */
+    public static final class Transition {
+
+        private final SortedSet<String> sourceNodeIds;
+        private final SortedSet<String> sourceRelationIds;
+        private final SortedSet<String> targetNodeIds;
+        private final SortedSet<String> targetRelationIds;
+
+        public Transition(final Collection<String> sourceNodeIds, final Collection<String> sourceRelationIds,
+                          final Collection<String> targetNodeIds, final Collection<String> targetRelationIds) {
+            this.sourceNodeIds = new TreeSet<>(sourceNodeIds);
+            this.sourceRelationIds = new TreeSet<>(sourceRelationIds);
+            this.targetNodeIds = new TreeSet<>(targetNodeIds);
+            this.targetRelationIds = new TreeSet<>(targetRelationIds);
+        }
+
+        /**
+         * @return <code>true</code> if the source and the target configuration are the same
+         */
+        public boolean isIdentity() {
+            return this.sourceNodeIds.equals(this.targetNodeIds) && this.sourceRelationIds.equals(this.targetRelationIds);
+        }
+
+        String hash(final CsarId csarId) {
+            final String canonical = String.join("\n", csarId.csarName(), String.join(",", this.sourceNodeIds),
+                String.join(",", this.sourceRelationIds), String.join(",", this.targetNodeIds),
+                String.join(",", this.targetRelationIds));
+            return Hashing.sha256().hashString(canonical, StandardCharsets.UTF_8).toString();
+        }
+
+        Map<String, String> toEndpointMetadata() {
+            final Map<String, String> result = new HashMap<>();
+            result.put("SOURCENODES", String.join(",", this.sourceNodeIds));
+            result.put("SOURCERELATIONS", String.join(",", this.sourceRelationIds));
+            result.put("TARGETNODES", String.join(",", this.targetNodeIds));
+            result.put("TARGETRELATIONS", String.join(",", this.targetRelationIds));
+            return result;
+        }
+    }
+
+    /**
+     * A deployed adaptation plan.
+     */
+    public static final class AdaptationPlan {
+
+        private final QName planId;
+        private final PlanType planType;
+        private final Collection<String> inputs;
+        private final URI endpoint;
+
+        AdaptationPlan(final QName planId, final PlanType planType, final Collection<String> inputs,
+                       final URI endpoint) {
+            this.planId = planId;
+            this.planType = planType;
+            this.inputs = Collections.unmodifiableCollection(new ArrayList<>(inputs));
+            this.endpoint = endpoint;
+        }
+
+        public QName getPlanId() {
+            return this.planId;
+        }
+
+        public PlanType getPlanType() {
+            return this.planType;
+        }
+
+        /**
+         * @return the names of the input parameters of the plan
+         */
+        public Collection<String> getInputs() {
+            return this.inputs;
+        }
+    }
+}
@@ -1,51 +1,42 @@
 package org.opentosca.bus.management.api.java;
 
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import javax.xml.bind.JAXBException;
 import javax.xml.namespace.QName;
 
 import org.apache.camel.CamelContext;
-import org.apache.camel.ConsumerTemplate;
 import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.impl.DefaultExchange;
 import org.glassfish.jersey.uri.UriComponent;
 import org.opentosca.bus.management.header.MBHeader;
+import org.opentosca.bus.management.utils.MBThreadPools;
 import org.opentosca.container.core.common.Settings;
-import org.opentosca.container.core.common.SystemException;
 import org.opentosca.container.core.engine.management.IManagementBus;
 import org.opentosca.container.core.model.csar.CsarId;
-import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
 import org.opentosca.container.core.next.model.PlanInstanceInput;
-import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstanceState;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.repository.SituationRepository;
-import org.opentosca.container.core.service.ICoreEndpointService;
+import org.opentosca.container.core.plan.CorrelationIdGenerator;
 import org.opentosca.container.core.tosca.convention.Types;
-import org.opentosca.container.engine.plan.plugin.bpel.BpelPlanEnginePlugin;
-import org.opentosca.planbuilder.export.Exporter;
 import org.opentosca.planbuilder.importer.Importer;
-import org.opentosca.planbuilder.model.plan.bpel.BPELPlan;
 import org.opentosca.planbuilder.model.tosca.AbstractNodeTemplate;
 import org.opentosca.planbuilder.model.tosca.AbstractPolicy;
 import org.opentosca.planbuilder.model.tosca.AbstractRelationshipTemplate;
@@ -77,18 +68,16 @@ public class MBJavaApi implements IManagementBus {
 
     private final CamelContext camelContext;
     private final Importer importer;
-    private final Exporter exporter;
-    private final ICoreEndpointService endpointService;
-    private final BpelPlanEnginePlugin bpelDeployPlugin;
+    private final AdaptationPlanCache adaptationPlans;
+    // template to communicate with the Management Bus, plans are invoked on the bounded pool of the API profile
+    private final ProducerTemplate template;
 
     @Inject
-    public MBJavaApi(CamelContext camelContext, Importer importer, Exporter exporter,
-                     ICoreEndpointService endpointService, BpelPlanEnginePlugin bpelPlanEnginePlugin) {
+    public MBJavaApi(CamelContext camelContext, Importer importer, AdaptationPlanCache adaptationPlans) {
         this.camelContext = camelContext;
         this.importer = importer;
-        this.exporter = exporter;
-        this.endpointService = endpointService;
-        this.bpelDeployPlugin = bpelPlanEnginePlugin;
+        this.adaptationPlans = adaptationPlans;
+        this.template = MBThreadPools.createProducerTemplate(camelContext, MBThreadPools.API);
         LOG.info("Starting direct Java invocation API for Management Bus");
     }
 
@@ -127,10 +116,6 @@ public class MBJavaApi implements IManagementBus {
             LOG.warn("Invocation body is of type: {}", message.getClass());
         }
 
-        // templates to communicate with the Management Bus
-        final ProducerTemplate template = camelContext.createProducerTemplate();
-        final ConsumerTemplate consumer = camelContext.createConsumerTemplate();
-
         LOG.debug("Correlation id: {}", messageID);
         LOG.debug("Sending message {}", message);
 
@@ -138,7 +123,7 @@ public class MBJavaApi implements IManagementBus {
         final Exchange requestExchange = new DefaultExchange(camelContext);
         requestExchange.getIn().setBody(message);
         requestExchange.getIn().setHeaders(headers);
-        // because the JavaAPI never uses any return values from the management bus, we discard the ConsumerTemplate
+        // the JavaAPI never uses any return values from the management bus
         template.asyncSend("direct:invoke", requestExchange);
     }
 
@@ -194,142 +179,72 @@ public class MBJavaApi implements IManagementBus {
         final AbstractTopologyTemplate topology =
             importer.getMainDefinitions(instance.getCsarId().toOldCsarId()).getServiceTemplates().get(0).getTopologyTemplate();
 
+        // the activity of each situation is looked up once for all node templates
+        final Map<Long, Boolean> activeSituations = new HashMap<>();
+        nodeIds2situationIds.values().forEach(situationIds -> situationIds
+            .forEach(situationId -> activeSituations.computeIfAbsent(situationId, this::isSituationActive)));
+
         final ServiceTemplateInstanceConfiguration currentConfig =
             getCurrentServiceTemplateInstanceConfiguration(topology, instance);
         final ServiceTemplateInstanceConfiguration targetConfig =
-            getValidServiceTemplateInstanceConfiguration(topology, nodeIds2situationIds);
-
-        final Collection<String> currentConfigNodeIds =
-            currentConfig.nodeTemplates.stream().map(x -> x.getId()).collect(Collectors.toList());
-        final Collection<String> currentConfigRelationIds =
-            currentConfig.relationshipTemplates.stream().map(x -> x.getId()).collect(Collectors.toList());
+            getValidServiceTemplateInstanceConfiguration(topology, nodeIds2situationIds, activeSituations::get);
 
-        final Collection<String> targetConfigNodeIds =
-            targetConfig.nodeTemplates.stream().map(x -> x.getId()).collect(Collectors.toList());
-        final Collection<String> targetConfigRelationIds =
-            targetConfig.relationshipTemplates.stream().map(x -> x.getId()).collect(Collectors.toList());
-
-        if (currentConfigNodeIds.equals(targetConfigNodeIds)
-            & currentConfigRelationIds.equals(targetConfigRelationIds)) {
+        final AdaptationPlanCache.Transition transition = toTransition(currentConfig, targetConfig);
+        if (transition.isIdentity()) {
             LOG.debug("Current configuration is equal to target configuration, no adaptation is needed");
             return;
         }
 
-        final WSDLEndpoint endpoint = getAdaptationPlanEndpoint(currentConfigNodeIds, currentConfigRelationIds,
-            targetConfigNodeIds, targetConfigRelationIds);
-        final String correlationID = String.valueOf(System.currentTimeMillis());
-        QName planId = null;
-        PlanType planType = null;
-        Map<String, String> inputs = null;
-
-        if (endpoint != null) {
-            planId = endpoint.getPlanId();
-            planType = PlanType.fromString(endpoint.getMetadata().get("PLANTYPE"));
-
-            inputs = new HashMap<>();
+        final AdaptationPlanCache.AdaptationPlan adaptationPlan = adaptationPlans.getOrCreate(instance, transition);
+        if (adaptationPlan == null) {
+            LOG.error("No adaptation plan available for service template instance {}", instance.getId());
+            return;
+        }
 
-            for (final String input : this.toStringCollection(endpoint.getMetadata().get("INPUTS"), ",")) {
-                inputs.put(input, null);
-            }
-        } else {
-            try {
-                // FIXME the QName conversion of the instance is probably a bad idea
-                final BPELPlan adaptationPlan =
-                    (BPELPlan) importer.generateAdaptationPlan(instance.getCsarId().toOldCsarId(), QName.valueOf(instance.getTemplateId()),
-                        currentConfigNodeIds, currentConfigRelationIds,
-                        targetConfigNodeIds, targetConfigRelationIds);
-
-                planType = PlanType.fromString(adaptationPlan.getType().toString());
-                inputs = this.createInput(adaptationPlan);
-                final Path tempFile = Files.createTempFile(adaptationPlan.getId(), ".zip");
-                exporter.exportToPlanFile(tempFile.toUri(), adaptationPlan);
-
-                final Map<String, String> endpointMetadata =
-                    toEndpointMetadata(currentConfigNodeIds, currentConfigRelationIds, targetConfigNodeIds,
-                        targetConfigRelationIds);
-
-                endpointMetadata.put("PLANTYPE", planType.toString());
-                endpointMetadata.put("INPUTS", toCSV(inputs.keySet()));
-
-                planId = new QName(tempFile.getFileName().toString());
-                bpelDeployPlugin.deployPlanFile(tempFile, instance.getCsarId(), planId, endpointMetadata);
-            } catch (final SystemException e) {
-                LOG.error("Internal error", e);
-                return;
-            } catch (final IOException e) {
-                LOG.error("Couldn't read files", e);
-                return;
-            } catch (final JAXBException e) {
-                LOG.error("Couldn't parse files", e);
-                return;
-            }
+        if (Boolean.parseBoolean(Settings.SITUATION_ADAPTATION_PLAN_PREGENERATION)) {
+            prepareNextAdaptationPlans(instance, topology, targetConfig, nodeIds2situationIds, activeSituations);
         }
 
+        final Map<String, String> inputs = new HashMap<>();
+        for (final String input : adaptationPlan.getInputs()) {
+            inputs.put(input, null);
+        }
+        final String correlationID = CorrelationIdGenerator.getInstance().next();
         final Map<String, String> requestBody = createRequestBody(instance.getCsarId(), instance.getTemplateId(),
             instance.getId(), inputs, correlationID);
 
         // FIXME QName natural key replacement leftover!
         invokePlan("adapt", correlationID, instance.getId(), QName.valueOf(instance.getTemplateId()),
-            requestBody, instance.getCsarId(), planId, BPELNS);
+            requestBody, instance.getCsarId(), adaptationPlan.getPlanId(), BPELNS);
     }
 
-    private WSDLEndpoint getAdaptationPlanEndpoint(final Collection<String> sourceNodeIDs,
-                                                   final Collection<String> sourceRelationIDs,
-                                                   final Collection<String> targetNodeIDs,
-                                                   final Collection<String> targetRelationIDs) {
-        for (final WSDLEndpoint endpoint : endpointService.getWSDLEndpoints()) {
-            final Collection<String> sourceNodesMetadata =
-                toStringCollection(endpoint.getMetadata().get("SOURCENODES"), ",");
-            final Collection<String> sourceRelationsMetadata =
-                toStringCollection(endpoint.getMetadata().get("SOURCERELATIONS"), ",");
-            final Collection<String> targetNodesMetadata =
-                toStringCollection(endpoint.getMetadata().get("TARGETNODES"), ",");
-            final Collection<String> targetRelationsMetadata =
-                toStringCollection(endpoint.getMetadata().get("TARGETRELATIONS"), ",");
-
-            if (sourceNodeIDs.equals(sourceNodesMetadata) && sourceRelationIDs.equals(sourceRelationsMetadata)
-                && targetNodeIDs.equals(targetNodesMetadata) && targetRelationIDs.equals(targetRelationsMetadata)) {
-                return endpoint;
+    /**
+     * Prepares the adaptation plans from the given configuration to the configurations resulting from a change of the
+     * activity of a single situation, as these are the adaptations most likely to be requested next.
+     */
+    private void prepareNextAdaptationPlans(final ServiceTemplateInstance instance,
+                                            final AbstractTopologyTemplate topology,
+                                            final ServiceTemplateInstanceConfiguration config,
+                                            final Map<String, Collection<Long>> nodeIds2situationIds,
+                                            final Map<Long, Boolean> activeSituations) {
+        for (final Long changedSituationId : activeSituations.keySet()) {
+            final ServiceTemplateInstanceConfiguration nextConfig =
+                getValidServiceTemplateInstanceConfiguration(topology, nodeIds2situationIds,
+                    situationId -> situationId.equals(changedSituationId) != activeSituations.get(situationId));
+            final AdaptationPlanCache.Transition transition = toTransition(config, nextConfig);
+            if (!transition.isIdentity()) {
+                adaptationPlans.prepare(instance, transition);
             }
         }
-
-        return null;
     }
 
-    private Map<String, String> toEndpointMetadata(final Collection<String> sourceNodeIDs,
-                                                   final Collection<String> sourceRelationIDs,
-                                                   final Collection<String> targetNodeIDs,
-                                                   final Collection<String> targetRelationIDs) {
-        final Map<String, String> result = new HashMap<>();
-
-        result.put("SOURCENODES", toCSV(sourceNodeIDs));
-        result.put("SOURCERELATIONS", toCSV(sourceRelationIDs));
-        result.put("TARGETNODES", toCSV(targetNodeIDs));
-        result.put("TARGETRELATIONS", toCSV(targetRelationIDs));
-
-        return result;
-    }
-
-    private Collection<String> toStringCollection(final String data, final String separator) {
-        Collection<String> result = new ArrayList<>();
-
-        if (data == null || data.isEmpty()) {
-            return result;
-        }
-
-        final String[] split = data.split(separator);
-
-        for (final String part : split) {
-            if (part != null && !part.equals("") && !part.isEmpty()) {
-                result.add(part);
-            }
-        }
-
-        return result;
-    }
-
-    private String toCSV(final Collection<String> strings) {
-        return strings.stream().collect(Collectors.joining(","));
+    private AdaptationPlanCache.Transition toTransition(final ServiceTemplateInstanceConfiguration source,
+                                                        final ServiceTemplateInstanceConfiguration target) {
+        return new AdaptationPlanCache.Transition(
+            source.nodeTemplates.stream().map(AbstractNodeTemplate::getId).collect(Collectors.toList()),
+            source.relationshipTemplates.stream().map(AbstractRelationshipTemplate::getId).collect(Collectors.toList()),
+            target.nodeTemplates.stream().map(AbstractNodeTemplate::getId).collect(Collectors.toList()),
+            target.relationshipTemplates.stream().map(AbstractRelationshipTemplate::getId).collect(Collectors.toList()));
     }
 
     private Set<PlanInstanceInput> toPlanInstanceInputs(final Map<String, String> inputs) {
@@ -338,18 +253,6 @@ public class MBJavaApi implements IManagementBus {
         return result;
     }
 
-    private Map<String, String> createInput(final BPELPlan plan) {
-        final Collection<String> inputs = plan.getWsdl().getInputMessageLocalNames();
-
-        final Map<String, String> result = new HashMap<>();
-
-        for (final String input : inputs) {
-            result.put(input, null);
-        }
-
-        return result;
-    }
-
     private ServiceTemplateInstanceConfiguration getCurrentServiceTemplateInstanceConfiguration(final AbstractTopologyTemplate topology,
                                                                                                 final ServiceTemplateInstance instance) {
 
@@ -385,7 +288,8 @@ public class MBJavaApi implements IManagementBus {
     }
 
     private ServiceTemplateInstanceConfiguration getValidServiceTemplateInstanceConfiguration(final AbstractTopologyTemplate topology,
-                                                                                              final Map<String, Collection<Long>> nodeIds2situationIds) {
+                                                                                              final Map<String, Collection<Long>> nodeIds2situationIds,
+                                                                                              final Predicate<Long> situationActive) {
 
         final Collection<AbstractNodeTemplate> validNodes = new ArrayList<>();
         final Collection<AbstractRelationshipTemplate> validRelations = new ArrayList<>();
@@ -394,14 +298,14 @@ public class MBJavaApi implements IManagementBus {
             final Collection<AbstractPolicy> policies = getPolicies(Types.situationPolicyType, nodeTemplate);
             if (policies.isEmpty()) {
                 validNodes.add(nodeTemplate);
-            } else if (isValidUnderSituations(nodeTemplate, nodeIds2situationIds)) {
+            } else if (isValidUnderSituations(nodeTemplate, nodeIds2situationIds, situationActive)) {
                 validNodes.add(nodeTemplate);
             }
         }
 
         // check if node set is deployable
         final Collection<AbstractNodeTemplate> deployableAndValidNodeSet =
-            getDeployableSubgraph(validNodes, nodeIds2situationIds);
+            getDeployableSubgraph(validNodes, nodeIds2situationIds, situationActive);
         for (final AbstractRelationshipTemplate relations : topology.getRelationshipTemplates()) {
             if (deployableAndValidNodeSet.contains(relations.getSource())
                 & deployableAndValidNodeSet.contains(relations.getTarget())) {
@@ -413,7 +317,8 @@ public class MBJavaApi implements IManagementBus {
     }
 
     private Collection<AbstractNodeTemplate> getDeployableSubgraph(final Collection<AbstractNodeTemplate> nodeTemplates,
-                                                                   final Map<String, Collection<Long>> nodeIds2situationIds) {
+                                                                   final Map<String, Collection<Long>> nodeIds2situationIds,
+                                                                   final Predicate<Long> situationActive) {
         final Set<AbstractNodeTemplate> validDeploymentSubgraph = new HashSet<>(nodeTemplates);
         final Collection<AbstractNodeTemplate> toRemove = new HashSet<>();
 
@@ -424,7 +329,7 @@ public class MBJavaApi implements IManagementBus {
                 boolean foundValidHost = false;
                 for (final AbstractRelationshipTemplate relationshipTemplate : hostingRelations) {
                     final AbstractNodeTemplate hostingNode = relationshipTemplate.getTarget();
-                    if (this.isValidUnderSituations(hostingNode, nodeIds2situationIds)
+                    if (this.isValidUnderSituations(hostingNode, nodeIds2situationIds, situationActive)
                         && nodeTemplates.contains(hostingNode)) {
                         foundValidHost = true;
                         break;
@@ -440,12 +345,13 @@ public class MBJavaApi implements IManagementBus {
             return validDeploymentSubgraph;
         } else {
             validDeploymentSubgraph.removeAll(toRemove);
-            return getDeployableSubgraph(validDeploymentSubgraph, nodeIds2situationIds);
+            return getDeployableSubgraph(validDeploymentSubgraph, nodeIds2situationIds, situationActive);
         }
     }
 
     private boolean isValidUnderSituations(final AbstractNodeTemplate nodeTemplate,
-                                           final Map<String, Collection<Long>> nodeIds2situationIds) {
+                                           final Map<String, Collection<Long>> nodeIds2situationIds,
+                                           final Predicate<Long> situationActive) {
         // check if the situation of the policy is active
         Collection<Long> situationIds = null;
 
@@ -455,7 +361,7 @@ public class MBJavaApi implements IManagementBus {
 
         boolean isValid = true;
         for (final Long sitId : situationIds) {
-            isValid &= isSituationActive(sitId);
+            isValid &= situationActive.test(sitId);
         }
         return isValid;
     }
@@ -0,0 +1,118 @@
+package org.opentosca.bus.management.api.resthttp.processor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.cache.CacheStats;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.component.restlet.RestletConstants;
+import org.json.simple.JSONObject;
+import org.opentosca.bus.management.invocation.plugin.IManagementBusInvocationPluginService;
+import org.opentosca.bus.management.service.impl.PluginRegistry;
+import org.opentosca.bus.management.service.impl.util.IALockRegistry;
+import org.opentosca.bus.management.service.impl.util.InvocationLimiter;
+import org.opentosca.container.core.impl.service.CsarImportStatistics;
+import org.opentosca.container.core.impl.service.CsarStorageServiceImpl;
+import org.opentosca.container.core.model.csar.CsarModelCache;
+import org.restlet.Response;
+import org.restlet.data.MediaType;
+import org.restlet.data.Status;
+
+/**
+ * StatisticsResponseProcessor of the Management Bus REST-API.<br>
+ * <br>
+ * <p>
+ * This processor answers "statistics" requests with the lock wait times per IA, the invocations per target host and
+ * the statistics of the invocation plug-ins, of the cache of parsed CSAR models and of the CSAR imports.
+ */
+public class StatisticsResponseProcessor implements Processor {
+
+    private final IALockRegistry iaLocks;
+    private final InvocationLimiter invocationLimiter;
+    private final PluginRegistry pluginRegistry;
+    private final CsarStorageServiceImpl csarStorage;
+
+    public StatisticsResponseProcessor(final IALockRegistry iaLocks, final InvocationLimiter invocationLimiter,
+                                       final PluginRegistry pluginRegistry, final CsarStorageServiceImpl csarStorage) {
+        this.iaLocks = iaLocks;
+        this.invocationLimiter = invocationLimiter;
+        this.pluginRegistry = pluginRegistry;
+        this.csarStorage = csarStorage;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void process(final Exchange exchange) throws Exception {
+
+        final JSONObject lockWaits = new JSONObject();
+        for (final Map.Entry<String, IALockRegistry.WaitStatistics> entry : iaLocks.getWaitStatistics().entrySet()) {
+            final IALockRegistry.WaitStatistics statistics = entry.getValue();
+            final JSONObject ia = new JSONObject();
+            ia.put("acquisitions", statistics.getAcquisitions());
+            ia.put("totalWaitMillis", statistics.getTotalWaitMillis());
+            ia.put("meanWaitMillis", statistics.getMeanWaitMillis());
+            ia.put("maxWaitMillis", statistics.getMaxWaitMillis());
+            lockWaits.put(entry.getKey(), ia);
+        }
+
+        final JSONObject invocations = new JSONObject();
+        for (final Map.Entry<String, InvocationLimiter.Target> entry : invocationLimiter.getStatistics().entrySet()) {
+            final InvocationLimiter.Target statistics = entry.getValue();
+            final JSONObject target = new JSONObject();
+            target.put("invocations", statistics.getInvocations());
+            target.put("rejections", statistics.getRejections());
+            target.put("active", statistics.getActive());
+            target.put("waiting", statistics.getWaiting());
+            invocations.put(entry.getKey(), target);
+        }
+
+        // a plug-in is registered once per supported invocation type
+        final Map<String, IManagementBusInvocationPluginService> invocationPluginServices = pluginRegistry.getInvocationPluginServices();
+        final List<IManagementBusInvocationPluginService> invocationPlugins;
+        synchronized (invocationPluginServices) {
+            invocationPlugins = new ArrayList<>(new LinkedHashSet<>(invocationPluginServices.values()));
+        }
+        final JSONObject plugins = new JSONObject();
+        for (final IManagementBusInvocationPluginService plugin : invocationPlugins) {
+            final Map<String, Object> statistics = plugin.getStatistics();
+            if (!statistics.isEmpty()) {
+                plugins.put(plugin.getClass().getSimpleName(), statistics);
+            }
+        }
+
+        final CsarModelCache modelCache = csarStorage.modelCache();
+        final CacheStats modelCacheStats = modelCache.stats();
+        final JSONObject csarModels = new JSONObject();
+        csarModels.put("models", modelCache.size());
+        csarModels.put("definitions", modelCache.footprint());
+        csarModels.put("hits", modelCacheStats.hitCount());
+        csarModels.put("misses", modelCacheStats.missCount());
+        csarModels.put("evictions", modelCacheStats.evictionCount());
+
+        final CsarImportStatistics importStatistics = csarStorage.importStatistics();
+        final JSONObject csarImports = new JSONObject();
+        csarImports.put("uploads", importStatistics.getUploads());
+        csarImports.put("uploadedBytes", importStatistics.getUploadedBytes());
+        csarImports.put("uploadBytesPerSecond", importStatistics.getUploadThroughput());
+        csarImports.put("imports", importStatistics.getImports());
+        csarImports.put("failedImports", importStatistics.getFailedImports());
+        csarImports.put("totalImportMillis", importStatistics.getTotalImportMillis());
+        csarImports.put("totalImportLockWaitMillis", importStatistics.getTotalImportLockWaitMillis());
+
+        final JSONObject obj = new JSONObject();
+        obj.put("heldLocks", iaLocks.size());
+        obj.put("lockWaits", lockWaits);
+        obj.put("invocations", invocations);
+        obj.put("plugins", plugins);
+        obj.put("csarModels", csarModels);
+        obj.put("csarImports", csarImports);
+
+        final Response response = exchange.getIn().getHeader(RestletConstants.RESTLET_RESPONSE, Response.class);
+        response.setStatus(Status.SUCCESS_OK);
+        response.setEntity(obj.toJSONString(), MediaType.APPLICATION_JSON);
+        exchange.getOut().setBody(response);
+    }
+}
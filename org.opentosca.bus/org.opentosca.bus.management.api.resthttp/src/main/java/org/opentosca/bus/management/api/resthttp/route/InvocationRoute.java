@@ -14,6 +14,7 @@ import org.opentosca.bus.management.api.resthttp.processor.InvocationRequestProc
 import org.opentosca.bus.management.api.resthttp.processor.InvocationResponseProcessor;
 import org.opentosca.bus.management.header.MBHeader;
 import org.opentosca.bus.management.service.IManagementBusService;
+import org.opentosca.bus.management.utils.MBThreadPools;
 import org.springframework.stereotype.Component;
 
 /**
@@ -80,10 +81,10 @@ public class InvocationRoute extends RouteBuilder {
             .end()
             .removeHeaders("*");
 
-        // route if no exception was caught
+        // route if no exception was caught, requests are passed on to the management bus on a bounded thread pool
         from("direct:invoke")
             .setHeader(MANAGEMENT_BUS_REQUEST_ID_HEADER, method(RequestID.class, "getNextID"))
-            .wireTap("direct:toManagementBus").end().to("direct:init").process(invocationResponseProcessor);
+            .wireTap("direct:toManagementBus").executorService(MBThreadPools.getExecutorService(getContext(), MBThreadPools.API)).end().to("direct:init").process(invocationResponseProcessor);
 
         // route in case an exception was caught
         from("direct:exception").setBody(property(Exchange.EXCEPTION_CAUGHT)).process(exceptionProcessor);
@@ -0,0 +1,57 @@
+package org.opentosca.bus.management.api.resthttp.route;
+
+import javax.inject.Inject;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.opentosca.bus.management.api.resthttp.processor.ExceptionProcessor;
+import org.opentosca.bus.management.api.resthttp.processor.StatisticsResponseProcessor;
+import org.opentosca.bus.management.service.impl.PluginRegistry;
+import org.opentosca.bus.management.service.impl.util.IALockRegistry;
+import org.opentosca.bus.management.service.impl.util.InvocationLimiter;
+import org.opentosca.container.core.impl.service.CsarStorageServiceImpl;
+import org.springframework.stereotype.Component;
+
+/**
+ * StatisticsRoute of the Management Bus REST-API.<br>
+ * <br>
+ * <p>
+ * The "statistics" endpoint of the REST-API is created here. It reports how long invocations waited for the locks of
+ * the IAs, how many invocations of each target host are running, waiting or were rejected and the statistics of the
+ * invocation plug-ins, as well as the hits and misses of the cache of parsed CSAR models and the throughput of CSAR
+ * uploads and imports.
+ */
+@Component
+public class StatisticsRoute extends RouteBuilder {
+
+    public static final String STATISTICS_ENDPOINT = "/ManagementBus/v1/statistics";
+
+    private final IALockRegistry iaLocks;
+    private final InvocationLimiter invocationLimiter;
+    private final PluginRegistry pluginRegistry;
+    private final CsarStorageServiceImpl csarStorage;
+
+    @Inject
+    public StatisticsRoute(IALockRegistry iaLocks, InvocationLimiter invocationLimiter, PluginRegistry pluginRegistry,
+                           CsarStorageServiceImpl csarStorage) {
+        this.iaLocks = iaLocks;
+        this.invocationLimiter = invocationLimiter;
+        this.pluginRegistry = pluginRegistry;
+        this.csarStorage = csarStorage;
+    }
+
+    @Override
+    public void configure() throws Exception {
+
+        final StatisticsResponseProcessor statisticsResponseProcessor =
+            new StatisticsResponseProcessor(iaLocks, invocationLimiter, pluginRegistry, csarStorage);
+        final ExceptionProcessor exceptionProcessor = new ExceptionProcessor();
+
+        // handle exceptions
+        onException(Exception.class).handled(true).setBody(property(Exchange.EXCEPTION_CAUGHT))
+            .process(exceptionProcessor);
+
+        from("restlet:" + InvocationRoute.BASE_ENDPOINT + STATISTICS_ENDPOINT + "?restletMethod=get")
+            .process(statisticsResponseProcessor).removeHeaders("*");
+    }
+}
@@ -1,11 +1,11 @@
 package org.opentosca.bus.management.deployment.plugin.tomcat;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,7 +14,6 @@ import javax.xml.namespace.QName;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -26,6 +25,8 @@ import org.apache.http.entity.mime.content.FileBody;
 import org.opentosca.bus.management.deployment.plugin.IManagementBusDeploymentPluginService;
 import org.opentosca.bus.management.header.MBHeader;
 import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.service.ArtifactContentService;
 import org.opentosca.container.core.service.IHTTPService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,10 +75,12 @@ public class ManagementBusDeploymentPluginTomcat implements IManagementBusDeploy
     private static final Logger LOG = LoggerFactory.getLogger(ManagementBusDeploymentPluginTomcat.class);
 
     private final IHTTPService httpService;
+    private final ArtifactContentService artifactContentService;
 
     @Inject
-    public ManagementBusDeploymentPluginTomcat(IHTTPService httpService) {
+    public ManagementBusDeploymentPluginTomcat(IHTTPService httpService, ArtifactContentService artifactContentService) {
         this.httpService = httpService;
+        this.artifactContentService = artifactContentService;
     }
 
     @Override
@@ -96,8 +99,10 @@ public class ManagementBusDeploymentPluginTomcat implements IManagementBusDeploy
             return exchange;
         }
 
-        // get the WAR artifact as file
-        final File warFile = getWarFile(warURL);
+        // get the WAR artifact as file, the header holds the id of the CSAR, for requests of other containers in
+        // its legacy representation
+        final Object csarID = message.getHeader(MBHeader.CSARID.toString());
+        final Path warFile = csarID == null ? null : getWarFile(new CsarId(csarID.toString()), warURL);
         if (warFile == null) {
             LOG.error("Deployment failed: unable to retrieve WAR-File from URL");
             message.setHeader(MBHeader.ENDPOINT_URI.toString(), null);
@@ -165,10 +170,6 @@ public class ManagementBusDeploymentPluginTomcat implements IManagementBusDeploy
             }
         }
 
-        // delete the temporary file
-        // it's not terrible if we don't get to clean this up, it will be deleted once the JVM terminates or we overwrite it
-        warFile.delete();
-
         // set endpoint and pass camel exchange back to caller
         message.setHeader(MBHeader.ENDPOINT_URI.toString(), getURI(endpoint));
         return exchange;
@@ -303,23 +304,21 @@ public class ManagementBusDeploymentPluginTomcat implements IManagementBusDeploy
     }
 
     /**
-     * Retrieve the WAR-File from the given URL and store it as local temp file.
+     * Retrieve the WAR-File from the given URL. If the file is stored by this container it is used directly, otherwise
+     * it is downloaded unless it was already downloaded before.
      *
+     * @param csarID the CSAR containing the WAR-File
      * @param warURL the URL to the WAR-File that shall be retrieved
-     * @return the file if retrieval was successful, <tt>null</tt> otherwise
+     * @return the file if retrieval was successful, <tt>null</tt> otherwise. The file must not be modified or deleted.
      */
-    private File getWarFile(final URL warURL) {
+    private Path getWarFile(final CsarId csarID, final URL warURL) {
         LOG.info("Trying to retrieve WAR-File from URL: {}", warURL);
 
         if (warURL == null) {
             return null;
         }
         try {
-            // store WAR artifact as temporary file
-            final File tempFile = File.createTempFile("Artifact", ".war");
-            tempFile.deleteOnExit();
-            FileUtils.copyURLToFile(warURL, tempFile);
-            return tempFile;
+            return this.artifactContentService.getArtifact(csarID, warURL);
         } catch (final IOException e) {
             LOG.error("Failed to retrieve WAR-File: {}", e.getMessage());
         }
@@ -338,7 +337,7 @@ public class ManagementBusDeploymentPluginTomcat implements IManagementBusDeploy
      *                            unique path where the WAR is deployed
      * @param fileName            the file name which is part of the deployment path
      */
-    private String deployWAROnTomcat(final File warFile, final String triggeringContainer,
+    private String deployWAROnTomcat(final Path warFile, final String triggeringContainer,
                                      final QName typeImplementation, final String fileName) {
 
         if (triggeringContainer == null) {
@@ -357,10 +356,10 @@ public class ManagementBusDeploymentPluginTomcat implements IManagementBusDeploy
         final String deploymentURL =
             Settings.ENGINE_IA_TOMCAT_URL + "/manager/text/deploy?update=true&path=" + deployPath;
 
-        // create HttpEntity which contains the WAR-File
+        // create HttpEntity which streams the WAR-File from disk while the request is sent
         final MultipartEntityBuilder builder = MultipartEntityBuilder.create();
         builder.setMode(HttpMultipartMode.BROWSER_COMPATIBLE);
-        final FileBody fileBody = new FileBody(warFile);
+        final FileBody fileBody = new FileBody(warFile.toFile());
         builder.addPart(fileName + ".war", fileBody);
         final HttpEntity entity = builder.build();
 
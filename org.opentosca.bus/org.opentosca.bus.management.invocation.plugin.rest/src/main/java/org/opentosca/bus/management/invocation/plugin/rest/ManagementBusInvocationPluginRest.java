@@ -26,6 +26,7 @@ import org.opentosca.bus.management.invocation.plugin.IManagementBusInvocationPl
 import org.opentosca.bus.management.invocation.plugin.rest.model.ContentType;
 import org.opentosca.bus.management.invocation.plugin.rest.model.DataAssign;
 import org.opentosca.bus.management.invocation.plugin.rest.model.DataAssign.Operations.Operation;
+import org.opentosca.bus.management.utils.MBThreadPools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -64,11 +65,12 @@ public class ManagementBusInvocationPluginRest implements IManagementBusInvocati
     private static final String CONTENTTYPE = "urlencoded";
     private static final String METHOD = "POST";
 
-    private final CamelContext camelContext;
+    // reused for all invocations, a template is thread-safe but expensive to create
+    private final ProducerTemplate template;
 
     @Inject
     public ManagementBusInvocationPluginRest(@Named("fallback") CamelContext camelContext) {
-        this.camelContext = camelContext;
+        this.template = MBThreadPools.createProducerTemplate(camelContext, MBThreadPools.INVOCATION);
     }
 
     @SuppressWarnings("unchecked")
@@ -129,7 +131,6 @@ public class ManagementBusInvocationPluginRest implements IManagementBusInvocati
             }
         }
 
-        final ProducerTemplate template = camelContext.createProducerTemplate();
         // the dummyhost uri is ignored, so this is ugly but intended
 
         // deployment of plan may be not finished at this point, thus, poll for successful invocation
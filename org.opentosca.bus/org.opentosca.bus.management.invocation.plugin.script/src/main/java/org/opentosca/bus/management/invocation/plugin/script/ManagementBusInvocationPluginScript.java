@@ -4,9 +4,13 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -28,15 +32,19 @@ import org.eclipse.winery.model.tosca.TRelationshipTemplate;
 import org.eclipse.winery.model.tosca.TRelationshipType;
 import org.eclipse.winery.model.tosca.TServiceTemplate;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.ProducerTemplate;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opentosca.bus.management.header.MBHeader;
 import org.opentosca.bus.management.invocation.plugin.IManagementBusInvocationPluginService;
 import org.opentosca.bus.management.invocation.plugin.script.typeshandler.ArtifactTypesHandler;
+import org.opentosca.bus.management.utils.MBThreadPools;
 import org.opentosca.bus.management.utils.MBUtils;
 import org.opentosca.container.core.common.NotFoundException;
 import org.opentosca.container.core.common.Settings;
@@ -74,6 +82,7 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
     final private static String PLACEHOLDER_DA_INPUT_PARAMETER = "{INPUT_PARAMETER}";
 
     final private static String RUN_SCRIPT_OUTPUT_PARAMETER_NAME = "ScriptResult";
+    final private static String FAULT_PARAMETER_NAME = "Fault";
 
     final private static Logger LOG = LoggerFactory.getLogger(ManagementBusInvocationPluginScript.class);
 
@@ -81,14 +90,21 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
     private final CsarStorageService storage;
     private final ContainerEngine containerEngine;
 
-    private final CamelContext camelContext;
+    // reused for all invocations, a template is thread-safe but expensive to create
+    private final ProducerTemplate template;
+
+    // packages installed per operating system node template instance, identified by its id
+    private final Cache<Long, Set<String>> installedPackages = CacheBuilder.newBuilder()
+        .maximumSize(Long.parseLong(Settings.SCRIPT_INSTALLED_PACKAGES_MAX_INSTANCES))
+        .expireAfterAccess(Long.parseLong(Settings.SCRIPT_INSTALLED_PACKAGES_EXPIRY_HOURS), TimeUnit.HOURS)
+        .build();
 
     @Inject
     public ManagementBusInvocationPluginScript(ArtifactTypesHandler typesHandler, CsarStorageService storage, ContainerEngine containerEngine, @Named("fallback") CamelContext camelContext) {
         this.typesHandler = typesHandler;
         this.storage = storage;
         this.containerEngine = containerEngine;
-        this.camelContext = camelContext;
+        this.template = MBThreadPools.createProducerTemplate(camelContext, MBThreadPools.INVOCATION);
     }
 
     @Override
@@ -145,10 +161,11 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
             return exchange;
         }
 
+        NodeTemplateInstance osInstance = MBUtils.getNodeTemplateInstance(serviceTemplateInstanceId, osNodeTemplate);
         if (osNodeTemplate.getType().equals(Types.abstractOperatingSystemNodeType)) {
-            final NodeTemplateInstance abstractOSInstance = MBUtils.getNodeTemplateInstance(serviceTemplateInstanceId, osNodeTemplate);
-            final NodeTemplateInstance replacementInstance = MBUtils.getAbstractOSReplacementInstance(abstractOSInstance);
+            final NodeTemplateInstance replacementInstance = MBUtils.getAbstractOSReplacementInstance(osInstance);
             if (replacementInstance != null) {
+                osInstance = replacementInstance;
                 // overwrite computed intermediate result based on replacement
                 csar = storage.findById(replacementInstance.getServiceTemplateInstance().getCsarId());
                 serviceTemplate = ToscaEngine.resolveServiceTemplate(csar, replacementInstance.getServiceTemplateInstance().getTemplateId());
@@ -178,9 +195,9 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
         headers.put(MBHeader.SERVICEINSTANCEID_URI.toString(), serviceInstanceID);
         headers.put(MBHeader.NODEINSTANCEID_STRING.toString(), nodeInstanceID);
 
-        // install packages
+        // install packages, unless a previous invocation already installed them on the same OS
         LOG.debug("Installing packages...");
-        installPackages(artifactType, headers);
+        installPackages(artifactType, osInstance, headers);
         LOG.debug("Packages installed.");
 
         // get list of artifacts
@@ -193,22 +210,31 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
         final Map<String, String> resultMap = new HashMap<>();
         final String targetBasePath = "~/" + csarID.csarName();
 
-        // upload and execute all contained artifacts
+        // the artifacts are executed with a single remote command after all of them have been uploaded, so only the
+        // transfers themselves need a round trip per artifact
+        final Set<String> targetFolderPaths = new LinkedHashSet<>();
+        final List<String> targetFilePaths = new ArrayList<>();
         for (final TArtifactReference artifactRef : artifactReferences) {
-            final String fileSource = Settings.CONTAINER_API + "/csars/" + csarID.csarName() + "/content/" + artifactRef.getReference();
             final String targetFilePath = targetBasePath + "/" + artifactRef.getReference();
+            targetFilePaths.add(targetFilePath);
+            targetFolderPaths.add(FilenameUtils.getFullPathNoEndSeparator(targetFilePath));
+        }
+        if (!targetFolderPaths.isEmpty()) {
+            // create all directories before uploading the files
+            runScript("mkdir -p " + String.join(" ", targetFolderPaths), headers);
+        }
+
+        final List<String> commands = new ArrayList<>();
+        for (int i = 0; i < artifactReferences.size(); i++) {
+            final TArtifactReference artifactRef = artifactReferences.get(i);
+            final String fileSource = Settings.CONTAINER_API + "/csars/" + csarID.csarName() + "/content/" + artifactRef.getReference();
+            final String targetFilePath = targetFilePaths.get(i);
             final String targetFileFolderPath = FilenameUtils.getFullPathNoEndSeparator(targetFilePath);
-            final String createDirCommand = "sleep 1 && mkdir -p " + targetFileFolderPath;
 
             LOG.debug("Uploading file: {}", fileSource);
-            // create directory before uploading file
-            runScript(createDirCommand, headers);
-            // upload file
             transferFile(fileSource, targetFilePath, headers);
             LOG.debug("File successfully uploaded.");
 
-            // run script
-            LOG.debug("Running script...");
             final String fileNameWithE = FilenameUtils.getName(targetFilePath);
             final String fileNameWithoutE = FilenameUtils.getBaseName(targetFilePath);
 
@@ -225,12 +251,20 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
 
             if (!Boolean.valueOf(Settings.OPENTOSCA_ENGINE_IA_KEEPFILES)) {
                 // delete the uploaded file on the remote site to save resources
-                final String deleteFileCommand = "; rm -f " + targetFilePath;
-                artifactTypeSpecificCommand = artifactTypeSpecificCommand + deleteFileCommand;
+                artifactTypeSpecificCommand = artifactTypeSpecificCommand + "; rm -f " + targetFilePath;
             }
+            commands.add(artifactTypeSpecificCommand);
+        }
 
-            LOG.debug("Final command for the script execution: {}", artifactTypeSpecificCommand);
-            final Object result = runScript(artifactTypeSpecificCommand, headers);
+        if (!commands.isEmpty()) {
+            if (!Boolean.valueOf(Settings.OPENTOSCA_ENGINE_IA_KEEPFILES)) {
+                // remove the created directories
+                commands.add("find " + targetBasePath + " -empty -type d -delete");
+            }
+            final String batchCommand = String.join("; ", commands);
+            LOG.debug("Running script...");
+            LOG.debug("Final command for the script execution: {}", batchCommand);
+            final Object result = runScript(batchCommand, headers);
             LOG.debug("Script execution result: {}", result);
 
             // check for output parameters in the script result and add them to the
@@ -238,13 +272,6 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
             addOutputParametersToResultMap(resultMap, result, operation);
         }
 
-        if (!Boolean.valueOf(Settings.OPENTOSCA_ENGINE_IA_KEEPFILES)) {
-            // remove the created directories
-            LOG.debug("Deleting directories...");
-            final String deleteDirsCommand = "find " + targetBasePath + " -empty -type d -delete";
-            runScript(deleteDirsCommand, headers);
-        }
-
         LOG.debug("All artifacts are executed. Returning result to the Management Bus...");
 
         // create dummy response in case there are no output parameters
@@ -389,21 +416,41 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
 
     /**
      * Installs required and specified packages of the specified ArtifactType. Required packages are in defined the
-     * corresponding *.xml file.
+     * corresponding *.xml file. Packages that have already been installed on the given operating system instance are
+     * skipped. Without an instance, all required packages are installed.
      */
-    private void installPackages(final TArtifactType artifactType, final Map<String, Object> headers) {
+    private void installPackages(final TArtifactType artifactType, @Nullable final NodeTemplateInstance osInstance,
+                                 final Map<String, Object> headers) {
         final List<String> requiredPackages = typesHandler.getRequiredPackages(artifactType.getQName());
         if (requiredPackages.isEmpty()) {
-            LOG.debug("ArtifactType: {} needs no packages to install.", requiredPackages, artifactType);
+            LOG.debug("ArtifactType: {} needs no packages to install.", artifactType);
             return;
         }
-        final String requiredPackagesString = String.join(" ", requiredPackages);
+        final Set<String> installed = osInstance == null
+            ? ConcurrentHashMap.newKeySet()
+            : installedPackages.asMap().computeIfAbsent(osInstance.getId(), k -> ConcurrentHashMap.newKeySet());
+        final List<String> missingPackages = requiredPackages.stream()
+            .filter(requiredPackage -> !installed.contains(requiredPackage))
+            .collect(Collectors.toList());
+        if (missingPackages.isEmpty()) {
+            LOG.debug("Packages: {} for ArtifactType: {} are already installed on {}", requiredPackages, artifactType, osInstance);
+            return;
+        }
+        final String requiredPackagesString = String.join(" ", missingPackages);
         final Map<String, String> inputParamsMap = new HashMap<>();
         inputParamsMap.put(Interfaces.OPENTOSCA_DECLARATIVE_INTERFACE_OPERATINGSYSTEM_PARAMETER_PACKAGENAMES, requiredPackagesString);
 
-        LOG.debug("Installing packages: {} for ArtifactType: {} ", requiredPackages, artifactType);
+        LOG.debug("Installing packages: {} for ArtifactType: {} ", missingPackages, artifactType);
         headers.put(MBHeader.OPERATIONNAME_STRING.toString(), Interfaces.OPENTOSCA_DECLARATIVE_INTERFACE_OPERATINGSYSTEM_INSTALLPACKAGE);
-        invokeManagementBusEngine(inputParamsMap, headers);
+        final Object response = invokeManagementBusEngine(inputParamsMap, headers);
+
+        // failed or rejected invocations of the operating system IA respond with a fault
+        if (response instanceof Map<?, ?> && !((Map<?, ?>) response).containsKey(FAULT_PARAMETER_NAME)) {
+            installed.addAll(missingPackages);
+        } else {
+            LOG.warn("Installing packages: {} for ArtifactType: {} failed, they are installed again next time: {}",
+                missingPackages, artifactType, response);
+        }
     }
 
     /**
@@ -538,7 +585,6 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
                                              final Map<String, Object> headers) {
         LOG.debug("Invoking the Management Bus...");
 
-        final ProducerTemplate template = camelContext.createProducerTemplate();
         final Object response = template.requestBodyAndHeaders("bean:managementBusService?method=invokeIA", paramsMap, headers);
         LOG.debug("Invocation finished: {}", response);
         return response;
@@ -0,0 +1,116 @@
+package org.opentosca.bus.management.invocation.plugin.soaphttp;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+
+/**
+ * Correlates the callbacks of asynchronously invoked services with the invocations waiting for them.<br>
+ * <br>
+ * <p>
+ * Copyright 2020 IAAS University of Stuttgart <br>
+ * <br>
+ * <p>
+ * Every asynchronous invocation registers its message id and receives a future that is completed with the body of the
+ * matching callback. Futures that are not completed within their timeout fail with a {@link TimeoutException} and are
+ * removed from the registry, so lost callbacks do not leak.
+ */
+public class CallbackRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CallbackRegistry.class);
+
+    private final Map<String, CompletableFuture<Document>> pending = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService timeouts = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "soaphttp-callback-timeouts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder unmatched = new LongAdder();
+
+    /**
+     * Registers an invocation that waits for the callback with the given message id.
+     *
+     * @return a future completed with the body of the callback or exceptionally after the given timeout
+     */
+    public CompletableFuture<Document> register(final String messageId, final long timeout, final TimeUnit unit) {
+        final CompletableFuture<Document> callback = new CompletableFuture<>();
+        if (pending.putIfAbsent(messageId, callback) != null) {
+            throw new IllegalStateException("An invocation with MessageID " + messageId + " is already waiting for a callback");
+        }
+        final ScheduledFuture<?> timeoutTask = timeouts.schedule(() -> {
+            if (pending.remove(messageId, callback)
+                && callback.completeExceptionally(new TimeoutException("No callback received for MessageID " + messageId))) {
+                timedOut.increment();
+                LOG.warn("Callback for MessageID {} timed out after {} {}", messageId, timeout, unit);
+            }
+        }, timeout, unit);
+        // don't keep the timeout task around once the callback arrived
+        callback.whenComplete((result, error) -> timeoutTask.cancel(false));
+        return callback;
+    }
+
+    /**
+     * Completes the invocation waiting for the given message id with the body of its callback.
+     *
+     * @return <code>true</code> if an invocation was waiting for the callback
+     */
+    public boolean complete(final String messageId, final Document body) {
+        final CompletableFuture<Document> callback = pending.remove(messageId);
+        if (callback == null) {
+            unmatched.increment();
+            LOG.warn("Received callback for MessageID {} which no invocation is waiting for", messageId);
+            return false;
+        }
+        completed.increment();
+        return callback.complete(body);
+    }
+
+    /**
+     * Stops waiting for the callback of the given message id, e.g. because the invocation has been aborted.
+     */
+    public void cancel(final String messageId) {
+        final CompletableFuture<Document> callback = pending.remove(messageId);
+        if (callback != null) {
+            callback.cancel(false);
+        }
+    }
+
+    /**
+     * @return the message ids of all invocations currently waiting for their callback
+     */
+    public Set<String> getPendingMessageIds() {
+        return Collections.unmodifiableSet(pending.keySet());
+    }
+
+    public int getInFlight() {
+        return pending.size();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    public long getUnmatched() {
+        return unmatched.sum();
+    }
+}
@@ -1,12 +1,14 @@
 package org.opentosca.bus.management.invocation.plugin.soaphttp;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 import javax.wsdl.Binding;
@@ -14,25 +16,25 @@ import javax.wsdl.BindingOperation;
 import javax.wsdl.Definition;
 import javax.wsdl.Port;
 import javax.wsdl.Service;
-import javax.wsdl.WSDLException;
-import javax.wsdl.factory.WSDLFactory;
-import javax.wsdl.xml.WSDLReader;
 import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPathVariableResolver;
 
+import com.google.common.cache.CacheStats;
 import org.apache.camel.CamelContext;
-import org.apache.camel.ConsumerTemplate;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.ProducerTemplate;
 import org.opentosca.bus.management.header.MBHeader;
 import org.opentosca.bus.management.invocation.plugin.IManagementBusInvocationPluginService;
 import org.opentosca.bus.management.invocation.plugin.soaphttp.route.AsyncRoute;
+import org.opentosca.bus.management.utils.MBThreadPools;
 import org.opentosca.bus.management.utils.MBUtils;
+import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.service.ICoreEndpointService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -64,17 +66,41 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
         CALLBACK, REQUEST_RESPONSE, REQUEST_ONLY
     }
 
-    private static Map<String, Exchange> EXCHANGE_MAP = Collections.synchronizedMap(new HashMap<String, Exchange>());
+    private static final CallbackRegistry CALLBACKS = new CallbackRegistry();
+    private static final long CALLBACK_TIMEOUT_MINUTES = Long.parseLong(Settings.SOAP_CALLBACK_TIMEOUT_MINUTES);
 
-    private final CamelContext camelContext;
+    // reused for all invocations, a template is thread-safe but expensive to create
+    private final ProducerTemplate template;
+    private final WsdlDefinitionCache wsdlCache = new WsdlDefinitionCache();
 
     @Inject
-    public ManagementBusInvocationPluginSoapHttp(CamelContext camelContext) {
-        this.camelContext = camelContext;
+    public ManagementBusInvocationPluginSoapHttp(CamelContext camelContext, ICoreEndpointService endpointService) {
+        this.template = MBThreadPools.createProducerTemplate(camelContext, MBThreadPools.INVOCATION);
+        // parsed WSDLs of undeployed IAs must not be used for IAs deployed at the same endpoint later on
+        endpointService.addWSDLEndpointRemovalListener(uri -> wsdlCache.invalidate(uri.toString()));
     }
 
     @Override
     public Exchange invoke(Exchange exchange) {
+        try {
+            return invokeAsync(exchange).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while waiting for the response of the invocation. Invocation aborted.");
+            return null;
+        } catch (final ExecutionException e) {
+            LOG.error("Invocation failed.", e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Invokes the service like {@link #invoke(Exchange)}. For the CALLBACK pattern, the returned future is completed by
+     * the callback, so no thread waits for the response of the service. If no callback arrives within the configured
+     * timeout, the future fails with a {@link java.util.concurrent.TimeoutException}.
+     */
+    @Override
+    public CompletableFuture<Exchange> invokeAsync(Exchange exchange) {
         final Message message = exchange.getIn();
 
         final Object params = message.getBody();
@@ -99,14 +125,15 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
         MessagingPattern messagingPattern = null;
         LOG.info("Creating invocation message.");
         if (params instanceof HashMap) {
-            Definition wsdl = pullWsdlDefinitions(endpoint);
-            BindingOperation operation = findOperation(wsdl, operationName);
-            if (operation == null) {
+            final WsdlDefinitionCache.WsdlDescription wsdl = wsdlCache.get(endpoint);
+            final WsdlDefinitionCache.OperationDescription description = wsdl == null ? null : wsdl.getOperation(operationName);
+            if (description == null) {
                 LOG.error("Invoked operation was not exposed on the given endpoint. Aborting invocation!");
-                return null;
+                return CompletableFuture.completedFuture(null);
             }
+            final BindingOperation operation = description.getBindingOperation();
 //      final QName messageType = operation.getOperation().getInput().getMessage().getQName();
-            final QName messagePayloadType = ((javax.wsdl.Part) operation.getOperation().getInput().getMessage().getOrderedParts(null).get(0)).getElementName();
+            final QName messagePayloadType = description.getPayloadElement();
 //      final QName messagePayloadType = operation.getOperation().getInput().getMessage().getPart(messagePayloadPart).getElementName();
             // getting the port name involves this mess
 //      String portName = getPortName(wsdl, operation);
@@ -115,7 +142,7 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
             messagingPattern = determineMP(message, operationName, operation, hasOutputParams);
             if (messagingPattern == null) {
                 LOG.error("No invokable operation found. Invocation aborted!");
-                return null;
+                return CompletableFuture.completedFuture(null);
             }
             message.setHeader("ParamsMode", "HashMap");
             @SuppressWarnings("unchecked") final HashMap<String, String> paramsMap = (HashMap<String, String>) params;
@@ -158,14 +185,11 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
 
         if (messagingPattern == null) {
             LOG.error("Can't determine which kind of invocation is needed. Invocation aborted.");
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
 
         LOG.debug("Invoking the web service.");
 
-        final ProducerTemplate template = camelContext.createProducerTemplate();
-        final ConsumerTemplate consumer = camelContext.createConsumerTemplate();
-
         Document response = null;
         LOG.debug("Messaging pattern: {}", messagingPattern);
 
@@ -177,40 +201,32 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
             case REQUEST_ONLY:
                 LOG.debug("Request-only invocation.");
                 template.sendBodyAndHeaders("direct:RequestOnly-WS-Invoke", document, headers);
-                return null;
+                return CompletableFuture.completedFuture(null);
             case CALLBACK:
                 LOG.debug("Async invocation.");
                 final String messageID = message.getMessageId();
-                LOG.debug("Storing exchange message with MessageID: {}", messageID);
-                EXCHANGE_MAP.put(messageID, exchange);
-
-                template.sendBodyAndHeaders("direct:Async-WS-Invoke", document, headers);
-                Exchange ex = null;
-                while (response == null) {
-                    try {
-                        consumer.start();
-                        ex = consumer.receive("direct:Async-WS-Callback" + messageID);
-                        consumer.stop();
-                    } catch (final Exception e) {
-                        e.printStackTrace();
-                    }
-
-                    final Message mes = ex.getIn();
-                    LOG.debug("Got Message with ID: {}", messageID);
-                    LOG.debug("Stored MessageIDs: {}", EXCHANGE_MAP.keySet().toString());
-                    if (EXCHANGE_MAP.containsKey(messageID)) {
-                        LOG.debug("MessageID found");
-                        exchange = EXCHANGE_MAP.get(messageID);
-                        response = mes.getBody(Document.class);
-                        EXCHANGE_MAP.remove(messageID);
-                    }
+                LOG.debug("Registering callback for MessageID: {}", messageID);
+                final CompletableFuture<Document> callback = CALLBACKS.register(messageID, CALLBACK_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+                try {
+                    template.sendBodyAndHeaders("direct:Async-WS-Invoke", document, headers);
+                } catch (final RuntimeException e) {
+                    CALLBACKS.cancel(messageID);
+                    throw e;
                 }
-                break;
+                // completed on the thread delivering the callback, or exceptionally if no callback arrived in time,
+                // so the caller still receives a fault response
+                return callback.thenApply(callbackBody -> {
+                    LOG.debug("Got callback for MessageID: {}", messageID);
+                    return toResponse(exchange, callbackBody);
+                });
             default:
                 LOG.error("Unhandled messaging pattern \"{}\" in management bus soaphttp invocation plugin!", messagingPattern);
-                return null;
+                return CompletableFuture.completedFuture(null);
         }
+        return CompletableFuture.completedFuture(toResponse(exchange, response));
+    }
 
+    private Exchange toResponse(final Exchange exchange, final Document response) {
         if (exchange.getIn().getHeader("ParamsMode") != null
             && exchange.getIn().getHeader("ParamsMode").equals("HashMap")) {
             LOG.debug("Transforming Document to HashMap...");
@@ -248,39 +264,6 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
         return "";
     }
 
-    private Definition pullWsdlDefinitions(String endpoint) {
-        if (!endpoint.endsWith("?wsdl")) {
-            endpoint = endpoint + "?wsdl";
-        }
-        LOG.info("Parsing WSDL at: {}.", endpoint);
-        WSDLFactory wsdlFactory = null;
-        try {
-            wsdlFactory = WSDLFactory.newInstance();
-            WSDLReader wsdlDefinitionReader = wsdlFactory.newWSDLReader();
-            return wsdlDefinitionReader.readWSDL(endpoint);
-        } catch (WSDLException e) {
-            LOG.warn("Could not read WSDL definitions from endpoint {} due to WSDLException", endpoint, e);
-        }
-        return null;
-    }
-
-    private BindingOperation findOperation(final Definition wsdl, final String operationName) {
-        if (wsdl == null) {
-            return null;
-        }
-        Map<QName, ?> bindings = wsdl.getBindings();
-        for (Map.Entry<QName, ?> entry : bindings.entrySet()) {
-            Binding binding = wsdl.getBinding((QName) entry.getKey());
-            List<BindingOperation> definedOperations = binding.getBindingOperations();
-            for (BindingOperation operation : definedOperations) {
-                if (operation.getName().equalsIgnoreCase(operationName)) {
-                    return operation;
-                }
-            }
-        }
-        return null;
-    }
-
     /**
      * Determine if the specified operation of the specified wsdl defines output parameter.
      *
@@ -362,11 +345,33 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
         return document;
     }
 
+    @Override
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> callbacks = new LinkedHashMap<>();
+        callbacks.put("inFlight", CALLBACKS.getInFlight());
+        callbacks.put("completed", CALLBACKS.getCompleted());
+        callbacks.put("timedOut", CALLBACKS.getTimedOut());
+        callbacks.put("unmatched", CALLBACKS.getUnmatched());
+
+        final CacheStats wsdlCacheStats = wsdlCache.stats();
+        final Map<String, Object> wsdls = new LinkedHashMap<>();
+        wsdls.put("endpoints", wsdlCache.size());
+        wsdls.put("hits", wsdlCacheStats.hitCount());
+        wsdls.put("misses", wsdlCacheStats.missCount());
+        wsdls.put("loadFailures", wsdlCacheStats.loadExceptionCount());
+        wsdls.put("evictions", wsdlCacheStats.evictionCount());
+
+        final Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("callbacks", callbacks);
+        statistics.put("wsdlCache", wsdls);
+        return statistics;
+    }
+
     /**
-     * @return the keys of the map containing stored messageIds and exchange objects.
+     * @return the registry correlating callbacks with the asynchronous invocations waiting for them.
      */
-    public static Set<String> getMessageIDs() {
-        return EXCHANGE_MAP.keySet();
+    public static CallbackRegistry getCallbackRegistry() {
+        return CALLBACKS;
     }
 
     @Override
@@ -0,0 +1,163 @@
+package org.opentosca.bus.management.invocation.plugin.soaphttp;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.wsdl.Binding;
+import javax.wsdl.BindingOperation;
+import javax.wsdl.Definition;
+import javax.wsdl.Part;
+import javax.wsdl.WSDLException;
+import javax.wsdl.factory.WSDLFactory;
+import javax.xml.namespace.QName;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.opentosca.container.core.common.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the parsed WSDL definitions of invoked endpoints, including the binding operations resolved from them.<br>
+ * <br>
+ * <p>
+ * Copyright 2020 IAAS University of Stuttgart <br>
+ * <br>
+ * <p>
+ * Entries are keyed by the endpoint URI without the <tt>?wsdl</tt> suffix. They expire after
+ * {@link Settings#WSDL_CACHE_TTL_MINUTES} and at most {@link Settings#WSDL_CACHE_MAX_ENDPOINTS} endpoints are kept.
+ * WSDLs that can not be read are not cached, so the next invocation tries to fetch them again.
+ */
+public class WsdlDefinitionCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WsdlDefinitionCache.class);
+
+    private final Cache<String, WsdlDescription> descriptions;
+
+    public WsdlDefinitionCache() {
+        this(Long.parseLong(Settings.WSDL_CACHE_MAX_ENDPOINTS), Long.parseLong(Settings.WSDL_CACHE_TTL_MINUTES), TimeUnit.MINUTES);
+    }
+
+    public WsdlDefinitionCache(final long maximumEndpoints, final long timeToLive, final TimeUnit unit) {
+        descriptions = CacheBuilder.newBuilder()
+            .maximumSize(maximumEndpoints)
+            .expireAfterWrite(timeToLive, unit)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Gets the description of the given endpoint, fetching and parsing its WSDL if it is not cached.
+     *
+     * @return the description or <code>null</code> if the WSDL could not be read
+     */
+    public WsdlDescription get(final String endpoint) {
+        final String key = normalize(endpoint);
+        try {
+            return descriptions.get(key, () -> new WsdlDescription(read(key + "?wsdl")));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            LOG.warn("Could not read WSDL definitions from endpoint {}", endpoint, e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Removes the cached description of the given endpoint, e.g. because the endpoint was undeployed.
+     */
+    public void invalidate(final String endpoint) {
+        descriptions.invalidate(normalize(endpoint));
+    }
+
+    public void invalidateAll() {
+        descriptions.invalidateAll();
+    }
+
+    /**
+     * @return hit, miss, load and eviction counts of this cache
+     */
+    public CacheStats stats() {
+        return descriptions.stats();
+    }
+
+    public long size() {
+        return descriptions.size();
+    }
+
+    private static String normalize(final String endpoint) {
+        return endpoint.endsWith("?wsdl") ? endpoint.substring(0, endpoint.length() - "?wsdl".length()) : endpoint;
+    }
+
+    private static Definition read(final String wsdlLocation) throws WSDLException {
+        LOG.info("Parsing WSDL at: {}.", wsdlLocation);
+        return WSDLFactory.newInstance().newWSDLReader().readWSDL(wsdlLocation);
+    }
+
+    /**
+     * Parsed WSDL of a single endpoint. Binding operations are resolved on first request and memoized.
+     */
+    public static final class WsdlDescription {
+
+        private final Definition definition;
+        private final Map<String, Optional<OperationDescription>> operations = new ConcurrentHashMap<>();
+
+        private WsdlDescription(final Definition definition) {
+            this.definition = definition;
+        }
+
+        public Definition getDefinition() {
+            return definition;
+        }
+
+        /**
+         * Finds the first binding operation with the given name, ignoring case.
+         *
+         * @return the operation or <code>null</code> if no binding of the WSDL exposes the operation
+         */
+        public OperationDescription getOperation(final String operationName) {
+            return operations.computeIfAbsent(operationName.toLowerCase(), name -> Optional.ofNullable(findOperation(name)))
+                .orElse(null);
+        }
+
+        private OperationDescription findOperation(final String operationName) {
+            final Map<QName, ?> bindings = definition.getBindings();
+            for (final QName bindingName : bindings.keySet()) {
+                final Binding binding = definition.getBinding(bindingName);
+                final List<BindingOperation> definedOperations = binding.getBindingOperations();
+                for (final BindingOperation operation : definedOperations) {
+                    if (operation.getName().equalsIgnoreCase(operationName)) {
+                        return new OperationDescription(operation);
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A binding operation together with the element of its input payload.
+     */
+    public static final class OperationDescription {
+
+        private final BindingOperation bindingOperation;
+        private final QName payloadElement;
+
+        private OperationDescription(final BindingOperation bindingOperation) {
+            this.bindingOperation = bindingOperation;
+            this.payloadElement = ((Part) bindingOperation.getOperation().getInput().getMessage().getOrderedParts(null).get(0)).getElementName();
+        }
+
+        public BindingOperation getBindingOperation() {
+            return bindingOperation;
+        }
+
+        public QName getPayloadElement() {
+            return payloadElement;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import javax.xml.soap.MessageFactory;
 import javax.xml.soap.SOAPException;
@@ -14,6 +13,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.cxf.binding.soap.SoapHeader;
 import org.apache.cxf.headers.Header;
+import org.opentosca.bus.management.invocation.plugin.soaphttp.CallbackRegistry;
 import org.opentosca.bus.management.invocation.plugin.soaphttp.ManagementBusInvocationPluginSoapHttp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,7 +28,8 @@ import org.w3c.dom.Element;
  * Copyright 2013 IAAS University of Stuttgart <br>
  * <br>
  * <p>
- * This processor processes incoming soap messages. It checks if the messages are containing existing messageIDs.
+ * This processor processes incoming soap messages. It checks if the messages are containing existing messageIDs and
+ * completes the invocations waiting for them.
  *
  * @author Michael Zimmermann - zimmerml@studi.informatik.uni-stuttgart.de
  */
@@ -39,8 +40,8 @@ public class CallbackProcessor implements Processor {
 
     @Override
     public void process(final Exchange exchange) throws Exception {
-        final Set<String> messageIDs = ManagementBusInvocationPluginSoapHttp.getMessageIDs();
-        LOG.debug("Stored messageIDs: {}", messageIDs.toString());
+        final CallbackRegistry callbacks = ManagementBusInvocationPluginSoapHttp.getCallbackRegistry();
+        LOG.debug("Pending messageIDs: {}", callbacks.getInFlight());
 
         // copy SOAP headers in camel exchange header
         @SuppressWarnings("unchecked") final List<SoapHeader> soapHeaders = (List<SoapHeader>) exchange.getIn().getHeader(Header.HEADER_LIST);
@@ -56,7 +57,7 @@ public class CallbackProcessor implements Processor {
         final Map<String, Object> headers = exchange.getIn().getHeaders();
 
         LOG.debug("Searching the callback Message for a MessageID matching the stored ones...");
-        for (final String messageID : messageIDs) {
+        for (final String messageID : callbacks.getPendingMessageIds()) {
             // checks if the callback message contains a stored messageID
             // if (message.matches("(?s).*\\s*[^a-zA-Z0-9-]" + messageID +
             // "[^a-zA-Z0-9-]\\s*(?s).*") || headers.containsValue(messageID)) {
@@ -79,6 +80,7 @@ public class CallbackProcessor implements Processor {
                     LOG.warn("SOAP response body can't be parsed and/or isn't well formatted. Returning alternative response.");
                     exchange.getIn().setBody(doc);
                 }
+                callbacks.complete(messageID, doc);
                 break;
             }
         }
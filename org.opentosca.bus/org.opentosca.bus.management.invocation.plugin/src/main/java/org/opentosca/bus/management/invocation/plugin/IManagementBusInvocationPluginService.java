@@ -1,6 +1,9 @@
 package org.opentosca.bus.management.invocation.plugin;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.camel.Exchange;
 
@@ -27,8 +30,31 @@ public interface IManagementBusInvocationPluginService {
      */
     Exchange invoke(Exchange exchange);
 
+    /**
+     * Invokes a service like {@link #invoke(Exchange)}, but doesn't block the calling thread while waiting for the
+     * response. Plug-ins that can't wait for responses asynchronously invoke the service synchronously.
+     *
+     * @param exchange contains all needed information like endpoint of the service, the operation to invoke and the
+     *                 data to be transferred.
+     * @return a future completed with the exchange containing the response, or with <code>null</code> if the invocation
+     * was aborted.
+     */
+    default CompletableFuture<Exchange> invokeAsync(Exchange exchange) {
+        return CompletableFuture.completedFuture(invoke(exchange));
+    }
+
     /**
      * Returns the supported invocation-types of the plug-in.
      */
     List<String> getSupportedTypes();
+
+    /**
+     * Returns statistics of the plug-in, e.g. about invocations waiting for their response, which are reported by the
+     * statistics endpoint of the Management Bus.
+     *
+     * @return the statistics by name, empty if the plug-in doesn't collect any.
+     */
+    default Map<String, Object> getStatistics() {
+        return Collections.emptyMap();
+    }
 }
@@ -1,6 +1,10 @@
 package org.opentosca.bus.management.service;
 
+import org.eclipse.winery.model.tosca.TEntityTypeImplementation;
+import org.eclipse.winery.model.tosca.TImplementationArtifact;
+
 import org.apache.camel.Exchange;
+import org.opentosca.container.core.model.csar.Csar;
 
 /**
  * Interface of the Management Bus.<br>
@@ -19,6 +23,9 @@ public interface IManagementBusService {
     /**
      * Handles the invoke-request of an implementation artifact. This includes the deployment of the implementation
      * artifact on a suited infrastructure if needed.
+     * <p>
+     * The response is sent back to the API that called the bus. For InOnly exchanges this may happen after this method
+     * returned, as asynchronous IAs are not waited for. InOut exchanges contain the response when it returns.
      *
      * @param exchange contains all needed information like csarID, ServiceTemplateID,... to determine the
      *                 implementation artifact and the data to be transferred to it.
@@ -34,4 +41,24 @@ public interface IManagementBusService {
      * @return the response of the invoked plan as body of the exchange message.
      */
     void invokePlan(Exchange exchange);
+
+    /**
+     * Deploys the given implementation artifact on this OpenTOSCA Container ahead of its first invocation, unless it is
+     * deployed already. The endpoint is stored without a service instance, so it is shared by all instances.
+     *
+     * @param csar               the CSAR containing the implementation artifact
+     * @param typeImplementation the NodeTypeImplementation/RelationshipTypeImplementation containing the artifact
+     * @param ia                 the implementation artifact to deploy
+     * @return <tt>true</tt> if the implementation artifact is deployed, <tt>false</tt> if it can't be deployed ahead of
+     * time or the deployment failed
+     */
+    boolean preDeployIA(Csar csar, TEntityTypeImplementation typeImplementation, TImplementationArtifact ia);
+
+    /**
+     * Undeploys the implementation artifacts of the given CSAR that were deployed ahead of time and removes their
+     * endpoints.
+     *
+     * @param csar the CSAR containing the implementation artifacts
+     */
+    void undeployPreDeployedIAs(Csar csar);
 }
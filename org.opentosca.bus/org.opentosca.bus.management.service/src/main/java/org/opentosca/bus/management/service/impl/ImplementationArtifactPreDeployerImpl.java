@@ -0,0 +1,89 @@
+package org.opentosca.bus.management.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.inject.Inject;
+
+import org.eclipse.winery.model.tosca.TImplementationArtifact;
+import org.eclipse.winery.model.tosca.TImplementationArtifacts;
+import org.eclipse.winery.model.tosca.TNodeTypeImplementation;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.opentosca.bus.management.service.IManagementBusService;
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.model.csar.Csar;
+import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.service.CsarStorageService;
+import org.opentosca.container.core.service.ImplementationArtifactPreDeployer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Deploys the implementation artifacts of the node type implementations of a CSAR in parallel through the Management
+ * Bus, see {@link IManagementBusService#preDeployIA}.
+ * <p>
+ * Pre-deployment is skipped in collaboration mode, as the container managing an artifact is only decided for each
+ * node template instance there.
+ */
+@Service
+public class ImplementationArtifactPreDeployerImpl implements ImplementationArtifactPreDeployer {
+
+    private final static Logger LOG = LoggerFactory.getLogger(ImplementationArtifactPreDeployerImpl.class);
+
+    private final IManagementBusService managementBusService;
+    private final CsarStorageService storage;
+
+    // deploying an IA is dominated by transferring it and waiting for the target, e.g. the Tomcat manager
+    private final ExecutorService deployments;
+
+    @Inject
+    public ImplementationArtifactPreDeployerImpl(IManagementBusService managementBusService, CsarStorageService storage) {
+        this.managementBusService = managementBusService;
+        this.storage = storage;
+        this.deployments = Executors.newFixedThreadPool(Integer.parseInt(Settings.IA_PREDEPLOYMENT_THREADS),
+            new ThreadFactoryBuilder().setNameFormat("ia-predeployment-%d").setDaemon(true).build());
+    }
+
+    @Override
+    public CompletableFuture<Void> preDeploy(CsarId csarId) {
+        if (!Boolean.parseBoolean(Settings.IA_PREDEPLOYMENT)
+            || Boolean.parseBoolean(Settings.OPENTOSCA_COLLABORATION_MODE)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final Csar csar = storage.findById(csarId);
+        final List<CompletableFuture<Void>> artifacts = new ArrayList<>();
+        for (final TNodeTypeImplementation typeImplementation : csar.nodeTypeImplementations()) {
+            final List<? extends TImplementationArtifact> ias = Optional.ofNullable(typeImplementation.getImplementationArtifacts())
+                .map(TImplementationArtifacts::getImplementationArtifact)
+                .orElse(Collections.emptyList());
+            for (final TImplementationArtifact ia : ias) {
+                artifacts.add(CompletableFuture.runAsync(() -> preDeploy(csar, typeImplementation, ia), deployments));
+            }
+        }
+        LOG.debug("Deploying {} implementation artifacts of CSAR [{}] ahead of time", artifacts.size(), csarId.csarName());
+        return CompletableFuture.allOf(artifacts.toArray(new CompletableFuture[0]));
+    }
+
+    @Override
+    public void undeploy(CsarId csarId) {
+        managementBusService.undeployPreDeployedIAs(storage.findById(csarId));
+    }
+
+    private void preDeploy(Csar csar, TNodeTypeImplementation typeImplementation, TImplementationArtifact ia) {
+        try {
+            if (managementBusService.preDeployIA(csar, typeImplementation, ia)) {
+                LOG.debug("IA [{}] of [{}] is deployed", ia.getName(), typeImplementation.getQName());
+            }
+        } catch (RuntimeException e) {
+            // the IA is deployed on its first invocation instead
+            LOG.warn("Deploying IA [{}] of [{}] ahead of time failed", ia.getName(), typeImplementation.getQName(), e);
+        }
+    }
+}
@@ -10,6 +10,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -44,6 +46,7 @@ import org.opentosca.bus.management.service.impl.collaboration.CollaborationCont
 import org.opentosca.bus.management.service.impl.collaboration.DeploymentDistributionDecisionMaker;
 import org.opentosca.bus.management.service.impl.instance.plan.PlanInstanceHandler;
 import org.opentosca.bus.management.service.impl.util.DeploymentPluginCapabilityChecker;
+import org.opentosca.bus.management.service.impl.util.IALockRegistry;
 import org.opentosca.bus.management.service.impl.util.ParameterHandler;
 import org.opentosca.bus.management.service.impl.util.PluginHandler;
 import org.opentosca.bus.management.service.impl.util.Util;
@@ -55,6 +58,8 @@ import org.opentosca.container.core.engine.ToscaEngine;
 import org.opentosca.container.core.engine.next.ContainerEngine;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.model.deployment.ia.IADeploymentInfo;
+import org.opentosca.container.core.model.deployment.ia.IADeploymentState;
 import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.PlanInstance;
@@ -63,9 +68,11 @@ import org.opentosca.container.core.next.model.PlanLanguage;
 import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.repository.PlanInstanceEventRepository;
 import org.opentosca.container.core.next.repository.PlanInstanceRepository;
 import org.opentosca.container.core.next.trigger.SituationTriggerInstanceListener;
 import org.opentosca.container.core.service.CsarStorageService;
+import org.opentosca.container.core.service.DeploymentTracker;
 import org.opentosca.container.core.service.ICoreEndpointService;
 import org.opentosca.container.core.tosca.convention.Types;
 import org.slf4j.Logger;
@@ -114,8 +121,6 @@ public class ManagementBusServiceImpl implements IManagementBusService {
 
     private final static Logger LOG = LoggerFactory.getLogger(ManagementBusServiceImpl.class);
 
-    private final static Map<String, Object> locks = new HashMap<>();
-
     private final DeploymentDistributionDecisionMaker decisionMaker;
     private final CollaborationContext collaborationContext;
     private final ICoreEndpointService endpointService;
@@ -124,6 +129,8 @@ public class ManagementBusServiceImpl implements IManagementBusService {
     private final PluginRegistry pluginRegistry;
     private final DeploymentPluginCapabilityChecker capabilityChecker;
     private final ContainerEngine containerEngine;
+    private final IALockRegistry iaLocks;
+    private final DeploymentTracker deploymentTracker;
 
     private final CsarStorageService storage;
 
@@ -135,7 +142,8 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                                     PluginHandler pluginHandler,
                                     PluginRegistry pluginRegistry,
                                     DeploymentPluginCapabilityChecker capabilityChecker,
-                                    ContainerEngine containerEngine, CsarStorageService storage) {
+                                    ContainerEngine containerEngine, CsarStorageService storage,
+                                    IALockRegistry iaLocks, DeploymentTracker deploymentTracker) {
         LOG.info("Instantiating ManagementBus Service");
         this.decisionMaker = decisionMaker;
         this.collaborationContext = collaborationContext;
@@ -146,6 +154,8 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         this.capabilityChecker = capabilityChecker;
         this.storage = storage;
         this.containerEngine = containerEngine;
+        this.iaLocks = iaLocks;
+        this.deploymentTracker = deploymentTracker;
     }
 
     @Override
@@ -174,53 +184,58 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         final String neededOperation = message.getHeader(MBHeader.OPERATIONNAME_STRING.toString(), String.class);
         LOG.debug("Operation: {}", neededOperation);
 
-        // log event to monitor the IA execution time
-        final PlanInstanceEvent event;
         // operation invocation is only possible with retrieved ServiceTemplateInstance ID
         if (!serviceTemplateInstanceID.equals(Long.MIN_VALUE)) {
 
             final IAInvocationArguments arguments = new IAInvocationArguments(csarID, serviceInstanceID, serviceTemplateID, serviceTemplateInstanceID,
                 nodeTemplateID, relationship, neededInterface, neededOperation);
-            event = internalInvokeIA(arguments, exchange);
-            LOG.info("IA execution duration: {}", event.getDuration());
+            // the response of the IA may arrive asynchronously, its execution time is logged once it did
+            final CompletableFuture<PlanInstanceEvent> invocation = internalInvokeIA(arguments, exchange).whenComplete((event, error) -> {
+                if (error != null) {
+                    LOG.error("Invocation of operation {} failed.", neededOperation, error);
+                    return;
+                }
+                LOG.info("IA execution duration: {}", event.getDuration());
+                logIAExecution(message, event, nodeTemplateID, neededInterface, neededOperation);
+            });
+            if (exchange.getPattern().isOutCapable()) {
+                // synchronous callers reply with the given exchange as soon as this method returns
+                invocation.join();
+            }
         } else {
             LOG.error("Unable to invoke operation without ServiceTemplateInstance ID!");
             handleResponse(exchange);
-            event = new PlanInstanceEvent("WARN", "IA_DURATION_LOG", "Unable to invoke operation without ServiceTemplateInstance ID!");
+            logIAExecution(message, new PlanInstanceEvent("WARN", "IA_DURATION_LOG", "Unable to invoke operation without ServiceTemplateInstance ID!"),
+                nodeTemplateID, neededInterface, neededOperation);
         }
+    }
 
+    /**
+     * Appends the given event and an event with the execution time of the IA to the plan instance that invoked it.
+     */
+    private void logIAExecution(final Message message, final PlanInstanceEvent event, final String nodeTemplateID,
+                                final String neededInterface, final String neededOperation) {
         final String correlationID = message.getHeader(MBHeader.PLANCORRELATIONID_STRING.toString(), String.class);
         LOG.debug("Correlation ID: {}", correlationID);
         if (Objects.nonNull(correlationID)) {
-            // update plan in repository with new log event
-            final PlanInstanceRepository repo = new PlanInstanceRepository();
-            final PlanInstance plan = repo.findByCorrelationId(correlationID);
-            if (Objects.nonNull(plan)) {
-                plan.addEvent(event);
-                repo.update(plan);
-            }
-        }
+            // append log event to the plan
+            final PlanInstanceEventRepository eventRepository = new PlanInstanceEventRepository();
+            eventRepository.append(correlationID, event);
 
-        if (Objects.nonNull(correlationID)) {
             // add end timestamp and log message with duration
-            event.setEndTimestamp(new Date());
-            final long duration = event.getEndTimestamp().getTime() - event.getStartTimestamp().getTime();
-            event.setMessage("Finished execution of IA for NodeTemplate '" + nodeTemplateID + "' interface '"
+            final PlanInstanceEvent finishedEvent = new PlanInstanceEvent(event.getStatus(), event.getType(), null);
+            finishedEvent.setStartTimestamp(event.getStartTimestamp());
+            finishedEvent.setEndTimestamp(new Date());
+            final long duration = finishedEvent.getDuration();
+            finishedEvent.setMessage("Finished execution of IA for NodeTemplate '" + nodeTemplateID + "' interface '"
                 + neededInterface + "' and operation '" + neededOperation + "' after " + duration + "ms");
             LOG.info("IA execution duration: {}ms", duration);
-            event.setNodeTemplateID(nodeTemplateID);
-            event.setInterfaceName(neededInterface);
-            event.setOperationName(neededOperation);
-            event.setExecutionDuration(duration);
-
-            // update plan in repository with new log event
-            final PlanInstanceRepository repo = new PlanInstanceRepository();
-            final PlanInstance plan = repo.findByCorrelationId(correlationID);
-
-            if (Objects.nonNull(plan)) {
-                plan.addEvent(event);
-                repo.update(plan);
-            }
+            finishedEvent.setNodeTemplateID(nodeTemplateID);
+            finishedEvent.setInterfaceName(neededInterface);
+            finishedEvent.setOperationName(neededOperation);
+            finishedEvent.setExecutionDuration(duration);
+
+            eventRepository.append(correlationID, finishedEvent);
         }
     }
 
@@ -258,8 +273,9 @@ public class ManagementBusServiceImpl implements IManagementBusService {
      *
      * @param exchange  exchange containing the header fields which identify the current operation
      * @param arguments a bundle-object containing all relevant invocation arguments
+     * @return a future completed with the event logging the execution time once the response of the IA was handled
      */
-    private PlanInstanceEvent internalInvokeIA(IAInvocationArguments arguments, Exchange exchange) {
+    private CompletableFuture<PlanInstanceEvent> internalInvokeIA(IAInvocationArguments arguments, Exchange exchange) {
         LOG.debug("Starting Management Bus: InvokeIA");
 
         final Message message = exchange.getIn();
@@ -275,7 +291,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         } catch (NotFoundException e) {
             LOG.error("ServiceTemplate {} does not exist within Csar {}. Aborting IA Invocation", arguments.serviceTemplateId, arguments.csarId.csarName());
             event.setEndTimestamp(new Date());
-            return event;
+            return CompletableFuture.completedFuture(event);
         }
 
         QName typeID = null;
@@ -295,7 +311,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 arguments.nodeTemplateId, arguments.relationshipTemplateId));
             handleResponse(exchange);
             event.setEndTimestamp(new Date());
-            return event;
+            return CompletableFuture.completedFuture(event);
         }
 
         // invocation is only possible with retrieved type which contains the operation
@@ -310,7 +326,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 arguments.nodeTemplateId, arguments.relationshipTemplateId);
             handleResponse(exchange);
             event.setEndTimestamp(new Date());
-            return event;
+            return CompletableFuture.completedFuture(event);
         }
 
         // get NodeTemplateInstance object for the deployment distribution decision
@@ -350,7 +366,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 LOG.error("Could not compute replacing type for abstract Operating System Node replacement. Aborting IA invocation.", e);
                 handleResponse(exchange);
                 event.setEndTimestamp(new Date());
-                return event;
+                return CompletableFuture.completedFuture(event);
             }
         }
 
@@ -366,9 +382,11 @@ public class ManagementBusServiceImpl implements IManagementBusService {
             LOG.warn("There are no input parameters specified.");
         }
 
-        internalInvokeIA(exchange, replacementCsar != null ? replacementCsar : csar, arguments.serviceTemplateInstanceId, type, nodeInstance, arguments.interfaceName, arguments.operationName);
-        event.setEndTimestamp(new Date());
-        return event;
+        return internalInvokeIA(exchange, replacementCsar != null ? replacementCsar : csar, arguments.serviceTemplateInstanceId, type, nodeInstance, arguments.interfaceName, arguments.operationName)
+            .thenApply(handled -> {
+                event.setEndTimestamp(new Date());
+                return event;
+            });
     }
 
     /**
@@ -381,10 +399,11 @@ public class ManagementBusServiceImpl implements IManagementBusService {
      * @param nodeTemplateInstance      NodeTemplateInstance for the deployment distribution decision
      * @param neededInterface           the interface of the searched operation
      * @param neededOperation           the searched operation
+     * @return a future completed once the response of the invoked IA was handled
      */
-    private void internalInvokeIA(final Exchange exchange, final Csar csar, final Long serviceTemplateInstanceID,
-                                  final TEntityType type, final NodeTemplateInstance nodeTemplateInstance,
-                                  final String neededInterface, final String neededOperation) {
+    private CompletableFuture<Void> internalInvokeIA(final Exchange exchange, final Csar csar, final Long serviceTemplateInstanceID,
+                                                     final TEntityType type, final NodeTemplateInstance nodeTemplateInstance,
+                                                     final String neededInterface, final String neededOperation) {
 
         LOG.debug("NodeType/RelationshipType: {}", type.getQName());
         final Message message = exchange.getIn();
@@ -397,11 +416,11 @@ public class ManagementBusServiceImpl implements IManagementBusService {
             hasOutputParams = operation.getOutputParameters() != null && !operation.getOutputParameters().getOutputParameter().isEmpty();
             if (Boolean.parseBoolean(Settings.OPENTOSCA_BUS_MANAGEMENT_MOCK)) {
                 respondViaMocking(operation.getOutputParameters(), exchange);
-                return;
+                return CompletableFuture.completedFuture(null);
             }
         } catch (NotFoundException notFound) {
             LOG.warn("Tried to invoke an unknown operation on an IA");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
         message.setHeader(MBHeader.HASOUTPUTPARAMS_BOOLEAN.toString(), hasOutputParams);
 
@@ -422,16 +441,18 @@ public class ManagementBusServiceImpl implements IManagementBusService {
 
             for (final TImplementationArtifact ia : ias) {
                 // try to invoke the operation on the current IA
-                if (invokeIAOperation(exchange, csar, serviceTemplateInstanceID, type, nodeTemplateInstance,
-                    implementation, ia, neededInterface, neededOperation)) {
+                final CompletableFuture<Void> invocation = invokeIAOperation(exchange, csar, serviceTemplateInstanceID,
+                    type, nodeTemplateInstance, implementation, ia, neededInterface, neededOperation);
+                if (invocation != null) {
                     LOG.info("Successfully invoked Operation {} on IA {}", neededOperation, ia.getName());
-                    return;
+                    return invocation;
                 }
             }
         }
 
         LOG.warn("No invokable implementation artifact found that provides required interface/operation.");
         handleResponse(exchange);
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
@@ -447,13 +468,14 @@ public class ManagementBusServiceImpl implements IManagementBusService {
      * @param ia                        the Implementation Artifact itself
      * @param neededInterface           the interface of the searched operation
      * @param neededOperation           the searched operation
-     * @return <tt>true</tt> if the IA implements the given operation and it was invoked
-     * successfully, <tt>false</tt> otherwise
+     * @return a future completed once the response of the invoked IA was handled, or <tt>null</tt> if the IA doesn't
+     * implement the given operation or can't be invoked
      */
-    private boolean invokeIAOperation(Exchange exchange, final Csar csar, final Long serviceTemplateInstanceID,
-                                      final TEntityType type, final NodeTemplateInstance nodeTemplateInstance,
-                                      final TEntityTypeImplementation typeImplementation, final TImplementationArtifact ia,
-                                      final String neededInterface, final String neededOperation) {
+    @Nullable
+    private CompletableFuture<Void> invokeIAOperation(Exchange exchange, final Csar csar, final Long serviceTemplateInstanceID,
+                                                      final TEntityType type, final NodeTemplateInstance nodeTemplateInstance,
+                                                      final TEntityTypeImplementation typeImplementation, final TImplementationArtifact ia,
+                                                      final String neededInterface, final String neededOperation) {
         LOG.debug("Trying to invoke Implementation Artifact: {}", ia.getName());
         final Message message = exchange.getIn();
 
@@ -464,7 +486,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         // check if requested interface/operation is provided
         if (!iaProvidesRequestedOperation(csar, ia, type, neededInterface, neededOperation)) {
             LOG.debug("Implementation Artifact does not provide the requested operation.");
-            return false;
+            return null;
         }
 
         // get ArtifactTemplate and ArtifactType of the IA
@@ -479,7 +501,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         final String deploymentType = pluginHandler.getSupportedDeploymentType(artifactTypeQName);
         if (Objects.isNull(deploymentType)) {
             LOG.debug("No deployment plug-in found which supports the deployment of ArtifactType {}", artifactTypeQName);
-            return false;
+            return null;
         }
 
         // retrieve invocation type for the IA
@@ -487,7 +509,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         if (Objects.isNull(invocationType)) {
             LOG.debug("No invocation plug-in found which supports the invocation of ArtifactType {} and ArtifactTemplate {}",
                 artifactTypeQName, artifactTemplate.getId());
-            return false;
+            return null;
         }
 
         LOG.debug("Deployment type {} and invocation type {} are supported.", deploymentType, invocationType);
@@ -510,126 +532,293 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         message.setHeader(MBHeader.ARTIFACTTEMPLATEID_QNAME.toString(), artifactTemplateId.getQName());
         message.setHeader(MBHeader.ARTIFACTTYPEID_STRING.toString(), artifactTypeQName);
 
-        // Prevent two threads from trying to deploy the same IA concurrently and avoid the deletion
-        // of an IA after successful checking that an IA is already deployed.
+        // The lock of the instance prevents the deletion of its endpoint during the invocation. It is only held
+        // exclusively to store the endpoint, the invocation itself only holds it shared.
+        final String relPath = typeImplementation.getQName() + "/" + ia.getName();
         final String identifier = getUniqueSynchronizationString(triggeringContainer, deploymentLocation, typeImplementation.getQName(), ia.getName(), serviceTemplateInstanceID.toString());
-        synchronized (getLockForString(identifier)) {
+        final IALockRegistry.Handle lock = iaLocks.acquireShared(identifier, relPath);
+        boolean invoking = false;
+        try {
 
             LOG.debug("Checking whether IA [{}] was already deployed", ia.getName());
 
             // check whether there are already stored endpoints for this IA
-            final List<WSDLEndpoint> endpoints = endpointService.getWSDLEndpointsForNTImplAndIAName(triggeringContainer, deploymentLocation, typeImplementation.getQName(), ia.getName());
-
-            if (Objects.nonNull(endpoints) && !endpoints.isEmpty()) {
+            List<WSDLEndpoint> endpoints = endpointService.getWSDLEndpointsForNTImplAndIAName(triggeringContainer, deploymentLocation, typeImplementation.getQName(), ia.getName());
+            if (hasEndpointForInstance(endpoints, serviceTemplateInstanceID)) {
                 LOG.debug("IA is already deployed.");
-
-                URI endpointURI = endpoints.get(0).getURI();
-                message.setHeader(MBHeader.ENDPOINT_URI.toString(), endpointURI);
-
-                Optional<WSDLEndpoint> currentEndpoint = endpoints.stream()
-                    .filter(wsdlEndpoint -> wsdlEndpoint.getServiceTemplateInstanceID().equals(serviceTemplateInstanceID))
-                    .findFirst();
-
-                if (!currentEndpoint.isPresent()) {
-                    // store new endpoint for the IA
-                    final WSDLEndpoint endpoint = new WSDLEndpoint(endpointURI, portType, triggeringContainer,
-                        deploymentLocation, csar.id(), serviceTemplateInstanceID, null, typeImplementation.getQName(), ia.getName(), new HashMap<>());
-                    endpointService.storeWSDLEndpoint(endpoint);
+                message.setHeader(MBHeader.ENDPOINT_URI.toString(), endpoints.get(0).getURI());
+            } else {
+                lock.escalate();
+                // Prevent two threads from trying to deploy the same IA concurrently, whether for different instances
+                // or ahead of time, and avoid the deletion of an IA after successful checking that it is deployed.
+                try (IALockRegistry.Handle deployment = iaLocks.acquire(getUniqueSynchronizationString(triggeringContainer,
+                    deploymentLocation, typeImplementation.getQName(), ia.getName()), relPath)) {
+                    if (!storeEndpointForInstance(exchange, csar, serviceTemplateInstanceID, nodeTemplateInstance,
+                        typeImplementation, ia.getName(), artifactTemplate, deploymentType, portType, deploymentLocation)) {
+                        return null;
+                    }
                 }
+            }
 
-                // Call IA, send response to caller and terminate bus
-                LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
-                handleResponse(pluginHandler.callMatchingInvocationPlugin(exchange, invocationType, deploymentLocation));
-                return true;
+            // Call IA, send response to caller and terminate bus
+            lock.downgrade();
+            invoking = true;
+            return invokeDeployedIA(lock, exchange, invocationType, deploymentLocation);
+        } finally {
+            if (!invoking) {
+                lock.close();
             }
-            LOG.debug("IA not yet deployed. Trying to deploy...");
-            LOG.debug("Checking if all required features are met by the deployment plug-in or the environment.");
+        }
+    }
 
-            final IManagementBusDeploymentPluginService deploymentPlugin = pluginRegistry.getDeploymentPluginServices().get(deploymentType);
-            // retrieve required features for the TypeImplementation
-            final TRequiredContainerFeatures requiredFeatures = typeImplementation.getRequiredContainerFeatures();
+    /**
+     * Stores the endpoint of the given IA for the given instance, deploying the IA first if it has no endpoint yet. The
+     * endpoint is set as header of the given exchange. Must be called while holding the lock of the IA exclusively.
+     *
+     * @return <tt>true</tt> if the IA can be invoked, <tt>false</tt> if its deployment failed
+     */
+    private boolean storeEndpointForInstance(final Exchange exchange, final Csar csar, final Long serviceTemplateInstanceID,
+                                             final NodeTemplateInstance nodeTemplateInstance,
+                                             final TEntityTypeImplementation typeImplementation, final String iaName,
+                                             final TArtifactTemplate artifactTemplate, final String deploymentType,
+                                             final QName portType, final String deploymentLocation) {
+        final Message message = exchange.getIn();
+        final String triggeringContainer = Settings.OPENTOSCA_CONTAINER_HOSTNAME;
 
-            // check whether all features are met and abort deployment otherwise
-            if (!capabilityChecker.capabilitiesAreMet(requiredFeatures, deploymentPlugin)) {
-                LOG.debug("Required features not completely satisfied by the plug-in.");
-                return false;
+        final List<WSDLEndpoint> endpoints = endpointService.getWSDLEndpointsForNTImplAndIAName(triggeringContainer, deploymentLocation, typeImplementation.getQName(), iaName);
+        if (Objects.nonNull(endpoints) && !endpoints.isEmpty()) {
+            LOG.debug("IA is already deployed.");
+
+            URI endpointURI = endpoints.get(0).getURI();
+            message.setHeader(MBHeader.ENDPOINT_URI.toString(), endpointURI);
+
+            if (!hasEndpointForInstance(endpoints, serviceTemplateInstanceID)) {
+                // store new endpoint for the IA
+                final WSDLEndpoint endpoint = new WSDLEndpoint(endpointURI, portType, triggeringContainer,
+                    deploymentLocation, csar.id(), serviceTemplateInstanceID, null, typeImplementation.getQName(), iaName, new HashMap<>());
+                endpointService.storeWSDLEndpoint(endpoint);
             }
+            return true;
+        }
+        LOG.debug("IA not yet deployed. Trying to deploy...");
+        URI endpointURI = deployIA(exchange, csar, typeImplementation, artifactTemplate, deploymentType, deploymentLocation);
 
-            // get all artifact references for this ArtifactTemplate
-            final List<TArtifactReference> artifacts = Optional.ofNullable(artifactTemplate.getArtifactReferences())
-                .map(TArtifactTemplate.ArtifactReferences::getArtifactReference)
-                .orElse(Collections.emptyList());
+        if (!Objects.nonNull(endpointURI)) {
+            LOG.debug("IA deployment failed.");
+            return false;
+        }
+        if (endpointURI.toString().contains(Constants.PLACEHOLDER_START)
+            && endpointURI.toString().contains(Constants.PLACEHOLDER_END)) {
+
+            // If a placeholder is specified, the service is part of the topology.
+            // We do not store this endpoints as they are not part of the management environment.
+            LOG.debug("Received endpoint contains placeholders. Service is part of the topology and called without deployment.");
+            endpointURI = replacePlaceholderWithInstanceData(endpointURI, nodeTemplateInstance);
+            message.setHeader(MBHeader.ENDPOINT_URI.toString(), endpointURI);
+        } else {
+            LOG.debug("IA successfully deployed. Storing endpoint...");
 
-            // convert relative references to absolute references to enable access to the IA
-            // files from other OpenTOSCA Container nodes
-            LOG.debug("Searching for artifact references for ArtifactTemplate {}", artifactTemplate.getIdFromIdOrNameField());
-            final List<String> artifactReferences = new ArrayList<>();
-            for (final TArtifactReference artifact : artifacts) {
-                // XML validated to be anyUri, therefore must be parsable as URI
-                URI reference = URI.create(artifact.getReference().trim());
-                if (reference.getScheme() != null) {
-                    LOG.warn("ArtifactReference {} of Csar {} is not supported", artifact.getReference(), csar.id());
-                    continue;
+            // store new endpoint for the IA
+            final WSDLEndpoint endpoint =
+                new WSDLEndpoint(endpointURI, portType, triggeringContainer, deploymentLocation,
+                    csar.id(), serviceTemplateInstanceID, null, typeImplementation.getQName(), iaName, new HashMap<>());
+            endpointService.storeWSDLEndpoint(endpoint);
+        }
+        LOG.debug("Endpoint: {}", endpointURI.toString());
+        return true;
+    }
+
+    /**
+     * Invokes the deployed IA and sends its response back to the caller as soon as it arrives. The invoking thread
+     * doesn't wait for the response.
+     *
+     * @param lock the shared lock of the IA, which is released once the response arrived
+     * @return a future completed after the response was handled
+     */
+    private CompletableFuture<Void> invokeDeployedIA(final IALockRegistry.Handle lock, final Exchange exchange,
+                                                     final String invocationType, final String deploymentLocation) {
+        LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
+        CompletableFuture<Exchange> response;
+        try {
+            response = pluginHandler.callMatchingIAInvocationPlugin(exchange, invocationType, deploymentLocation);
+        } catch (final RuntimeException e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        return response.handle((result, error) -> {
+            try {
+                if (error != null) {
+                    final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    LOG.error("Invocation of the implementation artifact failed.", cause);
+                    // the caller waits for a response, so it is notified about the failure
+                    handleResponse(PluginHandler.withFault(exchange,
+                        "Invocation of the implementation artifact failed: " + cause.getMessage()));
+                } else {
+                    handleResponse(result);
                 }
-                // artifact is exposed via the content endpoint
-                String absoluteArtifactReference = Settings.OPENTOSCA_CONTAINER_CONTENT_API
-                    .replace("{csarid}", csar.id().csarName())
-                    // reference here is relative to CSAR basedirectory, with spaces being URLEncoded
-                    .replace("{artifactreference}", artifact.getReference().trim().replaceAll(" ", "%20"));
-
-                artifactReferences.add(absoluteArtifactReference);
-                LOG.debug("Found reference: {} ", absoluteArtifactReference);
+            } finally {
+                lock.close();
             }
+            return null;
+        });
+    }
 
-            if (artifactReferences.isEmpty()) {
-                LOG.debug("No artifact references found. No deployment and invocation possible for this ArtifactTemplate.");
-                return false;
-            }
-            // add references list to header to enable access from the deployment plug-ins
-            message.setHeader(MBHeader.ARTIFACTREFERENCES_LISTSTRING.toString(), artifactReferences);
+    private static boolean hasEndpointForInstance(@Nullable final List<WSDLEndpoint> endpoints,
+                                                  final Long serviceTemplateInstanceID) {
+        return Objects.nonNull(endpoints) && endpoints.stream()
+            .anyMatch(wsdlEndpoint -> Objects.equals(wsdlEndpoint.getServiceTemplateInstanceID(), serviceTemplateInstanceID));
+    }
+
+    @Override
+    public boolean preDeployIA(final Csar csar, final TEntityTypeImplementation typeImplementation,
+                               final TImplementationArtifact ia) {
+        final String triggeringContainer = Settings.OPENTOSCA_CONTAINER_HOSTNAME;
+        // without collaboration all IAs are deployed on this container
+        final String deploymentLocation = Settings.OPENTOSCA_CONTAINER_HOSTNAME;
 
-            // search ServiceEndpoint property for the artifact
-            final String serviceEndpoint = Util.getProperty(artifactTemplate, "ServiceEndpoint");
-            message.setHeader(MBHeader.ARTIFACTSERVICEENDPOINT_STRING.toString(), serviceEndpoint);
+        final ArtifactTemplateId artifactTemplateId = new ArtifactTemplateId(ia.getArtifactRef());
+        final TArtifactTemplate artifactTemplate = (TArtifactTemplate) csar.queryRepository(artifactTemplateId);
+        final QName artifactTypeQName = ia.getArtifactType();
+        final String deploymentType = pluginHandler.getSupportedDeploymentType(artifactTypeQName);
+        if (Objects.isNull(deploymentType)
+            || Objects.isNull(pluginHandler.getSupportedInvocationType(artifactTypeQName, artifactTemplate))) {
+            LOG.debug("IA [{}] can't be deployed or invoked by the available plug-ins", ia.getName());
+            return false;
+        }
 
-            if (Objects.nonNull(serviceEndpoint)) {
-                LOG.debug("ServiceEndpoint property: {}", serviceEndpoint);
-            } else {
-                LOG.debug("No ServiceEndpoint property defined!");
-            }
+        // services referenced with placeholders are part of the topology and only known per instance
+        final String serviceEndpoint = Util.getProperty(artifactTemplate, "ServiceEndpoint");
+        if (Objects.nonNull(serviceEndpoint) && serviceEndpoint.contains(Constants.PLACEHOLDER_START)
+            && serviceEndpoint.contains(Constants.PLACEHOLDER_END)) {
+            LOG.debug("IA [{}] is part of the topology and not deployed ahead of time", ia.getName());
+            return false;
+        }
 
-            // invoke deployment
-            exchange = pluginHandler.callMatchingDeploymentPlugin(exchange, deploymentType, deploymentLocation);
-            URI endpointURI = message.getHeader(MBHeader.ENDPOINT_URI.toString(), URI.class);
+        Exchange exchange = new DefaultExchange(collaborationContext.getCamelContext());
+        final Message message = exchange.getIn();
+        message.setHeader(MBHeader.TRIGGERINGCONTAINER_STRING.toString(), triggeringContainer);
+        message.setHeader(MBHeader.DEPLOYMENTLOCATION_STRING.toString(), deploymentLocation);
+        message.setHeader(MBHeader.TYPEIMPLEMENTATIONID_QNAME.toString(), typeImplementation.getQName());
+        message.setHeader(MBHeader.IMPLEMENTATION_ARTIFACT_NAME_STRING.toString(), ia.getName());
+        message.setHeader(MBHeader.ARTIFACTTEMPLATEID_QNAME.toString(), artifactTemplateId.getQName());
+        message.setHeader(MBHeader.ARTIFACTTYPEID_STRING.toString(), artifactTypeQName);
+        exchange = addSpecificContent(exchange, ia);
 
-            if (!Objects.nonNull(endpointURI)) {
+        final String relPath = typeImplementation.getQName() + "/" + ia.getName();
+        // the same lock as for deployments triggered by invocations, so the IA is deployed only once
+        final String identifier = getUniqueSynchronizationString(triggeringContainer, deploymentLocation,
+            typeImplementation.getQName(), ia.getName());
+        try (IALockRegistry.Handle lock = iaLocks.acquire(identifier, relPath)) {
+            final List<WSDLEndpoint> endpoints = endpointService.getWSDLEndpointsForNTImplAndIAName(triggeringContainer,
+                deploymentLocation, typeImplementation.getQName(), ia.getName());
+            if (Objects.nonNull(endpoints) && !endpoints.isEmpty()) {
+                LOG.debug("IA [{}] is already deployed.", ia.getName());
+                return true;
+            }
+
+            deploymentTracker.storeIADeploymentInfo(new IADeploymentInfo(csar.id(), relPath, IADeploymentState.IA_DEPLOYING));
+            URI endpointURI = null;
+            try {
+                endpointURI = deployIA(exchange, csar, typeImplementation, artifactTemplate, deploymentType, deploymentLocation);
+            } finally {
+                deploymentTracker.storeIADeploymentInfo(new IADeploymentInfo(csar.id(), relPath,
+                    Objects.nonNull(endpointURI) ? IADeploymentState.IA_DEPLOYED : IADeploymentState.IA_DEPLOYMENT_FAILED));
+            }
+            if (Objects.isNull(endpointURI)) {
                 LOG.debug("IA deployment failed.");
                 return false;
             }
-            if (endpointURI.toString().contains(Constants.PLACEHOLDER_START)
-                && endpointURI.toString().contains(Constants.PLACEHOLDER_END)) {
-
-                // If a placeholder is specified, the service is part of the topology.
-                // We do not store this endpoints as they are not part of the management environment.
-                LOG.debug("Received endpoint contains placeholders. Service is part of the topology and called without deployment.");
-                endpointURI = replacePlaceholderWithInstanceData(endpointURI, nodeTemplateInstance);
-                message.setHeader(MBHeader.ENDPOINT_URI.toString(), endpointURI);
-            } else {
-                LOG.debug("IA successfully deployed. Storing endpoint...");
 
-                // store new endpoint for the IA
-                final WSDLEndpoint endpoint =
-                    new WSDLEndpoint(endpointURI, portType, triggeringContainer, deploymentLocation,
-                        csar.id(), serviceTemplateInstanceID, null, typeImplementation.getQName(), ia.getName(), new HashMap<>());
-                endpointService.storeWSDLEndpoint(endpoint);
+            // the endpoint belongs to no service instance, so it is kept when the instances are deleted
+            final WSDLEndpoint endpoint = new WSDLEndpoint(endpointURI, Util.getPortTypeQName(artifactTemplate),
+                triggeringContainer, deploymentLocation, csar.id(), null, null, typeImplementation.getQName(),
+                ia.getName(), new HashMap<>());
+            endpointService.storeWSDLEndpoint(endpoint);
+            LOG.debug("Deployed IA [{}] ahead of time at endpoint {}", ia.getName(), endpointURI);
+            return true;
+        }
+    }
+
+    @Override
+    public void undeployPreDeployedIAs(final Csar csar) {
+        // pre-deployed endpoints belong to no service instance and are not deleted with the instances
+        final List<WSDLEndpoint> endpoints =
+            endpointService.getWSDLEndpointsForCsarId(Settings.OPENTOSCA_CONTAINER_HOSTNAME, csar.id()).stream()
+                .filter(endpoint -> Objects.isNull(endpoint.getServiceTemplateInstanceID())
+                    && Objects.nonNull(endpoint.getTypeImplementation()) && Objects.nonNull(endpoint.getIaName()))
+                .collect(Collectors.toList());
+        LOG.debug("Undeploying {} implementation artifacts of CSAR [{}] deployed ahead of time", endpoints.size(), csar.id());
+        deleteEndpoints(csar, endpoints, null);
+    }
+
+    /**
+     * Deploys the given IA by passing the given exchange to the deployment plug-in for the given deployment type.
+     *
+     * @return the endpoint of the deployed IA or <tt>null</tt> if the deployment failed or is not possible
+     */
+    @Nullable
+    private URI deployIA(final Exchange exchange, final Csar csar, final TEntityTypeImplementation typeImplementation,
+                        final TArtifactTemplate artifactTemplate, final String deploymentType,
+                        final String deploymentLocation) {
+        final Message message = exchange.getIn();
+
+        LOG.debug("Checking if all required features are met by the deployment plug-in or the environment.");
+        final IManagementBusDeploymentPluginService deploymentPlugin = pluginRegistry.getDeploymentPluginServices().get(deploymentType);
+        // retrieve required features for the TypeImplementation
+        final TRequiredContainerFeatures requiredFeatures = typeImplementation.getRequiredContainerFeatures();
+
+        // check whether all features are met and abort deployment otherwise
+        if (!capabilityChecker.capabilitiesAreMet(requiredFeatures, deploymentPlugin)) {
+            LOG.debug("Required features not completely satisfied by the plug-in.");
+            return null;
+        }
+
+        // get all artifact references for this ArtifactTemplate
+        final List<TArtifactReference> artifacts = Optional.ofNullable(artifactTemplate.getArtifactReferences())
+            .map(TArtifactTemplate.ArtifactReferences::getArtifactReference)
+            .orElse(Collections.emptyList());
+
+        // convert relative references to absolute references to enable access to the IA
+        // files from other OpenTOSCA Container nodes
+        LOG.debug("Searching for artifact references for ArtifactTemplate {}", artifactTemplate.getIdFromIdOrNameField());
+        final List<String> artifactReferences = new ArrayList<>();
+        for (final TArtifactReference artifact : artifacts) {
+            // XML validated to be anyUri, therefore must be parsable as URI
+            URI reference = URI.create(artifact.getReference().trim());
+            if (reference.getScheme() != null) {
+                LOG.warn("ArtifactReference {} of Csar {} is not supported", artifact.getReference(), csar.id());
+                continue;
             }
-            LOG.debug("Endpoint: {}", endpointURI.toString());
+            // artifact is exposed via the content endpoint
+            String absoluteArtifactReference = Settings.OPENTOSCA_CONTAINER_CONTENT_API
+                .replace("{csarid}", csar.id().csarName())
+                // reference here is relative to CSAR basedirectory, with spaces being URLEncoded
+                .replace("{artifactreference}", artifact.getReference().trim().replaceAll(" ", "%20"));
+
+            artifactReferences.add(absoluteArtifactReference);
+            LOG.debug("Found reference: {} ", absoluteArtifactReference);
+        }
 
-            // Call IA, send response to caller and terminate bus
-            LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
-            handleResponse(pluginHandler.callMatchingInvocationPlugin(exchange, invocationType, deploymentLocation));
-            return true;
+        if (artifactReferences.isEmpty()) {
+            LOG.debug("No artifact references found. No deployment and invocation possible for this ArtifactTemplate.");
+            return null;
         }
+        // add references list to header to enable access from the deployment plug-ins
+        message.setHeader(MBHeader.ARTIFACTREFERENCES_LISTSTRING.toString(), artifactReferences);
+
+        // search ServiceEndpoint property for the artifact
+        final String serviceEndpoint = Util.getProperty(artifactTemplate, "ServiceEndpoint");
+        message.setHeader(MBHeader.ARTIFACTSERVICEENDPOINT_STRING.toString(), serviceEndpoint);
+
+        if (Objects.nonNull(serviceEndpoint)) {
+            LOG.debug("ServiceEndpoint property: {}", serviceEndpoint);
+        } else {
+            LOG.debug("No ServiceEndpoint property defined!");
+        }
+
+        // invoke deployment
+        return pluginHandler.callMatchingDeploymentPlugin(exchange, deploymentType, deploymentLocation)
+            .getIn().getHeader(MBHeader.ENDPOINT_URI.toString(), URI.class);
     }
 
     @Override
@@ -737,11 +926,10 @@ public class ManagementBusServiceImpl implements IManagementBusService {
             currentPlan.getOtherAttributes().put(new QName("http://opentosca.org", "WCET"), String.valueOf(calculatedWCET));
         }
 
-        // update plan in repository with new log event
-        final PlanInstanceRepository repo = new PlanInstanceRepository();
-        plan = repo.findByCorrelationId(arguments.correlationId);
-        plan.addEvent(event);
-        repo.update(plan);
+        // append log event to the plan
+        final PlanInstanceEventRepository eventRepository = new PlanInstanceEventRepository();
+        eventRepository.append(arguments.correlationId, event);
+        plan = new PlanInstanceRepository().findByCorrelationId(arguments.correlationId);
 
         // Undeploy IAs for the related ServiceTemplateInstance if a termination plan
         // was executed.
@@ -755,14 +943,13 @@ public class ManagementBusServiceImpl implements IManagementBusService {
             }
         }
         // add end timestamp and log message with duration
-        event.setEndTimestamp(new Date());
-        LOG.info("Plan execution duration: {}ms", event.getDuration());
+        final PlanInstanceEvent finishedEvent = new PlanInstanceEvent(event.getStatus(), event.getType(), event.getMessage());
+        finishedEvent.setStartTimestamp(event.getStartTimestamp());
+        finishedEvent.setEndTimestamp(new Date());
+        LOG.info("Plan execution duration: {}ms", finishedEvent.getDuration());
 
-        // update plan in repository with new log event
-
-        plan = repo.findByCorrelationId(arguments.correlationId);
-        plan.addEvent(event);
-        repo.update(plan);
+        // append log event to the plan
+        eventRepository.append(arguments.correlationId, finishedEvent);
 
         // update the output parameters in the plan instance
         PlanInstanceHandler.updatePlanInstanceOutput(plan, arguments.csar, exchange.getIn().getBody());
@@ -823,7 +1010,18 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         final List<WSDLEndpoint> serviceEndpoints =
             endpointService.getWSDLEndpointsForSTID(Settings.OPENTOSCA_CONTAINER_HOSTNAME, instanceID);
         LOG.debug("Found {} endpoints to delete...", serviceEndpoints.size());
+        deleteEndpoints(csar, serviceEndpoints, instanceID);
+    }
 
+    /**
+     * Deletes the given endpoints from the <tt>EndpointService</tt>. In case an endpoint is the only one for a certain
+     * implementation artifact, it is undeployed too.
+     *
+     * @param instance the service instance the endpoints belong to, used to synchronize with its invocations, or
+     *                 <tt>null</tt> for endpoints of IAs deployed ahead of time
+     */
+    private void deleteEndpoints(final Csar csar, final List<WSDLEndpoint> serviceEndpoints,
+                                 @Nullable final Long instance) {
         for (final WSDLEndpoint serviceEndpoint : serviceEndpoints) {
 
             final String triggeringContainer = serviceEndpoint.getTriggeringContainer();
@@ -835,11 +1033,14 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                     + "Managing Container: {}; NodeTypeImplementation: {}; IA name: {}", triggeringContainer,
                 deploymentLocation, typeImpl, iaName);
 
-            final String identifier =
-                getUniqueSynchronizationString(triggeringContainer, deploymentLocation, typeImpl, iaName, instanceID.toString());
+            final String relPath = typeImpl + "/" + iaName;
 
-            // synchronize deletion to avoid concurrency issues
-            synchronized (getLockForString(identifier)) {
+            // synchronize deletion to avoid concurrency issues: the lock of the instance waits for its running
+            // invocations, the lock of the IA for deployments for other instances or ahead of time
+            try (IALockRegistry.Handle lock = Objects.isNull(instance) ? null : iaLocks.acquire(
+                getUniqueSynchronizationString(triggeringContainer, deploymentLocation, typeImpl, iaName, instance.toString()), relPath);
+                 IALockRegistry.Handle deployment = iaLocks.acquire(
+                     getUniqueSynchronizationString(triggeringContainer, deploymentLocation, typeImpl, iaName), relPath)) {
 
                 // get number of endpoints for the same IA
                 final int count = endpointService
@@ -917,27 +1118,38 @@ public class ManagementBusServiceImpl implements IManagementBusService {
      */
     public static String getUniqueSynchronizationString(final String triggeringContainer,
                                                         final String deploymentLocation, final QName typeImpl,
-                                                        final String iaName, final String serviceInstanceId) {
+                                                        final String iaName) {
 
         if (Objects.isNull(triggeringContainer) || Objects.isNull(deploymentLocation) || Objects.isNull(typeImpl)
-            || Objects.isNull(iaName) || Objects.isNull(serviceInstanceId)) {
+            || Objects.isNull(iaName)) {
             return null;
         }
 
-        return String.join("/", triggeringContainer, deploymentLocation, typeImpl.toString(), iaName, serviceInstanceId);
+        return String.join("/", triggeringContainer, deploymentLocation, typeImpl.toString(), iaName);
     }
 
     /**
-     * Returns an Object which can be used to synchronize all actions related to a certain String value.
+     * Creates a unique String which identifies an IA used by a certain service instance. The String can be used to
+     * synchronize the invocations of the IA for the instance with the deletion of the endpoint of the instance.
      *
-     * @return the object which can be used for synchronization
+     * @param triggeringContainer OpenTOSCA Container that triggered the deployment
+     * @param deploymentLocation  OpenTOSCA Container where the IA is managed
+     * @param typeImpl            QName of the NodeType/RelationshipType the IA belongs to
+     * @param iaName              the name of the IA
+     * @param serviceInstanceId   the ID of the service instance
+     * @return a unique String consisting of the given information or <tt>null</tt> if some needed information is
+     * missing
      */
-    public static Object getLockForString(final String lockString) {
-        Objects.requireNonNull(lockString);
+    public static String getUniqueSynchronizationString(final String triggeringContainer,
+                                                        final String deploymentLocation, final QName typeImpl,
+                                                        final String iaName, final String serviceInstanceId) {
 
-        synchronized (locks) {
-            return locks.computeIfAbsent(lockString, (i) -> new Object());
+        if (Objects.isNull(triggeringContainer) || Objects.isNull(deploymentLocation) || Objects.isNull(typeImpl)
+            || Objects.isNull(iaName) || Objects.isNull(serviceInstanceId)) {
+            return null;
         }
+
+        return String.join("/", triggeringContainer, deploymentLocation, typeImpl.toString(), iaName, serviceInstanceId);
     }
 
     /**
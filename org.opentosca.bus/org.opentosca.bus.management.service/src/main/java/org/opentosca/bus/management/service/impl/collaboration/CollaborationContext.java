@@ -6,11 +6,13 @@ import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.apache.camel.CamelContext;
+import org.apache.camel.ConsumerTemplate;
 import org.apache.camel.ProducerTemplate;
 import org.opentosca.bus.management.service.impl.Constants;
 import org.opentosca.bus.management.service.impl.collaboration.route.ReceiveRequestRoute;
 import org.opentosca.bus.management.service.impl.collaboration.route.ReceiveResponseRoute;
 import org.opentosca.bus.management.service.impl.collaboration.route.SendRequestResponseRoute;
+import org.opentosca.bus.management.utils.MBThreadPools;
 import org.opentosca.container.core.common.Settings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,8 +26,9 @@ import org.springframework.stereotype.Service;
  * <br>
  * <p>
  * The activator is needed to start the camel context and add the routes for collaboration between different OpenTOSCA
- * instances. Additionally, a producer template is created which can be used by all classes of this bundle to send camel
- * messages.
+ * instances. Additionally, a producer and a consumer template are created which can be used by all classes of this
+ * bundle to send and receive camel messages. Requests of other OpenTOSCA instances are processed on the bounded {@link
+ * MBThreadPools#INVOCATION} thread pool profile.
  */
 @Service
 public class CollaborationContext {
@@ -34,13 +37,15 @@ public class CollaborationContext {
 
     private final CamelContext camelContext;
     private final ProducerTemplate producer;
+    private final ConsumerTemplate consumer;
 
     @Inject
     public CollaborationContext(@Named("collaboration-camel-context") CamelContext camelContext) {
         this.camelContext = camelContext;
         // Create a producer template for all components of the Management Bus implementation.
         // This is recommended by camel to avoid the usage of too many threads.
-        this.producer = camelContext.createProducerTemplate();
+        this.producer = MBThreadPools.createProducerTemplate(camelContext, MBThreadPools.INVOCATION);
+        this.consumer = camelContext.createConsumerTemplate();
 
         LOG.info("Starting management bus");
         camelContext.setUseBreadcrumb(false);
@@ -95,4 +100,8 @@ public class CollaborationContext {
     public ProducerTemplate getProducer() {
         return producer;
     }
+
+    public ConsumerTemplate getConsumer() {
+        return consumer;
+    }
 }
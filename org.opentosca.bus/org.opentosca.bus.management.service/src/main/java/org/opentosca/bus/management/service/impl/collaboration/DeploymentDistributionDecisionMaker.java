@@ -3,7 +3,6 @@ package org.opentosca.bus.management.service.impl.collaboration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -21,12 +20,8 @@ import org.opentosca.bus.management.service.impl.collaboration.model.KeyValueTyp
 import org.opentosca.bus.management.service.impl.collaboration.model.RemoteOperations;
 import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
-import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
-import org.opentosca.container.core.next.model.PlanInstance;
-import org.opentosca.container.core.next.model.PlanInstanceState;
-import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
-import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.repository.NodeTemplateInstanceIndex;
 import org.opentosca.container.core.next.repository.NodeTemplateInstanceRepository;
 import org.opentosca.container.core.tosca.convention.Types;
 import org.slf4j.Logger;
@@ -234,20 +229,18 @@ public class DeploymentDistributionDecisionMaker {
         Objects.requireNonNull(infrastructureNodeType,
             "QName for NodeType of infrastructure node must not be null for instance data matching");
 
-        // get the infrastructure properties without 'state' property for comparison
-        final Set<Entry<String, String>> infrastructureEntrySet = getEntrySetWithoutState(infrastructureProperties);
-
         // search NodeTemplateInstance with matching NodeType and Properties which is already
         // provisioned completely
-        final NodeTemplateInstance matchingInstance =
-            nodeTemplateInstanceRepository.findByTemplateType(infrastructureNodeType).stream()
-                .filter(instance -> instance.getServiceTemplateInstance().getState()
-                    .equals(ServiceTemplateInstanceState.CREATED))
-                .filter(instance -> instance.getState()
-                    .equals(NodeTemplateInstanceState.STARTED))
-                .filter(instance -> isBuildPlanFinished(instance))
-                .filter(instance -> getEntrySetWithoutState(instance.getPropertiesAsMap()).equals(infrastructureEntrySet))
-                .findFirst().orElse(null);
+        final List<NodeTemplateInstanceIndex.Match> candidates =
+            NodeTemplateInstanceIndex.getInstance().findStarted(infrastructureNodeType, infrastructureProperties);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        final Set<Long> provisioned = nodeTemplateInstanceRepository.findProvisioned(
+            candidates.stream().map(NodeTemplateInstanceIndex.Match::getId).collect(Collectors.toList()));
+        final NodeTemplateInstanceIndex.Match matchingInstance = candidates.stream()
+            .filter(candidate -> provisioned.contains(candidate.getId()))
+            .findFirst().orElse(null);
 
         if (Objects.nonNull(matchingInstance)) {
             // check whether the matching NodeTemplateInstance is managed by this Container
@@ -308,36 +301,6 @@ public class DeploymentDistributionDecisionMaker {
         }
     }
 
-    /**
-     * Filter out the 'State' property from the given properties Map if it is defined and return the corresponding entry
-     * Set.
-     *
-     * @param properties the properties as Map
-     * @return the properties as entry Set without 'State' property
-     */
-    private static Set<Entry<String, String>> getEntrySetWithoutState(final Map<String, String> properties) {
-        return properties.entrySet().stream().filter((entry) -> !entry.getKey().equals("State"))
-            .collect(Collectors.toSet());
-    }
-
-    /**
-     * Check whether the build plan that corresponds to the given NodeTemplateInstance is finished.
-     *
-     * @param nodeTemplateInstance the NodeTemplateInstance for which the build plan is checked
-     * @return <tt>true</tt> if the build plan is found and terminated, <tt>false</tt> otherwise
-     */
-    private static boolean isBuildPlanFinished(final NodeTemplateInstance nodeTemplateInstance) {
-        if (Objects.isNull(nodeTemplateInstance)) {
-            return false;
-        }
-
-        final PlanInstance buildPlan =
-            nodeTemplateInstance.getServiceTemplateInstance().getPlanInstances().stream()
-                .filter((plan) -> plan.getType().equals(PlanType.BUILD)).findFirst().orElse(null);
-
-        return Objects.nonNull(buildPlan) && buildPlan.getState().equals(PlanInstanceState.FINISHED);
-    }
-
     /**
      * Check whether a given Relationship Type is used to connect parts of a topology stack (infrastructure type) or
      * different topology stacks.
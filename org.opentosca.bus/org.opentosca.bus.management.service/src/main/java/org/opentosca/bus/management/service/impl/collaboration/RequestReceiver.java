@@ -28,6 +28,7 @@ import org.opentosca.bus.management.service.impl.collaboration.model.InstanceDat
 import org.opentosca.bus.management.service.impl.collaboration.model.KeyValueMap;
 import org.opentosca.bus.management.service.impl.collaboration.model.KeyValueType;
 import org.opentosca.bus.management.service.impl.collaboration.route.ReceiveRequestRoute;
+import org.opentosca.bus.management.service.impl.util.IALockRegistry;
 import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.model.csar.id.CSARID;
@@ -55,16 +56,19 @@ public class RequestReceiver {
     private final DeploymentDistributionDecisionMaker decisionMaker;
     private final ICoreEndpointService endpointService;
     private final PluginRegistry pluginRegistry;
+    private final IALockRegistry iaLocks;
 
     @Inject
     public RequestReceiver(CollaborationContext context,
                            DeploymentDistributionDecisionMaker decisionMaker,
                            ICoreEndpointService endpointService,
-                           PluginRegistry pluginRegistry) {
+                           PluginRegistry pluginRegistry,
+                           IALockRegistry iaLocks) {
         this.collaborationContext = context;
         this.decisionMaker = decisionMaker;
         this.endpointService = endpointService;
         this.pluginRegistry = pluginRegistry;
+        this.iaLocks = iaLocks;
     }
 
     /**
@@ -188,7 +192,7 @@ public class RequestReceiver {
         URI endpointURI = null;
         // Prevent two threads from trying to deploy the same IA concurrently and avoid the deletion
         // of an IA after successful checking that an IA is already deployed.
-        synchronized (ManagementBusServiceImpl.getLockForString(identifier)) {
+        try (IALockRegistry.Handle lock = iaLocks.acquire(identifier, typeImplementationID + "/" + implementationArtifactName)) {
 
             LOG.debug("Got lock for operations on the given IA. Checking if IA is already deployed...");
 
@@ -284,7 +288,7 @@ public class RequestReceiver {
 
         // Prevent two threads from trying to deploy the same IA concurrently and avoid the deletion
         // of an IA after successful checking that an IA is already deployed.
-        synchronized (ManagementBusServiceImpl.getLockForString(identifier)) {
+        try (IALockRegistry.Handle lock = iaLocks.acquire(identifier, typeImplementationID + "/" + implementationArtifactName)) {
 
             LOG.debug("Got lock for operations on the given IA. Getting endpoints fot the IA...");
 
@@ -510,12 +514,10 @@ public class RequestReceiver {
             message.getHeader(MBHeader.TYPEIMPLEMENTATIONID_QNAME.toString(), QName.class);
         final String implementationArtifactName =
             message.getHeader(MBHeader.IMPLEMENTATION_ARTIFACT_NAME_STRING.toString(), String.class);
-        final String serviceInstanceURI =
-            message.getHeader(MBHeader.SERVICEINSTANCEID_URI.toString(), String.class);
-        final String serviceInstanceId = serviceInstanceURI.substring(serviceInstanceURI.lastIndexOf("/"));
 
+        // independent of the service instance, so deployments for several instances exclude each other
         return ManagementBusServiceImpl.getUniqueSynchronizationString(triggeringContainer, deploymentLocation,
-            typeImplementationID, implementationArtifactName, serviceInstanceId);
+            typeImplementationID, implementationArtifactName);
     }
 
     /**
@@ -9,9 +9,11 @@ import java.util.concurrent.ScheduledExecutorService;
 
 import javax.inject.Inject;
 
-import org.apache.camel.ConsumerTemplate;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
+import org.apache.camel.PollingConsumer;
 import org.opentosca.bus.management.header.MBHeader;
 import org.opentosca.bus.management.service.impl.Constants;
 import org.opentosca.bus.management.service.impl.collaboration.model.CollaborationMessage;
@@ -33,7 +35,8 @@ public class RequestSender {
 
     static final private Logger LOG = LoggerFactory.getLogger(RequestSender.class);
 
-    private final static ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final static ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
+        new ThreadFactoryBuilder().setNameFormat("collaboration-request-%d").setDaemon(true).build());
 
     private final CollaborationContext collaborationContext;
 
@@ -77,35 +80,48 @@ public class RequestSender {
         requestHeaders.put(MBHeader.REPLYTOTOPIC_STRING.toString(), Constants.RESPONSE_TOPIC);
         requestHeaders.put(MBHeader.REMOTEOPERATION_STRING.toString(), operation);
 
-        LOG.debug("Publishing request to MQTT broker at {} with topic {} and correlation ID {}",
-            Constants.LOCAL_MQTT_BROKER, Constants.REQUEST_TOPIC, correlationID);
-
-        // publish the exchange over the camel route
-        scheduler.schedule(() -> collaborationContext.getProducer().sendBodyAndHeaders("direct:SendMQTT", requestBody, requestHeaders),
-            300, MILLISECONDS);
-
+        // the callback is unique to this request, so it is removed again once the request is answered
+        final CamelContext camelContext = collaborationContext.getCamelContext();
         final String callbackEndpoint = "direct:Callback-" + correlationID;
-        LOG.debug("Waiting for response at endpoint: {}", callbackEndpoint);
-
-        // wait for a response at the created callback
-        final ConsumerTemplate consumer = collaborationContext.getCamelContext().createConsumerTemplate();
-
-        Exchange response = null;
-        if (timeout == 0) {
-            // wait without timeout
-            response = consumer.receive(callbackEndpoint);
-        } else {
-            // assess request as failed after timeout and return null
-            response = consumer.receive(callbackEndpoint, timeout);
+        final PollingConsumer callback;
+        try {
+            callback = camelContext.getEndpoint(callbackEndpoint).createPollingConsumer();
+            callback.start();
+        } catch (final Exception e) {
+            LOG.error("Unable to create callback endpoint {}", callbackEndpoint, e);
+            return null;
         }
 
-        // release resources
         try {
-            consumer.stop();
-        } catch (final Exception e) {
-            LOG.warn("Unable to stop consumer: {}", e.getMessage());
+            LOG.debug("Publishing request to MQTT broker at {} with topic {} and correlation ID {}",
+                Constants.LOCAL_MQTT_BROKER, Constants.REQUEST_TOPIC, correlationID);
+
+            // publish the exchange over the camel route
+            scheduler.schedule(() -> collaborationContext.getProducer().sendBodyAndHeaders("direct:SendMQTT", requestBody, requestHeaders),
+                300, MILLISECONDS);
+
+            LOG.debug("Waiting for response at endpoint: {}", callbackEndpoint);
+
+            // wait for a response at the created callback
+            if (timeout == 0) {
+                // wait without timeout
+                return callback.receive();
+            } else {
+                // assess request as failed after timeout and return null
+                return callback.receive(timeout);
+            }
+        } finally {
+            removeCallback(camelContext, callbackEndpoint, callback);
         }
+    }
 
-        return response;
+    private static void removeCallback(final CamelContext camelContext, final String callbackEndpoint,
+                                       final PollingConsumer callback) {
+        try {
+            callback.stop();
+            camelContext.removeEndpoints(callbackEndpoint);
+        } catch (final Exception e) {
+            LOG.warn("Unable to remove callback endpoint {}", callbackEndpoint, e);
+        }
     }
 }
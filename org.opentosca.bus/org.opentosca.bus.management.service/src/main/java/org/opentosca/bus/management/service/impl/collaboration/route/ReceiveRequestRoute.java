@@ -7,6 +7,7 @@ import org.apache.camel.Processor;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.converter.jaxb.JaxbDataFormat;
 import org.opentosca.bus.management.header.MBHeader;
+import org.opentosca.bus.management.utils.MBThreadPools;
 import org.opentosca.bus.management.service.impl.collaboration.model.ObjectFactory;
 import org.opentosca.bus.management.service.impl.collaboration.model.RemoteOperations;
 import org.opentosca.bus.management.service.impl.collaboration.processor.IncomingProcessor;
@@ -93,7 +94,7 @@ public class ReceiveRequestRoute extends RouteBuilder {
 
         // @formatter:off
         this.from(consumerEndpoint)
-            .threads(2, 5)
+            .threads().executorService(MBThreadPools.getExecutorService(getContext(), MBThreadPools.INVOCATION))
             .log(LoggingLevel.DEBUG, LOG, messageReceived)
             .doTry()
             .unmarshal(jaxb)
@@ -4,7 +4,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
-import javax.persistence.NoResultException;
 import javax.xml.namespace.QName;
 
 import org.eclipse.winery.model.tosca.TParameter;
@@ -20,6 +19,7 @@ import org.opentosca.container.core.common.NotFoundException;
 import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.engine.ToscaEngine;
 import org.opentosca.container.core.model.csar.Csar;
+import org.opentosca.container.core.next.jpa.UnitOfWork;
 import org.opentosca.container.core.next.model.PlanInstance;
 import org.opentosca.container.core.next.model.PlanInstanceInput;
 import org.opentosca.container.core.next.model.PlanInstanceOutput;
@@ -28,6 +28,7 @@ import org.opentosca.container.core.next.model.PlanLanguage;
 import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.repository.PlanInstanceRepository;
 import org.opentosca.container.core.next.repository.ServiceTemplateInstanceRepository;
+import org.opentosca.container.core.plan.CorrelationIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -87,31 +88,24 @@ public class PlanInstanceHandler {
                 param.getType()).setPlanInstance(plan);
         }
 
-        // add connection to the service template and update the repository
-        stiRepo.find(serviceTemplateInstanceId)
-            .ifPresent(serviceTemplateInstance -> plan.setServiceTemplateInstance(serviceTemplateInstance));
-        planRepo.add(plan);
+        // add connection to the service template and update the repository in one persistence context
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            stiRepo.find(serviceTemplateInstanceId)
+                .ifPresent(serviceTemplateInstance -> plan.setServiceTemplateInstance(serviceTemplateInstance));
+            planRepo.add(plan);
+            uow.commit();
+        }
 
         return plan;
     }
 
     /**
-     * Create a unique correlation ID based on the current time.
+     * Create a unique correlation ID, see {@link CorrelationIdGenerator}.
      *
      * @return the unique correlation ID
      */
     public static String createCorrelationId() {
-        // generate CorrelationId for the plan execution
-        while (true) {
-            final String correlationId = String.valueOf(System.currentTimeMillis());
-
-            try {
-                planRepo.findByCorrelationId(correlationId);
-                LOG.debug("CorrelationId {} already in use.", correlationId);
-            } catch (final NoResultException e) {
-                return correlationId;
-            }
-        }
+        return CorrelationIdGenerator.getInstance().next();
     }
 
     /**
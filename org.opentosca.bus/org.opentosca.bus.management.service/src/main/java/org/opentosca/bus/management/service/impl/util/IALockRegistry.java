@@ -0,0 +1,198 @@
+package org.opentosca.bus.management.service.impl.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Registry of the locks that synchronize the deployment, invocation and undeployment of implementation artifacts.<br>
+ * <br>
+ * <p>
+ * Copyright 2020 IAAS University of Stuttgart
+ * <p>
+ * Every lock is identified by a String as created by {@link org.opentosca.bus.management.service.impl.ManagementBusServiceImpl#getUniqueSynchronizationString}.
+ * Locks are reference counted and removed from the registry as soon as no thread holds or waits for them anymore, so
+ * the registry only grows with the number of concurrently used IAs.
+ * <p>
+ * Deploying and undeploying an IA requires the lock exclusively. Invocations {@link #acquireShared acquire the lock
+ * shared} to check for the endpoint of an IA and only {@link Handle#escalate() escalate} to the exclusive lock if the
+ * IA has to be deployed first. After the endpoint is known, the lock is {@link Handle#downgrade() downgraded} again.
+ * This allows any number of operations to be invoked on the same deployed IA concurrently, while still preventing the
+ * IA from being undeployed during an invocation.
+ * <p>
+ * The locks are not reentrant. A handle can be closed by any thread, so an invocation whose response arrives
+ * asynchronously keeps the IA locked until then.
+ */
+@Service
+public class IALockRegistry {
+
+    private final static Logger LOG = LoggerFactory.getLogger(IALockRegistry.class);
+
+    private final Map<String, Entry> locks = new ConcurrentHashMap<>();
+    private final Map<String, WaitStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Acquires the lock for the given identifier exclusively, blocking until it is available.
+     *
+     * @param identifier the identifier of the lock
+     * @param ia         the IA the lock wait time is accounted to, e.g. the name of the type implementation and IA
+     * @return a handle that must be closed to release the lock
+     */
+    public Handle acquire(final String identifier, final String ia) {
+        final Handle handle = new Handle(identifier, reference(identifier), ia);
+        handle.lock(false);
+        return handle;
+    }
+
+    /**
+     * Acquires the lock for the given identifier shared, blocking while it is held exclusively.
+     *
+     * @param identifier the identifier of the lock
+     * @param ia         the IA the lock wait time is accounted to, e.g. the name of the type implementation and IA
+     * @return a handle that must be closed to release the lock
+     */
+    public Handle acquireShared(final String identifier, final String ia) {
+        final Handle handle = new Handle(identifier, reference(identifier), ia);
+        handle.lock(true);
+        return handle;
+    }
+
+    private Entry reference(final String identifier) {
+        Objects.requireNonNull(identifier);
+        return locks.compute(identifier, (key, existing) -> {
+            final Entry result = existing == null ? new Entry() : existing;
+            result.references++;
+            return result;
+        });
+    }
+
+    private void release(final String identifier) {
+        locks.computeIfPresent(identifier, (key, existing) -> --existing.references == 0 ? null : existing);
+    }
+
+    /**
+     * @return the number of locks that are currently held or waited for
+     */
+    public int size() {
+        return locks.size();
+    }
+
+    /**
+     * @return the lock wait time statistics per IA
+     */
+    public Map<String, WaitStatistics> getWaitStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private static final class Entry {
+        private final StampedLock lock = new StampedLock();
+        // only modified within the compute functions of the registry map
+        private int references = 0;
+    }
+
+    /**
+     * Handle of an acquired lock. Closing the handle releases the lock.
+     */
+    public final class Handle implements AutoCloseable {
+
+        private final String identifier;
+        private final Entry entry;
+        private final String ia;
+        private long stamp;
+        private boolean shared = false;
+        private boolean released = false;
+
+        private Handle(final String identifier, final Entry entry, final String ia) {
+            this.identifier = identifier;
+            this.entry = entry;
+            this.ia = ia;
+        }
+
+        private void lock(final boolean shared) {
+            final long start = System.nanoTime();
+            stamp = shared ? entry.lock.readLock() : entry.lock.writeLock();
+            this.shared = shared;
+            final long waited = System.nanoTime() - start;
+            statistics.computeIfAbsent(ia, key -> new WaitStatistics()).record(waited);
+            LOG.trace("Acquired lock [{}] {} after {}ms", identifier, shared ? "shared" : "exclusively",
+                TimeUnit.NANOSECONDS.toMillis(waited));
+        }
+
+        /**
+         * Escalates the shared lock to an exclusive lock. As a shared lock can't be upgraded atomically, it is released
+         * before the exclusive lock is acquired, so the state checked under the shared lock must be checked again.
+         */
+        public void escalate() {
+            if (!shared || released) {
+                return;
+            }
+            entry.lock.unlockRead(stamp);
+            lock(false);
+        }
+
+        /**
+         * Downgrades the exclusive lock to a shared lock. Other threads can then acquire the shared lock, too, while
+         * exclusive access stays blocked until this handle is closed.
+         */
+        public void downgrade() {
+            if (shared || released) {
+                return;
+            }
+            // always succeeds for an exclusive lock
+            stamp = entry.lock.tryConvertToReadLock(stamp);
+            shared = true;
+        }
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            entry.lock.unlock(stamp);
+            release(identifier);
+        }
+    }
+
+    /**
+     * Aggregated lock wait times for a single IA.
+     */
+    public static final class WaitStatistics {
+
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(final long waitNanos) {
+            acquisitions.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulate(waitNanos);
+        }
+
+        public long getAcquisitions() {
+            return acquisitions.sum();
+        }
+
+        public long getTotalWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum());
+        }
+
+        public long getMaxWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+        }
+
+        public double getMeanWaitMillis() {
+            final long count = acquisitions.sum();
+            return count == 0 ? 0 : (double) getTotalWaitMillis() / count;
+        }
+    }
+}
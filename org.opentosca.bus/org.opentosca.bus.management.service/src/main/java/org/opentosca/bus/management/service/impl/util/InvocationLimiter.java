@@ -0,0 +1,183 @@
+package org.opentosca.bus.management.service.impl.util;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.opentosca.container.core.common.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Limits the number of concurrent IA invocations per target host and overall.<br>
+ * <br>
+ * <p>
+ * Copyright 2020 IAAS University of Stuttgart
+ * <p>
+ * Invocations that exceed a limit wait in the order they arrived, see {@link Settings#BUS_INVOCATION_MAX_PER_TARGET}.
+ * They are rejected if too many invocations are waiting already or no slot becomes free in time. This keeps a burst of
+ * plan starts from opening ever more connections to the same IA.
+ * <p>
+ * Only invocations of endpoints with a host are limited. Other invocations, like those of script IAs, delegate to
+ * further IA invocations that are limited in turn. Holding a slot while waiting for one of them could block all slots.
+ */
+@Service
+public class InvocationLimiter {
+
+    private final static Logger LOG = LoggerFactory.getLogger(InvocationLimiter.class);
+
+    private final int maxPerTarget;
+    private final int maxQueued;
+    private final long queueTimeoutNanos;
+
+    private final Semaphore overall;
+    private final AtomicInteger queued = new AtomicInteger();
+    // host and port -> slots and statistics, only grows with the number of distinct IA hosts
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+    public InvocationLimiter() {
+        this(Integer.parseInt(Settings.BUS_INVOCATION_MAX_PER_TARGET),
+            Integer.parseInt(Settings.BUS_INVOCATION_MAX_CONCURRENT),
+            Integer.parseInt(Settings.BUS_INVOCATION_MAX_QUEUED),
+            TimeUnit.SECONDS.toNanos(Long.parseLong(Settings.BUS_INVOCATION_QUEUE_TIMEOUT_SECONDS)));
+    }
+
+    InvocationLimiter(final int maxPerTarget, final int maxConcurrent, final int maxQueued,
+                      final long queueTimeoutNanos) {
+        this.maxPerTarget = maxPerTarget;
+        this.maxQueued = maxQueued;
+        this.queueTimeoutNanos = queueTimeoutNanos;
+        this.overall = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Acquires a slot for invoking the given endpoint, waiting if the limits are reached.
+     *
+     * @param endpoint the endpoint of the invoked IA
+     * @return a slot that must be closed after the invocation, or <tt>null</tt> if the invocation is rejected
+     */
+    @Nullable
+    public Slot acquire(@Nullable final URI endpoint) {
+        if (endpoint == null || endpoint.getHost() == null) {
+            return new Slot(null);
+        }
+        final String key = endpoint.getHost() + ":" + endpoint.getPort();
+        final Target target = targets.computeIfAbsent(key, host -> new Target(maxPerTarget));
+
+        // unlike tryAcquire(), a timed attempt doesn't overtake waiting invocations
+        try {
+            if (target.slots.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                if (overall.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                    return acquired(target);
+                }
+                target.slots.release();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            target.rejections.increment();
+            return null;
+        }
+
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            target.rejections.increment();
+            LOG.warn("Rejected invocation of {}, {} invocations are waiting already", endpoint, maxQueued);
+            return null;
+        }
+        target.waiting.incrementAndGet();
+        final long deadline = System.nanoTime() + queueTimeoutNanos;
+        try {
+            if (target.slots.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                if (overall.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    return acquired(target);
+                }
+                target.slots.release();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            target.waiting.decrementAndGet();
+            queued.decrementAndGet();
+        }
+        target.rejections.increment();
+        LOG.warn("Rejected invocation of {}, no free slot within {}s", endpoint,
+            TimeUnit.NANOSECONDS.toSeconds(queueTimeoutNanos));
+        return null;
+    }
+
+    private Slot acquired(final Target target) {
+        target.invocations.increment();
+        return new Slot(target);
+    }
+
+    /**
+     * @return the invocation statistics per target host and port
+     */
+    public Map<String, Target> getStatistics() {
+        return Collections.unmodifiableMap(targets);
+    }
+
+    /**
+     * Slots and invocation statistics of a single target.
+     */
+    public static final class Target {
+
+        private final int maxSlots;
+        private final Semaphore slots;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+
+        private Target(final int maxSlots) {
+            this.maxSlots = maxSlots;
+            this.slots = new Semaphore(maxSlots, true);
+        }
+
+        public long getInvocations() {
+            return invocations.sum();
+        }
+
+        public long getRejections() {
+            return rejections.sum();
+        }
+
+        public int getActive() {
+            return maxSlots - slots.availablePermits();
+        }
+
+        public int getWaiting() {
+            return waiting.get();
+        }
+    }
+
+    /**
+     * Slot of an invocation. Closing the slot frees it for the next invocation.
+     */
+    public final class Slot implements AutoCloseable {
+
+        @Nullable
+        private final Target target;
+        private boolean released = false;
+
+        private Slot(@Nullable final Target target) {
+            this.target = target;
+        }
+
+        @Override
+        public void close() {
+            if (released || target == null) {
+                return;
+            }
+            released = true;
+            target.slots.release();
+            overall.release();
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package org.opentosca.bus.management.service.impl.util;
 
+import java.net.URI;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+
 import javax.inject.Inject;
 import javax.xml.namespace.QName;
 
@@ -7,6 +11,7 @@ import org.eclipse.winery.model.tosca.TArtifactTemplate;
 
 import org.apache.camel.Exchange;
 import org.opentosca.bus.management.deployment.plugin.IManagementBusDeploymentPluginService;
+import org.opentosca.bus.management.header.MBHeader;
 import org.opentosca.bus.management.invocation.plugin.IManagementBusInvocationPluginService;
 import org.opentosca.bus.management.service.impl.Constants;
 import org.opentosca.bus.management.service.impl.PluginRegistry;
@@ -31,11 +36,65 @@ public class PluginHandler {
 
     private final static Logger LOG = LoggerFactory.getLogger(PluginHandler.class);
 
+    // output parameter of an operation that notifies the caller of a failed invocation
+    private final static String FAULT_PARAMETER = "Fault";
+
     private final PluginRegistry pluginRegistry;
+    private final InvocationLimiter invocationLimiter;
 
     @Inject
-    public PluginHandler(PluginRegistry pluginRegistry) {
+    public PluginHandler(PluginRegistry pluginRegistry, InvocationLimiter invocationLimiter) {
         this.pluginRegistry = pluginRegistry;
+        this.invocationLimiter = invocationLimiter;
+    }
+
+    /**
+     * Calls the invocation plug-in for an IA like {@link #callMatchingInvocationPlugin}, once the {@link
+     * InvocationLimiter} grants a slot for the endpoint of the IA. The plug-in is invoked asynchronously, see {@link
+     * IManagementBusInvocationPluginService#invokeAsync}.
+     *
+     * @param exchange           the exchange that has to be passed to the plug-in.
+     * @param invocationType     the invocation type for the IA invocation
+     * @param deploymentLocation the deployment location of the IA that is invoked
+     * @return a future completed with the response of the called plug-in or with a fault response if the invocation
+     * was rejected, see {@link #withFault}.
+     */
+    public CompletableFuture<Exchange> callMatchingIAInvocationPlugin(Exchange exchange, String invocationType,
+                                                                      final String deploymentLocation) {
+        final URI endpoint = exchange.getIn().getHeader(MBHeader.ENDPOINT_URI.toString(), URI.class);
+        final InvocationLimiter.Slot slot = invocationLimiter.acquire(endpoint);
+        if (slot == null) {
+            return CompletableFuture.completedFuture(withFault(exchange,
+                "Invocation of " + endpoint + " was rejected, too many invocations are running or waiting"));
+        }
+        final IManagementBusInvocationPluginService invocationPlugin = getInvocationPlugin(invocationType, deploymentLocation);
+        if (invocationPlugin == null) {
+            slot.close();
+            LOG.warn("No matching invocation plug-in found for invocation type {}!", invocationType);
+            return CompletableFuture.completedFuture(exchange);
+        }
+        final CompletableFuture<Exchange> response;
+        try {
+            response = invocationPlugin.invokeAsync(exchange);
+        } catch (final RuntimeException e) {
+            slot.close();
+            throw e;
+        }
+        // the slot is held until the response arrived
+        return response.whenComplete((result, error) -> slot.close());
+    }
+
+    /**
+     * Replaces the body of the given exchange by a response containing only the given fault, so the caller is notified
+     * about an invocation that didn't reach the IA or failed.
+     *
+     * @return the given exchange
+     */
+    public static Exchange withFault(final Exchange exchange, final String fault) {
+        final HashMap<String, String> response = new HashMap<>();
+        response.put(FAULT_PARAMETER, fault);
+        exchange.getIn().setBody(response);
+        return exchange;
     }
 
     /**
@@ -52,6 +111,17 @@ public class PluginHandler {
         LOG.debug("Searching a matching invocation plug-in for InvocationType {} and deployment location {}",
             invocationType, deploymentLocation);
 
+        final IManagementBusInvocationPluginService invocationPlugin = getInvocationPlugin(invocationType, deploymentLocation);
+        if (invocationPlugin != null) {
+            exchange = invocationPlugin.invoke(exchange);
+        } else {
+            LOG.warn("No matching invocation plug-in found for invocation type {}!", invocationType);
+        }
+        return exchange;
+    }
+
+    private IManagementBusInvocationPluginService getInvocationPlugin(final String invocationType,
+                                                                     final String deploymentLocation) {
         IManagementBusInvocationPluginService invocationPlugin = pluginRegistry.getInvocationPluginServices().get(invocationType);
         // redirect invocation call to 'remote' plug-in if deployment location is not the local Container and we're invoking the Script plugin
         if (!deploymentLocation.equals(Settings.OPENTOSCA_CONTAINER_HOSTNAME)) {
@@ -60,12 +130,7 @@ public class PluginHandler {
                 invocationPlugin = pluginRegistry.getInvocationPluginServices().get(Constants.REMOTE_TYPE);
             }
         }
-        if (invocationPlugin != null) {
-            exchange = invocationPlugin.invoke(exchange);
-        } else {
-            LOG.warn("No matching invocation plug-in found for invocation type {}!", invocationType);
-        }
-        return exchange;
+        return invocationPlugin;
     }
 
     /**
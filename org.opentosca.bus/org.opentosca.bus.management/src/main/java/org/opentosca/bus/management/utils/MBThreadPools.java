@@ -0,0 +1,106 @@
+package org.opentosca.bus.management.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.impl.DefaultProducerTemplate;
+import org.apache.camel.spi.ExecutorServiceManager;
+import org.opentosca.container.core.common.Settings;
+
+/**
+ * Named, bounded thread pool profiles of the Camel contexts of the Management Bus.<br>
+ * <br>
+ * <p>
+ * Each profile has a single thread pool per context, which is shared by all routes and producer templates using the
+ * profile, e.g. with <tt>threads().executorService(MBThreadPools.getExecutorService(getContext(),
+ * MBThreadPools.INVOCATION))</tt>. Once the threads and the queue of a pool are exhausted, the submitting thread runs the
+ * task itself. This slows down the producers of a burst of requests instead of creating ever more threads.
+ */
+public final class MBThreadPools {
+
+    /**
+     * Profile for invocations of IAs and plans
+     */
+    public static final String INVOCATION = "mb-invocation";
+    /**
+     * Profile for requests received by the APIs of the Management Bus
+     */
+    public static final String API = "mb-api";
+
+    // context -> profile id -> the thread pool shared by all users of the profile in the context
+    private static final Map<CamelContext, Map<String, ExecutorService>> EXECUTORS = new WeakHashMap<>();
+
+    private MBThreadPools() {
+    }
+
+    /**
+     * Registers the profiles with the given context, unless they are registered already.
+     */
+    public static void register(final CamelContext camelContext) {
+        final ExecutorServiceManager manager = camelContext.getExecutorServiceManager();
+        synchronized (manager) {
+            register(manager, INVOCATION, Integer.parseInt(Settings.BUS_INVOCATION_THREADS));
+            register(manager, API, Integer.parseInt(Settings.BUS_API_THREADS));
+        }
+    }
+
+    private static void register(final ExecutorServiceManager manager, final String id, final int maxPoolSize) {
+        if (manager.getThreadPoolProfile(id) != null) {
+            return;
+        }
+        manager.registerThreadPoolProfile(new ThreadPoolProfileBuilder(id)
+            .poolSize(Math.min(4, maxPoolSize))
+            .maxPoolSize(maxPoolSize)
+            .maxQueueSize(Integer.parseInt(Settings.BUS_THREADS_QUEUE_CAPACITY))
+            .rejectedPolicy(ThreadPoolRejectedPolicy.CallerRuns)
+            .build());
+    }
+
+    /**
+     * Returns the thread pool of the given profile in the given context, creating it on first use. The pool is shut
+     * down with the context.
+     *
+     * @param camelContext the context the pool belongs to
+     * @param profileId    {@link #INVOCATION} or {@link #API}
+     */
+    public static ExecutorService getExecutorService(final CamelContext camelContext, final String profileId) {
+        register(camelContext);
+        synchronized (EXECUTORS) {
+            final Map<String, ExecutorService> executors = EXECUTORS.computeIfAbsent(camelContext, context -> new HashMap<>());
+            final ExecutorService executor = executors.get(profileId);
+            if (executor != null && !executor.isShutdown()) {
+                return executor;
+            }
+            // a pool of a stopped context is replaced once the context is restarted
+            final ExecutorService created =
+                camelContext.getExecutorServiceManager().newThreadPool(MBThreadPools.class, profileId, profileId);
+            executors.put(profileId, created);
+            return created;
+        }
+    }
+
+    /**
+     * Creates a producer template whose asynchronous sends run on the thread pool of the given profile. The template is
+     * thread-safe and meant to be reused for all messages sent by its owner. As stopping the template shuts down the
+     * shared pool, it is only stopped with the context.
+     *
+     * @param camelContext the context to send the messages with
+     * @param profileId    {@link #INVOCATION} or {@link #API}
+     */
+    public static ProducerTemplate createProducerTemplate(final CamelContext camelContext, final String profileId) {
+        final ExecutorService executor = getExecutorService(camelContext, profileId);
+        final DefaultProducerTemplate template = new DefaultProducerTemplate(camelContext, executor);
+        try {
+            template.start();
+        } catch (final Exception e) {
+            throw new IllegalStateException("Could not start producer template for thread pool " + profileId, e);
+        }
+        return template;
+    }
+}
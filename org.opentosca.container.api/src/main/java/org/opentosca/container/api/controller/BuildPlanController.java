@@ -2,6 +2,7 @@ package org.opentosca.container.api.controller;
 
 import java.net.URI;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
@@ -10,6 +11,7 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
@@ -22,6 +24,8 @@ import org.eclipse.winery.model.tosca.TServiceTemplate;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
+import org.opentosca.container.api.dto.plan.OperationStatisticsDTO;
+import org.opentosca.container.api.dto.plan.OperationStatisticsListDTO;
 import org.opentosca.container.api.dto.plan.PlanDTO;
 import org.opentosca.container.api.dto.plan.PlanInstanceDTO;
 import org.opentosca.container.api.dto.plan.PlanInstanceEventDTO;
@@ -94,10 +98,28 @@ public class BuildPlanController {
 
         dto.add(Link.fromUri(UriUtil.encode(uriInfo.getAbsolutePathBuilder().path("instances").build()))
             .rel("instances").build());
+        dto.add(Link.fromUri(UriUtil.encode(uriInfo.getAbsolutePathBuilder().path("statistics").build()))
+            .rel("statistics").build());
         dto.add(Link.fromUri(UriUtil.encode(uriInfo.getAbsolutePath())).rel("self").build());
         return Response.ok(dto).build();
     }
 
+    @GET
+    @Path("/{plan}/statistics")
+    @Produces( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @ApiOperation(value = "Get execution time statistics of the operations invoked by a build plan",
+        response = OperationStatisticsListDTO.class)
+    public Response getBuildPlanStatistics(@ApiParam("ID of build plan") @PathParam("plan") final String plan,
+                                           @Context final UriInfo uriInfo) {
+        LOGGER.debug("Invoking getBuildPlanStatistics");
+        final OperationStatisticsListDTO list = new OperationStatisticsListDTO(
+            planService.getOperationStatistics(csar, ALL_PLAN_TYPES, plan).stream()
+                .map(OperationStatisticsDTO.Converter::convert)
+                .collect(Collectors.toList()));
+        list.add(UriUtil.generateSelfLink(uriInfo));
+        return Response.ok(list).build();
+    }
+
     @GET
     @Path("/{plan}/instances")
     @Produces( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
@@ -203,12 +225,25 @@ public class BuildPlanController {
         responseContainer = "list")
     public Response getBuildPlanInstanceLogs(@ApiParam("ID of build plan") @PathParam("plan") final String plan,
                                              @ApiParam("Correlation ID") @PathParam("instance") final String instance,
+                                             @ApiParam("number of log entries to skip") @QueryParam("offset") final Integer offset,
+                                             @ApiParam("maximum number of log entries") @QueryParam("limit") final Integer limit,
                                              @Context final UriInfo uriInfo) {
         LOGGER.debug("Invoking getBuildPlanInstanceLogs");
+        if (offset != null && offset < 0 || limit != null && limit < 0) {
+            return Response.status(Status.BAD_REQUEST).build();
+        }
         PlanInstance pi = planService.resolvePlanInstance(csar, serviceTemplate, null, plan, instance, PLAN_TYPE);
 
-        final PlanInstanceDTO piDto = PlanInstanceDTO.Converter.convert(pi);
-        final PlanInstanceEventListDTO dto = new PlanInstanceEventListDTO(piDto.getLogs());
+        final PlanInstanceEventListDTO dto;
+        if (offset == null && limit == null) {
+            final PlanInstanceDTO piDto = PlanInstanceDTO.Converter.convert(pi);
+            dto = new PlanInstanceEventListDTO(piDto.getLogs());
+        } else {
+            // page through the log entries without loading all of them
+            dto = new PlanInstanceEventListDTO(planService.getPlanInstanceLogs(pi, offset, limit).stream()
+                .map(PlanInstanceEventDTO.Converter::convert)
+                .collect(Collectors.toList()));
+        }
         dto.add(UriUtil.generateSelfLink(uriInfo));
 
         return Response.ok(dto).build();
@@ -25,12 +25,12 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import javax.xml.namespace.QName;
 
 import org.eclipse.winery.model.selfservice.Application;
 import org.eclipse.winery.model.tosca.TServiceTemplate;
-import org.eclipse.winery.repository.backend.filebased.FileUtils;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -143,6 +143,9 @@ public class CsarController {
             csar.add(Link.fromUri(this.uriInfo.getBaseUriBuilder().path(CsarController.class)
                 .path(CsarController.class, "getContent").build(id))
                 .rel("content").baseUri(this.uriInfo.getBaseUri()).build(id));
+            csar.add(Link.fromUri(this.uriInfo.getBaseUriBuilder().path(CsarController.class)
+                .path(CsarController.class, "downloadCsar").build(id))
+                .rel("export").baseUri(this.uriInfo.getBaseUri()).build(id));
             csar.add(Link.fromUri(this.uriInfo.getBaseUriBuilder().path(CsarController.class)
                 .path(CsarController.class, "getCsar").build(id))
                 .rel("self").build());
@@ -158,6 +161,32 @@ public class CsarController {
         }
     }
 
+    @GET
+    @javax.ws.rs.Path("/{csar}/export")
+    @Produces( {"application/zip", MediaType.APPLICATION_OCTET_STREAM})
+    @ApiOperation(value = "Download a CSAR")
+    public Response downloadCsar(@ApiParam("ID of CSAR") @PathParam("csar") final String id) {
+        logger.debug("Invoking downloadCsar");
+        final CsarId csarId = new CsarId(id);
+        try {
+            storage.findById(csarId);
+        } catch (NoSuchElementException e) {
+            return Response.status(Status.NOT_FOUND).build();
+        }
+        // the archive is written straight into the response instead of being staged in a file first
+        final StreamingOutput archive = out -> {
+            try {
+                storage.exportCSAR(csarId, out);
+            } catch (SystemException e) {
+                logger.error("Exporting CSAR [{}] failed", id, e);
+                throw new IOException("Exporting CSAR " + id + " failed", e);
+            }
+        };
+        return Response.ok(archive)
+            .header("Content-Disposition", "attachment; filename=\"" + csarId.csarName() + "\"")
+            .build();
+    }
+
     @javax.ws.rs.Path("/{csar}/content")
     @ApiOperation(hidden = true, value = "")
     public DirectoryController getContent(@PathParam("csar") final String id) {
@@ -232,108 +261,112 @@ public class CsarController {
             // writing to temporary file failed
             return Response.serverError().build();
         }
-        WineryConnector wc = new WineryConnector();
-        doApplyEnrichment(wc, tempFile, applyEnrichment);
-
-        CsarId csarId = null;
+        // the staged upload is deleted once it is imported, unless the winery upload still uses it and deletes it itself
+        boolean uploadingToWinery = false;
         try {
-            csarId = storage.storeCSAR(tempFile);
-        } catch (UserException e) {
-            FileUtils.forceDelete(tempFile);
-            return Response.status(Status.CONFLICT).entity(e).build();
-        } catch (SystemException e) {
-            FileUtils.forceDelete(tempFile);
-            return Response.serverError().entity(e).build();
-        }
+            WineryConnector wc = new WineryConnector();
+            doApplyEnrichment(wc, tempFile, applyEnrichment);
 
-        Csar storedCsar = storage.findById(csarId);
-        try {
-            if (!this.csarService.generatePlans(storedCsar)) {
-                logger.info("Planning the CSAR failed. Deleting the failed import");
-                this.storage.deleteCSAR(csarId);
-                return Response.serverError().build();
-            }
-        } catch (Exception e) {
-            logger.warn("Planning the CSAR [{}] failed with an exception", csarId.csarName(), e);
+            CsarId csarId = null;
             try {
-                this.storage.deleteCSAR(csarId);
-            } catch (Exception log) {
-                logger.warn("Failed to delete CSAR [{}] with failed plans on import", csarId.csarName());
+                csarId = storage.storeCSAR(tempFile);
+            } catch (UserException e) {
+                return Response.status(Status.CONFLICT).entity(e).build();
+            } catch (SystemException e) {
+                return Response.serverError().entity(e).build();
             }
-            return Response.serverError().build();
-        }
-
-        // FIXME maybe this only makes sense when we have generated plans :/
-        this.controlService.declareStored(csarId);
 
-        final List<TServiceTemplate> serviceTemplates = storedCsar.serviceTemplates();
-        for (final TServiceTemplate serviceTemplate : serviceTemplates) {
-            logger.trace("Invoke plan deployment for service template \"{}\" of CSAR \"{}\"", serviceTemplate.getName(), csarId.csarName());
-            if (!this.controlService.invokePlanDeployment(csarId, serviceTemplate)) {
-                logger.info("Error deploying plan for service template \"{}\" of CSAR \"{}\"", serviceTemplate.getName(), csarId.csarName());
-                // do a rollback
+            Csar storedCsar = storage.findById(csarId);
+            try {
+                if (!this.csarService.generatePlans(storedCsar)) {
+                    logger.info("Planning the CSAR failed. Deleting the failed import");
+                    this.storage.deleteCSAR(csarId);
+                    return Response.serverError().build();
+                }
+            } catch (Exception e) {
+                logger.warn("Planning the CSAR [{}] failed with an exception", csarId.csarName(), e);
                 try {
-                    storage.deleteCSAR(csarId);
+                    this.storage.deleteCSAR(csarId);
                 } catch (Exception log) {
-                    logger.warn("Failed to delete CSAR [{}] with failed plan deployment on import", csarId.csarName(), log);
+                    logger.warn("Failed to delete CSAR [{}] with failed plans on import", csarId.csarName());
                 }
                 return Response.serverError().build();
             }
-        }
 
-        // TODO this is such a brutal hack, won't go through reviews....
-        final boolean repoAvailable = wc.isWineryRepositoryAvailable();
-        final StringBuilder strB = new StringBuilder();
-        // quick and dirty parallel thread to upload the csar to the container repository
-        // This is needed for the state save feature
-        Thread parallelUploadThread = new Thread(() -> {
-            try {
-                if (wc.isWineryRepositoryAvailable()) {
-                    strB.append(wc.uploadCSAR(tempFile.toFile(), false));
-                    logger.info("Successfully uploaded csar to connected winery repository");
+            // FIXME maybe this only makes sense when we have generated plans :/
+            this.controlService.declareStored(csarId);
+
+            final List<TServiceTemplate> serviceTemplates = storedCsar.serviceTemplates();
+            for (final TServiceTemplate serviceTemplate : serviceTemplates) {
+                logger.trace("Invoke plan deployment for service template \"{}\" of CSAR \"{}\"", serviceTemplate.getName(), csarId.csarName());
+                if (!this.controlService.invokePlanDeployment(csarId, serviceTemplate)) {
+                    logger.info("Error deploying plan for service template \"{}\" of CSAR \"{}\"", serviceTemplate.getName(), csarId.csarName());
+                    // do a rollback
+                    try {
+                        storage.deleteCSAR(csarId);
+                    } catch (Exception log) {
+                        logger.warn("Failed to delete CSAR [{}] with failed plan deployment on import", csarId.csarName(), log);
+                    }
+                    return Response.serverError().build();
                 }
-            } catch (final IOException | URISyntaxException e) {
-                logger.warn("Failed to upload csar to winery with exception", e);
-            } finally {
-                FileUtils.forceDelete(tempFile);
             }
-        }, "winery-repository-upload-" + csarId.csarName());
 
-        if (repoAvailable) {
-            parallelUploadThread.start();
-        } else {
-            // deleting temp file because winery connector does not use it
-            FileUtils.forceDelete(tempFile);
-        }
+            // TODO this is such a brutal hack, won't go through reviews....
+            final boolean repoAvailable = wc.isWineryRepositoryAvailable();
+            final StringBuilder strB = new StringBuilder();
+            // quick and dirty parallel thread to upload the csar to the container repository
+            // This is needed for the state save feature
+            Thread parallelUploadThread = new Thread(() -> {
+                try {
+                    if (wc.isWineryRepositoryAvailable()) {
+                        strB.append(wc.uploadCSAR(tempFile.toFile(), false));
+                        logger.info("Successfully uploaded csar to connected winery repository");
+                    }
+                } catch (final IOException | URISyntaxException e) {
+                    logger.warn("Failed to upload csar to winery with exception", e);
+                } finally {
+                    storage.deleteTemporaryCSAR(tempFile);
+                }
+            }, "winery-repository-upload-" + csarId.csarName());
 
-        if (ModelUtil.hasOpenRequirements(storedCsar)) {
             if (repoAvailable) {
-                try {
-                    // wait till the upload is finished
-                    parallelUploadThread.join();
-                    this.controlService.deleteCsar(csarId);
-                    return Response.status(Response.Status.NOT_ACCEPTABLE)
-                        .entity("{ \"Location\": \"" + wc.getServiceTemplateURI(QName.valueOf(strB.toString())).toString() + "\" }")
-                        .build();
-                } catch (final Exception e) {
-                    logger.error("Error resolving open requirements: {}", e.getMessage(), e);
+                parallelUploadThread.start();
+                uploadingToWinery = true;
+            }
+
+            if (ModelUtil.hasOpenRequirements(storedCsar)) {
+                if (repoAvailable) {
+                    try {
+                        // wait till the upload is finished
+                        parallelUploadThread.join();
+                        this.controlService.deleteCsar(csarId);
+                        return Response.status(Response.Status.NOT_ACCEPTABLE)
+                            .entity("{ \"Location\": \"" + wc.getServiceTemplateURI(QName.valueOf(strB.toString())).toString() + "\" }")
+                            .build();
+                    } catch (final Exception e) {
+                        logger.error("Error resolving open requirements: {}", e.getMessage(), e);
+                        return Response.serverError().build();
+                    }
+                } else {
+                    logger.error("CSAR has open requirements but Winery repository is not available");
+                    try {
+                        this.storage.deleteCSAR(csarId);
+                    } catch (Exception log) {
+                        logger.warn("Failed to delete CSAR [{}] with open requirements on import", csarId.csarName());
+                    }
                     return Response.serverError().build();
                 }
-            } else {
-                logger.error("CSAR has open requirements but Winery repository is not available");
-                try {
-                    this.storage.deleteCSAR(csarId);
-                } catch (Exception log) {
-                    logger.warn("Failed to delete CSAR [{}] with open requirements on import", csarId.csarName());
-                }
-                return Response.serverError().build();
             }
-        }
 
-        logger.info("Uploading and storing CSAR \"{}\" was successful", csarId.csarName());
-        final URI uri =
-            UriUtil.encode(this.uriInfo.getAbsolutePathBuilder().path(CsarController.class, "getCsar").build(csarId.csarName()));
-        return Response.created(uri).build();
+            logger.info("Uploading and storing CSAR \"{}\" was successful", csarId.csarName());
+            final URI uri =
+                UriUtil.encode(this.uriInfo.getAbsolutePathBuilder().path(CsarController.class, "getCsar").build(csarId.csarName()));
+            return Response.created(uri).build();
+        } finally {
+            if (!uploadingToWinery) {
+                storage.deleteTemporaryCSAR(tempFile);
+            }
+        }
     }
 
     private void doApplyEnrichment(WineryConnector wc, Path tempFile, String applyEnrichment) {
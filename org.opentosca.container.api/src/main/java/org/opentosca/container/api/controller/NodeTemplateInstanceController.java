@@ -1,7 +1,6 @@
 package org.opentosca.container.api.controller;
 
 import java.net.URI;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -30,7 +29,7 @@ import org.opentosca.container.api.util.ModelUtil;
 import org.opentosca.container.core.common.uri.UriUtil;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
-import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -69,36 +68,22 @@ public class NodeTemplateInstanceController {
     @ApiOperation(value = "Get all instances of a node template", response = NodeTemplateInstanceListDTO.class)
     public Response getNodeTemplateInstances(@QueryParam(value = "state") final List<NodeTemplateInstanceState> states,
                                              @QueryParam(value = "source") final List<Long> relationIds,
-                                             @QueryParam(value = "serviceInstanceId") final Long serviceInstanceId) {
+                                             @QueryParam(value = "serviceInstanceId") final Long serviceInstanceId,
+                                             @ApiParam("number of instances to skip") @QueryParam("offset") final Integer offset,
+                                             @ApiParam("maximum number of instances") @QueryParam("limit") final Integer limit) {
         logger.debug("Invoking getNodeTemplateInstances");
-        final Collection<NodeTemplateInstance> nodeInstances = this.instanceService.getNodeTemplateInstances(nodetemplate);
+        if (offset != null && offset < 0 || limit != null && limit < 0) {
+            return Response.status(Status.BAD_REQUEST).build();
+        }
+        // all filters are applied by the database
+        final List<NodeTemplateInstanceSummary> nodeInstances =
+            this.instanceService.getNodeTemplateInstanceSummaries(nodetemplate, servicetemplate, serviceInstanceId,
+                states, relationIds, offset, limit);
         logger.debug("Found <{}> instances of NodeTemplate \"{}\" ", nodeInstances.size(), this.nodetemplate);
 
         final NodeTemplateInstanceListDTO list = new NodeTemplateInstanceListDTO();
 
-        for (final NodeTemplateInstance i : nodeInstances) {
-            if (states != null && !states.isEmpty() && !states.contains(i.getState())) {
-                // skip this node instance, as it does not have the proper state
-                continue;
-            }
-
-            if (!i.getServiceTemplateInstance().getTemplateId().toString().equals(this.servicetemplate)) {
-                continue;
-            }
-
-            if (serviceInstanceId != null && !i.getServiceTemplateInstance().getId().equals(serviceInstanceId)) {
-                continue;
-            }
-
-            if (relationIds != null && !relationIds.isEmpty()) {
-                for (final RelationshipTemplateInstance relInstance : i.getOutgoingRelations()) {
-                    if (!relationIds.contains(relInstance.getId())) {
-                        // skip this node instance, as it is no source of the given relation
-                        continue;
-                    }
-                }
-            }
-
+        for (final NodeTemplateInstanceSummary i : nodeInstances) {
             final NodeTemplateInstanceDTO dto = NodeTemplateInstanceDTO.Converter.convert(i);
             dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
 
@@ -1,7 +1,6 @@
 package org.opentosca.container.api.controller;
 
 import java.net.URI;
-import java.util.Collection;
 import java.util.List;
 
 import javax.ws.rs.Consumes;
@@ -30,6 +29,7 @@ import org.opentosca.container.api.service.InstanceService;
 import org.opentosca.container.core.common.uri.UriUtil;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstanceState;
+import org.opentosca.container.core.next.model.RelationshipTemplateInstanceSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -68,31 +68,22 @@ public class RelationshipTemplateInstanceController {
         response = RelationshipTemplateInstanceListDTO.class)
     public Response getRelationshipTemplateInstances(@QueryParam(value = "state") final List<RelationshipTemplateInstanceState> states,
                                                      @QueryParam(value = "target") final Long targetNodeInstanceId,
-                                                     @QueryParam(value = "serviceInstanceId") final Long serviceInstanceId) {
-        final Collection<RelationshipTemplateInstance> relationshipInstances =
-            this.instanceService.getRelationshipTemplateInstances(relationshiptemplate);
+                                                     @QueryParam(value = "serviceInstanceId") final Long serviceInstanceId,
+                                                     @ApiParam("number of instances to skip") @QueryParam("offset") final Integer offset,
+                                                     @ApiParam("maximum number of instances") @QueryParam("limit") final Integer limit) {
+        if (offset != null && offset < 0 || limit != null && limit < 0) {
+            return Response.status(Status.BAD_REQUEST).build();
+        }
+        // all filters are applied by the database
+        final List<RelationshipTemplateInstanceSummary> relationshipInstances =
+            this.instanceService.getRelationshipTemplateInstanceSummaries(relationshiptemplate, servicetemplate,
+                serviceInstanceId, states, targetNodeInstanceId, offset, limit);
         logger.debug("Found <{}> instances of RelationshipTemplate \"{}\" ", relationshipInstances.size(),
             this.relationshiptemplate);
 
         final RelationshipTemplateInstanceListDTO list = new RelationshipTemplateInstanceListDTO();
 
-        for (final RelationshipTemplateInstance i : relationshipInstances) {
-            if (!i.getTarget().getServiceTemplateInstance().getTemplateId().toString().equals(this.servicetemplate)) {
-                continue;
-            }
-            if (states != null && !states.isEmpty() && !states.contains(i.getState())) {
-                // skip this node instance, as it not has the proper state
-                continue;
-            }
-
-            if (serviceInstanceId != null && !i.getServiceTemplateInstance().getId().equals(serviceInstanceId)) {
-                continue;
-            }
-
-            if (targetNodeInstanceId != null && !i.getTarget().getId().equals(targetNodeInstanceId)) {
-                // skip this instance if the target id doesn't match
-                continue;
-            }
+        for (final RelationshipTemplateInstanceSummary i : relationshipInstances) {
             final RelationshipTemplateInstanceDTO dto = RelationshipTemplateInstanceDTO.Converter.convert(i);
             dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
 
@@ -16,6 +16,7 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
@@ -51,6 +52,7 @@ import org.opentosca.container.core.next.model.PlanInstance;
 import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 import org.opentosca.container.core.next.model.SituationsMonitor;
 import org.opentosca.container.core.next.repository.DeploymentTestRepository;
 import org.opentosca.container.core.next.repository.ServiceTemplateInstanceRepository;
@@ -85,15 +87,20 @@ public class ServiceTemplateInstanceController {
     @GET
     @Produces( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @ApiOperation(value = "Get all instances of a service template", response = ServiceTemplateInstanceListDTO.class)
-    public Response getServiceTemplateInstances() {
+    public Response getServiceTemplateInstances(@QueryParam(value = "state") final List<ServiceTemplateInstanceState> states,
+                                                @ApiParam("number of instances to skip") @QueryParam("offset") final Integer offset,
+                                                @ApiParam("maximum number of instances") @QueryParam("limit") final Integer limit) {
         logger.debug("Invoking getServiceTemplateInstances");
-        final Collection<ServiceTemplateInstance> serviceInstances =
-            this.instanceService.getServiceTemplateInstances(serviceTemplate.getId());
+        if (offset != null && offset < 0 || limit != null && limit < 0) {
+            return Response.status(Status.BAD_REQUEST).build();
+        }
+        final List<ServiceTemplateInstanceSummary> serviceInstances =
+            this.instanceService.getServiceTemplateInstanceSummaries(serviceTemplate.getId(), states, offset, limit);
         logger.debug("Found <{}> instances of ServiceTemplate \"{}\" ", serviceInstances.size(), serviceTemplate.getId());
 
         final ServiceTemplateInstanceListDTO list = new ServiceTemplateInstanceListDTO();
 
-        for (final ServiceTemplateInstance i : serviceInstances) {
+        for (final ServiceTemplateInstanceSummary i : serviceInstances) {
             final ServiceTemplateInstanceDTO dto = ServiceTemplateInstanceDTO.Converter.convert(i);
             dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
 
@@ -25,6 +25,7 @@ import org.opentosca.container.api.dto.situations.SituationListDTO;
 import org.opentosca.container.api.dto.situations.SituationTriggerDTO;
 import org.opentosca.container.api.dto.situations.SituationTriggerInstanceDTO;
 import org.opentosca.container.api.dto.situations.SituationTriggerListDTO;
+import org.opentosca.container.api.dto.situations.SituationTriggerStatisticsDTO;
 import org.opentosca.container.api.service.InstanceService;
 import org.opentosca.container.core.common.uri.UriUtil;
 import org.opentosca.container.core.model.csar.CsarId;
@@ -33,6 +34,7 @@ import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.Situation;
 import org.opentosca.container.core.next.model.SituationTrigger;
 import org.opentosca.container.core.next.model.SituationTriggerProperty;
+import org.opentosca.container.core.next.trigger.SituationTriggerExecutor;
 import org.opentosca.container.core.service.CsarStorageService;
 import org.springframework.stereotype.Component;
 
@@ -185,6 +187,16 @@ public class SituationsController {
         return Response.ok(instanceURI).build();
     }
 
+    @GET
+    @Produces( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Path("/triggers/statistics")
+    public Response getSituationTriggerStatistics() {
+        final SituationTriggerStatisticsDTO dto =
+            SituationTriggerStatisticsDTO.Converter.convert(SituationTriggerExecutor.getInstance());
+        dto.add(UriUtil.generateSelfLink(this.uriInfo));
+        return Response.ok(dto).build();
+    }
+
     @GET
     @Produces( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @Path("/triggers/{situationtrigger}")
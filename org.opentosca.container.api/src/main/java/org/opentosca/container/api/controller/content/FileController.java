@@ -1,6 +1,9 @@
 package org.opentosca.container.api.controller.content;
 
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -8,7 +11,9 @@ import java.util.Objects;
 import javax.ws.rs.GET;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -51,20 +56,30 @@ public class FileController {
 
     @GET
     @Produces( {MediaType.APPLICATION_OCTET_STREAM, "image/*"})
-    public Response getFile() {
+    public Response getFile(@Context final Request request) {
         logger.info("Attempt to get file: \"{}\"", this.file.getPath());
         try {
+            // validators allow clients, e.g. other containers, to revalidate files they already downloaded
+            final Path path = this.file.getFile();
+            final Date lastModified = new Date(Files.getLastModifiedTime(path).toMillis());
+            final EntityTag eTag = new EntityTag(Long.toHexString(lastModified.getTime()) + "-" + Long.toHexString(Files.size(path)));
+            final Response.ResponseBuilder notModified = request.evaluatePreconditions(lastModified, eTag);
+            if (notModified != null) {
+                return notModified.build();
+            }
+
             final InputStream is = this.file.getFileAsInputStream();
             // Image or normal file download?
             final String ext = FilenameUtils.getExtension(this.file.getName());
             final MediaType imageType = IMAGE_TYPES.get(ext);
             if (imageType != null) {
                 // Serve the image
-                return Response.ok(is, imageType).build();
+                return Response.ok(is, imageType).lastModified(lastModified).tag(eTag).build();
             } else {
                 // ... download the file
                 return Response.ok(is)
                     .header("Content-Disposition", "attachment; filename=\"" + this.file.getName() + "\"")
+                    .lastModified(lastModified).tag(eTag)
                     .build();
             }
         } catch (final Exception e) {
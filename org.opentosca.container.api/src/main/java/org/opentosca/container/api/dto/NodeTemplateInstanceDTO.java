@@ -12,6 +12,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.annotations.ApiModelProperty;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceSummary;
 
 @XmlRootElement(name = "NodeTemplateInstance")
 @XmlAccessorType(XmlAccessType.FIELD)
@@ -127,5 +128,19 @@ public class NodeTemplateInstanceDTO extends ResourceSupport {
             dto.setCsarId(object.getServiceTemplateInstance().getCsarId().toString());
             return dto;
         }
+
+        public static NodeTemplateInstanceDTO convert(final NodeTemplateInstanceSummary object) {
+            final NodeTemplateInstanceDTO dto = new NodeTemplateInstanceDTO();
+
+            dto.setId(object.getId());
+            dto.setNodeTemplateId(object.getTemplateId());
+            dto.setNodeTemplateType(object.getTemplateType().toString());
+            dto.setCreatedAt(object.getCreatedAt());
+            dto.setState(object.getState());
+            dto.setServiceTemplateId(object.getServiceTemplateId());
+            dto.setServiceTemplateInstanceId(object.getServiceTemplateInstanceId());
+            dto.setCsarId(object.getCsarId().toString());
+            return dto;
+        }
     }
 }
@@ -12,6 +12,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.annotations.ApiModelProperty;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstanceState;
+import org.opentosca.container.core.next.model.RelationshipTemplateInstanceSummary;
 
 @XmlRootElement(name = "RelationshipTemplateInstance")
 @XmlAccessorType(XmlAccessType.FIELD)
@@ -141,5 +142,21 @@ public class RelationshipTemplateInstanceDTO extends ResourceSupport {
 
             return dto;
         }
+
+        public static RelationshipTemplateInstanceDTO convert(final RelationshipTemplateInstanceSummary object) {
+            final RelationshipTemplateInstanceDTO dto = new RelationshipTemplateInstanceDTO();
+
+            dto.setId(object.getId());
+            dto.setRelationshipTemplateId(object.getTemplateId());
+            dto.setRelationshipTemplateType(object.getTemplateType().toString());
+            dto.setCreatedAt(object.getCreatedAt());
+            dto.setState(object.getState());
+            dto.setServiceTemplateId(object.getServiceTemplateId());
+            dto.setCsarId(object.getCsarId().toString());
+            dto.setSourceNodeTemplateInstanceId(object.getSourceId());
+            dto.setTargetNodeTemplateInstanceId(object.getTargetId());
+
+            return dto;
+        }
     }
 }
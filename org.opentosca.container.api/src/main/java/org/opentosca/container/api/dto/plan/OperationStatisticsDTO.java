@@ -0,0 +1,119 @@
+package org.opentosca.container.api.dto.plan;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.opentosca.container.core.plan.OperationStatistics;
+
+@XmlRootElement(name = "OperationStatistics")
+@XmlAccessorType(XmlAccessType.FIELD)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OperationStatisticsDTO {
+
+    @XmlElement(name = "NodeTemplateID")
+    private String nodeTemplateID;
+
+    @XmlElement(name = "OperationName")
+    private String operationName;
+
+    @XmlElement(name = "Executions")
+    private long executions;
+
+    @XmlElement(name = "MaxDuration")
+    private long maxDuration;
+
+    @XmlElement(name = "MeanDuration")
+    private double meanDuration;
+
+    @XmlElement(name = "MedianDuration")
+    private long medianDuration;
+
+    @XmlElement(name = "Percentile90Duration")
+    private long percentile90Duration;
+
+    @XmlElement(name = "Percentile99Duration")
+    private long percentile99Duration;
+
+    public String getNodeTemplateID() {
+        return this.nodeTemplateID;
+    }
+
+    public void setNodeTemplateID(final String nodeTemplateID) {
+        this.nodeTemplateID = nodeTemplateID;
+    }
+
+    public String getOperationName() {
+        return this.operationName;
+    }
+
+    public void setOperationName(final String operationName) {
+        this.operationName = operationName;
+    }
+
+    public long getExecutions() {
+        return this.executions;
+    }
+
+    public void setExecutions(final long executions) {
+        this.executions = executions;
+    }
+
+    public long getMaxDuration() {
+        return this.maxDuration;
+    }
+
+    public void setMaxDuration(final long maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public double getMeanDuration() {
+        return this.meanDuration;
+    }
+
+    public void setMeanDuration(final double meanDuration) {
+        this.meanDuration = meanDuration;
+    }
+
+    public long getMedianDuration() {
+        return this.medianDuration;
+    }
+
+    public void setMedianDuration(final long medianDuration) {
+        this.medianDuration = medianDuration;
+    }
+
+    public long getPercentile90Duration() {
+        return this.percentile90Duration;
+    }
+
+    public void setPercentile90Duration(final long percentile90Duration) {
+        this.percentile90Duration = percentile90Duration;
+    }
+
+    public long getPercentile99Duration() {
+        return this.percentile99Duration;
+    }
+
+    public void setPercentile99Duration(final long percentile99Duration) {
+        this.percentile99Duration = percentile99Duration;
+    }
+
+    public static final class Converter {
+
+        public static OperationStatisticsDTO convert(final OperationStatistics object) {
+            final OperationStatisticsDTO dto = new OperationStatisticsDTO();
+            dto.setNodeTemplateID(object.getNodeTemplateId());
+            dto.setOperationName(object.getOperationName());
+            dto.setExecutions(object.getExecutions());
+            dto.setMaxDuration(object.getMax());
+            dto.setMeanDuration(object.getMean());
+            dto.setMedianDuration(object.getMedian());
+            dto.setPercentile90Duration(object.getPercentile90());
+            dto.setPercentile99Duration(object.getPercentile99());
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.opentosca.container.api.dto.plan;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import org.opentosca.container.api.dto.ResourceSupport;
+
+@XmlRootElement(name = "OperationStatisticsResources")
+public class OperationStatisticsListDTO extends ResourceSupport {
+
+    @JsonProperty
+    @XmlElement(name = "WorstCaseExecutionTime")
+    private long worstCaseExecutionTime;
+
+    @JsonProperty
+    @XmlElement(name = "OperationStatistics")
+    @XmlElementWrapper(name = "OperationStatisticsList")
+    private final List<OperationStatisticsDTO> operationStatistics = new ArrayList<>();
+
+    public OperationStatisticsListDTO() {
+
+    }
+
+    public OperationStatisticsListDTO(final Collection<OperationStatisticsDTO> operationStatistics) {
+        this.operationStatistics.addAll(operationStatistics);
+        this.worstCaseExecutionTime = operationStatistics.stream().mapToLong(OperationStatisticsDTO::getMaxDuration).sum();
+    }
+
+    @ApiModelProperty(name = "worst_case_execution_time")
+    public long getWorstCaseExecutionTime() {
+        return this.worstCaseExecutionTime;
+    }
+
+    @ApiModelProperty(name = "operation_statistics")
+    public List<OperationStatisticsDTO> getOperationStatistics() {
+        return this.operationStatistics;
+    }
+}
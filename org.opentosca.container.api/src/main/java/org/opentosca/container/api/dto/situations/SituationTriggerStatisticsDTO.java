@@ -0,0 +1,130 @@
+package org.opentosca.container.api.dto.situations;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.opentosca.container.api.dto.ResourceSupport;
+import org.opentosca.container.core.next.trigger.SituationTriggerExecutor;
+
+@XmlRootElement(name = "SituationTriggerStatistics")
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SituationTriggerStatisticsDTO extends ResourceSupport {
+
+    private int queueDepth;
+
+    private int activeTriggers;
+
+    private int awaitedPlans;
+
+    private long submitted;
+
+    private long rejected;
+
+    private long deduplicated;
+
+    private long completed;
+
+    private long averageQueueWaitMillis;
+
+    private long averageTriggerLatencyMillis;
+
+    @XmlElement(name = "QueueDepth")
+    public int getQueueDepth() {
+        return this.queueDepth;
+    }
+
+    public void setQueueDepth(final int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    @XmlElement(name = "ActiveTriggers")
+    public int getActiveTriggers() {
+        return this.activeTriggers;
+    }
+
+    public void setActiveTriggers(final int activeTriggers) {
+        this.activeTriggers = activeTriggers;
+    }
+
+    @XmlElement(name = "AwaitedPlans")
+    public int getAwaitedPlans() {
+        return this.awaitedPlans;
+    }
+
+    public void setAwaitedPlans(final int awaitedPlans) {
+        this.awaitedPlans = awaitedPlans;
+    }
+
+    @XmlElement(name = "Submitted")
+    public long getSubmitted() {
+        return this.submitted;
+    }
+
+    public void setSubmitted(final long submitted) {
+        this.submitted = submitted;
+    }
+
+    @XmlElement(name = "Rejected")
+    public long getRejected() {
+        return this.rejected;
+    }
+
+    public void setRejected(final long rejected) {
+        this.rejected = rejected;
+    }
+
+    @XmlElement(name = "Deduplicated")
+    public long getDeduplicated() {
+        return this.deduplicated;
+    }
+
+    public void setDeduplicated(final long deduplicated) {
+        this.deduplicated = deduplicated;
+    }
+
+    @XmlElement(name = "Completed")
+    public long getCompleted() {
+        return this.completed;
+    }
+
+    public void setCompleted(final long completed) {
+        this.completed = completed;
+    }
+
+    @XmlElement(name = "AverageQueueWaitMillis")
+    public long getAverageQueueWaitMillis() {
+        return this.averageQueueWaitMillis;
+    }
+
+    public void setAverageQueueWaitMillis(final long averageQueueWaitMillis) {
+        this.averageQueueWaitMillis = averageQueueWaitMillis;
+    }
+
+    @XmlElement(name = "AverageTriggerLatencyMillis")
+    public long getAverageTriggerLatencyMillis() {
+        return this.averageTriggerLatencyMillis;
+    }
+
+    public void setAverageTriggerLatencyMillis(final long averageTriggerLatencyMillis) {
+        this.averageTriggerLatencyMillis = averageTriggerLatencyMillis;
+    }
+
+    public static final class Converter {
+        public static SituationTriggerStatisticsDTO convert(final SituationTriggerExecutor object) {
+            final SituationTriggerStatisticsDTO dto = new SituationTriggerStatisticsDTO();
+
+            dto.setQueueDepth(object.getQueueDepth());
+            dto.setActiveTriggers(object.getActiveTriggers());
+            dto.setAwaitedPlans(object.getAwaitedPlans());
+            dto.setSubmitted(object.getSubmitted());
+            dto.setRejected(object.getRejected());
+            dto.setDeduplicated(object.getDeduplicated());
+            dto.setCompleted(object.getCompleted());
+            dto.setAverageQueueWaitMillis(object.getAverageQueueWaitMillis());
+            dto.setAverageTriggerLatencyMillis(object.getAverageTriggerLatencyMillis());
+
+            return dto;
+        }
+    }
+}
@@ -82,6 +82,7 @@ public class PlanbuilderWorker {
         state.currentState = PlanGenerationState.PlanGenerationStates.CSARDOWNLOADING;
         LOG.debug("Downloading CSAR " + state.getCsarUrl());
 
+        final Path tempCsarLocation;
         try {
             final HttpResponse csarResponse = httpService.Get(state.getCsarUrl().toString(), Collections.singletonMap("Accept", "application/zip"));
             final InputStream csarInputStream = csarResponse.getEntity().getContent();
@@ -133,7 +134,7 @@ public class PlanbuilderWorker {
             fileName = fileName.replace(".csar", "") + ".planbuilder" + System.currentTimeMillis() + ".csar";
             // generate plan (assumption: the send csar contains only one topologytemplate => only one buildPlan will be generated)
             LOG.debug("Storing CSAR");
-            Path tempCsarLocation = csarStorage.storeCSARTemporarily(fileName, csarInputStream);
+            tempCsarLocation = csarStorage.storeCSARTemporarily(fileName, csarInputStream);
         } catch (final IOException e) {
             state.currentState = PlanGenerationStates.CSARDOWNLOADFAILED;
             state.currentMessage = "Couldn't download CSAR";
@@ -141,6 +142,11 @@ public class PlanbuilderWorker {
             return;
         }
 
+        if (tempCsarLocation != null) {
+            // the staged upload is not stored, so it is not needed anymore
+            csarStorage.deleteTemporaryCSAR(tempCsarLocation);
+        }
+
         CsarId csarId = null;
         if (csarId == null) {
             state.currentState = PlanGenerationStates.CSARDOWNLOADFAILED;
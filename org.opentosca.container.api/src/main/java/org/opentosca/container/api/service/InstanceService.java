@@ -1,6 +1,7 @@
 package org.opentosca.container.api.service;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -24,18 +25,22 @@ import org.opentosca.container.core.common.jpa.DocumentConverter;
 import org.opentosca.container.core.engine.ToscaEngine;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.next.jpa.UnitOfWork;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceProperty;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceSummary;
 import org.opentosca.container.core.next.model.PlanInstance;
 import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.model.Property;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstanceProperty;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstanceState;
+import org.opentosca.container.core.next.model.RelationshipTemplateInstanceSummary;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceProperty;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 import org.opentosca.container.core.next.model.Situation;
 import org.opentosca.container.core.next.model.SituationTrigger;
 import org.opentosca.container.core.next.model.SituationTriggerInstance;
@@ -124,6 +129,14 @@ public class InstanceService {
         return this.serviceTemplateInstanceRepository.findByTemplateId(serviceTemplate);
     }
 
+    public List<ServiceTemplateInstanceSummary> getServiceTemplateInstanceSummaries(final String serviceTemplate,
+                                                                                    final Collection<ServiceTemplateInstanceState> states,
+                                                                                    final Integer offset, final Integer limit) {
+        logger.debug("Requesting instance summaries of ServiceTemplate \"{}\"...", serviceTemplate);
+        return this.serviceTemplateInstanceRepository.findSummaries(serviceTemplate, states,
+            offset == null ? 0 : offset, limit == null ? Integer.MAX_VALUE : limit);
+    }
+
     public ServiceTemplateInstance getServiceTemplateInstanceByCorrelationId(String correlationId) {
         return this.serviceTemplateInstanceRepository.findAll().stream()
             .filter(s -> s.getPlanInstances().stream()
@@ -303,6 +316,18 @@ public class InstanceService {
         return this.nodeTemplateInstanceRepository.findByTemplateId(nodeTemplateName);
     }
 
+    public List<NodeTemplateInstanceSummary> getNodeTemplateInstanceSummaries(final String nodeTemplateName,
+                                                                              final String serviceTemplate,
+                                                                              final Long serviceTemplateInstanceId,
+                                                                              final Collection<NodeTemplateInstanceState> states,
+                                                                              final Collection<Long> sourceOfRelationIds,
+                                                                              final Integer offset, final Integer limit) {
+        logger.debug("Requesting instance summaries of NodeTemplate \"{}\"...", nodeTemplateName);
+        return this.nodeTemplateInstanceRepository.findSummaries(nodeTemplateName, serviceTemplate,
+            serviceTemplateInstanceId, states, sourceOfRelationIds,
+            offset == null ? 0 : offset, limit == null ? Integer.MAX_VALUE : limit);
+    }
+
     public Collection<NodeTemplateInstance> getAllNodeTemplateInstances() {
         logger.debug("Requesting all NodeTemplate instances");
         return this.nodeTemplateInstanceRepository.findAll();
@@ -423,21 +448,26 @@ public class InstanceService {
         newInstance.setTemplateId(nodeTemplate.getIdFromIdOrNameField());
         // Type
         newInstance.setTemplateType(QName.valueOf(dto.getNodeType()));
-        // ServiceTemplateInstance
-        final ServiceTemplateInstance serviceTemplateInstance = getServiceTemplateInstance(serviceTemplateInstanceId, false);
 
-        // only compare the local Id, because ServiceTemplateInstance does not keep the
-        // fully namespaced QName as the parent Id (which sucks, but it is what it is for now)
-        if (!serviceTemplateInstance.getTemplateId().equals(serviceTemplate.getIdFromIdOrNameField())) {
-            final String msg =
-                String.format("Service template instance id <%s> does not belong to service template: %s",
-                    serviceTemplateInstanceId, serviceTemplate.getName());
-            logger.debug(msg);
-            throw new IllegalArgumentException(msg);
-        }
-        newInstance.setServiceTemplateInstance(serviceTemplateInstance);
+        // load the service template instance in the same persistence context the new instance is added in
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            // ServiceTemplateInstance
+            final ServiceTemplateInstance serviceTemplateInstance = getServiceTemplateInstance(serviceTemplateInstanceId, false);
+
+            // only compare the local Id, because ServiceTemplateInstance does not keep the
+            // fully namespaced QName as the parent Id (which sucks, but it is what it is for now)
+            if (!serviceTemplateInstance.getTemplateId().equals(serviceTemplate.getIdFromIdOrNameField())) {
+                final String msg =
+                    String.format("Service template instance id <%s> does not belong to service template: %s",
+                        serviceTemplateInstanceId, serviceTemplate.getName());
+                logger.debug(msg);
+                throw new IllegalArgumentException(msg);
+            }
+            newInstance.setServiceTemplateInstance(serviceTemplateInstance);
 
-        this.nodeTemplateInstanceRepository.add(newInstance);
+            this.nodeTemplateInstanceRepository.add(newInstance);
+            uow.commit();
+        }
 
         return newInstance;
     }
@@ -455,6 +485,18 @@ public class InstanceService {
         return this.relationshipTemplateInstanceRepository.findByTemplateId(relationshipTemplateQName);
     }
 
+    public List<RelationshipTemplateInstanceSummary> getRelationshipTemplateInstanceSummaries(final String relationshipTemplateQName,
+                                                                                              final String serviceTemplate,
+                                                                                              final Long serviceTemplateInstanceId,
+                                                                                              final Collection<RelationshipTemplateInstanceState> states,
+                                                                                              final Long targetNodeInstanceId,
+                                                                                              final Integer offset, final Integer limit) {
+        logger.debug("Requesting instance summaries of RelationshipTemplate \"{}\"...", relationshipTemplateQName);
+        return this.relationshipTemplateInstanceRepository.findSummaries(relationshipTemplateQName, serviceTemplate,
+            serviceTemplateInstanceId, states, targetNodeInstanceId,
+            offset == null ? 0 : offset, limit == null ? Integer.MAX_VALUE : limit);
+    }
+
     /**
      * Gets a reference to the relationship template instance. Ensures that the instance actually belongs to the
      * relationship template.
@@ -591,13 +633,18 @@ public class InstanceService {
         newInstance.setTemplateId(relationshipTemplateId);
         // Type
         newInstance.setTemplateType(QName.valueOf(dto.getRelationshipType()));
-        // Source node instance
-        newInstance.setSource(getNodeTemplateInstance(request.getSourceNodeTemplateInstanceId()));
-        // Target node instance
-        newInstance.setTarget(getNodeTemplateInstance(request.getTargetNodeTemplateInstanceId()));
-        newInstance.setServiceTemplateInstance(serviceTemplateInstanceRepository.find(request.getServiceInstanceId()).get());
 
-        this.relationshipTemplateInstanceRepository.add(newInstance);
+        // load the related instances in the same persistence context the new instance is added in
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            // Source node instance
+            newInstance.setSource(getNodeTemplateInstance(request.getSourceNodeTemplateInstanceId()));
+            // Target node instance
+            newInstance.setTarget(getNodeTemplateInstance(request.getTargetNodeTemplateInstanceId()));
+            newInstance.setServiceTemplateInstance(serviceTemplateInstanceRepository.find(request.getServiceInstanceId()).get());
+
+            this.relationshipTemplateInstanceRepository.add(newInstance);
+            uow.commit();
+        }
 
         return newInstance;
     }
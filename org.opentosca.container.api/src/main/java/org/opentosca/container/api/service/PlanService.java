@@ -21,8 +21,11 @@ import org.opentosca.container.core.next.model.PlanInstanceEvent;
 import org.opentosca.container.core.next.model.PlanInstanceState;
 import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.repository.PlanInstanceEventRepository;
 import org.opentosca.container.core.next.repository.PlanInstanceRepository;
 import org.opentosca.container.core.next.repository.ServiceTemplateInstanceRepository;
+import org.opentosca.container.core.plan.OperationStatistics;
+import org.opentosca.container.core.plan.PlanOperationStatistics;
 import org.opentosca.container.core.tosca.convention.Interfaces;
 import org.opentosca.container.core.tosca.extension.TParameter;
 import org.opentosca.deployment.checks.DeploymentTestService;
@@ -38,6 +41,7 @@ public class PlanService {
     private final OpenToscaControlService controlService;
     private final DeploymentTestService deploymentTestService;
     private final PlanInstanceRepository planInstanceRepository = new PlanInstanceRepository();
+    private final PlanInstanceEventRepository planInstanceEventRepository = new PlanInstanceEventRepository();
 
     @Inject
     public PlanService(OpenToscaControlService controlService, DeploymentTestService deploymentTestService) {
@@ -117,8 +121,23 @@ public class PlanService {
     }
 
     public void addLogToPlanInstance(PlanInstance instance, PlanInstanceEvent event) {
-        instance.addEvent(event);
-        planInstanceRepository.update(instance);
+        planInstanceEventRepository.append(instance.getCorrelationId(), event);
+    }
+
+    /**
+     * @return a page of the log entries of the given plan instance, newest first
+     */
+    public List<PlanInstanceEvent> getPlanInstanceLogs(PlanInstance instance, Integer offset, Integer limit) {
+        return planInstanceEventRepository.findByPlanInstance(instance.getId(),
+            offset == null ? 0 : offset, limit == null ? Integer.MAX_VALUE : limit);
+    }
+
+    /**
+     * @return the execution time statistics of the operations invoked by executions of the given plan
+     */
+    public List<OperationStatistics> getOperationStatistics(Csar csar, PlanType[] planTypes, String planId) {
+        final PlanDTO plan = getPlanDto(csar, planTypes, planId);
+        return PlanOperationStatistics.getInstance().getStatistics(plan.getId());
     }
 
     public String invokePlan(Csar csar, TServiceTemplate serviceTemplate, Long serviceTemplateInstanceId, String planId, List<TParameter> parameters, PlanType... planTypes) {
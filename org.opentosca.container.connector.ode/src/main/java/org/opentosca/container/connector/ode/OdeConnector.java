@@ -2,32 +2,28 @@ package org.opentosca.container.connector.ode;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.URL;
 import java.net.UnknownHostException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
-import javax.xml.rpc.ServiceException;
 
 import org.apache.axis.message.MessageElement;
-import org.apache.www.ode.deployapi.DeployUnit;
 import org.apache.www.ode.deployapi.DeploymentPortType;
-import org.apache.www.ode.deployapi.DeploymentServiceLocator;
 import org.apache.www.ode.deployapi._package;
 import org.apache.www.ode.pmapi.ManagementFault;
 import org.apache.www.ode.pmapi.ProcessManagementPortType;
-import org.apache.www.ode.pmapi.ProcessManagementServiceLocator;
 import org.apache.www.ode.pmapi.types._2006._08._02.TEndpointReferencesEndpointRef;
 import org.apache.www.ode.pmapi.types._2006._08._02.TProcessInfo;
 import org.apache.www.ode.pmapi.types._2006._08._02.TProcessStatus;
@@ -49,6 +45,10 @@ import org.w3c.dom.NodeList;
  * </ul>
  * This .wsdl file is published by a Apache ODE and allows the deployment and undeployment of
  * process models.
+ * <p>
+ * The clients of the management API are pooled per Apache ODE and shared by all connectors, which are thread-safe.
+ * The PIDs of all processes and the endpoints of processes are cached until processes are deployed or undeployed
+ * through a connector.
  *
  * @see <a href="http://ode.apache.org">Apache ODE</a>
  * @see <a href="http://docs.oasis-open.org/wsbpel/2.0/wsbpel-v2.0.html">WS-BPEL 2.0 Processes</a>
@@ -61,38 +61,49 @@ public class OdeConnector {
 
     private final static Logger LOG = LoggerFactory.getLogger(OdeConnector.class);
 
-    private String address;
-
     /**
-     * Sets the endpoint of this connector
+     * Deploys a WS-BPEL 2.0 process unto the referenced Apache ODE
      *
-     * @param uri the uri to the endpoint of Apache ODE
+     * @param process the process to deploy packaged for a Apache ODE
+     * @param uri     the URI of the Apache ODE
+     * @return a string containing the PID (ProcessId) of the deployed process if everything was successful, else null
      */
-    private void setEndpoint(final String uri) {
-        OdeConnector.LOG.debug("Setting address");
-        this.address = uri;
+    public String deploy(final File process, final String uri) throws Exception {
+        if (uri == null) {
+            return null;
+        }
+        final String fileName = process.getName();
+        final String fileType = fileName.substring(fileName.lastIndexOf(".") + 1, fileName.length());
+        final String fileNameshort = fileName.substring(0, fileName.indexOf("." + fileType));
+        OdeConnector.LOG.debug("Trying to deploy file: {}", process.getAbsolutePath());
+
+        byte[] data = null;
+        if (fileType.equals("zip")) {
+            data = Files.readAllBytes(Paths.get(process.toURI()));
+        } else {
+            OdeConnector.LOG.warn("Tried to deploy an non archive file: {}", process.getAbsolutePath());
+        }
+        return deploy(fileNameshort, data, uri);
     }
 
     /**
-     * Deploys a WS-BPEL 2.0 process unto the referenced Apache ODE
+     * Deploys a WS-BPEL 2.0 process unto the referenced Apache ODE without the need to store it in a file
      *
-     * @param process the process to deploy packaged for a Apache ODE
-     * @param uri     the URI of the Apache ODE
+     * @param packageName the name of the package to deploy, which is the file name of the process archive without
+     *                    extension
+     * @param zip         the process archive packaged for a Apache ODE
+     * @param uri         the URI of the Apache ODE
      * @return a string containing the PID (ProcessId) of the deployed process if everything was successful, else null
      */
-    public String deploy(final File process, final String uri) throws Exception {
+    public String deploy(final String packageName, final byte[] zip, final String uri) throws Exception {
         if (uri == null) {
             return null;
         }
+        final OdeManagementClients clients = OdeManagementClients.forAddress(uri);
         String pid = null;
         try {
-            // Update the service endpoint
-            setEndpoint(uri);
-
-            final String fileName = process.getName();
-            final String fileType = fileName.substring(fileName.lastIndexOf(".") + 1, fileName.length());
-            OdeConnector.LOG.debug("Trying to deploy file: {}", process.getAbsolutePath());
-            final String packageId = deployFile(process, fileName, fileType);
+            OdeConnector.LOG.debug("Trying to deploy package: {}", packageName);
+            final String packageId = deployPackage(clients, packageName, zip);
             List<QName> pidsOfPackage = new ArrayList<>();
             // this is a "brutal" hack <=> pulling from server until a pid is
             // set
@@ -115,20 +126,18 @@ public class OdeConnector {
             pid = calcHighestPid(pidsOfPackage, packageId);
 
             if (pid == null || pid.isEmpty()) {
-                throw new Exception("Couldn't deploy plan " + fileName);
+                throw new Exception("Couldn't deploy plan " + packageName);
             }
 
-            final ProcessManagementPortType client = getProcessManagementServiceClient();
-
             // request process info for pid
             final QName processId = QName.valueOf(pid);
-            TProcessInfo info = client.getProcessInfo(processId);
+            TProcessInfo info = clients.withProcessManagement(client -> client.getProcessInfo(processId));
             OdeConnector.LOG.debug("Checking packageName for Pid: " + pid);
             OdeConnector.LOG.debug("Package name of PID is: " + info.getDeploymentInfo().get_package());
 
             // check deployment state until its active
             while (!info.getStatus().equals(TProcessStatus.ACTIVE)) {
-                info = client.getProcessInfo(processId);
+                info = clients.withProcessManagement(client -> client.getProcessInfo(processId));
                 Thread.sleep(500);
             }
         } catch (final ManagementFault e) {
@@ -198,17 +207,12 @@ public class OdeConnector {
     public List<QName> getPIDsForPackageId(final String packageId, final String uri) {
         final List<QName> pids = new ArrayList<>();
 
-        // Update the service endpoint
-        setEndpoint(uri);
-
         OdeConnector.LOG.debug("Fetching pid for package: " + packageId);
-        // Create a new deployment client
-        final DeploymentPortType client = getDeploymentServiceClient();
 
         // Retrieve the process ids contained in the given package
         QName[] processIds;
         try {
-            processIds = client.listProcesses(packageId);
+            processIds = OdeManagementClients.forAddress(uri).withDeployment(client -> client.listProcesses(packageId));
 
             // this can happen if ODE has no process deployed
             if (processIds != null) {
@@ -238,21 +242,13 @@ public class OdeConnector {
             return false;
         }
 
-        // Update the service endpoint
-        setEndpoint(uri);
-
+        final OdeManagementClients clients = OdeManagementClients.forAddress(uri);
         try {
-            final DeploymentPortType client = getDeploymentServiceClient();
-
-            final String[] deployedPackages = client.listDeployedPackages();
-
-            final List<String> filteredPackages = new ArrayList<>();
-
-            Arrays.asList(deployedPackages).forEach(x -> {
-                if (x.contains(packageName)) {
-                    filteredPackages.add(x);
-                }
-            });
+            List<String> filteredPackages = filterPackages(listDeployedPackages(clients, false), packageName);
+            if (filteredPackages.isEmpty()) {
+                // the package may have been deployed by someone else since the catalog was fetched
+                filteredPackages = filterPackages(listDeployedPackages(clients, true), packageName);
+            }
 
             final String pid = calcHighestPidForStrings(filteredPackages, packageName);
 
@@ -261,7 +257,8 @@ public class OdeConnector {
                 return false;
             }
 
-            client.undeploy(QName.valueOf(pid));
+            clients.withDeployment(client -> client.undeploy(QName.valueOf(pid)));
+            clients.packageUndeployed(pid);
         } catch (final RemoteException e) {
             OdeConnector.LOG.error("Trying to undeploy package '" + packageName + "' caused an exception.", e);
         }
@@ -307,34 +304,44 @@ public class OdeConnector {
     }
 
     /**
-     * Deploys process archive referenced in FileObject
+     * Deploys the given process archive
      *
-     * @param file     process archive to deploy
-     * @param fileName name of the process archive file
-     * @param fileType type of the process archive file
+     * @param clients     the clients of the ODE to deploy to
+     * @param packageName name of the process archive without extension
+     * @param data        the zipped process archive to deploy
      * @return the packageName of the uploaded package
-     * @throws IOException if the given file is not accessible
+     * @throws IOException if the package can't be transferred
      */
-    private String deployFile(final File file, final String fileName, final String fileType) throws IOException {
-        final String fileNameshort = fileName.substring(0, fileName.indexOf("." + fileType));
-
-        final DeploymentPortType client = getDeploymentServiceClient();
-
-        byte[] data = null;
-        if (fileType.equals("zip")) {
-            data = Files.readAllBytes(Paths.get(file.toURI()));
-        } else {
-            OdeConnector.LOG.warn("Tried to deploy an non archive file: {}", file.getAbsolutePath());
-        }
-
+    private String deployPackage(final OdeManagementClients clients, final String packageName,
+                                 final byte[] data) throws IOException {
         final _package zipPackage = new _package();
         final Base64Binary zip = new Base64Binary();
         zip.set_value(data);
         zipPackage.setZip(zip);
 
-        final DeployUnit dUnit = client.deploy(fileNameshort, zipPackage);
+        final String deployedPackage = clients.withDeployment(client -> client.deploy(packageName, zipPackage)).getName();
+        clients.packageDeployed(deployedPackage);
+        return deployedPackage;
+    }
+
+    /**
+     * @param refresh whether the packages are fetched from the ODE even if they are in the catalog of the clients
+     * @return the names of the packages deployed on the ODE of the given clients
+     */
+    private Collection<String> listDeployedPackages(final OdeManagementClients clients,
+                                                    final boolean refresh) throws RemoteException {
+        final Collection<String> cachedPackages = clients.getDeployedPackages();
+        if (cachedPackages != null && !refresh) {
+            return cachedPackages;
+        }
+        final String[] packages = clients.withDeployment(DeploymentPortType::listDeployedPackages);
+        final List<String> packageNames = packages == null ? Collections.emptyList() : Arrays.asList(packages);
+        clients.setDeployedPackages(packageNames);
+        return packageNames;
+    }
 
-        return dUnit.getName();
+    private static List<String> filterPackages(final Collection<String> packages, final String packageName) {
+        return packages.stream().filter(x -> x.contains(packageName)).collect(Collectors.toList());
     }
 
     /**
@@ -346,24 +353,12 @@ public class OdeConnector {
     public List<String> getDeployedPackages(final String uri) {
         final List<String> packageIds = new ArrayList<>();
 
-        // Update the service endpoint
-        setEndpoint(uri);
-
-        final DeploymentPortType client = getDeploymentServiceClient();
-
-        String[] packages = null;
         try {
-            packages = client.listDeployedPackages();
+            packageIds.addAll(listDeployedPackages(OdeManagementClients.forAddress(uri), false));
         } catch (final RemoteException e) {
             OdeConnector.LOG.error("Trying to resolve all deployed packages caused an exception.", e);
         }
 
-        if (packages != null) {
-            for (final String packageName : packages) {
-                packageIds.add(packageName);
-            }
-        }
-
         return packageIds;
     }
 
@@ -387,17 +382,18 @@ public class OdeConnector {
             return partnerLinkToEndpointURIs;
         }
 
+        final OdeManagementClients clients = OdeManagementClients.forAddress(uri);
+        final Map<String, URI> cachedEndpoints = clients.getEndpoints(pid);
+        if (cachedEndpoints != null) {
+            return new HashMap<>(cachedEndpoints);
+        }
+
         OdeConnector.LOG.debug("Trying to get all endpoints");
         OdeConnector.LOG.debug("Using PID: " + pid);
         OdeConnector.LOG.debug("Using URI: " + uri);
 
-        // Update the service endpoint
-        setEndpoint(uri);
-
-        final ProcessManagementPortType client = getProcessManagementServiceClient();
-
         try {
-            final TProcessInfo info = client.getProcessInfo(QName.valueOf(pid));
+            final TProcessInfo info = clients.withProcessManagement(client -> client.getProcessInfo(QName.valueOf(pid)));
 
             OdeConnector.LOG.debug("Looking for endpoint for process " + info.getDefinitionInfo().getProcessName());
 
@@ -440,6 +436,7 @@ public class OdeConnector {
                     }
                 }
             }
+            clients.setEndpoints(pid, new HashMap<>(partnerLinkToEndpointURIs));
         } catch (final ManagementFault e) {
             OdeConnector.LOG.error("Unable to resolve the list of endpoints for process model with pid={}", pid);
         } catch (final RemoteException e) {
@@ -487,19 +484,14 @@ public class OdeConnector {
     public List<String> getAllPIDs(final String uri) {
         final List<String> pidStringList = new ArrayList<>();
 
-        // Update the service endpoint
-        setEndpoint(uri);
-
-        final ProcessManagementPortType client = getProcessManagementServiceClient();
-
         TProcessInfo[] processList;
         try {
-            processList = client.listAllProcesses();
+            processList = OdeManagementClients.forAddress(uri).withProcessManagement(ProcessManagementPortType::listAllProcesses);
 
             // check for case when there are no process deployed anymore
             if (processList == null) {
                 OdeConnector.LOG.debug("Returned list of processes from ODE is null, assuming no process is deployed on ODE");
-                return new ArrayList<>();
+                return pidStringList;
             }
 
             // process response
@@ -520,42 +512,4 @@ public class OdeConnector {
     public String toString() {
         return "openTOSCA Apache ODE Connector v1.0";
     }
-
-    /**
-     * Initializes a ProcessManagementService client
-     *
-     * @return a ProcessManagementService client
-     */
-    private ProcessManagementPortType getProcessManagementServiceClient() {
-        ProcessManagementPortType client = null;
-        final String serviceLocation = this.address + "/processes/ProcessManagement";
-        try {
-            final URL url = new URL(serviceLocation);
-            client = new ProcessManagementServiceLocator().getProcessManagementPort(url);
-        } catch (final MalformedURLException e) {
-            OdeConnector.LOG.error("Cannot resolve a URL from the service location {0}", serviceLocation);
-        } catch (final ServiceException e) {
-            OdeConnector.LOG.error("Initialization of a process management service client caused an exception.", e);
-        }
-        return client;
-    }
-
-    /**
-     * Initializes a DeploymentService client
-     *
-     * @return a DeploymentService client
-     */
-    private DeploymentPortType getDeploymentServiceClient() {
-        DeploymentPortType client = null;
-        final String serviceLocation = this.address + "/processes/DeploymentService";
-        try {
-            final URL url = new URL(serviceLocation);
-            client = new DeploymentServiceLocator().getDeploymentPort(url);
-        } catch (final MalformedURLException e) {
-            OdeConnector.LOG.error("Cannot resolve a URL from the service location {0}", serviceLocation);
-        } catch (final ServiceException e) {
-            OdeConnector.LOG.error("Initialization of a deployment service client caused an exception.", e);
-        }
-        return client;
-    }
 }
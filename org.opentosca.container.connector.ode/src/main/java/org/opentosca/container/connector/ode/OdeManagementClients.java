@@ -0,0 +1,157 @@
+package org.opentosca.container.connector.ode;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.rmi.RemoteException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.xml.rpc.ServiceException;
+
+import org.apache.www.ode.deployapi.DeploymentPortType;
+import org.apache.www.ode.deployapi.DeploymentServiceLocator;
+import org.apache.www.ode.pmapi.ProcessManagementPortType;
+import org.apache.www.ode.pmapi.ProcessManagementServiceLocator;
+
+/**
+ * The management API clients of one Apache ODE and the catalog of processes deployed on it.
+ * <p>
+ * Setting up an Axis client is expensive, so clients are reused instead of being created for every call. As a client
+ * must not be used by several threads at once, each call borrows an idle client or creates a new one and returns it
+ * afterwards. The catalog caches the names of the deployed packages and the endpoints of single processes, it is
+ * updated when packages are deployed or undeployed through the {@link OdeConnector}. Packages deployed by others are
+ * only known after the catalog was fetched again.
+ */
+final class OdeManagementClients {
+
+    // clients kept for reuse per API, more are created if needed but discarded after use
+    private static final int MAX_IDLE_CLIENTS = 8;
+
+    private static final Map<String, OdeManagementClients> INSTANCES = new ConcurrentHashMap<>();
+
+    private final String address;
+
+    private final Queue<ProcessManagementPortType> processManagementClients = new ConcurrentLinkedQueue<>();
+    private final Queue<DeploymentPortType> deploymentClients = new ConcurrentLinkedQueue<>();
+
+    // null if the packages have to be fetched again
+    private volatile Set<String> deployedPackages = null;
+    private final Map<String, Map<String, URI>> endpointsByPid = new ConcurrentHashMap<>();
+
+    private OdeManagementClients(final String address) {
+        this.address = address;
+    }
+
+    /**
+     * @param address the URI of the Apache ODE
+     */
+    static OdeManagementClients forAddress(final String address) {
+        return INSTANCES.computeIfAbsent(address, OdeManagementClients::new);
+    }
+
+    <R> R withProcessManagement(final ClientCall<ProcessManagementPortType, R> call) throws RemoteException {
+        ProcessManagementPortType client = this.processManagementClients.poll();
+        if (client == null) {
+            try {
+                client = new ProcessManagementServiceLocator().getProcessManagementPort(serviceUrl("ProcessManagement"));
+            } catch (final ServiceException e) {
+                throw new RemoteException("Initialization of a process management service client failed", e);
+            }
+        }
+        try {
+            return call.call(client);
+        } finally {
+            release(this.processManagementClients, client);
+        }
+    }
+
+    <R> R withDeployment(final ClientCall<DeploymentPortType, R> call) throws RemoteException {
+        DeploymentPortType client = this.deploymentClients.poll();
+        if (client == null) {
+            try {
+                client = new DeploymentServiceLocator().getDeploymentPort(serviceUrl("DeploymentService"));
+            } catch (final ServiceException e) {
+                throw new RemoteException("Initialization of a deployment service client failed", e);
+            }
+        }
+        try {
+            return call.call(client);
+        } finally {
+            release(this.deploymentClients, client);
+        }
+    }
+
+    private URL serviceUrl(final String service) throws RemoteException {
+        final String serviceLocation = this.address + "/processes/" + service;
+        try {
+            return new URL(serviceLocation);
+        } catch (final MalformedURLException e) {
+            throw new RemoteException("Cannot resolve a URL from the service location " + serviceLocation, e);
+        }
+    }
+
+    private static <C> void release(final Queue<C> idleClients, final C client) {
+        // the size is only an estimate under concurrent use, which is fine for bounding the idle clients
+        if (idleClients.size() < MAX_IDLE_CLIENTS) {
+            idleClients.offer(client);
+        }
+    }
+
+    /**
+     * @return the cached names of the deployed packages, or null if they have to be fetched
+     */
+    Set<String> getDeployedPackages() {
+        final Set<String> packages = this.deployedPackages;
+        return packages == null ? null : Collections.unmodifiableSet(packages);
+    }
+
+    void setDeployedPackages(final Collection<String> packages) {
+        final Set<String> catalog = ConcurrentHashMap.newKeySet();
+        catalog.addAll(packages);
+        this.deployedPackages = catalog;
+    }
+
+    /**
+     * @return the cached endpoints of the process with the given PID, or null if they have to be fetched
+     */
+    Map<String, URI> getEndpoints(final String pid) {
+        return this.endpointsByPid.get(pid);
+    }
+
+    void setEndpoints(final String pid, final Map<String, URI> endpoints) {
+        this.endpointsByPid.put(pid, Collections.unmodifiableMap(endpoints));
+    }
+
+    /**
+     * Adds the given package to the catalog, the endpoints of known processes stay valid.
+     */
+    void packageDeployed(final String packageName) {
+        final Set<String> packages = this.deployedPackages;
+        if (packages != null) {
+            packages.add(packageName);
+        }
+    }
+
+    /**
+     * Removes the given package from the catalog and invalidates the endpoints of its processes.
+     */
+    void packageUndeployed(final String packageName) {
+        final Set<String> packages = this.deployedPackages;
+        if (packages != null) {
+            packages.remove(packageName);
+        }
+        this.endpointsByPid.clear();
+    }
+
+    @FunctionalInterface
+    interface ClientCall<C, R> {
+
+        R call(C client) throws RemoteException;
+    }
+}
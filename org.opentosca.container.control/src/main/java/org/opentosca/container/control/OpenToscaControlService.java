@@ -2,6 +2,7 @@ package org.opentosca.container.control;
 
 import java.io.UnsupportedEncodingException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.xml.namespace.QName;
@@ -45,10 +46,19 @@ public interface OpenToscaControlService {
 
     Set<DeploymentProcessOperation> executableDeploymentProcessOperations(CsarId csar);
 
+    /**
+     * Determines the executable deployment process operations of all Csars at once.
+     *
+     * @return the executable operations by Csar, Csars without deployment state are omitted
+     */
+    Map<CsarId, Set<DeploymentProcessOperation>> executableDeploymentProcessOperations();
+
     boolean declareStored(CsarId csar);
 
     DeploymentProcessState currentDeploymentProcessState(CsarId csar);
 
+    Map<CsarId, DeploymentProcessState> currentDeploymentProcessStates();
+
     /**
      * @deprecated {@link #invokePlanInvocation(CsarId, TServiceTemplate, int, TPlanDTO)}
      */
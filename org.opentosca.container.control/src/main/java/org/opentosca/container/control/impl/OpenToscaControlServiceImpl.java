@@ -2,10 +2,17 @@ package org.opentosca.container.control.impl;
 
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -18,23 +25,31 @@ import org.eclipse.winery.model.tosca.TServiceTemplate;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.opentosca.container.control.OpenToscaControlService;
+import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.common.SystemException;
 import org.opentosca.container.core.common.UserException;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.model.deployment.plan.PlanDeploymentInfo;
+import org.opentosca.container.core.model.deployment.plan.PlanDeploymentState;
 import org.opentosca.container.core.model.deployment.process.DeploymentProcessOperation;
 import org.opentosca.container.core.model.deployment.process.DeploymentProcessState;
+import org.opentosca.container.core.next.model.PlanType;
+import org.opentosca.container.core.service.ArtifactContentService;
 import org.opentosca.container.core.service.CsarStorageService;
 import org.opentosca.container.core.service.DeploymentTracker;
 import org.opentosca.container.core.service.IPlanInvocationEngine;
+import org.opentosca.container.core.service.ImplementationArtifactPreDeployer;
 import org.opentosca.container.core.tosca.extension.TPlanDTO;
 import org.opentosca.container.engine.plan.IPlanEngineService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import static org.opentosca.container.core.model.deployment.process.DeploymentProcessState.BUILD_PLANS_DEPLOYED;
 import static org.opentosca.container.core.model.deployment.process.DeploymentProcessState.PLANS_DEPLOYED;
 import static org.opentosca.container.core.model.deployment.process.DeploymentProcessState.PLAN_DEPLOYMENT_ACTIVE;
+import static org.opentosca.container.core.model.deployment.process.DeploymentProcessState.PLAN_DEPLOYMENT_INCOMPLETE;
 import static org.opentosca.container.core.model.deployment.process.DeploymentProcessState.STORED;
 import static org.opentosca.container.core.model.deployment.process.DeploymentProcessState.TOSCAPROCESSING_ACTIVE;
 import static org.opentosca.container.core.model.deployment.process.DeploymentProcessState.TOSCA_PROCESSED;
@@ -49,16 +64,35 @@ public class OpenToscaControlServiceImpl implements OpenToscaControlService {
     private final IPlanEngineService planEngine;
     private final IPlanInvocationEngine planInvocationEngine;
     private final CsarStorageService storage;
+    private final ImplementationArtifactPreDeployer iaPreDeployer;
+    private final ArtifactContentService artifactContentService;
+
+    // deploying a BPEL plan is dominated by waiting for the plan engine, so plans are deployed concurrently
+    private final ExecutorService planDeployments;
+    // deployments of the non-build plans and implementation artifacts of a csar that continue after the plan
+    // deployment returned
+    private final Map<CsarId, CompletableFuture<Void>> pendingDeployments = new ConcurrentHashMap<>();
 
     @Inject
     public OpenToscaControlServiceImpl(DeploymentTracker deploymentTracker,
                                        IPlanEngineService planEngine,
                                        IPlanInvocationEngine planInvocationEngine,
-                                       CsarStorageService storage) {
+                                       CsarStorageService storage,
+                                       ImplementationArtifactPreDeployer iaPreDeployer,
+                                       ArtifactContentService artifactContentService) {
         this.deploymentTracker = deploymentTracker;
         this.planEngine = planEngine;
         this.planInvocationEngine = planInvocationEngine;
         this.storage = storage;
+        this.iaPreDeployer = iaPreDeployer;
+        this.artifactContentService = artifactContentService;
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.planDeployments = Executors.newFixedThreadPool(Integer.parseInt(Settings.PLAN_DEPLOYMENT_THREADS), runnable -> {
+            final Thread thread = new Thread(runnable, "plan-deployment-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @Override
@@ -82,6 +116,7 @@ public class OpenToscaControlServiceImpl implements OpenToscaControlService {
         TPlans plans = entryServiceTemplate.getPlans();
         if (plans == null) {
             LOGGER.info("No Plans to process");
+            preDeployImplementationArtifacts(csarId);
             return true;
         }
         String namespace = plans.getTargetNamespace();
@@ -89,12 +124,7 @@ public class OpenToscaControlServiceImpl implements OpenToscaControlService {
             // Plans has no targetNamespace, fallback to ServiceTemplate namespace
             namespace = serviceTemplate.getQName().getNamespaceURI();
         }
-        List<TPlan> undeployed = new ArrayList<>();
-        for (final TPlan plan : plans.getPlan()) {
-            if (!planEngine.deployPlan(plan, namespace, csarId)) {
-                undeployed.add(plan);
-            }
-        }
+        final List<TPlan> undeployed = deployPlans(csarId, plans.getPlan(), namespace).join();
 
         if (!undeployed.isEmpty()) {
             LOGGER.error("Plan deployment failed");
@@ -103,6 +133,7 @@ public class OpenToscaControlServiceImpl implements OpenToscaControlService {
         }
         LOGGER.info("Successfully deployeed management plans of [{}] in CSAR [{}]", serviceTemplate, csarId);
         deploymentTracker.storeDeploymentState(csarId, PLANS_DEPLOYED);
+        preDeployImplementationArtifacts(csarId);
         // endpointService.printPlanEndpoints();
         return true;
     }
@@ -123,9 +154,30 @@ public class OpenToscaControlServiceImpl implements OpenToscaControlService {
 
     @Override
     public Set<DeploymentProcessOperation> executableDeploymentProcessOperations(CsarId csar) {
+        return executableOperations(csar, deploymentTracker.getDeploymentState(csar));
+    }
+
+    @Override
+    public Map<CsarId, Set<DeploymentProcessOperation>> executableDeploymentProcessOperations() {
+        final Map<CsarId, Set<DeploymentProcessOperation>> operations = new HashMap<>();
+        deploymentTracker.getDeploymentStates().forEach((csar, state) -> operations.put(csar, executableOperations(csar, state)));
+        return operations;
+    }
+
+    private Set<DeploymentProcessOperation> executableOperations(CsarId csar, DeploymentProcessState state) {
         final Set<DeploymentProcessOperation> operations = new HashSet<>();
 
-        switch (deploymentTracker.getDeploymentState(csar)) {
+        switch (state) {
+            case BUILD_PLANS_DEPLOYED:
+                if (pendingDeployments.containsKey(csar)) {
+                    // the other plans are still being deployed in the background
+                    break;
+                }
+                // the background deployment was interrupted, e.g. by a restart, so it can be resumed
+                // intentional fallthrough
+            case PLAN_DEPLOYMENT_INCOMPLETE:
+                operations.add(DeploymentProcessOperation.INVOKE_PLAN_DEPL);
+                break;
             case PLANS_DEPLOYED:
             case TOSCA_PROCESSED:
                 operations.add(DeploymentProcessOperation.INVOKE_PLAN_DEPL);
@@ -152,16 +204,33 @@ public class OpenToscaControlServiceImpl implements OpenToscaControlService {
         return deploymentTracker.getDeploymentState(csar);
     }
 
+    @Override
+    public Map<CsarId, DeploymentProcessState> currentDeploymentProcessStates() {
+        return deploymentTracker.getDeploymentStates();
+    }
+
     @Override
     public List<String> deleteCsar(CsarId csarId) {
         List<String> errors = new ArrayList<>();
         final Csar csar = storage.findById(csarId);
 
+        final CompletableFuture<Void> pendingDeployment = pendingDeployments.remove(csarId);
+        if (pendingDeployment != null) {
+            // don't undeploy plans while they are still being deployed
+            pendingDeployment.join();
+        }
         if (!undeployAllPlans(csar)) {
             errors.add("Failed to undeploy all plans for csar " + csarId);
         }
+        try {
+            iaPreDeployer.undeploy(csarId);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to undeploy the implementation artifacts of csar [{}]", csarId.csarName(), e);
+            errors.add("Failed to undeploy the implementation artifacts of csar " + csarId);
+        }
+        // the downloaded artifacts are no longer needed once the implementation artifacts are undeployed
+        artifactContentService.removeArtifacts(csarId);
         deploymentTracker.deleteDeploymentState(csarId);
-        // FIXME removeEndpoints
         try {
             storage.deleteCSAR(csarId);
         } catch (UserException | SystemException e) {
@@ -195,35 +264,38 @@ public class OpenToscaControlServiceImpl implements OpenToscaControlService {
             // Plans has no targetNamespace, fallback to ServiceTemplate namespace
             namespace = serviceTemplate.getTargetNamespace();
         }
-        List<TPlan> undeployed = new ArrayList<>();
-        for (final TPlan plan : plans.getPlan()) {
-            if (!planEngine.undeployPlan(plan, namespace, csarId)) {
-                undeployed.add(plan);
-            }
-        }
-        return undeployed.isEmpty();
+        final String planNamespace = namespace;
+        final List<CompletableFuture<Boolean>> undeployments = plans.getPlan().stream()
+            .map(plan -> CompletableFuture.supplyAsync(() -> undeployPlan(csarId, plan, planNamespace), planDeployments))
+            .collect(Collectors.toList());
+        return undeployments.stream().allMatch(CompletableFuture::join);
     }
 
     @Override
     public boolean invokePlanDeployment(CsarId csar, TServiceTemplate serviceTemplate) {
+        // a deployment that only deployed the build plans is resumed, without deploying the deployed plans again
+        final DeploymentProcessState previousState = deploymentTracker.getDeploymentState(csar);
+        final boolean resume = previousState == BUILD_PLANS_DEPLOYED || previousState == PLAN_DEPLOYMENT_INCOMPLETE;
+        final DeploymentProcessState failedState = resume ? PLAN_DEPLOYMENT_INCOMPLETE : TOSCA_PROCESSED;
+
         deploymentTracker.storeDeploymentState(csar, PLAN_DEPLOYMENT_ACTIVE);
-        final List<TPlan> undeployedPlans = new ArrayList<>();
         LOGGER.trace("Invoking PlanEngine to process Plans");
         if (planEngine == null) {
             LOGGER.error("PlanEngine is not alive!");
-            deploymentTracker.storeDeploymentState(csar, TOSCA_PROCESSED);
+            deploymentTracker.storeDeploymentState(csar, failedState);
             return false;
         }
 
         if (serviceTemplate == null) {
             LOGGER.warn("Could not find the main ServiceTemplate");
-            deploymentTracker.storeDeploymentState(csar, TOSCA_PROCESSED);
+            deploymentTracker.storeDeploymentState(csar, failedState);
             return false;
         }
 
         final TPlans plans = serviceTemplate.getPlans();
         if (plans == null || plans.getPlan() == null || plans.getPlan().isEmpty()) {
             LOGGER.info("No plans to process");
+            preDeployImplementationArtifacts(csar);
             return true;
         }
 
@@ -232,23 +304,124 @@ public class OpenToscaControlServiceImpl implements OpenToscaControlService {
             ? serviceTemplate.getTargetNamespace()
             : plans.getTargetNamespace();
 
-        for (final TPlan plan : plans.getPlan()) {
-            if (!planEngine.deployPlan(plan, namespace, csar)) {
-                undeployedPlans.add(plan);
-            }
+        // build plans are deployed first, so the service template can be instantiated as early as possible
+        final Map<Boolean, List<TPlan>> plansByBuildPlan = plans.getPlan().stream()
+            .filter(plan -> !resume || !isDeployed(csar, plan))
+            .collect(Collectors.partitioningBy(plan -> PlanType.BUILD.toString().equals(plan.getPlanType())));
+        final List<TPlan> undeployedBuildPlans = deployPlans(csar, plansByBuildPlan.get(true), namespace).join();
+        if (!undeployedBuildPlans.isEmpty()) {
+            LOGGER.warn("Build plan deployment failed!");
+            deploymentTracker.storeDeploymentState(csar, failedState);
+            return false;
         }
+        // the service template can be instantiated now, which requires its implementation artifacts
+        preDeployImplementationArtifacts(csar);
 
-        if (!undeployedPlans.isEmpty()) {
-            LOGGER.warn("Plan deployment failed!");
-            deploymentTracker.storeDeploymentState(csar, TOSCA_PROCESSED);
-            return false;
+        final List<TPlan> otherPlans = plansByBuildPlan.get(false);
+        if (otherPlans.isEmpty()) {
+            LOGGER.trace("The deployment of management plans for ServiceTemplate \"{}\" inside CSAR [{}] was successful", serviceTemplate.getId(), csar.csarName());
+            deploymentTracker.storeDeploymentState(csar, PLANS_DEPLOYED);
+            return true;
         }
 
-        LOGGER.trace("The deployment of management plans for ServiceTemplate \"{}\" inside CSAR [{}] was successful", serviceTemplate.getId(), csar.csarName());
-        deploymentTracker.storeDeploymentState(csar, PLANS_DEPLOYED);
+        // the remaining plans are deployed in the background
+        deploymentTracker.storeDeploymentState(csar, BUILD_PLANS_DEPLOYED);
+        final CompletableFuture<Void> otherDeployment = deployPlans(csar, otherPlans, namespace).thenAccept(undeployedPlans -> {
+            if (undeployedPlans.isEmpty()) {
+                LOGGER.trace("The deployment of management plans for ServiceTemplate \"{}\" inside CSAR [{}] was successful", serviceTemplate.getId(), csar.csarName());
+                deploymentTracker.storeDeploymentState(csar, PLANS_DEPLOYED);
+            } else {
+                LOGGER.warn("Plan deployment failed for plans {} of CSAR [{}]!",
+                    undeployedPlans.stream().map(TPlan::getId).collect(Collectors.toList()), csar.csarName());
+                // the build plans stay deployed, so the service template can still be instantiated
+                deploymentTracker.storeDeploymentState(csar, PLAN_DEPLOYMENT_INCOMPLETE);
+            }
+        });
+        addPendingDeployment(csar, otherDeployment);
         return true;
     }
 
+    /**
+     * Deploys the implementation artifacts of the given csar in the background, if enabled by {@link
+     * Settings#IA_PREDEPLOYMENT}.
+     */
+    private void preDeployImplementationArtifacts(CsarId csar) {
+        final CompletableFuture<Void> iaDeployment;
+        try {
+            iaDeployment = iaPreDeployer.preDeploy(csar);
+        } catch (RuntimeException e) {
+            // the artifacts are deployed on their first invocation instead
+            LOGGER.warn("Deploying the implementation artifacts of CSAR [{}] ahead of time failed", csar.csarName(), e);
+            return;
+        }
+        if (!iaDeployment.isDone()) {
+            addPendingDeployment(csar, iaDeployment);
+        }
+    }
+
+    private void addPendingDeployment(CsarId csar, CompletableFuture<Void> deployment) {
+        pendingDeployments.merge(csar, deployment, (pending, added) -> CompletableFuture.allOf(pending, added));
+        deployment.whenComplete((result, error) ->
+            pendingDeployments.computeIfPresent(csar, (id, pending) -> pending.isDone() ? null : pending));
+    }
+
+    /**
+     * Deploys the given plans concurrently and tracks the deployment state of each of them.
+     *
+     * @return a future completed with the plans that could not be deployed
+     */
+    private CompletableFuture<List<TPlan>> deployPlans(CsarId csarId, List<TPlan> plans, String namespace) {
+        final List<CompletableFuture<Optional<TPlan>>> deployments = plans.stream()
+            .map(plan -> CompletableFuture.supplyAsync(
+                () -> deployPlan(csarId, plan, namespace) ? Optional.<TPlan>empty() : Optional.of(plan), planDeployments))
+            .collect(Collectors.toList());
+        return CompletableFuture.allOf(deployments.toArray(new CompletableFuture[0]))
+            .thenApply(done -> deployments.stream()
+                .map(CompletableFuture::join)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList()));
+    }
+
+    private boolean deployPlan(CsarId csarId, TPlan plan, String namespace) {
+        final String relPath = planRelPath(plan);
+        deploymentTracker.storePlanDeploymentInfo(new PlanDeploymentInfo(csarId, relPath, PlanDeploymentState.PLAN_DEPLOYING));
+        boolean deployed;
+        try {
+            deployed = planEngine.deployPlan(plan, namespace, csarId);
+        } catch (RuntimeException e) {
+            LOGGER.error("Deploying plan [{}] of CSAR [{}] failed with an exception", plan.getId(), csarId.csarName(), e);
+            deployed = false;
+        }
+        deploymentTracker.storePlanDeploymentInfo(new PlanDeploymentInfo(csarId, relPath,
+            deployed ? PlanDeploymentState.PLAN_DEPLOYED : PlanDeploymentState.PLAN_DEPLOYMENT_FAILED));
+        return deployed;
+    }
+
+    private boolean undeployPlan(CsarId csarId, TPlan plan, String namespace) {
+        final String relPath = planRelPath(plan);
+        deploymentTracker.storePlanDeploymentInfo(new PlanDeploymentInfo(csarId, relPath, PlanDeploymentState.PLAN_UNDEPLOYING));
+        boolean undeployed;
+        try {
+            undeployed = planEngine.undeployPlan(plan, namespace, csarId);
+        } catch (RuntimeException e) {
+            LOGGER.error("Undeploying plan [{}] of CSAR [{}] failed with an exception", plan.getId(), csarId.csarName(), e);
+            undeployed = false;
+        }
+        deploymentTracker.storePlanDeploymentInfo(new PlanDeploymentInfo(csarId, relPath,
+            undeployed ? PlanDeploymentState.PLAN_UNDEPLOYED : PlanDeploymentState.PLAN_UNDEPLOYMENT_FAILED));
+        return undeployed;
+    }
+
+    private boolean isDeployed(CsarId csarId, TPlan plan) {
+        final PlanDeploymentInfo info = deploymentTracker.getPlanDeploymentInfo(csarId, planRelPath(plan));
+        return info != null && info.getDeploymentState() == PlanDeploymentState.PLAN_DEPLOYED;
+    }
+
+    private static String planRelPath(TPlan plan) {
+        return plan.getPlanModelReference() != null ? plan.getPlanModelReference().getReference() : plan.getId();
+    }
+
     @Deprecated
     @Override
     public String invokePlanInvocation(CsarId csarId, QName qname, int instanceId, TPlanDTO plan) throws UnsupportedEncodingException {
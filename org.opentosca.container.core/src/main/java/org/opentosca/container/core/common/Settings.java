@@ -31,6 +31,8 @@ public class Settings {
 
     public final static String OPENTOSCA_CONTAINER_HOSTNAME = settings.getProperty("org.opentosca.container.hostname", "localhost");
     public final static String OPENTOSCA_CONTAINER_PORT = settings.getProperty("org.opentosca.container.port", "1337");
+    // distinguishes the correlation ids of several containers sharing a database, generated per start if empty
+    public final static String OPENTOSCA_CONTAINER_NODE_ID = settings.getProperty("org.opentosca.container.node.id", "");
 
     @Deprecated
     public final static String CONTAINER_API_LEGACY = "http://" + Settings.OPENTOSCA_CONTAINER_HOSTNAME + ":" + Settings.OPENTOSCA_CONTAINER_PORT + "/containerapi";
@@ -54,6 +56,75 @@ public class Settings {
     public final static String OPENTOSCA_DEPLOYMENT_TESTS = settings.getProperty("org.opentosca.deployment.checks", "false");
     public final static String OPENTOSCA_BUS_MANAGEMENT_MOCK = settings.getProperty("org.opentosca.bus.management.mocking", "false");
     public final static Path CONTAINER_STORAGE_BASEPATH = Paths.get(System.getProperty("java.io.tmpdir"), "opentosca", "container", "csar-storage");
+    /**
+     * Upper bound for the number of TOSCA definitions kept in memory by the parsed Csar model cache
+     */
+    public final static String CSAR_MODEL_CACHE_MAX_DEFINITIONS = settings.getProperty("org.opentosca.container.csar.cache.maxDefinitions", "100000");
+    /**
+     * Deflate level (-1 for the default, 0 to 9) of archives written by the container and the number of threads
+     * extracting archives in parallel (0 for one per processor)
+     */
+    public final static String ZIP_COMPRESSION_LEVEL = settings.getProperty("org.opentosca.container.zip.compressionLevel", "-1");
+    public final static String ZIP_EXTRACTION_THREADS = settings.getProperty("org.opentosca.container.zip.extractionThreads", "0");
+    /**
+     * Number of threads executing situation triggers, the number of triggers that may wait for a free thread before
+     * further triggers are rejected and the interval in seconds in which plans awaited by triggers are checked in the
+     * database, in case their completion was not observed by this container. A trigger stops waiting for its plan
+     * after the plan timeout in seconds and fails.
+     */
+    public final static String SITUATION_TRIGGER_THREADS = settings.getProperty("org.opentosca.container.situations.trigger.threads", "4");
+    public final static String SITUATION_TRIGGER_QUEUE_CAPACITY = settings.getProperty("org.opentosca.container.situations.trigger.queueCapacity", "100");
+    public final static String SITUATION_TRIGGER_RECONCILE_INTERVAL = settings.getProperty("org.opentosca.container.situations.trigger.reconcileInterval", "60");
+    public final static String SITUATION_TRIGGER_PLAN_TIMEOUT = settings.getProperty("org.opentosca.container.situations.trigger.planTimeout", "3600");
+    /**
+     * Whether situation adaptation plans for the adaptations that are possible after an adaptation are generated and
+     * deployed in the background, so they don't have to be generated when they are requested
+     */
+    public final static String SITUATION_ADAPTATION_PLAN_PREGENERATION = settings.getProperty("org.opentosca.container.situations.adaptation.pregenerate", "false");
+    /**
+     * Number of plans deployed to or undeployed from the plan engines concurrently
+     */
+    public final static String PLAN_DEPLOYMENT_THREADS = settings.getProperty("org.opentosca.container.plans.deployment.threads", "4");
+    /**
+     * Whether the implementation artifacts of a CSAR are deployed in the background after its plans were deployed
+     * instead of on the first invocation of one of their operations, and the number of artifacts deployed concurrently
+     */
+    public final static String IA_PREDEPLOYMENT = settings.getProperty("org.opentosca.container.ia.predeploy", "false");
+    public final static String IA_PREDEPLOYMENT_THREADS = settings.getProperty("org.opentosca.container.ia.predeploy.threads", "4");
+    /**
+     * Number of downloaded remote artifacts whose validators are kept to revalidate them instead of downloading them again
+     */
+    public final static String ARTIFACT_CACHE_MAX_ENTRIES = settings.getProperty("org.opentosca.container.artifacts.cache.maxEntries", "1000");
+    /**
+     * Bounds of the cache of parsed WSDL definitions used by the SOAP/HTTP invocation plugin
+     */
+    public final static String WSDL_CACHE_MAX_ENDPOINTS = settings.getProperty("org.opentosca.bus.management.wsdl.cache.maxEndpoints", "500");
+    public final static String WSDL_CACHE_TTL_MINUTES = settings.getProperty("org.opentosca.bus.management.wsdl.cache.ttlMinutes", "60");
+    /**
+     * Time the SOAP/HTTP invocation plugin waits for the callback of an asynchronous invocation
+     */
+    public final static String SOAP_CALLBACK_TIMEOUT_MINUTES = settings.getProperty("org.opentosca.bus.management.soap.callback.timeoutMinutes", "120");
+    /**
+     * Number of operating system instances whose installed packages are remembered by the script invocation plugin, and
+     * the hours after which packages of an instance that wasn't used are installed again
+     */
+    public final static String SCRIPT_INSTALLED_PACKAGES_MAX_INSTANCES = settings.getProperty("org.opentosca.bus.management.script.packages.maxInstances", "10000");
+    public final static String SCRIPT_INSTALLED_PACKAGES_EXPIRY_HOURS = settings.getProperty("org.opentosca.bus.management.script.packages.expiryHours", "24");
+    /**
+     * Maximum number of threads of the Management Bus thread pool profiles for IA/plan invocations and for requests
+     * received by its APIs, and the number of tasks waiting for a thread before the submitting thread runs them itself
+     */
+    public final static String BUS_INVOCATION_THREADS = settings.getProperty("org.opentosca.bus.management.threads.invocation", "32");
+    public final static String BUS_API_THREADS = settings.getProperty("org.opentosca.bus.management.threads.api", "16");
+    public final static String BUS_THREADS_QUEUE_CAPACITY = settings.getProperty("org.opentosca.bus.management.threads.queueCapacity", "200");
+    /**
+     * Maximum number of concurrent IA invocations per target host and overall, the number of invocations waiting for a
+     * free slot before further invocations are rejected and the time in seconds an invocation waits at most
+     */
+    public final static String BUS_INVOCATION_MAX_PER_TARGET = settings.getProperty("org.opentosca.bus.management.invocation.maxPerTarget", "16");
+    public final static String BUS_INVOCATION_MAX_CONCURRENT = settings.getProperty("org.opentosca.bus.management.invocation.maxConcurrent", "64");
+    public final static String BUS_INVOCATION_MAX_QUEUED = settings.getProperty("org.opentosca.bus.management.invocation.maxQueued", "256");
+    public final static String BUS_INVOCATION_QUEUE_TIMEOUT_SECONDS = settings.getProperty("org.opentosca.bus.management.invocation.queueTimeout", "600");
 
     /**
      * OpenTOSCA Container database location
@@ -22,7 +22,6 @@ import org.eclipse.winery.common.ids.definitions.RelationshipTypeImplementationI
 import org.eclipse.winery.common.ids.definitions.ServiceTemplateId;
 import org.eclipse.winery.model.tosca.TArtifactTemplate;
 import org.eclipse.winery.model.tosca.TArtifactType;
-import org.eclipse.winery.model.tosca.TBoundaryDefinitions;
 import org.eclipse.winery.model.tosca.TEntityTemplate;
 import org.eclipse.winery.model.tosca.TEntityType;
 import org.eclipse.winery.model.tosca.TEntityTypeImplementation;
@@ -36,7 +35,6 @@ import org.eclipse.winery.model.tosca.TNodeType;
 import org.eclipse.winery.model.tosca.TNodeTypeImplementation;
 import org.eclipse.winery.model.tosca.TOperation;
 import org.eclipse.winery.model.tosca.TPlan;
-import org.eclipse.winery.model.tosca.TPlans;
 import org.eclipse.winery.model.tosca.TRelationshipTemplate;
 import org.eclipse.winery.model.tosca.TRelationshipType;
 import org.eclipse.winery.model.tosca.TRelationshipTypeImplementation;
@@ -47,6 +45,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.opentosca.container.core.common.NotFoundException;
 import org.opentosca.container.core.common.xml.XMLHelper;
 import org.opentosca.container.core.model.csar.Csar;
+import org.opentosca.container.core.model.csar.TopologyIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -66,6 +65,9 @@ import org.w3c.dom.Element;
  * </p><p>
  * Methods that return some kind of {@link Collection} will return an empty collection as the default. They may throw
  * {@link NotFoundException} if a component prerequisite is not met.
+ * </p><p>
+ * Lookups within a service template are served from it's {@link TopologyIndex}, lookups across the types of a Csar
+ * from the Csar's {@link org.opentosca.container.core.model.csar.TypeIndex}.
  * </p>
  */
 //@NonNullByDefault
@@ -134,8 +136,7 @@ public final class ToscaEngine {
     }
 
     public static Optional<TNodeTemplate> getNodeTemplate(TServiceTemplate serviceTemplate, String nodeTemplate) {
-        return Optional.ofNullable(serviceTemplate.getTopologyTemplate())
-            .map(tt -> tt.getNodeTemplate(nodeTemplate));
+        return Optional.ofNullable(TopologyIndex.of(serviceTemplate).nodeTemplate(nodeTemplate));
     }
 
     public static boolean isOperationBoundToSourceNode(final TRelationshipType relationshipType, final String interfaceName, final String operationName) {
@@ -154,14 +155,8 @@ public final class ToscaEngine {
     }
 
     public static Stream<TNodeTemplate> getRelatedNodeTemplates(TServiceTemplate serviceTemplate, TNodeTemplate template, QName... relationshipType) {
-        return serviceTemplate.getTopologyTemplate().getNodeTemplateOrRelationshipTemplate().stream()
-            .filter(candidate -> candidate instanceof TRelationshipTemplate)
-            .map(relation -> (TRelationshipTemplate) relation)
+        return TopologyIndex.of(serviceTemplate).outgoingRelations(template.getId()).stream()
             .filter(relation -> Arrays.stream(relationshipType).anyMatch(Predicate.isEqual(relation.getType())))
-            .filter(relation -> {
-                final Object source = relation.getSourceElement().getRef();
-                return source instanceof TNodeTemplate && source.equals(template);
-            })
             .map(relation -> relation.getTargetElement().getRef())
             .filter((target) -> target instanceof TNodeTemplate)
             .map(TNodeTemplate.class::cast);
@@ -217,6 +212,11 @@ public final class ToscaEngine {
     }
 
     public static List<TNodeType> resolveNodeTypeHierarchy(Csar csar, TNodeType target) throws NotFoundException {
+        final List<TNodeType> indexed = csar.typeIndex().nodeTypeHierarchy(target.getQName());
+        if (indexed != null) {
+            return indexed;
+        }
+        // not resolvable from the index, walk the hierarchy to report the missing type
         List<TNodeType> typeRefs = new ArrayList<>();
         typeRefs.add(target);
         while (target.getDerivedFrom() != null) {
@@ -294,9 +294,9 @@ public final class ToscaEngine {
     }
 
     public static Optional<TRelationshipTemplate> getRelationshipTemplate(TServiceTemplate serviceTemplate, String localTemplateId) {
-        return Objects.isNull(localTemplateId) || Objects.isNull(serviceTemplate) || Objects.isNull(serviceTemplate.getTopologyTemplate())
+        return Objects.isNull(localTemplateId) || Objects.isNull(serviceTemplate)
             ? Optional.empty()
-            : Optional.ofNullable(serviceTemplate.getTopologyTemplate().getRelationshipTemplate(localTemplateId));
+            : Optional.ofNullable(TopologyIndex.of(serviceTemplate).relationshipTemplate(localTemplateId));
     }
 
     public static List<? extends TEntityTypeImplementation> getTypeImplementations(Csar csar, TEntityType type) {
@@ -311,32 +311,17 @@ public final class ToscaEngine {
     }
 
     public static List<TRelationshipTypeImplementation> getRelationshipTypeImplementations(Csar csar, TRelationshipType type) {
-        return csar.relationshipTypeImplementations().stream()
-            .filter(impl -> impl.getRelationshipType().equals(type.getQName()))
-            .collect(Collectors.toList());
+        return csar.typeIndex().relationshipTypeImplementations(type.getQName());
     }
 
     public static List<TNodeTypeImplementation> getNodeTypeImplementations(Csar csar, TNodeType type) {
-        final List<TNodeType> hierarchy;
-        try {
-            hierarchy = resolveNodeTypeHierarchy(csar, type);
-        } catch (NotFoundException e) {
+        if (csar.typeIndex().nodeTypeHierarchy(type.getQName()) == null) {
             LOG.warn("Could not resolve type hierarchy for known NodeType");
             return Collections.emptyList();
         }
         // FIXME this is a bit weird, because it resolves the implementations of the whole type hierarchy,
         //  but that matches the previous implementation, soo ...
-        return csar.nodeTypeImplementations().stream()
-            .filter(impl -> {
-                try {
-                    TNodeType implementationNodeType = resolveNodeTypeReference(csar, impl.getNodeType());
-                    return hierarchy.contains(implementationNodeType);
-                } catch (NotFoundException e) {
-                    LOG.warn("Could not find NodeType of a known NodeTypeImplementation");
-                    return false;
-                }
-            })
-            .collect(Collectors.toList());
+        return csar.typeIndex().nodeTypeImplementationsOfHierarchy(type.getQName());
     }
 
     public static List<TImplementationArtifacts.ImplementationArtifact> implementationArtifacts(TEntityTypeImplementation impl) {
@@ -361,14 +346,10 @@ public final class ToscaEngine {
     @NonNull
     public static TPlan resolvePlanReference(Csar csar, QName planId) throws NotFoundException {
         // can't reformulate using queryRepository because PlanId requires a PlansId as parent for resolution
-        TPlan plan = csar.serviceTemplates().stream()
-            .flatMap(st -> {
-                TPlans plans = st.getPlans();
-                return plans == null ? Stream.empty() : plans.getPlan().stream();
-            })
-            .filter(tplan -> tplan.getId().equals(planId.getLocalPart()))
-            .findFirst()
-            .orElseThrow(() -> new NotFoundException("No plan matching " + planId + " was found in csar" + csar.id().csarName()));
+        TPlan plan = csar.typeIndex().plan(planId.getLocalPart());
+        if (plan == null) {
+            throw new NotFoundException("No plan matching " + planId + " was found in csar" + csar.id().csarName());
+        }
         return plan;
     }
 
@@ -391,14 +372,8 @@ public final class ToscaEngine {
 
     @Nullable
     public static TServiceTemplate getContainingServiceTemplate(Csar csar, TPlan toscaPlan) {
-        // can't obtain serviceTemplateId from the plan, therefore iterate all service templates
-        return csar.serviceTemplates().stream()
-            .filter(st -> {
-                TPlans plans = st.getPlans();
-                return plans != null && plans.getPlan().stream().anyMatch(toscaPlan::equals);
-            })
-            .findFirst()
-            .orElse(null);
+        // can't obtain serviceTemplateId from the plan, therefore look it up in the index of all service templates
+        return csar.typeIndex().containingServiceTemplate(toscaPlan);
     }
 
     public static TEntityTypeImplementation resolveTypeImplementation(Csar csar, QName typeImplementationQName) throws NotFoundException {
@@ -438,62 +413,28 @@ public final class ToscaEngine {
             .orElse(null);
     }
 
-    private static Stream<TExportedOperation> listOperations(TServiceTemplate serviceTemplate) {
-        return Optional.of(serviceTemplate)
-            .map(TServiceTemplate::getBoundaryDefinitions)
-            .map(TBoundaryDefinitions::getInterfaces)
-            .map(TBoundaryDefinitions.Interfaces::getInterface)
-            .orElse(Collections.emptyList())
-            .stream()
-            .map(TExportedInterface::getOperation)
-            .flatMap(Collection::stream);
-    }
-
     @Nullable
     public static TExportedOperation getReferencingOperationWithin(TServiceTemplate serviceTemplate, TPlan plan) {
-        return listOperations(serviceTemplate)
-            // winery automatically fills the PlanRef with the TPlan instance
-            .filter(operation -> operation.getPlan().getPlanRef().equals(plan))
-            .findFirst()
-            .orElse(null);
+        // winery automatically fills the PlanRef with the TPlan instance
+        return TopologyIndex.of(serviceTemplate).boundaryOperationForPlan(plan.getId());
     }
 
     @Nullable
     public static TExportedOperation getReferencingOperationWithin(TServiceTemplate serviceTemplate, String planReference) {
-        return listOperations(serviceTemplate)
-            .filter(operation -> ((TPlan) operation.getPlan().getPlanRef()).getId().equals(planReference))
-            .findFirst()
-            .orElse(null);
+        return TopologyIndex.of(serviceTemplate).boundaryOperationForPlan(planReference);
     }
 
     public static TExportedOperation resolveBoundaryDefinitionOperation(TServiceTemplate serviceTemplate, String interfaceName, String operationName) throws NotFoundException {
-        return Optional.of(serviceTemplate)
-            .map(TServiceTemplate::getBoundaryDefinitions)
-            .map(TBoundaryDefinitions::getInterfaces)
-            .map(TBoundaryDefinitions.Interfaces::getInterface)
-            .orElse(Collections.emptyList())
-            .stream()
-            .filter(iface -> iface.getName().equals(interfaceName))
-            .findFirst()
-            .map(TExportedInterface::getOperation)
-            .orElse(Collections.emptyList())
-            .stream()
-            .filter(op -> op.getName().equals(operationName))
-            .findFirst()
-            .orElseThrow(() -> new NotFoundException(String.format("Could not resolve operation [%s] in interface [%s]", operationName, interfaceName)));
+        TExportedOperation operation = TopologyIndex.of(serviceTemplate).boundaryOperation(interfaceName, operationName);
+        if (operation == null) {
+            throw new NotFoundException(String.format("Could not resolve operation [%s] in interface [%s]", operationName, interfaceName));
+        }
+        return operation;
     }
 
     @Nullable
     public static TExportedInterface getReferencingInterfaceWithin(TServiceTemplate serviceTemplate, TExportedOperation operation) {
-        return Optional.of(serviceTemplate)
-            .map(TServiceTemplate::getBoundaryDefinitions)
-            .map(TBoundaryDefinitions::getInterfaces)
-            .map(TBoundaryDefinitions.Interfaces::getInterface)
-            .orElse(Collections.emptyList())
-            .stream()
-            .filter(iface -> iface.getOperation().contains(operation))
-            .findFirst()
-            .orElse(null);
+        return TopologyIndex.of(serviceTemplate).boundaryInterfaceOf(operation);
     }
 
     public static boolean isOperationUniqueInType(Csar csar, TEntityType type, String providedInterface, String neededOperation) {
@@ -507,29 +448,12 @@ public final class ToscaEngine {
     }
 
     public static boolean isOperationUniqueInType(Csar csar, TNodeType type, String providedInterface, String neededOperation) {
-        final List<TNodeType> hierarchy;
-        try {
-            hierarchy = resolveNodeTypeHierarchy(csar, type);
-        } catch (NotFoundException e) {
+        if (csar.typeIndex().nodeTypeHierarchy(type.getQName()) == null) {
             LOG.warn("Could not resolve NodeTypeHierarchy for known node type");
             return false;
         }
-        return hierarchy.stream()
-            .filter(t -> t.getInterfaces() != null)
-            .flatMap(t -> t.getInterfaces().getInterface().stream()
-                // iterate over the interfaces that match the provided interface
-                .filter(i -> i.getName().equals(providedInterface))
-            )
-            // filter to only those that provide the needed operation
-            .filter(i -> {
-                try {
-                    return resolveOperation(i, neededOperation) != null;
-                } catch (NotFoundException e) {
-                    return false;
-                }
-            })
-            // and check whether it is only a single one
-            .count() == 1;
+        // count the interfaces across the hierarchy that match the provided interface and provide the needed operation
+        return csar.typeIndex().operationCountInHierarchy(type.getQName(), providedInterface, neededOperation) == 1;
     }
 
     public static boolean isOperationUniqueInType(Csar csar, TRelationshipType type, String providedInterface, String neededOperation) {
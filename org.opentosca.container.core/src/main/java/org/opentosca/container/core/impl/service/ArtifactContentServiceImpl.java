@@ -0,0 +1,246 @@
+package org.opentosca.container.core.impl.service;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import javax.inject.Inject;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.model.csar.Csar;
+import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.service.ArtifactContentService;
+import org.opentosca.container.core.service.CsarStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+@NonNullByDefault
+public class ArtifactContentServiceImpl implements ArtifactContentService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactContentServiceImpl.class);
+
+    private static final Path CACHE_PATH =
+        Paths.get(System.getProperty("java.io.tmpdir"), "opentosca", "container", "artifact-cache");
+
+    // the content API of this container, up to the name of the CSAR
+    private static final URI LOCAL_CONTENT_API =
+        URI.create(Settings.OPENTOSCA_CONTAINER_CONTENT_API.substring(0, Settings.OPENTOSCA_CONTAINER_CONTENT_API.indexOf("{csarid}")));
+
+    private final CsarStorageService storage;
+
+    // cached file -> number of cache entries referring to it, a file is deleted once no entry refers to it anymore
+    private final Map<Path, Integer> references = new HashMap<>();
+
+    // reference of a csar -> cached file named by the hash of its content, revalidated on every request
+    private final Cache<ArtifactKey, CachedArtifact> downloads = CacheBuilder.newBuilder()
+        .maximumSize(Long.parseLong(Settings.ARTIFACT_CACHE_MAX_ENTRIES))
+        .removalListener((RemovalNotification<ArtifactKey, CachedArtifact> removed) -> release(removed.getValue().file))
+        .build();
+
+    @Inject
+    public ArtifactContentServiceImpl(CsarStorageService storage) {
+        this.storage = storage;
+        deleteCachedFiles();
+    }
+
+    @Override
+    @Nullable
+    public Path resolveLocal(URL reference) {
+        final URI uri;
+        try {
+            uri = reference.toURI();
+        } catch (URISyntaxException e) {
+            return null;
+        }
+        if (!Objects.equals(uri.getScheme(), LOCAL_CONTENT_API.getScheme())
+            || !Objects.equals(uri.getHost(), LOCAL_CONTENT_API.getHost())
+            || uri.getPort() != LOCAL_CONTENT_API.getPort()
+            || uri.getPath() == null || !uri.getPath().startsWith(LOCAL_CONTENT_API.getPath())) {
+            return null;
+        }
+        // {csarid}/content/{artifactreference}, with the reference decoded
+        final String csarPath = uri.getPath().substring(LOCAL_CONTENT_API.getPath().length());
+        final int separator = csarPath.indexOf("/content/");
+        if (separator <= 0) {
+            return null;
+        }
+        final Csar csar;
+        try {
+            csar = storage.findById(new CsarId(csarPath.substring(0, separator)));
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+        @SuppressWarnings("deprecation") final Path csarRoot = csar.getSaveLocation();
+        final Path file = csarRoot.resolve(csarPath.substring(separator + "/content/".length())).normalize();
+        if (!file.startsWith(csarRoot) || !Files.isRegularFile(file)) {
+            return null;
+        }
+        return file;
+    }
+
+    @Override
+    public Path getArtifact(CsarId csar, URL reference) throws IOException {
+        final Path local = resolveLocal(reference);
+        if (local != null) {
+            return local;
+        }
+        final ArtifactKey key = new ArtifactKey(csar, reference.toString());
+        final URLConnection connection = reference.openConnection();
+        final CachedArtifact cached = downloads.getIfPresent(key);
+        if (cached != null && (cached.eTag != null || cached.lastModified != null)
+            && Files.isRegularFile(cached.file) && connection instanceof HttpURLConnection) {
+            // revalidate, the content behind the reference may have changed since it was downloaded
+            final HttpURLConnection http = (HttpURLConnection) connection;
+            if (cached.eTag != null) {
+                http.setRequestProperty("If-None-Match", cached.eTag);
+            }
+            if (cached.lastModified != null) {
+                http.setRequestProperty("If-Modified-Since", cached.lastModified);
+            }
+            if (http.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                http.disconnect();
+                LOGGER.debug("Content of {} is unchanged, using {}", reference, cached.file);
+                return cached.file;
+            }
+        }
+        // also kept without validators, as the file remains in use until the entry is removed
+        final CachedArtifact downloaded = download(reference, connection);
+        downloads.put(key, downloaded);
+        return downloaded.file;
+    }
+
+    @Override
+    public void removeArtifacts(CsarId csar) {
+        // removing the entries releases their files
+        downloads.asMap().keySet().removeIf(key -> key.csar.equals(csar));
+    }
+
+    private CachedArtifact download(URL reference, URLConnection connection) throws IOException {
+        Files.createDirectories(CACHE_PATH);
+        final Path temp = Files.createTempFile(CACHE_PATH, "download", ".tmp");
+        try {
+            final String hash;
+            try (HashingInputStream in = new HashingInputStream(Hashing.sha256(), connection.getInputStream())) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                hash = in.hash().toString();
+            }
+            // keep the file extension, as deployment targets may depend on it
+            final String fileName = reference.getPath().substring(reference.getPath().lastIndexOf('/') + 1);
+            final int extension = fileName.lastIndexOf('.');
+            final Path file = CACHE_PATH.resolve(extension > 0 ? hash + fileName.substring(extension) : hash);
+            synchronized (references) {
+                if (references.containsKey(file) && Files.exists(file)) {
+                    LOGGER.debug("Content of {} is already cached as {}", reference, file);
+                } else {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    LOGGER.debug("Cached content of {} as {}", reference, file);
+                }
+                // referred to by the cache entry of the returned download
+                references.merge(file, 1, Integer::sum);
+            }
+            return new CachedArtifact(file, connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Deletes the given cached file, if the removed cache entry was the last one referring to it.
+     */
+    private void release(Path file) {
+        synchronized (references) {
+            final int remaining = references.merge(file, -1, Integer::sum);
+            if (remaining > 0) {
+                return;
+            }
+            references.remove(file);
+            try {
+                Files.deleteIfExists(file);
+                LOGGER.debug("Deleted cached file {}", file);
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete cached file {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Deletes the files cached before the container was started, as no cache entry refers to them anymore.
+     */
+    private static void deleteCachedFiles() {
+        if (!Files.isDirectory(CACHE_PATH)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(CACHE_PATH)) {
+            for (final Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete the files cached in {}", CACHE_PATH, e);
+        }
+    }
+
+    /**
+     * The reference of an artifact of a CSAR, so the downloads of a CSAR can be removed when the CSAR is deleted.
+     */
+    private static final class ArtifactKey {
+
+        private final CsarId csar;
+        private final String reference;
+
+        private ArtifactKey(CsarId csar, String reference) {
+            this.csar = csar;
+            this.reference = reference;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object other) {
+            return other instanceof ArtifactKey
+                && csar.equals(((ArtifactKey) other).csar)
+                && reference.equals(((ArtifactKey) other).reference);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(csar, reference);
+        }
+    }
+
+    /**
+     * A downloaded file together with the validators of the response it was downloaded from.
+     */
+    private static final class CachedArtifact {
+
+        private final Path file;
+        @Nullable
+        private final String eTag;
+        @Nullable
+        private final String lastModified;
+
+        private CachedArtifact(Path file, @Nullable String eTag, @Nullable String lastModified) {
+            this.file = file;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -2,18 +2,31 @@ package org.opentosca.container.core.impl.service;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
-import javax.persistence.NoResultException;
-import javax.persistence.NonUniqueResultException;
 import javax.persistence.TypedQuery;
 import javax.xml.namespace.QName;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Multimaps;
 import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.model.endpoint.AbstractEndpoint;
 import org.opentosca.container.core.model.endpoint.rest.RESTEndpoint;
 import org.opentosca.container.core.model.endpoint.rest.RESTEndpoint.restMethod;
 import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
+import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
 import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.service.ICoreEndpointService;
 import org.slf4j.Logger;
@@ -23,17 +36,22 @@ import org.springframework.stereotype.Service;
 /**
  * This Class stores and retrieves Endpoint-Objects in the Database, using Eclipse-JPA.
  * <p>
+ * WSDL endpoints are read from an in-memory index that is loaded from the database on first access. Writes go
+ * through to the database first and update the index afterwards, so the Management Bus can resolve endpoints for
+ * every operation without a query. Every database operation uses its own entity manager, so the service can be used
+ * by any number of threads concurrently.
+ * <p>
  * For the JPA-Queries refer to: {@link RESTEndpoint}, {@link WSDLEndpoint}
  */
 @Service
 public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoCloseable {
     private final static Logger LOG = LoggerFactory.getLogger(CoreEndpointServiceImpl.class);
 
-    private EntityManager em;
+    private final List<Consumer<URI>> removalListeners = new CopyOnWriteArrayList<>();
 
-    public CoreEndpointServiceImpl() {
-        em = EntityManagerProvider.createEntityManager();
-    }
+    // replaced as a whole on every write, readers always see a consistent snapshot
+    private volatile WsdlEndpointIndex wsdlEndpoints;
+    private final Object wsdlEndpointsWriteLock = new Object();
 
     @Override
     /**
@@ -41,33 +59,9 @@ public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoClosea
      */
     public List<WSDLEndpoint> getWSDLEndpoints(final QName portType, final String triggeringContainer,
                                                final CsarId csarId) {
-        final ArrayList<WSDLEndpoint> results = new ArrayList<>();
-
-        final TypedQuery<WSDLEndpoint> getWSDLEndpointsQuery = em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.csarId = :csarId and e.PortType = :portType", WSDLEndpoint.class);
-
-        // Set Parameters for the Query
-        getWSDLEndpointsQuery.setParameter("portType", portType);
-        getWSDLEndpointsQuery.setParameter("triggeringContainer", triggeringContainer);
-        getWSDLEndpointsQuery.setParameter("csarId", csarId);
-
-        // Get Query-Results (WSDLEndpoints) and add them to the result list.
-        final List<WSDLEndpoint> queryResults = getWSDLEndpointsQuery.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            results.add(endpoint);
-        }
-
-        // Hack, to get endpoints stored from the container e.g. the SI-Invoker
-        // endpoint.
-        // Set Parameters for the Query
-        getWSDLEndpointsQuery.setParameter("portType", portType);
-        getWSDLEndpointsQuery.setParameter("csarId", new CsarId(""));
-
-        // Get Query-Results (WSDLEndpoints) and add them to the result list.
-        final List<WSDLEndpoint> queryResults2 = getWSDLEndpointsQuery.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults2) {
-            results.add(endpoint);
-        }
-
+        final List<WSDLEndpoint> results = new ArrayList<>(index().byPortType.get(Arrays.asList(portType, triggeringContainer, csarId)));
+        // Hack, to get endpoints stored from the container e.g. the SI-Invoker endpoint.
+        results.addAll(index().byPortType.get(Arrays.asList(portType, triggeringContainer, new CsarId(""))));
         return results;
     }
 
@@ -76,45 +70,34 @@ public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoClosea
      * {@Inheritdoc}
      */
     public void storeWSDLEndpoint(final WSDLEndpoint endpoint) {
-
-        // TODO this check is a hack because of the problem with deploying of multiple deployment artifacts
-        if (!existsWSDLEndpoint(endpoint)) {
-            if (!this.em.getTransaction().isActive()) {
-                this.em.getTransaction().begin();
+        synchronized (wsdlEndpointsWriteLock) {
+            // TODO this check is a hack because of the problem with deploying of multiple deployment artifacts
+            if (existsWSDLEndpoint(endpoint)) {
+                LOG.debug("The endpoint for \"{}\" is stored already.", endpoint.getPortType());
+                return;
             }
             LOG.debug("The endpoint for \"{}\" is not stored. Thus store it.", endpoint.getPortType());
-            this.em.persist(endpoint);
-            this.em.getTransaction().commit();
-        } else {
-            LOG.debug("The endpoint for \"{}\" is stored already.", endpoint.getPortType());
+            inTransaction(em -> {
+                em.persist(endpoint);
+                return endpoint;
+            });
+            wsdlEndpoints = index().with(endpoint);
         }
     }
 
     /**
-     * Helper method to check if a given WSDLEndpoint is already stored in the database
+     * Helper method to check if a given WSDLEndpoint is already stored
      *
      * @param endpoint to look for
      * @return true, if the Endpoint already exists.
      */
     private boolean existsWSDLEndpoint(final WSDLEndpoint endpoint) {
-        TypedQuery<WSDLEndpoint> findQuery =
-            em.createQuery("SELECT e from WSDLEndpoint e where e.PortType = :portType " +
-                "and e.csarId = :csarId and e.managingContainer = :managingContainer " +
-                "and e.serviceTemplateInstanceID = :serviceTemplateInstanceID and e.PlanId = :planId", WSDLEndpoint.class);
-        findQuery.setParameter("portType", endpoint.getPortType());
-        findQuery.setParameter("csarId", endpoint.getCsarId());
-        findQuery.setParameter("managingContainer", endpoint.getManagingContainer());
-        findQuery.setParameter("serviceTemplateInstanceID", endpoint.getServiceTemplateInstanceID());
-        findQuery.setParameter("planId", endpoint.getPlanId());
-
-        try {
-            @SuppressWarnings("unused")
-            WSDLEndpoint dbResult = findQuery.getSingleResult();
-            return true;
-        } catch (NoResultException | NonUniqueResultException umm) {
-            // maybe return true if result is not unique?
-            return false;
-        }
+        return index().all.values().stream()
+            .filter(e -> Objects.equals(e.getPortType(), endpoint.getPortType()))
+            .filter(e -> Objects.equals(e.getCsarId(), endpoint.getCsarId()))
+            .filter(e -> Objects.equals(e.getManagingContainer(), endpoint.getManagingContainer()))
+            .filter(e -> Objects.equals(e.getServiceTemplateInstanceID(), endpoint.getServiceTemplateInstanceID()))
+            .anyMatch(e -> Objects.equals(e.getPlanId(), endpoint.getPlanId()));
     }
 
     @Override
@@ -122,28 +105,22 @@ public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoClosea
      * {@Inheritdoc}
      */
     public List<RESTEndpoint> getRestEndpoints(final URI anyURI, String triggeringContainer, final CsarId csarId) {
-        final ArrayList<RESTEndpoint> results = new ArrayList<>();
-
         /**
          * Create Query to retrieve RESTEndpoints identified by a URI and thorID
          *
          * @see RESTEndpoint#getEndpointForPath
          **/
-        final TypedQuery<RESTEndpoint> getRestEndpointsQuery = this.em.createNamedQuery(RESTEndpoint.getEndpointForPath, RESTEndpoint.class);
-
-        // Set Parameters
-        getRestEndpointsQuery.setParameter("path", anyURI.getPath());
-        getRestEndpointsQuery.setParameter("triggeringContainer", triggeringContainer);
-        getRestEndpointsQuery.setParameter("csarId", csarId);
-
-        // Get Query-Results and add them to the result list
-        final
-        // Result can only be a RESTEndpoint
-            List<RESTEndpoint> queryResults = getRestEndpointsQuery.getResultList();
-        for (final RESTEndpoint endpoint : queryResults) {
-            results.add(endpoint);
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final TypedQuery<RESTEndpoint> getRestEndpointsQuery = em.createNamedQuery(RESTEndpoint.getEndpointForPath, RESTEndpoint.class);
+
+            // Set Parameters
+            getRestEndpointsQuery.setParameter("path", anyURI.getPath());
+            getRestEndpointsQuery.setParameter("triggeringContainer", triggeringContainer);
+            getRestEndpointsQuery.setParameter("csarId", csarId);
+
+            // Result can only be a RESTEndpoint
+            return initialized(getRestEndpointsQuery.getResultList());
         }
-        return results;
     }
 
     @Override
@@ -156,17 +133,21 @@ public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoClosea
          *
          * @see RESTEndpoint#getEndpointForPathAndMethod
          */
-        final TypedQuery<RESTEndpoint> getRestEndpointQuery = this.em.createNamedQuery(RESTEndpoint.getEndpointForPathAndMethod, RESTEndpoint.class);
-
-        // Set parameters
-        getRestEndpointQuery.setParameter("path", anyURI.getPath());
-        getRestEndpointQuery.setParameter("triggeringContainer", triggeringContainer);
-        getRestEndpointQuery.setParameter("method", method);
-        getRestEndpointQuery.setParameter("csarId", csarId);
-
-        // As a RESTEndpoint identified by URI, RestMethod and thorID
-        // is unique, we only return one result (there cannot be more)
-        return getRestEndpointQuery.getSingleResult();
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final TypedQuery<RESTEndpoint> getRestEndpointQuery = em.createNamedQuery(RESTEndpoint.getEndpointForPathAndMethod, RESTEndpoint.class);
+
+            // Set parameters
+            getRestEndpointQuery.setParameter("path", anyURI.getPath());
+            getRestEndpointQuery.setParameter("triggeringContainer", triggeringContainer);
+            getRestEndpointQuery.setParameter("method", method);
+            getRestEndpointQuery.setParameter("csarId", csarId);
+
+            // As a RESTEndpoint identified by URI, RestMethod and thorID
+            // is unique, we only return one result (there cannot be more)
+            final RESTEndpoint endpoint = getRestEndpointQuery.getSingleResult();
+            initialized(endpoint.getMetadata());
+            return endpoint;
+        }
     }
 
     @Override
@@ -175,106 +156,57 @@ public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoClosea
      */
     public void storeRESTEndpoint(final RESTEndpoint endpoint) {
         LOG.debug("Storing REST Endpoint with Path : \"{}\", STID: \"{}\"", endpoint.getPath(), endpoint.getCsarId());
-        if (!this.em.getTransaction().isActive()) {
-            this.em.getTransaction().begin();
-        }
-        this.em.persist(endpoint);
-        this.em.getTransaction().commit();
+        inTransaction(em -> {
+            em.persist(endpoint);
+            return endpoint;
+        });
     }
 
     @Override
     public WSDLEndpoint getWSDLEndpointForPlanId(String triggeringContainer, final CsarId csarId, final QName planId) {
-        WSDLEndpoint endpoint = null;
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint = em.createQuery("SELECT e FROM WSDLEndpoint e where e.csarId= :csarId and e.PlanId = :planId and e.triggeringContainer = :triggeringContainer", WSDLEndpoint.class);
-        queryWSDLEndpoint.setParameter("csarId", csarId);
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("planId", planId);
-
-        try {
-            endpoint = queryWSDLEndpoint.getSingleResult();
-        } catch (final NoResultException e) {
-            LOG.error("Query in database didn't return a result", e);
+        final List<WSDLEndpoint> endpoints = index().byPlan.get(Arrays.asList(triggeringContainer, csarId, planId));
+        if (endpoints.isEmpty()) {
+            LOG.error("No endpoint stored for plan {} of Csar {}", planId, csarId);
             return null;
         }
-
-        return endpoint;
+        return endpoints.get(0);
     }
 
     @Override
     public WSDLEndpoint getWSDLEndpointForIa(final CsarId csarId, final QName nodeTypeImpl, final String iaName) {
-        WSDLEndpoint endpoint = null;
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint = em.createQuery(
-            "SELECT e FROM WSDLEndpoint e where e.csarId= :csarId and e.IaName = :IaName and e.TypeImplementation = :nodeTypeImpl", WSDLEndpoint.class);
-        queryWSDLEndpoint.setParameter("csarId", csarId);
-        queryWSDLEndpoint.setParameter("IaName", iaName);
-        queryWSDLEndpoint.setParameter("nodeTypeImpl", nodeTypeImpl);
-
-        try {
-            endpoint = (WSDLEndpoint) queryWSDLEndpoint.getSingleResult();
-        } catch (final NoResultException e) {
+        final List<WSDLEndpoint> endpoints = filter(e -> Objects.equals(e.getCsarId(), csarId)
+            && Objects.equals(e.getIaName(), iaName)
+            && Objects.equals(e.getTypeImplementation(), nodeTypeImpl));
+        if (endpoints.isEmpty()) {
             LOG.info("No endpoint stored for requested IA.");
+            return null;
         }
-        return endpoint;
+        return endpoints.get(0);
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForCsarId(String triggeringContainer, final CsarId csarId) {
-        final List<WSDLEndpoint> endpoints = new ArrayList<>();
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint = this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.csarId= :csarId and e.triggeringContainer = :triggeringContainer", WSDLEndpoint.class);
-        queryWSDLEndpoint.setParameter("csarId", csarId);
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return filter(e -> Objects.equals(e.getCsarId(), csarId)
+            && Objects.equals(e.getTriggeringContainer(), triggeringContainer));
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForNTImplAndIAName(String triggeringContainer, String managingContainer, final QName nodeTypeImpl, final String iaName) {
-        final List<WSDLEndpoint> endpoints = new ArrayList<>();
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint = this.em.createQuery(
-            "SELECT e FROM WSDLEndpoint e where e.IaName = :IaName and e.TypeImplementation = :nodeTypeImpl and e.triggeringContainer = :triggeringContainer and e.managingContainer = :managingContainer", WSDLEndpoint.class);
-        queryWSDLEndpoint.setParameter("IaName", iaName);
-        queryWSDLEndpoint.setParameter("nodeTypeImpl", nodeTypeImpl);
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("managingContainer", managingContainer);
-
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return new ArrayList<>(index().byIa.get(Arrays.asList(triggeringContainer, managingContainer, nodeTypeImpl, iaName)));
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpoints() {
-        final List<WSDLEndpoint> endpoints = new ArrayList<>();
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint = this.em.createQuery("SELECT e FROM WSDLEndpoint e", WSDLEndpoint.class);
-
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return new ArrayList<>(index().all.values());
     }
 
     @Override
     public void printPlanEndpoints() {
-        List<WSDLEndpoint> endpoints = null;
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint = this.em.createQuery("SELECT e FROM WSDLEndpoint e", WSDLEndpoint.class);
-
-        endpoints = queryWSDLEndpoint.getResultList();
-
         final StringBuilder builder = new StringBuilder();
         final String ls = System.getProperty("line.separator");
         builder.append(
             "debug output for stored endpoints of management plans, flags: csarid, planid, ianame, porttype " + ls);
-        for (final WSDLEndpoint endpoint : endpoints) {
+        for (final WSDLEndpoint endpoint : index().all.values()) {
             builder.append("endpoint: " + endpoint.getCsarId() + " " + endpoint.getPlanId() + " " + endpoint.getIaName()
                 + " " + endpoint.getPortType() + ls);
         }
@@ -283,32 +215,123 @@ public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoClosea
 
     @Override
     public boolean removeWSDLEndpoint(final WSDLEndpoint endpoint) {
-        if (!this.em.getTransaction().isActive()) {
-            this.em.getTransaction().begin();
+        synchronized (wsdlEndpointsWriteLock) {
+            inTransaction(em -> {
+                // the endpoints handed out by this service are detached
+                final WSDLEndpoint managed = em.find(WSDLEndpoint.class, endpoint.getId());
+                if (managed != null) {
+                    em.remove(managed);
+                }
+                return managed;
+            });
+            wsdlEndpoints = index().without(endpoint.getId());
+        }
+        for (final Consumer<URI> listener : removalListeners) {
+            listener.accept(endpoint.getURI());
         }
-        this.em.remove(endpoint);
-        this.em.getTransaction().commit();
         return true;
     }
 
+    @Override
+    public void addWSDLEndpointRemovalListener(final Consumer<URI> listener) {
+        removalListeners.add(listener);
+    }
+
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForSTID(String triggeringContainer, Long serviceTemplateInstanceID) {
-        final List<WSDLEndpoint> endpoints = new ArrayList<>();
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.serviceTemplateInstanceID= :serviceTemplateInstanceID", WSDLEndpoint.class);
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("serviceTemplateInstanceID", serviceTemplateInstanceID);
-
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
+        return new ArrayList<>(index().byServiceInstance.get(Arrays.asList(triggeringContainer, serviceTemplateInstanceID)));
+    }
+
+    @Override
+    public void close() {
+        wsdlEndpoints = null;
+    }
+
+    private List<WSDLEndpoint> filter(final Predicate<WSDLEndpoint> predicate) {
+        return index().all.values().stream().filter(predicate).collect(Collectors.toList());
+    }
+
+    private WsdlEndpointIndex index() {
+        WsdlEndpointIndex index = wsdlEndpoints;
+        if (index == null) {
+            synchronized (wsdlEndpointsWriteLock) {
+                index = wsdlEndpoints;
+                if (index == null) {
+                    try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+                        final List<WSDLEndpoint> stored = em.createQuery("SELECT e FROM WSDLEndpoint e", WSDLEndpoint.class)
+                            .getResultList();
+                        index = new WsdlEndpointIndex(initialized(stored));
+                    }
+                    LOG.debug("Loaded {} WSDL endpoints into the endpoint index", index.all.size());
+                    wsdlEndpoints = index;
+                }
+            }
         }
+        return index;
+    }
 
+    /**
+     * Loads the lazily fetched metadata of the given endpoints, so they can be used after their entity manager was
+     * closed.
+     */
+    private static <T extends AbstractEndpoint> List<T> initialized(final List<T> endpoints) {
+        endpoints.forEach(endpoint -> initialized(endpoint.getMetadata()));
         return endpoints;
     }
 
-    @Override
-    public void close() {
-        em.close();
+    private static void initialized(final Map<?, ?> lazyMap) {
+        if (lazyMap != null) {
+            lazyMap.size();
+        }
+    }
+
+    private static <R> R inTransaction(final Function<EntityManager, R> work) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            em.getTransaction().begin();
+            try {
+                final R result = work.apply(em);
+                em.getTransaction().commit();
+                return result;
+            } finally {
+                if (em.getTransaction().isActive()) {
+                    em.getTransaction().rollback();
+                }
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of all stored WSDL endpoints with the lookups the Management Bus and the plan engines use.
+     */
+    private static final class WsdlEndpointIndex {
+
+        private final ImmutableMap<Long, WSDLEndpoint> all;
+        // (triggeringContainer, managingContainer, typeImplementation, iaName)
+        private final ImmutableListMultimap<List<Object>, WSDLEndpoint> byIa;
+        // (triggeringContainer, csarId, planId)
+        private final ImmutableListMultimap<List<Object>, WSDLEndpoint> byPlan;
+        // (triggeringContainer, serviceTemplateInstanceID)
+        private final ImmutableListMultimap<List<Object>, WSDLEndpoint> byServiceInstance;
+        // (portType, triggeringContainer, csarId)
+        private final ImmutableListMultimap<List<Object>, WSDLEndpoint> byPortType;
+
+        private WsdlEndpointIndex(final Collection<WSDLEndpoint> endpoints) {
+            all = endpoints.stream().collect(ImmutableMap.toImmutableMap(WSDLEndpoint::getId, Function.identity()));
+            byIa = Multimaps.index(all.values(), e -> Arrays.asList(e.getTriggeringContainer(), e.getManagingContainer(),
+                e.getTypeImplementation(), e.getIaName()));
+            byPlan = Multimaps.index(all.values(), e -> Arrays.asList(e.getTriggeringContainer(), e.getCsarId(), e.getPlanId()));
+            byServiceInstance = Multimaps.index(all.values(), e -> Arrays.asList(e.getTriggeringContainer(), e.getServiceTemplateInstanceID()));
+            byPortType = Multimaps.index(all.values(), e -> Arrays.asList(e.getPortType(), e.getTriggeringContainer(), e.getCsarId()));
+        }
+
+        private WsdlEndpointIndex with(final WSDLEndpoint endpoint) {
+            return new WsdlEndpointIndex(ImmutableList.<WSDLEndpoint>builder().addAll(all.values()).add(endpoint).build());
+        }
+
+        private WsdlEndpointIndex without(final Long id) {
+            return new WsdlEndpointIndex(all.values().stream()
+                .filter(e -> !e.getId().equals(id))
+                .collect(Collectors.toList()));
+        }
     }
 }
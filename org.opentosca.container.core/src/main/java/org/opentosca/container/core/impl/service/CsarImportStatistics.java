@@ -0,0 +1,70 @@
+package org.opentosca.container.core.impl.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and duration counters of the CSAR uploads and imports handled by a {@link CsarStorageServiceImpl}.
+ */
+public class CsarImportStatistics {
+
+    private final LongAdder uploads = new LongAdder();
+    private final LongAdder uploadedBytes = new LongAdder();
+    private final LongAdder uploadNanos = new LongAdder();
+
+    private final LongAdder imports = new LongAdder();
+    private final LongAdder failedImports = new LongAdder();
+    private final LongAdder importNanos = new LongAdder();
+    private final LongAdder importLockWaitNanos = new LongAdder();
+
+    void recordUpload(final long bytes, final long nanos) {
+        uploads.increment();
+        uploadedBytes.add(bytes);
+        uploadNanos.add(nanos);
+    }
+
+    void recordImport(final boolean successful, final long lockWaitNanos, final long nanos) {
+        if (successful) {
+            imports.increment();
+        } else {
+            failedImports.increment();
+        }
+        importLockWaitNanos.add(lockWaitNanos);
+        importNanos.add(nanos);
+    }
+
+    public long getUploads() {
+        return uploads.sum();
+    }
+
+    public long getUploadedBytes() {
+        return uploadedBytes.sum();
+    }
+
+    /**
+     * @return the average upload throughput in bytes per second
+     */
+    public double getUploadThroughput() {
+        final long nanos = uploadNanos.sum();
+        return nanos == 0 ? 0 : uploadedBytes.sum() / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public long getImports() {
+        return imports.sum();
+    }
+
+    public long getFailedImports() {
+        return failedImports.sum();
+    }
+
+    public long getTotalImportMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(importNanos.sum());
+    }
+
+    /**
+     * @return the total time imports waited for other imports to finish
+     */
+    public long getTotalImportLockWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(importLockWaitNanos.sum());
+    }
+}
@@ -1,5 +1,6 @@
 package org.opentosca.container.core.impl.service;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -13,6 +14,8 @@ import java.util.HashSet;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.eclipse.winery.accountability.exceptions.AccountabilityException;
@@ -33,6 +36,7 @@ import org.opentosca.container.core.common.UserException;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.model.csar.CsarImpl;
+import org.opentosca.container.core.model.csar.CsarModelCache;
 import org.opentosca.container.core.service.CsarStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,28 +48,32 @@ public class CsarStorageServiceImpl implements CsarStorageService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CsarStorageServiceImpl.class);
 
-    private static final Object repositoryFactoryConfigurationMutex = new Object();
+    // CsarImporter always imports into the globally configured repository, so imports must not overlap
+    private static final Lock repositoryFactoryConfigurationLock = new ReentrantLock();
+
+    private static final int IMPORT_BUFFER_SIZE = 1 << 16;
 
     private final Path basePath;
+    private final Path stagingPath;
+    private final CsarModelCache modelCache = new CsarModelCache();
+    private final CsarImportStatistics importStatistics = new CsarImportStatistics();
 
     public CsarStorageServiceImpl() {
-        try {
-            Files.createDirectories(Settings.CONTAINER_STORAGE_BASEPATH);
-        } catch (IOException e) {
-            LOGGER.error("Could not set up storage for Csars", e);
-            throw new ExceptionInInitializerError(e);
-        }
-        basePath = Settings.CONTAINER_STORAGE_BASEPATH;
+        this(Settings.CONTAINER_STORAGE_BASEPATH);
     }
 
     public CsarStorageServiceImpl(Path basePath) {
+        // uploads are staged next to the storage, so they are on the same file system without being listed as Csars
+        final Path stagingPath = basePath.resolveSibling(basePath.getFileName() + "-staging");
         try {
             Files.createDirectories(basePath);
+            Files.createDirectories(stagingPath);
         } catch (IOException e) {
             LOGGER.error("Could not set up storage for Csars", e);
             throw new ExceptionInInitializerError(e);
         }
         this.basePath = basePath;
+        this.stagingPath = stagingPath;
     }
 
     @Override
@@ -75,7 +83,7 @@ public class CsarStorageServiceImpl implements CsarStorageService {
         try {
             for (@NonNull Path csarId : Files.newDirectoryStream(basePath, Files::isDirectory)) {
                 // FIXME make CsarId a name and put the path somewhere else
-                csars.add(new CsarImpl(new CsarId(csarId.getFileName().toString()), csarId));
+                csars.add(new CsarImpl(new CsarId(csarId.getFileName().toString()), csarId, modelCache));
             }
         } catch (IOException e) {
             LOGGER.error("Error when traversing '{}' for CSARs", basePath);
@@ -88,7 +96,7 @@ public class CsarStorageServiceImpl implements CsarStorageService {
     public Csar findById(CsarId id) throws NoSuchElementException {
         Path predictedSaveLocation = basePath.resolve(id.csarName());
         if (Files.exists(predictedSaveLocation)) {
-            return new CsarImpl(id, predictedSaveLocation);
+            return new CsarImpl(id, predictedSaveLocation, modelCache);
         }
         LOGGER.info("CSAR '{}' could not be found", id.csarName());
         throw new NoSuchElementException();
@@ -98,12 +106,12 @@ public class CsarStorageServiceImpl implements CsarStorageService {
     @Nullable
     public Path storeCSARTemporarily(String filename, InputStream is) {
         try {
-            Path tempLocation = Paths.get(System.getProperty("java.io.tmpdir"), filename);
-            if (Files.exists(tempLocation)) {
-                // well ... umm ... let's just delete it, I guess?
-                Files.delete(tempLocation);
-            }
-            Files.copy(is, tempLocation);
+            // every upload gets it's own directory, so concurrent uploads of the same file don't interfere
+            final Path tempLocation = Files.createTempDirectory(stagingPath, "upload").resolve(filename);
+            final long start = System.nanoTime();
+            final long bytes = Files.copy(is, tempLocation);
+            importStatistics.recordUpload(bytes, System.nanoTime() - start);
+            LOGGER.debug("Staged {} bytes of Csar upload {} at {}", bytes, filename, tempLocation);
             return tempLocation;
         } catch (IOException e) {
             LOGGER.error("Exception occured when writing temporary CSAR file: {}", e.getMessage(), e);
@@ -111,6 +119,17 @@ public class CsarStorageServiceImpl implements CsarStorageService {
         }
     }
 
+    @Override
+    public void deleteTemporaryCSAR(Path temporaryLocation) {
+        final Path uploadDirectory = temporaryLocation.getParent();
+        if (uploadDirectory != null && stagingPath.equals(uploadDirectory.getParent())) {
+            FileUtils.forceDelete(uploadDirectory);
+        } else {
+            // not staged by this storage, so there is no upload directory to remove
+            FileUtils.forceDelete(temporaryLocation);
+        }
+    }
+
     @Override
     public CsarId storeCSAR(Path csarLocation) throws UserException, SystemException {
         LOGGER.debug("Given file to store: {}", csarLocation);
@@ -126,20 +145,26 @@ public class CsarStorageServiceImpl implements CsarStorageService {
                 "CSAR \"" + candidateId.csarName() + "\" is already stored. Overwriting a CSAR is not allowed.");
         }
         ImportMetaInformation importInfo = null;
+        final long start = System.nanoTime();
+        long lockWait = 0;
         try {
             Files.createDirectory(permanentLocation);
-            synchronized (repositoryFactoryConfigurationMutex) {
-                // CsarImporter doesn't allow overriding the repository it imports to
-                // therefore we need to reconfigure the RepositoryFactory to overwrite the target location
-                // That configuration must not be changed in a different thread during the import process
-                RepositoryFactory.reconfigure(new FileBasedRepositoryConfiguration(permanentLocation));
-
-                CsarImporter importer = new CsarImporter();
-                final CsarImportOptions importOptions = new CsarImportOptions();
-                importOptions.setValidate(false); // avoid triggering accountability meddling with this
-                importOptions.setAsyncWPDParsing(true);
-                importOptions.setOverwrite(false);
-                importInfo = importer.readCSAR(Files.newInputStream(csarLocation), importOptions);
+            final CsarImportOptions importOptions = new CsarImportOptions();
+            importOptions.setValidate(false); // avoid triggering accountability meddling with this
+            importOptions.setAsyncWPDParsing(true);
+            importOptions.setOverwrite(false);
+            try (InputStream csarStream = new BufferedInputStream(Files.newInputStream(csarLocation), IMPORT_BUFFER_SIZE)) {
+                repositoryFactoryConfigurationLock.lock();
+                lockWait = System.nanoTime() - start;
+                try {
+                    // CsarImporter doesn't allow overriding the repository it imports to
+                    // therefore we need to reconfigure the RepositoryFactory to overwrite the target location
+                    // That configuration must not be changed in a different thread during the import process
+                    RepositoryFactory.reconfigure(new FileBasedRepositoryConfiguration(permanentLocation));
+                    importInfo = new CsarImporter().readCSAR(csarStream, importOptions);
+                } finally {
+                    repositoryFactoryConfigurationLock.unlock();
+                }
             }
             if (!importInfo.errors.isEmpty()) {
                 throw new UserException("Importing the csar failed with errors: " + importInfo.errors.stream().collect(Collectors.joining(System.lineSeparator())));
@@ -163,6 +188,8 @@ public class CsarStorageServiceImpl implements CsarStorageService {
                 throw e;
             }
             throw new UserException("CSAR \"" + candidateId.csarName() + "\" could not be imported.", e);
+        } finally {
+            importStatistics.recordImport(importInfo != null && importInfo.errors.isEmpty(), lockWait, System.nanoTime() - start);
         }
         assert (importInfo != null);
         // if (importInfo == null || !importInfo.errors.isEmpty()) {
@@ -184,18 +211,22 @@ public class CsarStorageServiceImpl implements CsarStorageService {
             throw new UserException("CSAR \"" + candidateId.csarName() + "\" could not be imported.");
         }
         LOGGER.info("Successfully stored Csar as {}", candidateId.csarName());
+        // build the parsed model right away, so the first consumer of the Csar does not have to pay for it
+        new CsarImpl(candidateId, permanentLocation, modelCache).definitions();
         return candidateId;
     }
 
     @Override
     public void deleteCSAR(CsarId csarId) throws SystemException, UserException {
         LOGGER.debug("Deleting CSAR \"{}\"...", csarId.csarName());
+        modelCache.invalidate(csarId);
         FileUtils.forceDelete(basePath.resolve(csarId.csarName()));
     }
 
     @Override
     public void purgeCsars() throws SystemException {
         LOGGER.debug("Deleting all CSARs...");
+        modelCache.invalidateAll();
         try {
             for (Path csarRepoContent : Files.newDirectoryStream(basePath)) {
                 LOGGER.debug("Deleting CSAR at [{}]", csarRepoContent);
@@ -210,6 +241,20 @@ public class CsarStorageServiceImpl implements CsarStorageService {
         }
     }
 
+    /**
+     * @return upload and import statistics of this storage
+     */
+    public CsarImportStatistics importStatistics() {
+        return importStatistics;
+    }
+
+    /**
+     * @return the cache holding the parsed models of the CSARs in this storage, e.g. to obtain it's statistics
+     */
+    public CsarModelCache modelCache() {
+        return modelCache;
+    }
+
     @Override
     public Path exportCSAR(final CsarId csarId) throws UserException, SystemException {
         LOGGER.debug("Exporting CSAR \"{}\"...", csarId.csarName());
@@ -233,4 +278,15 @@ public class CsarStorageServiceImpl implements CsarStorageService {
             throw new SystemException("An IO Exception occured.", e);
         }
     }
+
+    @Override
+    public void exportCSAR(final CsarId csarId, final OutputStream out) throws SystemException {
+        LOGGER.debug("Streaming export of CSAR \"{}\"...", csarId.csarName());
+        Csar csar = findById(csarId);
+        try {
+            csar.exportTo(out);
+        } catch (final IOException e) {
+            throw new SystemException("An IO Exception occured.", e);
+        }
+    }
 }
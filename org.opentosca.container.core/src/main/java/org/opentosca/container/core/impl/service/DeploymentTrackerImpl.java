@@ -1,11 +1,16 @@
 package org.opentosca.container.core.impl.service;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.persistence.EntityManager;
-import javax.persistence.NoResultException;
-import javax.persistence.NonUniqueResultException;
-import javax.persistence.TypedQuery;
 
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.model.deployment.ia.IADeploymentInfo;
@@ -14,41 +19,157 @@ import org.opentosca.container.core.model.deployment.plan.PlanDeploymentInfo;
 import org.opentosca.container.core.model.deployment.plan.PlanDeploymentState;
 import org.opentosca.container.core.model.deployment.process.DeploymentProcessInfo;
 import org.opentosca.container.core.model.deployment.process.DeploymentProcessState;
+import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
 import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.service.DeploymentTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+/**
+ * Keeps the deployment states of all Csars in memory and writes every change through to the database.
+ * <p>
+ * The stored states are loaded once when the tracker is first used. Reads are served from memory without locking.
+ * Changes to the states of a Csar are serialized per Csar, so deployments of different Csars don't wait for each
+ * other. Cached entities are never modified, a change is applied to a copy that replaces the cached entity once it is
+ * committed. If writing a change fails, the states of the Csar are reloaded from the database.
+ */
 @Service
-public class DeploymentTrackerImpl implements DeploymentTracker, AutoCloseable {
+public class DeploymentTrackerImpl implements DeploymentTracker {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DeploymentTrackerImpl.class);
 
-    private final EntityManager em = EntityManagerProvider.createEntityManager();
+    private final Map<CsarId, CsarDeployments> deployments = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
 
     public DeploymentTrackerImpl() {
     }
 
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                LOGGER.debug("Loading deployment states of all Csars from database");
+                try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+                    for (final DeploymentProcessInfo info : selectAll(em, DeploymentProcessInfo.class)) {
+                        deployments(info.getCsarID()).process = info;
+                    }
+                    for (final IADeploymentInfo info : selectAll(em, IADeploymentInfo.class)) {
+                        deployments(info.getCsarID()).ias.put(info.getRelPath(), info);
+                    }
+                    for (final PlanDeploymentInfo info : selectAll(em, PlanDeploymentInfo.class)) {
+                        deployments(info.getCsarID()).plans.put(info.getRelPath(), info);
+                    }
+                }
+                loaded = true;
+                LOGGER.debug("Loaded deployment states of {} Csars", deployments.size());
+            }
+        }
+    }
+
+    private static <T> List<T> selectAll(final EntityManager em, final Class<T> clazz) {
+        return em.createQuery("select t from " + clazz.getSimpleName() + " t", clazz).getResultList();
+    }
+
+    private CsarDeployments deployments(final CsarId csar) {
+        return deployments.computeIfAbsent(csar, id -> new CsarDeployments());
+    }
+
+    /**
+     * Applies the given change to the deployment states of the given Csar, while no other change to them is made.
+     */
+    private <R> R update(final CsarId csar, final Function<CsarDeployments, R> change) {
+        ensureLoaded();
+        while (true) {
+            final CsarDeployments csarDeployments = deployments(csar);
+            synchronized (csarDeployments) {
+                // the states may have been deleted or evicted while waiting for the lock
+                if (deployments.get(csar) != csarDeployments) {
+                    continue;
+                }
+                try {
+                    return change.apply(csarDeployments);
+                } catch (final RuntimeException e) {
+                    LOGGER.warn("Updating the deployment states of Csar {} failed, reloading them", csar.csarName());
+                    reload(csar, csarDeployments);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void reload(final CsarId csar, final CsarDeployments stale) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final CsarDeployments csarDeployments = new CsarDeployments();
+            em.createNamedQuery(DeploymentProcessInfo.getDeploymentProcessInfoByCSARID, DeploymentProcessInfo.class)
+                .setParameter("csarID", csar).getResultList()
+                .forEach(info -> csarDeployments.process = info);
+            em.createNamedQuery(IADeploymentInfo.getIADeploymentInfoByCSARID, IADeploymentInfo.class)
+                .setParameter("csarID", csar).getResultList()
+                .forEach(info -> csarDeployments.ias.put(info.getRelPath(), info));
+            em.createNamedQuery(PlanDeploymentInfo.getPlanDeploymentInfoByCSARID, PlanDeploymentInfo.class)
+                .setParameter("csarID", csar).getResultList()
+                .forEach(info -> csarDeployments.plans.put(info.getRelPath(), info));
+            deployments.replace(csar, stale, csarDeployments);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Could not reload the deployment states of Csar {}", csar.csarName(), e);
+        }
+    }
+
+    /**
+     * Applies the given change to the given entity and persists it in its own transaction.
+     *
+     * @param entity a new entity or a detached one that is not modified
+     * @return the persisted entity, which is detached
+     */
+    private static <T> T write(final T entity, final boolean isNew, final Consumer<T> change) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            em.getTransaction().begin();
+            try {
+                final T persisted;
+                if (isNew) {
+                    persisted = entity;
+                    change.accept(persisted);
+                    em.persist(persisted);
+                } else {
+                    persisted = em.merge(entity);
+                    change.accept(persisted);
+                }
+                em.getTransaction().commit();
+                return persisted;
+            } finally {
+                if (em.getTransaction().isActive()) {
+                    em.getTransaction().rollback();
+                }
+            }
+        }
+    }
+
     @Override
-    public synchronized void storeDeploymentState(CsarId csar, DeploymentProcessState state) {
+    public void storeDeploymentState(CsarId csar, DeploymentProcessState state) {
         LOGGER.trace("Storing deployment state {} for Csar {}.", state, csar.csarName());
-        em.getTransaction().begin();
-
-        final DeploymentProcessInfo currentInformation = getDeploymentInfo(csar);
-        if (currentInformation == null) {
-            em.persist(new DeploymentProcessInfo(csar, state));
-        } else {
-            currentInformation.setDeploymentProcessState(state);
-            em.persist(currentInformation);
-        }
-        em.getTransaction().commit();
+        update(csar, csarDeployments -> {
+            final DeploymentProcessInfo currentInformation = csarDeployments.process;
+            if (currentInformation == null) {
+                csarDeployments.process = write(new DeploymentProcessInfo(csar, state), true,
+                    info -> info.setDeploymentProcessState(state));
+            } else {
+                csarDeployments.process = write(currentInformation, false,
+                    info -> info.setDeploymentProcessState(state));
+            }
+            return null;
+        });
         LOGGER.debug("Completed storing deployment state {} for Csar {}", state, csar.csarName());
     }
 
     @Override
-    public synchronized DeploymentProcessState getDeploymentState(CsarId csar) {
-        final DeploymentProcessInfo info = getDeploymentInfo(csar);
+    public DeploymentProcessState getDeploymentState(CsarId csar) {
+        ensureLoaded();
+        final CsarDeployments csarDeployments = deployments.get(csar);
+        final DeploymentProcessInfo info = csarDeployments == null ? null : csarDeployments.process;
         if (info == null) {
             LOGGER.warn("No deployment state for Csar {} found", csar.csarName());
             return null;
@@ -57,191 +178,188 @@ public class DeploymentTrackerImpl implements DeploymentTracker, AutoCloseable {
         return info.getDeploymentProcessState();
     }
 
-    private synchronized DeploymentProcessInfo getDeploymentInfo(CsarId csar) {
-        LOGGER.trace("Retrieving deployment information for Csar {} from database", csar.csarName());
-        final TypedQuery<DeploymentProcessInfo> select = em.createNamedQuery(DeploymentProcessInfo.getDeploymentProcessInfoByCSARID, DeploymentProcessInfo.class);
-        select.setParameter("csarID", csar);
-        try {
-            return select.getSingleResult();
-        } catch (NoResultException e) {
-            LOGGER.debug("No deployment information associated with Csar {} found", csar.csarName());
-            return null;
-        } catch (NonUniqueResultException e) {
-            LOGGER.warn("Multiple deployment information results found for Csar {}", csar.csarName());
-            return null;
-        }
+    @Override
+    public Map<CsarId, DeploymentProcessState> getDeploymentStates() {
+        ensureLoaded();
+        final Map<CsarId, DeploymentProcessState> states = new HashMap<>();
+        deployments.forEach((csar, csarDeployments) -> {
+            final DeploymentProcessInfo info = csarDeployments.process;
+            if (info != null) {
+                states.put(csar, info.getDeploymentProcessState());
+            }
+        });
+        return states;
     }
 
     @Override
-    public synchronized void storeIADeploymentInfo(IADeploymentInfo info) {
+    public void storeIADeploymentInfo(IADeploymentInfo newInfo) {
         LOGGER.trace("Storing deployment state {} for IA \"{}\" of CSAR \"{}\"...",
-            info.getDeploymentState(), info.getRelPath(), info.getCsarID().csarName());
-        em.getTransaction().begin();
-
-        // check if deployment info for this IA already exists
-        final IADeploymentInfo storedIA = getIADeploymentInfo(info.getCsarID(), info.getRelPath());
-
-        // deployment info already exists
-        if (storedIA != null) {
-            LOGGER.info("Updating IA deployment info for IA [{}] of CSAR [{}].", info.getRelPath(), info.getCsarID().csarName());
-
-            final IADeploymentState storedIADeployState = storedIA.getDeploymentState();
-            final IADeploymentState newIADeployState = info.getDeploymentState();
-
-            // if IA is deployed and will be now undeployed, reset the attempt counter to 0
-            if (storedIADeployState.equals(IADeploymentState.IA_DEPLOYED)
-                && newIADeployState.equals(IADeploymentState.IA_UNDEPLOYING)) {
-                LOGGER.trace("Deployed IA [{}] of CSAR [{}] is now undeploying. Resetting attempt count.", info.getRelPath(), info.getCsarID().csarName());
-                storedIA.setAttempt(0);
+            newInfo.getDeploymentState(), newInfo.getRelPath(), newInfo.getCsarID().csarName());
+
+        final IADeploymentInfo stored = update(newInfo.getCsarID(), csarDeployments -> {
+            final IADeploymentState newIADeployState = newInfo.getDeploymentState();
+            int attempt = newInfo.getAttempt();
+            // check if deployment info for this IA already exists
+            final IADeploymentInfo storedIA = csarDeployments.ias.get(newInfo.getRelPath());
+
+            // deployment info already exists
+            if (storedIA != null) {
+                LOGGER.info("Updating IA deployment info for IA [{}] of CSAR [{}].", newInfo.getRelPath(), newInfo.getCsarID().csarName());
+                attempt = storedIA.getAttempt();
+
+                // if IA is deployed and will be now undeployed, reset the attempt counter to 0
+                if (storedIA.getDeploymentState().equals(IADeploymentState.IA_DEPLOYED)
+                    && newIADeployState.equals(IADeploymentState.IA_UNDEPLOYING)) {
+                    LOGGER.trace("Deployed IA [{}] of CSAR [{}] is now undeploying. Resetting attempt count.", newInfo.getRelPath(), newInfo.getCsarID().csarName());
+                    attempt = 0;
+                }
             }
-            storedIA.setDeploymentState(newIADeployState);
-            info = storedIA;
-        }
 
-        // if IA is now deploying or undeploying, increment attempt counter
-        if (info.getDeploymentState().equals(IADeploymentState.IA_DEPLOYING)
-            || info.getDeploymentState().equals(IADeploymentState.IA_UNDEPLOYING)) {
-            LOGGER.trace("IA [{}] of CSAR [{}] is now deploying / undeploying. Incrementing attempt count.", info.getRelPath(), info.getCsarID());
-            info.setAttempt(info.getAttempt() + 1);
-        }
+            // if IA is now deploying or undeploying, increment attempt counter
+            if (newIADeployState.equals(IADeploymentState.IA_DEPLOYING)
+                || newIADeployState.equals(IADeploymentState.IA_UNDEPLOYING)) {
+                LOGGER.trace("IA [{}] of CSAR [{}] is now deploying / undeploying. Incrementing attempt count.", newInfo.getRelPath(), newInfo.getCsarID());
+                attempt++;
+            }
 
-        this.em.persist(info);
-        this.em.getTransaction().commit();
-        LOGGER.debug("Stored deployment state {} for IA [{}] of CSAR [{}].", info.getDeploymentState(), info.getRelPath(), info.getCsarID().csarName());
+            final int newAttempt = attempt;
+            final IADeploymentInfo persisted = write(storedIA == null ? newInfo : storedIA, storedIA == null, info -> {
+                info.setDeploymentState(newIADeployState);
+                info.setAttempt(newAttempt);
+            });
+            csarDeployments.ias.put(persisted.getRelPath(), persisted);
+            return persisted;
+        });
+        LOGGER.debug("Stored deployment state {} for IA [{}] of CSAR [{}].", stored.getDeploymentState(), stored.getRelPath(), stored.getCsarID().csarName());
     }
 
     @Override
-    public synchronized void storeIADeploymentInfo(CsarId csar, String iaRelPath, IADeploymentState deploymentState) {
+    public void storeIADeploymentInfo(CsarId csar, String iaRelPath, IADeploymentState deploymentState) {
         storeIADeploymentInfo(new IADeploymentInfo(csar, iaRelPath, deploymentState));
     }
 
     // FIXME do not return IADeploymentInfo. Attempts are only used internally.
     //  Instead return the DeploymentState of a compound key encapsulating CsarId and RelPath
     @Override
-    public synchronized IADeploymentInfo getIADeploymentInfo(CsarId csar, String iaRelPath) {
+    public IADeploymentInfo getIADeploymentInfo(CsarId csar, String iaRelPath) {
         LOGGER.trace("Retrieving IA Deployment info for IA [{}] in Csar {}", iaRelPath, csar.csarName());
-        final TypedQuery<IADeploymentInfo> select = em.createNamedQuery(IADeploymentInfo.getIADeploymentInfoByCSARIDAndRelPath, IADeploymentInfo.class);
-        select.setParameter("iaRelPath", iaRelPath);
-        select.setParameter("csarID", csar);
-        try {
-            return select.getSingleResult();
-        } catch (NoResultException e) {
-            return null;
-        } catch (NonUniqueResultException e) {
-            LOGGER.warn("More than one IA deployment information stored for IA [{}] of Csar {}", iaRelPath, csar.csarName());
-            return null;
-        }
+        ensureLoaded();
+        final CsarDeployments csarDeployments = deployments.get(csar);
+        return csarDeployments == null ? null : csarDeployments.ias.get(iaRelPath);
     }
 
     @Override
-    public synchronized Collection<IADeploymentInfo> getIADeployments(CsarId csar) {
+    public Collection<IADeploymentInfo> getIADeployments(CsarId csar) {
         LOGGER.trace("Retrieving IA Deployment info for all IAs in Csar {}", csar.csarName());
-        final TypedQuery<IADeploymentInfo> select = em.createNamedQuery(IADeploymentInfo.getIADeploymentInfoByCSARID, IADeploymentInfo.class);
-        select.setParameter("csarID", csar);
-        return select.getResultList();
+        ensureLoaded();
+        final CsarDeployments csarDeployments = deployments.get(csar);
+        return csarDeployments == null ? Collections.emptyList() : new ArrayList<>(csarDeployments.ias.values());
     }
 
     @Override
-    public synchronized void storePlanDeploymentInfo(PlanDeploymentInfo info) {
-        LOGGER.trace("Storing deployment state {} for Plan [{}] of Csar {}", info.getDeploymentState(), info.getRelPath(), info.getCsarID().csarName());
-        this.em.getTransaction().begin();
-
-        // check if deployment info for this Plan already exists
-        final PlanDeploymentInfo storedPlan = this.getPlanDeploymentInfo(info.getCsarID(), info.getRelPath());
-        // deployment info already exists
-        if (storedPlan != null) {
-            LOGGER.debug("Overwriting Plan deployment info for Plan [{}] of Csar [{}].", info.getRelPath(), info.getCsarID().csarName());
-
-            final PlanDeploymentState storedPlanDeployState = storedPlan.getDeploymentState();
-            final PlanDeploymentState newPlanDeployState = info.getDeploymentState();
-
-            // if Plan is deployed and will be now undeployed, reset the attempt counter to 0
-            if (storedPlanDeployState.equals(PlanDeploymentState.PLAN_DEPLOYED)
-                && newPlanDeployState.equals(PlanDeploymentState.PLAN_UNDEPLOYING)) {
-                LOGGER.debug("Deployed Plan [{}] of Csar [{}] is now undeploying. Resetting attempt count.", info.getRelPath(), info.getCsarID().csarName());
-                storedPlan.setAttempt(0);
+    public void storePlanDeploymentInfo(PlanDeploymentInfo newInfo) {
+        LOGGER.trace("Storing deployment state {} for Plan [{}] of Csar {}", newInfo.getDeploymentState(), newInfo.getRelPath(), newInfo.getCsarID().csarName());
+
+        final PlanDeploymentInfo stored = update(newInfo.getCsarID(), csarDeployments -> {
+            final PlanDeploymentState newPlanDeployState = newInfo.getDeploymentState();
+            int attempt = newInfo.getAttempt();
+            // check if deployment info for this Plan already exists
+            final PlanDeploymentInfo storedPlan = csarDeployments.plans.get(newInfo.getRelPath());
+            // deployment info already exists
+            if (storedPlan != null) {
+                LOGGER.debug("Overwriting Plan deployment info for Plan [{}] of Csar [{}].", newInfo.getRelPath(), newInfo.getCsarID().csarName());
+                attempt = storedPlan.getAttempt();
+
+                // if Plan is deployed and will be now undeployed, reset the attempt counter to 0
+                if (storedPlan.getDeploymentState().equals(PlanDeploymentState.PLAN_DEPLOYED)
+                    && newPlanDeployState.equals(PlanDeploymentState.PLAN_UNDEPLOYING)) {
+                    LOGGER.debug("Deployed Plan [{}] of Csar [{}] is now undeploying. Resetting attempt count.", newInfo.getRelPath(), newInfo.getCsarID().csarName());
+                    attempt = 0;
+                }
             }
 
-            storedPlan.setDeploymentState(newPlanDeployState);
-            info = storedPlan;
-        }
-
-        // if Plan is now deploying or undeploying, increment attempt counter
-        if (info.getDeploymentState().equals(PlanDeploymentState.PLAN_DEPLOYING)
-            || info.getDeploymentState().equals(PlanDeploymentState.PLAN_UNDEPLOYING)) {
-            LOGGER.debug("Plan [{}] of CSAR [{}] is now deploying / undeploying. Increase attempt count.", info.getRelPath(), info.getCsarID().csarName());
-            info.setAttempt(info.getAttempt() + 1);
-        }
+            // if Plan is now deploying or undeploying, increment attempt counter
+            if (newPlanDeployState.equals(PlanDeploymentState.PLAN_DEPLOYING)
+                || newPlanDeployState.equals(PlanDeploymentState.PLAN_UNDEPLOYING)) {
+                LOGGER.debug("Plan [{}] of CSAR [{}] is now deploying / undeploying. Increase attempt count.", newInfo.getRelPath(), newInfo.getCsarID().csarName());
+                attempt++;
+            }
 
-        this.em.persist(info);
-        this.em.getTransaction().commit();
+            final int newAttempt = attempt;
+            final PlanDeploymentInfo persisted = write(storedPlan == null ? newInfo : storedPlan, storedPlan == null, info -> {
+                info.setDeploymentState(newPlanDeployState);
+                info.setAttempt(newAttempt);
+            });
+            csarDeployments.plans.put(persisted.getRelPath(), persisted);
+            return persisted;
+        });
 
-        LOGGER.info("Stored deployment state {} for Plan [{}] of Csar [{}].", info.getDeploymentState(), info.getRelPath(), info.getCsarID().csarName());
+        LOGGER.info("Stored deployment state {} for Plan [{}] of Csar [{}].", stored.getDeploymentState(), stored.getRelPath(), stored.getCsarID().csarName());
     }
 
     @Override
-    public synchronized void storePlanDeploymentInfo(CsarId csar, String planRelPath, PlanDeploymentState deploymentState) {
+    public void storePlanDeploymentInfo(CsarId csar, String planRelPath, PlanDeploymentState deploymentState) {
         storePlanDeploymentInfo(new PlanDeploymentInfo(csar, planRelPath, deploymentState));
     }
 
     @Override
-    public synchronized PlanDeploymentInfo getPlanDeploymentInfo(CsarId csar, String planRelPath) {
+    public PlanDeploymentInfo getPlanDeploymentInfo(CsarId csar, String planRelPath) {
         LOGGER.trace("Retrieving plan deployment information for plan [{}] in Csar {}", planRelPath, csar.csarName());
-        final TypedQuery<PlanDeploymentInfo> select = em.createNamedQuery(PlanDeploymentInfo.getPlanDeploymentInfoByCSARIDAndRelPath, PlanDeploymentInfo.class);
-        select.setParameter("csarID", csar);
-        select.setParameter("planRelPath", planRelPath);
-        try {
-            return select.getSingleResult();
-        } catch (NoResultException e) {
-            return null;
-        } catch (NonUniqueResultException e) {
-            LOGGER.warn("More than one plan deployment information stored for Plan [{}] in Csar {}", planRelPath, csar.csarName());
-            return null;
-        }
+        ensureLoaded();
+        final CsarDeployments csarDeployments = deployments.get(csar);
+        return csarDeployments == null ? null : csarDeployments.plans.get(planRelPath);
     }
 
     @Override
-    public synchronized Collection<PlanDeploymentInfo> getPlanDeployments(CsarId csar) {
+    public Collection<PlanDeploymentInfo> getPlanDeployments(CsarId csar) {
         LOGGER.trace("Retrieving plan deployment information for all plans in Csar {}", csar.csarName());
-        final TypedQuery<PlanDeploymentInfo> select = em.createNamedQuery(PlanDeploymentInfo.getPlanDeploymentInfoByCSARID, PlanDeploymentInfo.class);
-        select.setParameter("csarID", csar);
-        return select.getResultList();
+        ensureLoaded();
+        final CsarDeployments csarDeployments = deployments.get(csar);
+        return csarDeployments == null ? Collections.emptyList() : new ArrayList<>(csarDeployments.plans.values());
     }
 
     @Override
-    public synchronized void deleteDeploymentState(CsarId csar) {
+    public void deleteDeploymentState(CsarId csar) {
         LOGGER.info("Deleting all deployment state associated with Csar {}", csar.csarName());
-        em.getTransaction().begin();
-        try {
-            final Collection<IADeploymentInfo> iaDeployments = getIADeployments(csar);
-            LOGGER.trace("Marking {} IA deployments for removal", iaDeployments.size());
-            for (IADeploymentInfo iaInfo : iaDeployments) {
-                em.remove(iaInfo);
-            }
-            final Collection<PlanDeploymentInfo> planDeployments = getPlanDeployments(csar);
-            LOGGER.trace("Marking {} Plan deployments for removal", planDeployments.size());
-            for (PlanDeploymentInfo planInfo : planDeployments) {
-                em.remove(planInfo);
+        update(csar, csarDeployments -> {
+            try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+                em.getTransaction().begin();
+                try {
+                    final List<IADeploymentInfo> iaDeployments = em
+                        .createNamedQuery(IADeploymentInfo.getIADeploymentInfoByCSARID, IADeploymentInfo.class)
+                        .setParameter("csarID", csar).getResultList();
+                    LOGGER.trace("Marking {} IA deployments for removal", iaDeployments.size());
+                    iaDeployments.forEach(em::remove);
+                    final List<PlanDeploymentInfo> planDeployments = em
+                        .createNamedQuery(PlanDeploymentInfo.getPlanDeploymentInfoByCSARID, PlanDeploymentInfo.class)
+                        .setParameter("csarID", csar).getResultList();
+                    LOGGER.trace("Marking {} Plan deployments for removal", planDeployments.size());
+                    planDeployments.forEach(em::remove);
+                    LOGGER.trace("Marking Csar for removal");
+                    em.createNamedQuery(DeploymentProcessInfo.getDeploymentProcessInfoByCSARID, DeploymentProcessInfo.class)
+                        .setParameter("csarID", csar).getResultList()
+                        .forEach(em::remove);
+                    em.getTransaction().commit();
+                } finally {
+                    if (em.getTransaction().isActive()) {
+                        em.getTransaction().rollback();
+                    }
+                }
             }
-            final DeploymentProcessInfo csarInfo = getDeploymentInfo(csar);
-            LOGGER.trace("Marking Csar for removal");
-            if (csarInfo != null) {
-                em.remove(csarInfo);
-            }
-            em.getTransaction().commit();
-        } catch (Exception e) {
-            em.getTransaction().setRollbackOnly();
-            throw e;
-        } finally {
-            if (em.getTransaction().getRollbackOnly()) {
-                em.getTransaction().rollback();
-            }
-        }
+            deployments.remove(csar, csarDeployments);
+            return null;
+        });
         LOGGER.trace("Marked changes have been persisted");
     }
 
-    @Override
-    public void close() throws Exception {
-        em.close();
+    /**
+     * The deployment states of a single Csar. The entities are detached, they are replaced by their persisted copies
+     * after every change.
+     */
+    private static final class CsarDeployments {
+
+        private volatile DeploymentProcessInfo process;
+        private final Map<String, IADeploymentInfo> ias = new ConcurrentHashMap<>();
+        private final Map<String, PlanDeploymentInfo> plans = new ConcurrentHashMap<>();
     }
 }
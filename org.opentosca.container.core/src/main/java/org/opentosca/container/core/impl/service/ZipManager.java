@@ -1,19 +1,34 @@
 package org.opentosca.container.core.impl.service;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
-import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
+import com.google.common.collect.ImmutableSet;
+import org.opentosca.container.core.common.Settings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,11 +38,27 @@ public class ZipManager {
     private static final ZipManager INSTANCE = new ZipManager();
 
     // Buffer for zipping/unzipping
-    private final static int BUFFER = 16384;
+    private final static int BUFFER = 1 << 16;
+
+    // deflating files that are compressed already only costs time, so they are stored as they are
+    private final static Set<String> COMPRESSED_EXTENSIONS = ImmutableSet.of("zip", "csar", "jar", "war", "ear", "gz",
+        "tgz", "bz2", "xz", "7z", "rar", "png", "jpg", "jpeg", "gif", "mp3", "mp4");
 
     private final static Logger LOG = LoggerFactory.getLogger(ZipManager.class);
 
+    private final int compressionLevel;
+    private final ExecutorService extractors;
+
     private ZipManager() {
+        compressionLevel = Integer.parseInt(Settings.ZIP_COMPRESSION_LEVEL);
+        final int configuredThreads = Integer.parseInt(Settings.ZIP_EXTRACTION_THREADS);
+        final int threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+        final AtomicInteger threadCount = new AtomicInteger();
+        extractors = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "zip-extractor-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     public static ZipManager getInstance() {
@@ -35,20 +66,30 @@ public class ZipManager {
     }
 
     /**
-     * Creates a new ZIP archive containing the contents of the specified directory.<br> Existing archives with the same
-     * name will be overwritten automatically.
+     * Creates a new ZIP archive containing the contents of the specified directory using the configured compression
+     * level.<br> Existing archives with the same name will be overwritten automatically.
      *
      * @param directory - Absolute path to the folder which contents should be zipped, including sub folders.
      * @param archive   - Absolute path to ZIP archive.
      */
     public File zip(final File directory, final File archive) {
-        LOG.info("Zipping {} ...", directory.getPath());
+        return zip(directory, archive, compressionLevel);
+    }
 
-        try (final FileOutputStream destination = new FileOutputStream(archive);
-             final ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(destination))) {
+    /**
+     * Creates a new ZIP archive containing the contents of the specified directory.<br> Existing archives with the
+     * same name will be overwritten automatically.
+     *
+     * @param directory - Absolute path to the folder which contents should be zipped, including sub folders.
+     * @param archive   - Absolute path to ZIP archive.
+     * @param level     - Deflate level from {@link Deflater#NO_COMPRESSION} (store only) to {@link
+     *                  Deflater#BEST_COMPRESSION} or {@link Deflater#DEFAULT_COMPRESSION}.
+     */
+    public File zip(final File directory, final File archive, final int level) {
+        LOG.info("Zipping {} ...", directory.getPath());
 
-            ZipManager.zipDir(directory.getAbsolutePath(), directory, zos, archive.getAbsolutePath());
-            zos.flush();
+        try (final OutputStream destination = Files.newOutputStream(archive.toPath())) {
+            zip(directory.toPath(), destination, level, archive.toPath().toRealPath());
         } catch (final IOException e) {
             LOG.error("Error", e);
             return null;
@@ -58,76 +99,88 @@ public class ZipManager {
     }
 
     /**
-     * Private helper class to recursively zip a folder and its contents.
+     * Writes a ZIP archive containing the contents of the specified directory to the given stream, e.g. the body of a
+     * HTTP response, without creating a file. The stream is flushed, but not closed.
      *
-     * @param currentDir Current working directory.
-     * @param dirToZip   Root directory that should be zipped.
-     * @param zos        Already opened Output Stream.
+     * @param directory   - Folder which contents should be zipped, including sub folders.
+     * @param destination - Stream the archive is written to.
+     * @param level       - Deflate level from {@link Deflater#NO_COMPRESSION} (store only) to {@link
+     *                    Deflater#BEST_COMPRESSION} or {@link Deflater#DEFAULT_COMPRESSION}.
      */
-    private static void zipDir(final String currentDir, final File dirToZip, final ZipOutputStream zos,
-                               final String archive) throws IOException {
-
-        zos.setMethod(ZipOutputStream.DEFLATED);
-
-        final byte[] data = new byte[ZipManager.BUFFER];
-        final File archiveFile = new File(archive);
-
-        // Switch to current directory and fetch its entries
-        final File cDir = new File(currentDir);
-        final String[] dirList = cDir.list();
-        if (dirList == null) {
-            throw new FileNotFoundException("Given Directory " + currentDir + " was not a directory or an IOException occurred");
-        }
-
-        final int length = dirList.length;
-
-        if (length == 0) {
-            LOG.trace("ZIP: - It's a empty directory. Adding...");
-            final String relPath = cDir.getCanonicalPath().substring(dirToZip.getCanonicalPath().length() + 1);
-            final ZipEntry entry = new ZipEntry(relPath + "/");
-            zos.putNextEntry(entry);
-        }
-
-        // Loop through entries
-        for (String s : dirList) {
-            LOG.trace("ZIP: Processing entry: '" + s + "'");
-            final File f = new File(cDir, s);
+    public void zip(final Path directory, final OutputStream destination, final int level) throws IOException {
+        zip(directory, destination, level, null);
+    }
 
-            // Skip created archive if it's in the same directory
-            if (archiveFile.getAbsolutePath().equals(f.getAbsolutePath())) {
-                LOG.trace("ZIP: - Created archive found. Skipping...");
-                continue;
+    private static void zip(final Path directory, final OutputStream destination, final int level,
+                            final Path skipped) throws IOException {
+        final Path root = directory.toRealPath();
+        final OutputStream buffered = new BufferedOutputStream(destination, ZipManager.BUFFER) {
+            @Override
+            public void close() throws IOException {
+                // the destination belongs to the caller
+                flush();
             }
+        };
+        try (final ZipOutputStream zos = new ZipOutputStream(buffered);
+             final Stream<Path> paths = Files.walk(root)) {
+            zos.setLevel(level);
+            for (final Path path : (Iterable<Path>) paths::iterator) {
+                // Skip the root itself and the created archive if it's in the same directory
+                if (path.equals(root) || path.equals(skipped)) {
+                    continue;
+                }
+                final String relPath = root.relativize(path).toString().replace(File.separatorChar, '/');
+                LOG.trace("ZIP: Processing entry: '{}'", relPath);
+
+                if (Files.isDirectory(path)) {
+                    // only empty directories need an entry of their own
+                    try (final Stream<Path> children = Files.list(path)) {
+                        if (!children.findAny().isPresent()) {
+                            zos.putNextEntry(new ZipEntry(relPath + "/"));
+                            zos.closeEntry();
+                        }
+                    }
+                    continue;
+                }
 
-            // Go through a sub directory recursively with new cDir
-            if (f.isDirectory()) {
-                LOG.trace("ZIP: - Directory found. Going into directory...");
-                ZipManager.zipDir(f.getCanonicalPath(), dirToZip, zos, archive);
-                continue;
+                final ZipEntry entry = new ZipEntry(relPath);
+                entry.setTime(Files.getLastModifiedTime(path).toMillis());
+                if (level == Deflater.NO_COMPRESSION || isCompressed(relPath)) {
+                    // stored entries must declare their size and checksum up front
+                    final long size = Files.size(path);
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(size);
+                    entry.setCompressedSize(size);
+                    entry.setCrc(checksum(path));
+                }
+                zos.putNextEntry(entry);
+                Files.copy(path, zos);
+                zos.closeEntry();
             }
+        }
+    }
 
-            // Generate relative path
-            final String relPath = f.getCanonicalPath().substring(dirToZip.getCanonicalPath().length() + 1);
-            final ZipEntry entry = new ZipEntry(relPath);
-
-            // Open input streams and write entry to zip
-            final FileInputStream fis = new FileInputStream(f.getCanonicalPath());
-            final BufferedInputStream origin = new BufferedInputStream(fis, ZipManager.BUFFER);
-            zos.putNextEntry(entry);
-            LOG.trace("ZIP: - Adding file... ");
-            int count;
+    private static boolean isCompressed(final String name) {
+        final int extensionStart = name.lastIndexOf('.');
+        return extensionStart >= 0 && COMPRESSED_EXTENSIONS.contains(name.substring(extensionStart + 1).toLowerCase());
+    }
 
-            while ((count = origin.read(data, 0, ZipManager.BUFFER)) != -1) {
-                zos.write(data, 0, count);
+    private static long checksum(final Path file) throws IOException {
+        final CRC32 crc = new CRC32();
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(ZipManager.BUFFER);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
             }
-
-            LOG.trace("ZIP: File added!");
-            origin.close();
         }
+        return crc.getValue();
     }
 
     /**
-     * Unzips an archive to specified location.
+     * Unzips an archive to specified location. The entries of the archive are extracted in parallel. Archives with
+     * entries that would be placed outside of the target directory are rejected.
      *
      * @param file     Location of ZIP archive.
      * @param toTarget Directory where contents of ZIP archive should be placed.
@@ -137,54 +190,73 @@ public class ZipManager {
         LOG.info("Unzipping {} ...", file.getPath());
 
         final List<File> contents = new ArrayList<>();
-        try (final FileInputStream fis = new FileInputStream(file);
-             final BufferedInputStream bis = new BufferedInputStream(fis);
-             final ZipInputStream zis = new ZipInputStream(bis);
-             final ZipFile zipFile = new ZipFile(file)) {
+        final List<Future<?>> extractions = new ArrayList<>();
+        // ZipFile supports reading several entries concurrently
+        try (final ZipFile zipFile = new ZipFile(file)) {
+            Files.createDirectories(toTarget.toPath());
+            final Path target = toTarget.toPath().toRealPath();
             LOG.trace("UNZIP: Initialization complete.");
 
-            if (!toTarget.exists()) {
-                toTarget.mkdirs();
-                LOG.trace("UNZIP: Directory created: {}", toTarget.getName());
-            }
-
-            int entryIndex = 0;
-            // Go through the archive entry by entry
-            ZipEntry entry;
-            while ((entry = zis.getNextEntry()) != null) {
-                entryIndex++;
-                final String name = entry.getName();
-                String entryTarget = toTarget.getPath() + File.separator + name;
-                LOG.trace("UNZIP: Processing entry " + entryIndex + "/" + zipFile.size() + ": " + name);
+            // Directories are created up front, so the extraction tasks only write files
+            final List<? extends ZipEntry> entries = Collections.list(zipFile.entries());
+            for (final ZipEntry entry : entries) {
+                final Path entryTarget = resolveEntry(target, entry.getName());
+                LOG.trace("UNZIP: Processing entry {}/{}: {}", extractions.size() + 1, entries.size(), entry.getName());
 
                 if (entry.isDirectory()) {
-                    LOG.trace("UNZIP: - Creating directory... ");
-                    new File(entryTarget).mkdirs();
-                    LOG.trace("UNZIP: - Directory created!");
+                    Files.createDirectories(entryTarget);
                 } else {
-                    final File entryTargetFile = new File(entryTarget);
-                    contents.add(entryTargetFile);
-
-                    final File parent = entryTargetFile.getParentFile();
-                    if (parent != null) {
-                        parent.mkdirs();
-                    }
-
-                    try (final FileOutputStream fos = new FileOutputStream(entryTargetFile);
-                         final BufferedOutputStream dest = new BufferedOutputStream(fos, ZipManager.BUFFER)) {
-                        int count;
-                        final byte[] buffer = new byte[ZipManager.BUFFER];
-                        while ((count = zis.read(buffer, 0, ZipManager.BUFFER)) != -1) {
-                            dest.write(buffer, 0, count);
-                        }
-                    }
+                    Files.createDirectories(entryTarget.getParent());
+                    contents.add(entryTarget.toFile());
+                    extractions.add(extractors.submit(() -> {
+                        extract(zipFile, entry, entryTarget);
+                        return null;
+                    }));
+                }
+            }
+            try {
+                for (final Future<?> extraction : extractions) {
+                    extraction.get();
                 }
+            } finally {
+                // don't leave tasks behind that read from the archive after it was closed
+                extractions.forEach(extraction -> extraction.cancel(true));
             }
         } catch (final IOException e) {
             LOG.error("Error", e);
             return null;
+        } catch (final ExecutionException e) {
+            LOG.error("Error", e.getCause());
+            return null;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Unzipping {} was interrupted", file.getPath());
+            return null;
         }
         LOG.info("Unzipping completed!");
         return contents;
     }
+
+    /**
+     * Resolves the location of an entry and rejects entries that would escape the target directory ("zip slip").
+     */
+    private static Path resolveEntry(final Path target, final String entryName) throws IOException {
+        final Path entryTarget = target.resolve(entryName).normalize();
+        if (!entryTarget.startsWith(target)) {
+            throw new IOException("Entry " + entryName + " would be extracted outside of " + target);
+        }
+        return entryTarget;
+    }
+
+    private static void extract(final ZipFile zipFile, final ZipEntry entry, final Path target) throws IOException {
+        try (final ReadableByteChannel source = Channels.newChannel(zipFile.getInputStream(entry));
+             final FileChannel destination = FileChannel.open(target, StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = destination.transferFrom(source, position, ZipManager.BUFFER)) > 0) {
+                position += transferred;
+            }
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package org.opentosca.container.core.model.csar;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -48,6 +49,11 @@ public interface Csar {
 
     public List<TRelationshipTypeImplementation> relationshipTypeImplementations();
 
+    /**
+     * @return precomputed type hierarchies, type implementations and plans of this Csar
+     */
+    public TypeIndex typeIndex();
+
     public String description();
 
     // FIXME decide on Path / File / Binary Representation / ??
@@ -60,6 +66,11 @@ public interface Csar {
 
     void exportTo(Path targetPath) throws IOException;
 
+    /**
+     * Writes the Csar as archive to the given stream without creating a file. The stream is not closed.
+     */
+    void exportTo(OutputStream out) throws IOException;
+
     @Deprecated
     ToscaMetaFileReplacement metafileReplacement();
 
@@ -14,17 +14,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
 
 import org.eclipse.winery.accountability.exceptions.AccountabilityException;
-import org.eclipse.winery.common.ids.definitions.ArtifactTemplateId;
 import org.eclipse.winery.common.ids.definitions.DefinitionsChildId;
-import org.eclipse.winery.common.ids.definitions.NodeTypeId;
-import org.eclipse.winery.common.ids.definitions.NodeTypeImplementationId;
-import org.eclipse.winery.common.ids.definitions.PolicyTemplateId;
-import org.eclipse.winery.common.ids.definitions.RelationshipTypeImplementationId;
 import org.eclipse.winery.common.ids.definitions.ServiceTemplateId;
 import org.eclipse.winery.model.selfservice.Application;
 import org.eclipse.winery.model.tosca.TArtifactTemplate;
@@ -47,6 +43,7 @@ import org.eclipse.winery.repository.datatypes.ids.elements.SelfServiceMetaDataI
 import org.eclipse.winery.repository.exceptions.RepositoryCorruptException;
 import org.eclipse.winery.repository.export.CsarExporter;
 
+import com.google.common.base.Suppliers;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opentosca.container.core.model.AbstractFile;
@@ -65,6 +62,7 @@ public class CsarImpl implements Csar {
     private final Optional<ServiceTemplateId> entryServiceTemplate;
     // TODO evaluate putting the savelocation into an additional field here!
     private final IRepository wineryRepo;
+    private final Supplier<CsarModel> model;
 
     // this is just for bridging purposes
     @Deprecated
@@ -75,6 +73,24 @@ public class CsarImpl implements Csar {
         this.saveLocation = location;
         wineryRepo = RepositoryFactory.getRepository(location);
         entryServiceTemplate = readEntryServiceTemplate(location);
+        model = Suppliers.memoize(this::loadModel);
+    }
+
+    /**
+     * Creates a Csar that obtains it's parsed model from the given cache instead of holding it by itself. This allows
+     * multiple instances representing the same Csar to share a single model.
+     */
+    public CsarImpl(@NonNull CsarId id, @NonNull Path location, @NonNull CsarModelCache modelCache) {
+        this.id = id;
+        this.saveLocation = location;
+        wineryRepo = RepositoryFactory.getRepository(location);
+        entryServiceTemplate = readEntryServiceTemplate(location);
+        model = () -> modelCache.get(id, this::loadModel);
+    }
+
+    private CsarModel loadModel() {
+        LOGGER.debug("Reading model of Csar [{}] from {}", id.csarName(), saveLocation);
+        return CsarModel.load(wineryRepo, entryServiceTemplate);
     }
 
     private Optional<ServiceTemplateId> readEntryServiceTemplate(Path csarLocation) {
@@ -95,39 +111,28 @@ public class CsarImpl implements Csar {
 
     @Override
     public List<TArtifactTemplate> artifactTemplates() {
-        return wineryRepo.getAllDefinitionsChildIds(ArtifactTemplateId.class).stream()
-            .map(wineryRepo::getElement)
-            .collect(Collectors.toList());
+        return model.get().artifactTemplates();
     }
 
     @Override
     public List<TServiceTemplate> serviceTemplates() {
-        return wineryRepo.getAllDefinitionsChildIds(ServiceTemplateId.class).stream()
-            .map(wineryRepo::getElement)
-            .collect(Collectors.toList());
+        return model.get().serviceTemplates();
     }
 
     @Override
     public List<TPolicyTemplate> policyTemplates() {
-        return wineryRepo.getAllDefinitionsChildIds(PolicyTemplateId.class).stream()
-            .map(wineryRepo::getElement)
-            .collect(Collectors.toList());
+        return model.get().policyTemplates();
     }
 
     @Override
     public TServiceTemplate entryServiceTemplate() {
         // FIXME stop mapping between Optional and nullable.
-        if (entryServiceTemplate.isPresent()) {
-            return wineryRepo.getElement(entryServiceTemplate.get());
-        }
-        return null;
+        return model.get().entryServiceTemplate();
     }
 
     @Override
     public List<TDefinitions> definitions() {
-        return wineryRepo.getAllDefinitionsChildIds().stream()
-            .map(wineryRepo::getDefinitions)
-            .collect(Collectors.toList());
+        return model.get().definitions();
     }
 
     @Override
@@ -165,28 +170,27 @@ public class CsarImpl implements Csar {
 
     @Override
     public List<TNodeType> nodeTypes() {
-        return wineryRepo.getAllDefinitionsChildIds(NodeTypeId.class).stream()
-            .map(wineryRepo::getElement)
-            .collect(Collectors.toList());
+        return model.get().nodeTypes();
     }
 
     @Override
     public List<TNodeTypeImplementation> nodeTypeImplementations() {
-        return wineryRepo.getAllDefinitionsChildIds(NodeTypeImplementationId.class).stream()
-            .map(wineryRepo::getElement)
-            .collect(Collectors.toList());
+        return model.get().nodeTypeImplementations();
     }
 
     @Override
     public List<TRelationshipTypeImplementation> relationshipTypeImplementations() {
-        return wineryRepo.getAllDefinitionsChildIds(RelationshipTypeImplementationId.class).stream()
-            .map(wineryRepo::getElement)
-            .collect(Collectors.toList());
+        return model.get().relationshipTypeImplementations();
+    }
+
+    @Override
+    public TypeIndex typeIndex() {
+        return model.get().typeIndex();
     }
 
     @Override
     public TExtensibleElements queryRepository(DefinitionsChildId id) {
-        return wineryRepo.getElement(id);
+        return model.get().element(id);
     }
 
     @Override
@@ -203,16 +207,21 @@ public class CsarImpl implements Csar {
 
     @Override
     public void exportTo(Path targetPath) throws IOException {
+        try (OutputStream out = Files.newOutputStream(targetPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            exportTo(out);
+        }
+    }
+
+    @Override
+    public void exportTo(OutputStream out) throws IOException {
         CsarExporter exporter = new CsarExporter();
         Map<String, Object> exportConfiguration = new HashMap<>();
         // Do not check hashes and do not store immutably => don't put anything into the export configuration
-        try (OutputStream out = Files.newOutputStream(targetPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
-            try {
-                exporter.writeCsar(wineryRepo, entryServiceTemplate.get(), out, exportConfiguration);
-            } catch (RepositoryCorruptException | InterruptedException | AccountabilityException | ExecutionException e) {
-                LOGGER.warn("Exporting the csar failed with an exception", e);
-                throw new IOException("Failed to export CSAR", e);
-            }
+        try {
+            exporter.writeCsar(wineryRepo, entryServiceTemplate.get(), out, exportConfiguration);
+        } catch (RepositoryCorruptException | InterruptedException | AccountabilityException | ExecutionException e) {
+            LOGGER.warn("Exporting the csar failed with an exception", e);
+            throw new IOException("Failed to export CSAR", e);
         }
     }
 
@@ -0,0 +1,173 @@
+package org.opentosca.container.core.model.csar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import javax.xml.namespace.QName;
+
+import org.eclipse.winery.common.ids.definitions.ArtifactTemplateId;
+import org.eclipse.winery.common.ids.definitions.DefinitionsChildId;
+import org.eclipse.winery.common.ids.definitions.NodeTypeId;
+import org.eclipse.winery.common.ids.definitions.NodeTypeImplementationId;
+import org.eclipse.winery.common.ids.definitions.PolicyTemplateId;
+import org.eclipse.winery.common.ids.definitions.RelationshipTypeImplementationId;
+import org.eclipse.winery.common.ids.definitions.ServiceTemplateId;
+import org.eclipse.winery.model.tosca.TArtifactTemplate;
+import org.eclipse.winery.model.tosca.TDefinitions;
+import org.eclipse.winery.model.tosca.TExtensibleElements;
+import org.eclipse.winery.model.tosca.TNodeType;
+import org.eclipse.winery.model.tosca.TNodeTypeImplementation;
+import org.eclipse.winery.model.tosca.TPolicyTemplate;
+import org.eclipse.winery.model.tosca.TRelationshipTypeImplementation;
+import org.eclipse.winery.model.tosca.TServiceTemplate;
+import org.eclipse.winery.repository.backend.IRepository;
+
+import com.google.common.base.Suppliers;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parsed, read-only view of all TOSCA definitions stored in the repository of a single Csar. The model is read from
+ * the winery repository exactly once and indexes every {@link DefinitionsChildId} kind by it's QName, so that
+ * subsequent queries do not touch the file system anymore.
+ * <p>
+ * The model is shared between all users of the same Csar. The contained winery elements must therefore be treated as
+ * immutable.
+ */
+@NonNullByDefault
+public final class CsarModel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CsarModel.class);
+
+    private final Map<Class<? extends DefinitionsChildId>, Map<QName, TExtensibleElements>> elements;
+    private final List<TDefinitions> definitions;
+    @Nullable
+    private final TServiceTemplate entryServiceTemplate;
+    private final int size;
+
+    private final List<TServiceTemplate> serviceTemplates;
+    private final List<TArtifactTemplate> artifactTemplates;
+    private final List<TPolicyTemplate> policyTemplates;
+    private final List<TNodeType> nodeTypes;
+    private final List<TNodeTypeImplementation> nodeTypeImplementations;
+    private final List<TRelationshipTypeImplementation> relationshipTypeImplementations;
+    private final Supplier<TypeIndex> typeIndex;
+
+    private CsarModel(Map<Class<? extends DefinitionsChildId>, Map<QName, TExtensibleElements>> elements,
+                      List<TDefinitions> definitions, @Nullable TServiceTemplate entryServiceTemplate) {
+        this.elements = elements;
+        this.definitions = definitions;
+        this.entryServiceTemplate = entryServiceTemplate;
+        this.size = definitions.size();
+
+        serviceTemplates = listOf(ServiceTemplateId.class, TServiceTemplate.class);
+        artifactTemplates = listOf(ArtifactTemplateId.class, TArtifactTemplate.class);
+        policyTemplates = listOf(PolicyTemplateId.class, TPolicyTemplate.class);
+        nodeTypes = listOf(NodeTypeId.class, TNodeType.class);
+        nodeTypeImplementations = listOf(NodeTypeImplementationId.class, TNodeTypeImplementation.class);
+        relationshipTypeImplementations = listOf(RelationshipTypeImplementationId.class, TRelationshipTypeImplementation.class);
+        typeIndex = Suppliers.memoize(() -> new TypeIndex(nodeTypes, nodeTypeImplementations, relationshipTypeImplementations, serviceTemplates));
+    }
+
+    /**
+     * Reads all definitions contained in the given repository and indexes them.
+     *
+     * @param repository           The winery repository of the Csar to read
+     * @param entryServiceTemplate The id of the entry service template of the Csar, if known
+     * @return the fully indexed model of the repository content
+     */
+    public static CsarModel load(IRepository repository, Optional<ServiceTemplateId> entryServiceTemplate) {
+        final Map<Class<? extends DefinitionsChildId>, Map<QName, TExtensibleElements>> elements = new HashMap<>();
+        final List<TDefinitions> definitions = new ArrayList<>();
+        for (DefinitionsChildId id : repository.getAllDefinitionsChildIds()) {
+            final TDefinitions definition = repository.getDefinitions(id);
+            final TExtensibleElements element = repository.getElement(id);
+            if (definition == null || element == null) {
+                LOGGER.warn("Skipping unreadable definitions child [{}] while building Csar model", id);
+                continue;
+            }
+            definitions.add(definition);
+            // retain the (sorted) order the repository reports the ids in
+            elements.computeIfAbsent(id.getClass(), k -> new LinkedHashMap<>()).put(id.getQName(), element);
+        }
+        elements.replaceAll((kind, index) -> Collections.unmodifiableMap(index));
+
+        final TServiceTemplate entry = entryServiceTemplate
+            .map(id -> (TServiceTemplate) elements.getOrDefault(ServiceTemplateId.class, Collections.emptyMap()).get(id.getQName()))
+            .orElse(null);
+        return new CsarModel(Collections.unmodifiableMap(elements), Collections.unmodifiableList(definitions), entry);
+    }
+
+    @Nullable
+    public TExtensibleElements element(DefinitionsChildId id) {
+        return elementsOf(id.getClass()).get(id.getQName());
+    }
+
+    public List<TDefinitions> definitions() {
+        return definitions;
+    }
+
+    @Nullable
+    public TServiceTemplate entryServiceTemplate() {
+        return entryServiceTemplate;
+    }
+
+    public List<TServiceTemplate> serviceTemplates() {
+        return serviceTemplates;
+    }
+
+    public List<TArtifactTemplate> artifactTemplates() {
+        return artifactTemplates;
+    }
+
+    public List<TPolicyTemplate> policyTemplates() {
+        return policyTemplates;
+    }
+
+    public List<TNodeType> nodeTypes() {
+        return nodeTypes;
+    }
+
+    public List<TNodeTypeImplementation> nodeTypeImplementations() {
+        return nodeTypeImplementations;
+    }
+
+    public List<TRelationshipTypeImplementation> relationshipTypeImplementations() {
+        return relationshipTypeImplementations;
+    }
+
+    /**
+     * @return the type level lookups of this model, built on first access
+     */
+    public TypeIndex typeIndex() {
+        return typeIndex.get();
+    }
+
+    /**
+     * @return the number of definitions held by this model. Used as the weight of the model in the {@link
+     * CsarModelCache}.
+     */
+    public int size() {
+        return size;
+    }
+
+    private Map<QName, TExtensibleElements> elementsOf(Class<? extends DefinitionsChildId> kind) {
+        return elements.getOrDefault(kind, Collections.emptyMap());
+    }
+
+    private <T extends TExtensibleElements> List<T> listOf(Class<? extends DefinitionsChildId> kind, Class<T> elementType) {
+        final List<T> result = new ArrayList<>();
+        for (TExtensibleElements element : elementsOf(kind).values()) {
+            result.add(elementType.cast(element));
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
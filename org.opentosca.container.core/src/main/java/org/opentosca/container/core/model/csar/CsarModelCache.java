@@ -0,0 +1,80 @@
+package org.opentosca.container.core.model.csar;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.opentosca.container.core.common.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of {@link CsarModel} instances, keyed by the {@link CsarId} of the Csar they have been read from.
+ * <p>
+ * The cache is bounded by the total number of definitions held by all cached models, which is configured through
+ * {@link Settings#CSAR_MODEL_CACHE_MAX_DEFINITIONS}. Models are built on first access and must be evicted explicitly
+ * when the underlying Csar is removed from storage.
+ */
+@NonNullByDefault
+public class CsarModelCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CsarModelCache.class);
+
+    private final Cache<CsarId, CsarModel> models;
+
+    public CsarModelCache() {
+        this(Long.parseLong(Settings.CSAR_MODEL_CACHE_MAX_DEFINITIONS));
+    }
+
+    public CsarModelCache(long maximumDefinitions) {
+        models = CacheBuilder.newBuilder()
+            .maximumWeight(maximumDefinitions)
+            .weigher((CsarId id, CsarModel model) -> model.size())
+            .recordStats()
+            .removalListener(notification -> LOGGER.debug("Evicted model of Csar [{}] from cache due to {}", notification.getKey(), notification.getCause()))
+            .build();
+    }
+
+    /**
+     * Retrieves the model of the given Csar, building it with the given loader if it's not cached yet. Concurrent
+     * requests for the same Csar wait for the same load instead of reading the repository multiple times.
+     */
+    public CsarModel get(CsarId id, Callable<CsarModel> loader) {
+        try {
+            return models.get(id, loader);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            LOGGER.warn("Building the model of Csar [{}] failed", id, e.getCause());
+            throw new IllegalStateException("Could not read Csar " + id.csarName(), e.getCause());
+        }
+    }
+
+    public void invalidate(CsarId id) {
+        models.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        models.invalidateAll();
+    }
+
+    /**
+     * @return hit, miss, load and eviction counts of this cache
+     */
+    public CacheStats stats() {
+        return models.stats();
+    }
+
+    /**
+     * @return the memory footprint of this cache, measured as the number of definitions held by all cached models
+     */
+    public long footprint() {
+        return models.asMap().values().stream().mapToLong(CsarModel::size).sum();
+    }
+
+    public long size() {
+        return models.size();
+    }
+}
@@ -0,0 +1,146 @@
+package org.opentosca.container.core.model.csar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.winery.model.tosca.TBoundaryDefinitions;
+import org.eclipse.winery.model.tosca.TEntityTemplate;
+import org.eclipse.winery.model.tosca.TExportedInterface;
+import org.eclipse.winery.model.tosca.TExportedOperation;
+import org.eclipse.winery.model.tosca.TNodeTemplate;
+import org.eclipse.winery.model.tosca.TPlan;
+import org.eclipse.winery.model.tosca.TPlans;
+import org.eclipse.winery.model.tosca.TRelationshipTemplate;
+import org.eclipse.winery.model.tosca.TServiceTemplate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Precomputed lookup tables for the topology, plans and boundary definitions of a single {@link TServiceTemplate}.
+ * <p>
+ * Indices are obtained through {@link #of(TServiceTemplate)} and are shared for the same service template instance.
+ * They are dropped together with the service template they have been computed for. Since the index is not updated,
+ * the service template must not be modified after the index has been built.
+ */
+@NonNullByDefault
+public final class TopologyIndex {
+
+    // weak keys are compared by identity, which is exactly what we need for the shared service templates of a CsarModel
+    private static final Cache<TServiceTemplate, TopologyIndex> INDICES = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final Map<String, TNodeTemplate> nodeTemplates = new HashMap<>();
+    private final Map<String, TRelationshipTemplate> relationshipTemplates = new HashMap<>();
+    private final Map<String, List<TRelationshipTemplate>> outgoingRelations = new HashMap<>();
+    private final Map<String, List<TRelationshipTemplate>> incomingRelations = new HashMap<>();
+    private final Map<String, TPlan> plans = new HashMap<>();
+    private final Map<String, Map<String, TExportedOperation>> boundaryOperations = new HashMap<>();
+    private final Map<String, TExportedOperation> operationsByPlan = new HashMap<>();
+    private final Map<TExportedOperation, TExportedInterface> interfacesByOperation = new HashMap<>();
+
+    private TopologyIndex(TServiceTemplate serviceTemplate) {
+        if (serviceTemplate.getTopologyTemplate() != null) {
+            for (TEntityTemplate template : serviceTemplate.getTopologyTemplate().getNodeTemplateOrRelationshipTemplate()) {
+                if (template instanceof TNodeTemplate) {
+                    nodeTemplates.putIfAbsent(template.getId(), (TNodeTemplate) template);
+                } else if (template instanceof TRelationshipTemplate) {
+                    indexRelation((TRelationshipTemplate) template);
+                }
+            }
+        }
+        final TPlans tplans = serviceTemplate.getPlans();
+        if (tplans != null) {
+            for (TPlan plan : tplans.getPlan()) {
+                plans.putIfAbsent(plan.getId(), plan);
+            }
+        }
+        final TBoundaryDefinitions boundaryDefinitions = serviceTemplate.getBoundaryDefinitions();
+        if (boundaryDefinitions != null && boundaryDefinitions.getInterfaces() != null) {
+            for (TExportedInterface iface : boundaryDefinitions.getInterfaces().getInterface()) {
+                final Map<String, TExportedOperation> operations = boundaryOperations.computeIfAbsent(iface.getName(), k -> new HashMap<>());
+                for (TExportedOperation operation : iface.getOperation()) {
+                    operations.putIfAbsent(operation.getName(), operation);
+                    interfacesByOperation.putIfAbsent(operation, iface);
+                    if (operation.getPlan() != null && operation.getPlan().getPlanRef() instanceof TPlan) {
+                        operationsByPlan.putIfAbsent(((TPlan) operation.getPlan().getPlanRef()).getId(), operation);
+                    }
+                }
+            }
+        }
+    }
+
+    private void indexRelation(TRelationshipTemplate relation) {
+        relationshipTemplates.putIfAbsent(relation.getId(), relation);
+        final Object source = relation.getSourceElement().getRef();
+        if (source instanceof TNodeTemplate) {
+            outgoingRelations.computeIfAbsent(((TNodeTemplate) source).getId(), k -> new ArrayList<>()).add(relation);
+        }
+        final Object target = relation.getTargetElement().getRef();
+        if (target instanceof TNodeTemplate) {
+            incomingRelations.computeIfAbsent(((TNodeTemplate) target).getId(), k -> new ArrayList<>()).add(relation);
+        }
+    }
+
+    /**
+     * Gets the index of the given service template, building it if it has not been requested before.
+     */
+    public static TopologyIndex of(TServiceTemplate serviceTemplate) {
+        try {
+            return INDICES.get(serviceTemplate, () -> new TopologyIndex(serviceTemplate));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not index service template " + serviceTemplate.getId(), e.getCause());
+        }
+    }
+
+    @Nullable
+    public TNodeTemplate nodeTemplate(String id) {
+        return nodeTemplates.get(id);
+    }
+
+    @Nullable
+    public TRelationshipTemplate relationshipTemplate(String id) {
+        return relationshipTemplates.get(id);
+    }
+
+    /**
+     * @return the relationship templates that have the node template with the given id as their source, in document
+     * order
+     */
+    public List<TRelationshipTemplate> outgoingRelations(String nodeTemplateId) {
+        return Collections.unmodifiableList(outgoingRelations.getOrDefault(nodeTemplateId, Collections.emptyList()));
+    }
+
+    /**
+     * @return the relationship templates that have the node template with the given id as their target, in document
+     * order
+     */
+    public List<TRelationshipTemplate> incomingRelations(String nodeTemplateId) {
+        return Collections.unmodifiableList(incomingRelations.getOrDefault(nodeTemplateId, Collections.emptyList()));
+    }
+
+    @Nullable
+    public TPlan plan(String id) {
+        return plans.get(id);
+    }
+
+    @Nullable
+    public TExportedOperation boundaryOperation(String interfaceName, String operationName) {
+        return boundaryOperations.getOrDefault(interfaceName, Collections.emptyMap()).get(operationName);
+    }
+
+    @Nullable
+    public TExportedOperation boundaryOperationForPlan(String planId) {
+        return operationsByPlan.get(planId);
+    }
+
+    @Nullable
+    public TExportedInterface boundaryInterfaceOf(TExportedOperation operation) {
+        return interfacesByOperation.get(operation);
+    }
+}
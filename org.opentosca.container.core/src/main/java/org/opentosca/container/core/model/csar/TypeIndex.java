@@ -0,0 +1,168 @@
+package org.opentosca.container.core.model.csar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+
+import org.eclipse.winery.model.tosca.TInterface;
+import org.eclipse.winery.model.tosca.TNodeType;
+import org.eclipse.winery.model.tosca.TNodeTypeImplementation;
+import org.eclipse.winery.model.tosca.TOperation;
+import org.eclipse.winery.model.tosca.TPlan;
+import org.eclipse.winery.model.tosca.TPlans;
+import org.eclipse.winery.model.tosca.TRelationshipTypeImplementation;
+import org.eclipse.winery.model.tosca.TServiceTemplate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Precomputed type level lookups across all definitions of a single Csar: flattened node type hierarchies, type to
+ * implementation maps, operation tables and the plans of all service templates.
+ * <p>
+ * Lookups that depend on the complete type hierarchy are computed on first request and memoized afterwards.
+ */
+@NonNullByDefault
+public final class TypeIndex {
+
+    private final Map<QName, List<TNodeType>> nodeTypeHierarchies = new HashMap<>();
+    private final List<TNodeTypeImplementation> nodeTypeImplementations;
+    private final Map<QName, List<TRelationshipTypeImplementation>> relationshipTypeImplementations;
+    private final Map<String, TPlan> plans = new HashMap<>();
+    private final Map<TPlan, TServiceTemplate> planContainers = new HashMap<>();
+
+    private final Map<QName, List<TNodeTypeImplementation>> nodeTypeImplementationsOfHierarchy = new ConcurrentHashMap<>();
+    private final Map<QName, Map<String, Map<String, Integer>>> operationCounts = new ConcurrentHashMap<>();
+
+    TypeIndex(List<TNodeType> nodeTypes, List<TNodeTypeImplementation> nodeTypeImplementations,
+              List<TRelationshipTypeImplementation> relationshipTypeImplementations,
+              List<TServiceTemplate> serviceTemplates) {
+        final Map<QName, TNodeType> nodeTypesById = new HashMap<>();
+        nodeTypes.forEach(type -> nodeTypesById.putIfAbsent(type.getQName(), type));
+        for (TNodeType type : nodeTypes) {
+            final List<TNodeType> hierarchy = flattenHierarchy(type, nodeTypesById);
+            if (hierarchy != null) {
+                nodeTypeHierarchies.putIfAbsent(type.getQName(), Collections.unmodifiableList(hierarchy));
+            }
+        }
+
+        this.nodeTypeImplementations = nodeTypeImplementations;
+        this.relationshipTypeImplementations = relationshipTypeImplementations.stream()
+            .collect(Collectors.groupingBy(TRelationshipTypeImplementation::getRelationshipType,
+                Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList)));
+
+        for (TServiceTemplate serviceTemplate : serviceTemplates) {
+            final TPlans tplans = serviceTemplate.getPlans();
+            if (tplans == null) {
+                continue;
+            }
+            for (TPlan plan : tplans.getPlan()) {
+                plans.putIfAbsent(plan.getId(), plan);
+                planContainers.putIfAbsent(plan, serviceTemplate);
+            }
+        }
+    }
+
+    /**
+     * @return the given type followed by all of it's supertypes or <tt>null</tt>, if any supertype is not contained
+     * in the Csar
+     */
+    @Nullable
+    private static List<TNodeType> flattenHierarchy(TNodeType type, Map<QName, TNodeType> nodeTypesById) {
+        final List<TNodeType> hierarchy = new ArrayList<>();
+        final Set<QName> visited = new HashSet<>();
+        TNodeType current = type;
+        while (current != null && visited.add(current.getQName())) {
+            hierarchy.add(current);
+            if (current.getDerivedFrom() == null) {
+                return hierarchy;
+            }
+            current = nodeTypesById.get(current.getDerivedFrom().getTypeRef());
+        }
+        // either a supertype is missing or the hierarchy is cyclic
+        return null;
+    }
+
+    /**
+     * @return the node type with the given id followed by all of it's supertypes or <tt>null</tt>, if the hierarchy
+     * can not be resolved within the Csar
+     */
+    @Nullable
+    public List<TNodeType> nodeTypeHierarchy(QName nodeType) {
+        return nodeTypeHierarchies.get(nodeType);
+    }
+
+    /**
+     * @return all node type implementations that implement the given node type or any of it's supertypes, in the order
+     * of {@link Csar#nodeTypeImplementations()}
+     */
+    public List<TNodeTypeImplementation> nodeTypeImplementationsOfHierarchy(QName nodeType) {
+        return nodeTypeImplementationsOfHierarchy.computeIfAbsent(nodeType, type -> {
+            final List<TNodeType> hierarchy = nodeTypeHierarchy(type);
+            if (hierarchy == null) {
+                return Collections.emptyList();
+            }
+            final Set<QName> typeIds = hierarchy.stream().map(TNodeType::getQName).collect(Collectors.toSet());
+            return Collections.unmodifiableList(nodeTypeImplementations.stream()
+                .filter(impl -> typeIds.contains(impl.getNodeType()))
+                .collect(Collectors.toList()));
+        });
+    }
+
+    public List<TRelationshipTypeImplementation> relationshipTypeImplementations(QName relationshipType) {
+        return relationshipTypeImplementations.getOrDefault(relationshipType, Collections.emptyList());
+    }
+
+    /**
+     * Counts the interfaces with the given name across the hierarchy of the given node type that contain an operation
+     * with the given name.
+     */
+    public int operationCountInHierarchy(QName nodeType, String interfaceName, String operationName) {
+        return operationCounts.computeIfAbsent(nodeType, this::countOperations)
+            .getOrDefault(interfaceName, Collections.emptyMap())
+            .getOrDefault(operationName, 0);
+    }
+
+    private Map<String, Map<String, Integer>> countOperations(QName nodeType) {
+        final List<TNodeType> hierarchy = nodeTypeHierarchy(nodeType);
+        if (hierarchy == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Map<String, Integer>> counts = new HashMap<>();
+        for (TNodeType type : hierarchy) {
+            if (type.getInterfaces() == null) {
+                continue;
+            }
+            for (TInterface iface : type.getInterfaces().getInterface()) {
+                final Map<String, Integer> operations = counts.computeIfAbsent(iface.getName(), k -> new HashMap<>());
+                // an interface providing the same operation twice still only counts once
+                iface.getOperation().stream()
+                    .map(TOperation::getName)
+                    .distinct()
+                    .forEach(operation -> operations.merge(operation, 1, Integer::sum));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return the first plan with the given local id across all service templates of the Csar
+     */
+    @Nullable
+    public TPlan plan(String planId) {
+        return plans.get(planId);
+    }
+
+    @Nullable
+    public TServiceTemplate containingServiceTemplate(TPlan plan) {
+        return planContainers.get(plan);
+    }
+}
@@ -1,8 +1,11 @@
 package org.opentosca.container.core.model.deployment.process;
 
 /**
- * Deployment states of a THOR file.
+ * Deployment states of a THOR file. While in state BUILD_PLANS_DEPLOYED the CSAR can be instantiated, but its other
+ * plans are still being deployed. In state PLAN_DEPLOYMENT_INCOMPLETE the build plans are deployed, but some of the
+ * other plans could not be deployed.
  */
 public enum DeploymentProcessState {
-    STORED, TOSCAPROCESSING_ACTIVE, TOSCA_PROCESSED, PLAN_DEPLOYMENT_ACTIVE, PLANS_DEPLOYED
+    STORED, TOSCAPROCESSING_ACTIVE, TOSCA_PROCESSED, PLAN_DEPLOYMENT_ACTIVE, PLANS_DEPLOYED, BUILD_PLANS_DEPLOYED,
+    PLAN_DEPLOYMENT_INCOMPLETE
 }
@@ -7,6 +7,7 @@ import javax.persistence.Basic;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
 import javax.persistence.NamedQueries;
@@ -27,7 +28,12 @@ import org.opentosca.container.core.model.endpoint.AbstractEndpoint;
 @Inheritance(strategy = InheritanceType.JOINED)
 @Table(name = WSDLEndpoint.tableName,
     uniqueConstraints = @UniqueConstraint(columnNames = {"portType", "csarId", "managingContainer",
-        "serviceTemplateInstanceID"}))
+        "serviceTemplateInstanceID"}),
+    indexes = {
+        @Index(name = "IX_WSDL_ENDPOINT_PLAN", columnList = "csarID, triggeringContainer, PlanId"),
+        @Index(name = "IX_WSDL_ENDPOINT_IA", columnList = "TypeImplementation, IaName"),
+        @Index(name = "IX_WSDL_ENDPOINT_STI", columnList = "triggeringContainer, serviceTemplateInstanceID")
+    })
 @NamedQueries( {
     @NamedQuery(name = WSDLEndpoint.getWSDLEndpointByPortType, query = WSDLEndpoint.queryByPortType)
 })
@@ -36,6 +36,22 @@ public final class EntityManagerProvider {
         return proxyOf(em);
     }
 
+    /**
+     * Wraps the given entity manager, ignoring calls to {@link EntityManager#close()}. This allows code that closes
+     * the entity managers it uses to work on an entity manager that is owned by someone else, e.g. a {@link
+     * UnitOfWork}.
+     */
+    public static AutoCloseableEntityManager nonClosing(final EntityManager em) {
+        return (AutoCloseableEntityManager) Proxy.newProxyInstance(EntityManagerProvider.class.getClassLoader(),
+            new Class[] {AutoCloseableEntityManager.class},
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                    return null;
+                }
+                return method.invoke(em, args);
+            });
+    }
+
     private static AutoCloseableEntityManager proxyOf(final EntityManager em) {
         return (AutoCloseableEntityManager) Proxy.newProxyInstance(EntityManagerProvider.class.getClassLoader(),
             new Class[] {AutoCloseableEntityManager.class},
@@ -0,0 +1,93 @@
+package org.opentosca.container.core.next.jpa;
+
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Groups several repository operations of the current thread into one persistence context and transaction.
+ * <p>
+ * While a unit of work is open, all {@link org.opentosca.container.core.next.repository.JpaRepository repositories}
+ * called on the same thread use its {@link EntityManager} instead of opening their own one per operation. Changes are
+ * written to the database when {@link #commit()} is called and discarded if the unit of work is closed without
+ * committing:
+ * <pre>
+ * try (UnitOfWork uow = UnitOfWork.begin()) {
+ *     final PlanInstance plan = planRepository.findByCorrelationId(correlationId);
+ *     ...
+ *     planRepository.update(plan);
+ *     uow.commit();
+ * }
+ * </pre>
+ * Beginning a unit of work while another one is open on the same thread joins the outer one. Only the outermost unit
+ * of work commits, closes and rolls back.
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final EntityManager em;
+    private int depth = 0;
+
+    private UnitOfWork(final EntityManager em) {
+        this.em = em;
+    }
+
+    /**
+     * Opens a new unit of work for the current thread or joins the one that is already open.
+     */
+    public static UnitOfWork begin() {
+        final UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            current.depth++;
+            return current;
+        }
+        final UnitOfWork unitOfWork = new UnitOfWork(EntityManagerProvider.createEntityManager());
+        unitOfWork.em.getTransaction().begin();
+        CURRENT.set(unitOfWork);
+        return unitOfWork;
+    }
+
+    /**
+     * @return the unit of work that is open on the current thread, if any
+     */
+    public static Optional<UnitOfWork> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * @return the entity manager of this unit of work with an active transaction
+     */
+    public EntityManager entityManager() {
+        if (!em.getTransaction().isActive()) {
+            em.getTransaction().begin();
+        }
+        return em;
+    }
+
+    /**
+     * Writes all changes made so far to the database. Operations after a commit are executed in a new transaction
+     * within the same persistence context. Calls from joined units of work are deferred to the outermost one.
+     */
+    public void commit() {
+        if (depth == 0 && em.getTransaction().isActive()) {
+            em.getTransaction().commit();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (depth > 0) {
+            depth--;
+            return;
+        }
+        CURRENT.remove();
+        try {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -12,9 +12,11 @@ import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -25,10 +27,16 @@ import javax.xml.namespace.QName;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.opentosca.container.core.common.jpa.QNameConverter;
+import org.opentosca.container.core.next.trigger.NodeTemplateInstanceListener;
 import org.opentosca.container.core.next.xml.PropertyParser;
 
 @Entity
-@Table(name = NodeTemplateInstance.TABLE_NAME)
+@Table(name = NodeTemplateInstance.TABLE_NAME, indexes = {
+    @Index(name = "IX_NTI_STI_TEMPLATE_ID", columnList = "SERVICE_TEMPLATE_INSTANCE_ID, TEMPLATE_ID"),
+    @Index(name = "IX_NTI_TEMPLATE_ID", columnList = "TEMPLATE_ID"),
+    @Index(name = "IX_NTI_TEMPLATE_TYPE", columnList = "TEMPLATE_TYPE")
+})
+@EntityListeners(NodeTemplateInstanceListener.class)
 public class NodeTemplateInstance extends PersistenceObject {
 
     public static final String TABLE_NAME = "NODE_TEMPLATE_INSTANCE";
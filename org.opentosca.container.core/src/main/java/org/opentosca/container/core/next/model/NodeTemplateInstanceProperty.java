@@ -1,14 +1,17 @@
 package org.opentosca.container.core.next.model;
 
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.opentosca.container.core.next.trigger.NodeTemplateInstanceListener;
 
 @Entity
 @Table(name = NodeTemplateInstanceProperty.TABLE_NAME)
+@EntityListeners(NodeTemplateInstanceListener.class)
 public class NodeTemplateInstanceProperty extends Property {
 
     public static final String TABLE_NAME = NodeTemplateInstance.TABLE_NAME + "_" + Property.TABLE_NAME;
@@ -0,0 +1,69 @@
+package org.opentosca.container.core.next.model;
+
+import java.util.Date;
+
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.core.model.csar.CsarId;
+
+/**
+ * Read-only projection of a {@link NodeTemplateInstance} for listings. It is selected column by column, so neither
+ * the properties nor the relations of the instance are loaded.
+ */
+public class NodeTemplateInstanceSummary {
+
+    private final Long id;
+    private final String templateId;
+    private final QName templateType;
+    private final Date createdAt;
+    private final NodeTemplateInstanceState state;
+    private final String serviceTemplateId;
+    private final Long serviceTemplateInstanceId;
+    private final CsarId csarId;
+
+    public NodeTemplateInstanceSummary(final Long id, final String templateId, final QName templateType,
+                                       final Date createdAt, final NodeTemplateInstanceState state,
+                                       final String serviceTemplateId, final Long serviceTemplateInstanceId,
+                                       final CsarId csarId) {
+        this.id = id;
+        this.templateId = templateId;
+        this.templateType = templateType;
+        this.createdAt = createdAt;
+        this.state = state;
+        this.serviceTemplateId = serviceTemplateId;
+        this.serviceTemplateInstanceId = serviceTemplateInstanceId;
+        this.csarId = csarId;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getTemplateId() {
+        return this.templateId;
+    }
+
+    public QName getTemplateType() {
+        return this.templateType;
+    }
+
+    public Date getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public NodeTemplateInstanceState getState() {
+        return this.state;
+    }
+
+    public String getServiceTemplateId() {
+        return this.serviceTemplateId;
+    }
+
+    public Long getServiceTemplateInstanceId() {
+        return this.serviceTemplateInstanceId;
+    }
+
+    public CsarId getCsarId() {
+        return this.csarId;
+    }
+}
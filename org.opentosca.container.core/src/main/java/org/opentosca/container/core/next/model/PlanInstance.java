@@ -10,8 +10,10 @@ import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -21,9 +23,14 @@ import javax.xml.namespace.QName;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.opentosca.container.core.common.jpa.QNameConverter;
+import org.opentosca.container.core.next.trigger.PlanInstanceListener;
 
 @Entity
-@Table(name = PlanInstance.TABLE_NAME)
+// the correlation id is indexed by its unique constraint
+@Table(name = PlanInstance.TABLE_NAME, indexes = {
+    @Index(name = "IX_PI_STI_TEMPLATE_ID", columnList = "SERVICE_TEMPLATE_INSTANCE_ID, TEMPLATE_ID")
+})
+@EntityListeners(PlanInstanceListener.class)
 public class PlanInstance extends PersistenceObject {
 
     public static final String TABLE_NAME = "PLAN_INSTANCE";
@@ -66,6 +73,11 @@ public class PlanInstance extends PersistenceObject {
     @Column(name = "TEMPLATE_ID", nullable = false)
     private QName templateId;
 
+    // sequence number of the last appended event, only ever modified by PlanInstanceEventRepository#append
+    @Column(name = "EVENT_SEQUENCE", insertable = false, updatable = false)
+    @JsonIgnore
+    private Long eventSequence;
+
     public PlanInstance() {
 
     }
@@ -94,6 +106,10 @@ public class PlanInstance extends PersistenceObject {
         this.events = events;
     }
 
+    public Long getEventSequence() {
+        return this.eventSequence;
+    }
+
     public void addEvent(final PlanInstanceEvent event) {
         this.events.add(event);
         if (event.getPlanInstance() != this) {
@@ -4,6 +4,7 @@ import java.util.Date;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -15,7 +16,9 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 @Entity
-@Table(name = PlanInstanceEvent.TABLE_NAME)
+@Table(name = PlanInstanceEvent.TABLE_NAME, indexes = {
+    @Index(name = "IX_PIE_PLAN_INSTANCE_SEQUENCE", columnList = "PLAN_INSTANCE_ID, SEQUENCE_NUMBER")
+})
 @JsonInclude(Include.ALWAYS)
 public class PlanInstanceEvent extends PersistenceObject {
 
@@ -49,6 +52,10 @@ public class PlanInstanceEvent extends PersistenceObject {
     @Column(nullable = true)
     private long executionDuration;
 
+    // position of the event within the events of its plan instance, assigned when the event is appended
+    @Column(name = "SEQUENCE_NUMBER", nullable = true)
+    private Long sequenceNumber;
+
     public String getNodeTemplateID() {
         return this.nodeTemplateID;
     }
@@ -73,6 +80,14 @@ public class PlanInstanceEvent extends PersistenceObject {
         this.operationName = operationName;
     }
 
+    public Long getSequenceNumber() {
+        return this.sequenceNumber;
+    }
+
+    public void setSequenceNumber(final Long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
     public long getExecutionDuration() {
         return this.executionDuration;
     }
@@ -155,6 +170,14 @@ public class PlanInstanceEvent extends PersistenceObject {
         }
     }
 
+    /**
+     * Sets the plan instance of this event without adding the event to the events of the plan instance, which would
+     * require all of them to be loaded.
+     */
+    public void setPlanInstanceReference(final PlanInstance planInstance) {
+        this.planInstance = planInstance;
+    }
+
     @JsonIgnore
     public long getDuration() {
         return getEndTimestamp().getTime() - getStartTimestamp().getTime();
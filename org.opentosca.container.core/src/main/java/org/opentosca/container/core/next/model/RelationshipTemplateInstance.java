@@ -10,6 +10,7 @@ import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -20,7 +21,11 @@ import javax.xml.namespace.QName;
 import org.opentosca.container.core.common.jpa.QNameConverter;
 
 @Entity
-@Table(name = RelationshipTemplateInstance.TABLE_NAME)
+@Table(name = RelationshipTemplateInstance.TABLE_NAME, indexes = {
+    @Index(name = "IX_RTI_STI_TEMPLATE_ID", columnList = "SERVICE_TEMPLATE_INSTANCE_ID, TEMPLATE_ID"),
+    @Index(name = "IX_RTI_TEMPLATE_ID", columnList = "TEMPLATE_ID"),
+    @Index(name = "IX_RTI_TEMPLATE_TYPE", columnList = "TEMPLATE_TYPE")
+})
 public class RelationshipTemplateInstance extends PersistenceObject {
 
     public static final String TABLE_NAME = "RELATIONSHIP_TEMPLATE_INSTANCE";
@@ -0,0 +1,75 @@
+package org.opentosca.container.core.next.model;
+
+import java.util.Date;
+
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.core.model.csar.CsarId;
+
+/**
+ * Read-only projection of a {@link RelationshipTemplateInstance} for listings. It is selected column by column, so
+ * neither the properties of the instance nor its source and target instances are loaded.
+ */
+public class RelationshipTemplateInstanceSummary {
+
+    private final Long id;
+    private final String templateId;
+    private final QName templateType;
+    private final Date createdAt;
+    private final RelationshipTemplateInstanceState state;
+    private final String serviceTemplateId;
+    private final CsarId csarId;
+    private final Long sourceId;
+    private final Long targetId;
+
+    public RelationshipTemplateInstanceSummary(final Long id, final String templateId, final QName templateType,
+                                               final Date createdAt, final RelationshipTemplateInstanceState state,
+                                               final String serviceTemplateId, final CsarId csarId,
+                                               final Long sourceId, final Long targetId) {
+        this.id = id;
+        this.templateId = templateId;
+        this.templateType = templateType;
+        this.createdAt = createdAt;
+        this.state = state;
+        this.serviceTemplateId = serviceTemplateId;
+        this.csarId = csarId;
+        this.sourceId = sourceId;
+        this.targetId = targetId;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getTemplateId() {
+        return this.templateId;
+    }
+
+    public QName getTemplateType() {
+        return this.templateType;
+    }
+
+    public Date getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public RelationshipTemplateInstanceState getState() {
+        return this.state;
+    }
+
+    public String getServiceTemplateId() {
+        return this.serviceTemplateId;
+    }
+
+    public CsarId getCsarId() {
+        return this.csarId;
+    }
+
+    public Long getSourceId() {
+        return this.sourceId;
+    }
+
+    public Long getTargetId() {
+        return this.targetId;
+    }
+}
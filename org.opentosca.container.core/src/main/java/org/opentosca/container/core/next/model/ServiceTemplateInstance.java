@@ -14,6 +14,7 @@ import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
 import javax.persistence.OrderBy;
 import javax.persistence.Table;
@@ -27,7 +28,11 @@ import org.opentosca.container.core.next.xml.PropertyParser;
 import org.w3c.dom.Document;
 
 @Entity
-@Table(name = ServiceTemplateInstance.TABLE_NAME)
+@Table(name = ServiceTemplateInstance.TABLE_NAME, indexes = {
+    @Index(name = "IX_STI_CSAR_ID", columnList = "CSAR_ID"),
+    @Index(name = "IX_STI_TEMPLATE_ID", columnList = "TEMPLATE_ID"),
+    @Index(name = "IX_STI_CREATION_CORRELATION_ID", columnList = "CREATION_CORRELATION_ID")
+})
 public class ServiceTemplateInstance extends PersistenceObject {
 
     public static final String TABLE_NAME = "SERVICE_TEMPLATE_INSTANCE";
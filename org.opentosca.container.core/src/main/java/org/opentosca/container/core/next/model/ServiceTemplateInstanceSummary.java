@@ -0,0 +1,47 @@
+package org.opentosca.container.core.next.model;
+
+import java.util.Date;
+
+import org.opentosca.container.core.model.csar.CsarId;
+
+/**
+ * Read-only projection of a {@link ServiceTemplateInstance} for listings. It is selected column by column, so none of
+ * the plan, node and relationship instances of the service instance are loaded.
+ */
+public class ServiceTemplateInstanceSummary {
+
+    private final Long id;
+    private final Date createdAt;
+    private final CsarId csarId;
+    private final String templateId;
+    private final ServiceTemplateInstanceState state;
+
+    public ServiceTemplateInstanceSummary(final Long id, final Date createdAt, final CsarId csarId,
+                                          final String templateId, final ServiceTemplateInstanceState state) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.csarId = csarId;
+        this.templateId = templateId;
+        this.state = state;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public Date getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public CsarId getCsarId() {
+        return this.csarId;
+    }
+
+    public String getTemplateId() {
+        return this.templateId;
+    }
+
+    public ServiceTemplateInstanceState getState() {
+        return this.state;
+    }
+}
@@ -2,17 +2,29 @@ package org.opentosca.container.core.next.repository;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.persistence.EntityManager;
 
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
 import org.opentosca.container.core.next.jpa.EntityManagerProvider;
+import org.opentosca.container.core.next.jpa.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Base class of the repositories. Every operation runs in its own entity manager and transaction, unless a {@link
+ * UnitOfWork} is open on the calling thread. In that case, all operations share the persistence context and
+ * transaction of the unit of work.
+ */
 public abstract class JpaRepository<T> implements Repository<T, Long> {
 
     protected static final Logger logger = LoggerFactory.getLogger(JpaRepository.class);
+
+    // keep in sync with hibernate.jdbc.batch_size in the persistence.xml
+    private static final int BATCH_SIZE = 50;
+
     protected final Class<T> clazz;
 
     public JpaRepository(final Class<T> clazz) {
@@ -21,72 +33,51 @@ public abstract class JpaRepository<T> implements Repository<T, Long> {
 
     @Override
     public void add(final T entity) {
-        final EntityManager em = EntityManagerProvider.createEntityManager();
-        try {
-            em.getTransaction().begin();
-            em.persist(entity);
-            em.getTransaction().commit();
-        } finally {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            em.close();
-        }
+        inTransaction(em -> em.persist(entity));
     }
 
     @Override
     public void add(final Iterable<T> items) {
-        final EntityManager em = EntityManagerProvider.createEntityManager();
-        try {
-            em.getTransaction().begin();
-            items.forEach(em::persist);
-            em.getTransaction().commit();
-        } finally {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
+        final boolean standalone = !UnitOfWork.current().isPresent();
+        inTransaction(em -> {
+            int count = 0;
+            for (final T item : items) {
+                em.persist(item);
+                if (++count % BATCH_SIZE == 0) {
+                    em.flush();
+                    if (standalone) {
+                        // the persisted items are not used afterwards, so don't keep them all in the context
+                        em.clear();
+                    }
+                }
             }
-            em.close();
-        }
+        });
     }
 
     @Override
     public void update(final T entity) {
-        final EntityManager em = EntityManagerProvider.createEntityManager();
-        try {
-            em.getTransaction().begin();
-            em.merge(entity);
-            em.getTransaction().commit();
-        } finally {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            em.close();
-        }
+        inTransaction(em -> em.merge(entity));
     }
 
     @Override
     public void remove(final T entity) {
-        final EntityManager em = EntityManagerProvider.createEntityManager();
-        try {
-            em.getTransaction().begin();
-            em.remove(em.merge(entity));
-            em.getTransaction().commit();
-        } finally {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            em.close();
-        }
+        inTransaction(em -> em.remove(em.merge(entity)));
     }
 
+    /**
+     * Finds the entity with the given id. Outside of a {@link UnitOfWork} the entity is refreshed from the database
+     * after loading it. Within a unit of work it is not, as that would discard changes made in the unit of work.
+     */
     @Override
     public Optional<T> find(final Long id) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final T entity = em.find(this.clazz, id);
             if (entity == null) {
                 return Optional.empty();
             }
-            em.refresh(entity);
+            if (!UnitOfWork.current().isPresent()) {
+                em.refresh(entity);
+            }
             initializeInstance(entity);
             return Optional.of(entity);
         } catch (final Exception e) {
@@ -97,11 +88,54 @@ public abstract class JpaRepository<T> implements Repository<T, Long> {
 
     @Override
     public Collection<T> findAll() {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             return em.createQuery(String.format("SELECT e FROM %s e", this.clazz.getSimpleName()), this.clazz)
                 .getResultList();
         }
     }
 
+    /**
+     * @return the entity manager of the current {@link UnitOfWork} or a new one, if no unit of work is open. In both
+     * cases the returned entity manager must be closed by the caller.
+     */
+    protected AutoCloseableEntityManager entityManager() {
+        return UnitOfWork.current()
+            .map(uow -> EntityManagerProvider.nonClosing(uow.entityManager()))
+            .orElseGet(EntityManagerProvider::createEntityManager);
+    }
+
+    /**
+     * Runs the given work in the transaction of the current {@link UnitOfWork} or in a new transaction that is
+     * committed afterwards, if no unit of work is open.
+     */
+    protected void inTransaction(final Consumer<EntityManager> work) {
+        computeInTransaction(em -> {
+            work.accept(em);
+            return null;
+        });
+    }
+
+    /**
+     * Like {@link #inTransaction(Consumer)}, but returns the result of the work.
+     */
+    protected <R> R computeInTransaction(final Function<EntityManager, R> work) {
+        final Optional<UnitOfWork> unitOfWork = UnitOfWork.current();
+        if (unitOfWork.isPresent()) {
+            return work.apply(unitOfWork.get().entityManager());
+        }
+        final EntityManager em = EntityManagerProvider.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            final R result = work.apply(em);
+            em.getTransaction().commit();
+            return result;
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
     protected abstract void initializeInstance(final T instance);
 }
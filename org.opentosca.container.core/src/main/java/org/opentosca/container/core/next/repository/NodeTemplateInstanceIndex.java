@@ -0,0 +1,268 @@
+package org.opentosca.container.core.next.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.core.next.model.NodeTemplateInstance;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
+import org.opentosca.container.core.next.xml.PropertyParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Indexes the started node template instances by their node type and property values, so instances matching the
+ * infrastructure of another instance can be found without loading and parsing the properties of all instances of the
+ * node type.
+ * <p>
+ * The index is built from the stored instances once when it is first used. Changes of instances and their properties
+ * are applied whenever they are written to the database, see {@link org.opentosca.container.core.next.trigger.NodeTemplateInstanceListener}.
+ * Changes applied before the index is built take precedence over the stored instances, apart from the properties of
+ * instances whose properties did not change.
+ * As a write may still be rolled back afterwards, the index only yields candidates which have to be confirmed against
+ * the database.
+ */
+public final class NodeTemplateInstanceIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NodeTemplateInstanceIndex.class);
+
+    private static final NodeTemplateInstanceIndex INSTANCE =
+        new NodeTemplateInstanceIndex(consumer -> new NodeTemplateInstanceRepository().forEachXmlProperties(consumer));
+
+    // the property is changed by the lifecycle of an instance and therefore not regarded for matching
+    private static final String STATE_PROPERTY = "State";
+
+    // instance id -> indexed attributes
+    private final Map<Long, IndexedInstance> instances = new HashMap<>();
+    // node type + fingerprint -> ids of the started instances, ordered by id
+    private final Map<Key, Set<Long>> startedInstances = new HashMap<>();
+
+    private final Consumer<NodeTemplateInstanceRepository.XmlPropertiesConsumer> storedProperties;
+    private volatile boolean loaded = false;
+
+    /**
+     * @param storedProperties passes the XML properties of the stored instances to the given consumer, see {@link
+     *                         NodeTemplateInstanceRepository#forEachXmlProperties}
+     */
+    NodeTemplateInstanceIndex(final Consumer<NodeTemplateInstanceRepository.XmlPropertiesConsumer> storedProperties) {
+        this.storedProperties = storedProperties;
+    }
+
+    public static NodeTemplateInstanceIndex getInstance() {
+        return INSTANCE;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                final long start = System.currentTimeMillis();
+                final Map<Long, IndexedInstance> stored = new HashMap<>();
+                storedProperties.accept((id, templateType, state, managingContainer, properties) -> {
+                    // later properties replace earlier ones of the same instance
+                    final IndexedInstance instance = new IndexedInstance();
+                    instance.templateType = templateType;
+                    instance.state = state;
+                    instance.managingContainer = managingContainer;
+                    instance.properties = fingerprint(properties);
+                    stored.put(id, instance);
+                });
+                stored.forEach((id, instance) -> {
+                    // instances written since the index is in use are more recent than the stored ones
+                    final IndexedInstance current = instances.get(id);
+                    if (current == null) {
+                        update(id, instance, instance.templateType, instance.state, instance.managingContainer);
+                    } else if (!current.propertiesChanged) {
+                        // only the instance itself was written, its properties are the stored ones
+                        unindex(id, current);
+                        current.properties = instance.properties;
+                        update(id, current, current.templateType, current.state, current.managingContainer);
+                    }
+                });
+                loaded = true;
+                LOG.debug("Indexed {} node template instances in {}ms", instances.size(),
+                    System.currentTimeMillis() - start);
+            }
+        }
+    }
+
+    /**
+     * Applies the state, type and managing container of the given instance that was written to the database.
+     */
+    public synchronized void instanceChanged(final NodeTemplateInstance instance) {
+        if (instance.getId() == null) {
+            return;
+        }
+        final IndexedInstance indexed = instances.getOrDefault(instance.getId(), new IndexedInstance());
+        update(instance.getId(), indexed, instance.getTemplateType(), instance.getState(),
+            instance.getManagingContainer());
+    }
+
+    /**
+     * Applies the XML properties of the given instance that were written to the database.
+     */
+    public synchronized void propertiesChanged(final NodeTemplateInstance instance, final String properties) {
+        if (instance.getId() == null) {
+            return;
+        }
+        final IndexedInstance indexed = instances.getOrDefault(instance.getId(), new IndexedInstance());
+        unindex(instance.getId(), indexed);
+        indexed.properties = fingerprint(properties);
+        indexed.propertiesChanged = true;
+        update(instance.getId(), indexed, instance.getTemplateType(), instance.getState(),
+            instance.getManagingContainer());
+    }
+
+    public synchronized void instanceRemoved(final Long id) {
+        final IndexedInstance indexed = instances.remove(id);
+        if (indexed != null) {
+            unindex(id, indexed);
+        }
+    }
+
+    private void update(final Long id, final IndexedInstance indexed, final QName templateType,
+                        final NodeTemplateInstanceState state, final String managingContainer) {
+        unindex(id, indexed);
+        indexed.templateType = templateType;
+        indexed.state = state;
+        indexed.managingContainer = managingContainer;
+        instances.put(id, indexed);
+        if (indexed.isMatchable()) {
+            startedInstances.computeIfAbsent(new Key(templateType, indexed.properties), key -> new TreeSet<>()).add(id);
+        }
+    }
+
+    private void unindex(final Long id, final IndexedInstance indexed) {
+        if (!indexed.isMatchable()) {
+            return;
+        }
+        final Key key = new Key(indexed.templateType, indexed.properties);
+        final Set<Long> ids = startedInstances.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                startedInstances.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Finds the started instances of the given node type whose properties equal the given ones, apart from the
+     * 'State' property.
+     *
+     * @return the matching instances ordered by id
+     */
+    public List<Match> findStarted(final QName templateType, final Map<String, String> properties) {
+        ensureLoaded();
+        final Key key = new Key(templateType, fingerprint(properties));
+        synchronized (this) {
+            final Set<Long> ids = startedInstances.getOrDefault(key, Collections.emptySet());
+            final List<Match> matches = new ArrayList<>(ids.size());
+            for (final Long id : ids) {
+                matches.add(new Match(id, instances.get(id).managingContainer));
+            }
+            return matches;
+        }
+    }
+
+    private static Map<String, String> fingerprint(final String properties) {
+        if (properties == null) {
+            return null;
+        }
+        try {
+            return fingerprint(new PropertyParser().parse(properties));
+        } catch (final IllegalArgumentException e) {
+            // the instance can't be matched, just like when its properties are read
+            return null;
+        }
+    }
+
+    private static Map<String, String> fingerprint(final Map<String, String> properties) {
+        if (properties == null) {
+            return null;
+        }
+        final Map<String, String> fingerprint = new TreeMap<>(properties);
+        fingerprint.remove(STATE_PROPERTY);
+        return fingerprint;
+    }
+
+    /**
+     * A started instance matching the node type and properties searched for.
+     */
+    public static final class Match {
+
+        private final Long id;
+        private final String managingContainer;
+
+        Match(final Long id, final String managingContainer) {
+            this.id = id;
+            this.managingContainer = managingContainer;
+        }
+
+        public Long getId() {
+            return this.id;
+        }
+
+        /**
+         * @return the host name of the container managing the instance, or <code>null</code> if none was set
+         */
+        public String getManagingContainer() {
+            return this.managingContainer;
+        }
+    }
+
+    private static final class IndexedInstance {
+
+        private QName templateType;
+        private NodeTemplateInstanceState state;
+        private String managingContainer;
+        // properties without 'State', null if unknown
+        private Map<String, String> properties;
+        // whether the properties were written since the index is in use
+        private boolean propertiesChanged = false;
+
+        boolean isMatchable() {
+            return state == NodeTemplateInstanceState.STARTED && templateType != null && properties != null;
+        }
+    }
+
+    private static final class Key {
+
+        private final QName templateType;
+        private final Map<String, String> properties;
+
+        Key(final QName templateType, final Map<String, String> properties) {
+            this.templateType = templateType;
+            this.properties = properties;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || this.getClass() != o.getClass()) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return Objects.equals(this.templateType, key.templateType)
+                && Objects.equals(this.properties, key.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.templateType, this.properties);
+        }
+    }
+}
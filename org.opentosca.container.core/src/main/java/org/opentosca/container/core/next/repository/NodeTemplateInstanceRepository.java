@@ -1,20 +1,33 @@
 package org.opentosca.container.core.next.repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 import javax.xml.namespace.QName;
 
 import org.hibernate.Hibernate;
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
-import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceSummary;
+import org.opentosca.container.core.next.model.PlanInstanceState;
+import org.opentosca.container.core.next.model.PlanType;
+import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
 
 public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateInstance> {
 
@@ -23,7 +36,7 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
     }
 
     public List<NodeTemplateInstance> find(final ServiceTemplateInstance sti, String nodeTemplateId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
 
             final ParameterExpression<ServiceTemplateInstance> owner = cb.parameter(ServiceTemplateInstance.class, "sti");
@@ -47,7 +60,7 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
     }
 
     public Collection<NodeTemplateInstance> findByTemplateId(final String templateId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
 
             final ParameterExpression<String> templateIdParameter = cb.parameter(String.class);
@@ -64,7 +77,7 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
     }
 
     public Collection<NodeTemplateInstance> findByTemplateType(final QName templateType) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
 
             final ParameterExpression<QName> templateTypeParameter = cb.parameter(QName.class);
@@ -80,6 +93,95 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
         }
     }
 
+    /**
+     * Passes the XML properties of all instances to the given consumer, together with the attributes of the instance
+     * they belong to, without loading the instances themselves. Properties of the same instance are passed in the
+     * order they were created.
+     */
+    public void forEachXmlProperties(final XmlPropertiesConsumer consumer) {
+        try (AutoCloseableEntityManager em = entityManager();
+             Stream<Object[]> properties = em.createQuery("SELECT n.id, n.templateType, n.state, n.managingContainer, p.value FROM NodeTemplateInstanceProperty p JOIN p.nodeTemplateInstance n WHERE LOWER(p.type) = 'xml' ORDER BY p.id", Object[].class)
+                 .getResultStream()) {
+            properties.forEach(property -> consumer.accept((Long) property[0], (QName) property[1],
+                (NodeTemplateInstanceState) property[2], (String) property[3], (String) property[4]));
+        }
+    }
+
+    /**
+     * Filters the given instances down to those which are started and belong to a created service template instance
+     * whose build plan finished.
+     *
+     * @return the ids of the provisioned instances among the given ones
+     */
+    public Set<Long> findProvisioned(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        try (AutoCloseableEntityManager em = entityManager()) {
+            return new HashSet<>(em.createQuery("SELECT DISTINCT n.id FROM NodeTemplateInstance n JOIN n.serviceTemplateInstance s JOIN s.planInstances p WHERE n.id IN :ids AND n.state = :started AND s.state = :created AND p.type = :build AND p.state = :finished", Long.class)
+                .setParameter("ids", ids)
+                .setParameter("started", NodeTemplateInstanceState.STARTED)
+                .setParameter("created", ServiceTemplateInstanceState.CREATED)
+                .setParameter("build", PlanType.BUILD)
+                .setParameter("finished", PlanInstanceState.FINISHED)
+                .getResultList());
+        }
+    }
+
+    /**
+     * Finds the instances of the given node template, filtering and paging in the database.
+     *
+     * @param serviceTemplateId         only instances of this service template, if not <code>null</code>
+     * @param serviceTemplateInstanceId only instances of this service template instance, if not <code>null</code>
+     * @param states                    only instances in one of these states, if not empty
+     * @param sourceOfRelationIds       only instances that are the source of one of these relationship instances, if
+     *                                  not empty
+     * @return the matching instances ordered by id, without their properties and relations
+     */
+    public List<NodeTemplateInstanceSummary> findSummaries(final String templateId, final String serviceTemplateId,
+                                                           final Long serviceTemplateInstanceId,
+                                                           final Collection<NodeTemplateInstanceState> states,
+                                                           final Collection<Long> sourceOfRelationIds,
+                                                           final int offset, final int limit) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+
+            final CriteriaQuery<NodeTemplateInstanceSummary> cq = cb.createQuery(NodeTemplateInstanceSummary.class);
+            final Root<NodeTemplateInstance> nti = cq.from(NodeTemplateInstance.class);
+            final Join<NodeTemplateInstance, ServiceTemplateInstance> sti = nti.join("serviceTemplateInstance");
+
+            final List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(nti.get("templateId"), templateId));
+            if (serviceTemplateId != null) {
+                predicates.add(cb.equal(sti.get("templateId"), serviceTemplateId));
+            }
+            if (serviceTemplateInstanceId != null) {
+                predicates.add(cb.equal(sti.get("id"), serviceTemplateInstanceId));
+            }
+            if (states != null && !states.isEmpty()) {
+                predicates.add(nti.get("state").in(states));
+            }
+            if (sourceOfRelationIds != null && !sourceOfRelationIds.isEmpty()) {
+                final Subquery<Long> outgoing = cq.subquery(Long.class);
+                final Root<RelationshipTemplateInstance> rti = outgoing.from(RelationshipTemplateInstance.class);
+                outgoing.select(rti.get("id"))
+                    .where(cb.equal(rti.get("source"), nti), rti.get("id").in(sourceOfRelationIds));
+                predicates.add(cb.exists(outgoing));
+            }
+
+            cq.select(cb.construct(NodeTemplateInstanceSummary.class,
+                nti.get("id"), nti.get("templateId"), nti.get("templateType"), nti.get("createdAt"), nti.get("state"),
+                sti.get("templateId"), sti.get("id"), sti.get("csarId")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(nti.get("id")));
+
+            return em.createQuery(cq)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        }
+    }
+
     @Override
     protected void initializeInstance(NodeTemplateInstance instance) {
         Hibernate.initialize(instance.getDeploymentTestResults());
@@ -87,4 +189,11 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
         Hibernate.initialize(instance.getOutgoingRelations());
         Hibernate.initialize(instance.getIncomingRelations());
     }
+
+    @FunctionalInterface
+    public interface XmlPropertiesConsumer {
+
+        void accept(Long id, QName templateType, NodeTemplateInstanceState state, String managingContainer,
+                    String properties);
+    }
 }
@@ -0,0 +1,115 @@
+package org.opentosca.container.core.next.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
+import org.opentosca.container.core.next.model.PlanInstance;
+import org.opentosca.container.core.next.model.PlanInstanceEvent;
+import org.opentosca.container.core.plan.PlanOperationStatistics;
+
+/**
+ * Append-only access to the events of plan instances. Appending an event inserts a single row and only increments the
+ * event sequence of the plan instance, so neither the plan instance nor its other events have to be loaded.
+ */
+public class PlanInstanceEventRepository extends JpaRepository<PlanInstanceEvent> {
+
+    public PlanInstanceEventRepository() {
+        super(PlanInstanceEvent.class);
+    }
+
+    /**
+     * Appends the given event to the plan instance with the given correlation id and assigns the next sequence number
+     * of the plan instance to it.
+     *
+     * @param event a new event, which must not have been persisted yet
+     * @return <code>false</code> if there is no plan instance with the given correlation id
+     */
+    public boolean append(final String correlationId, final PlanInstanceEvent event) {
+        final boolean operationExecution = event.getNodeTemplateID() != null && event.getOperationName() != null;
+        if (operationExecution) {
+            // the statistics must not pick up this event on their own, as it is recorded below
+            PlanOperationStatistics.getInstance().ensureLoaded();
+        }
+        final QName planId = computeInTransaction(em -> {
+            final List<Object[]> planInstances = em.createQuery("SELECT p.id, p.templateId FROM PlanInstance p WHERE p.correlationId = :correlationId", Object[].class)
+                .setParameter("correlationId", correlationId)
+                .getResultList();
+            if (planInstances.isEmpty()) {
+                return null;
+            }
+            final Long planInstanceId = (Long) planInstances.get(0)[0];
+            // the update locks the row of the plan instance, so concurrent appends get distinct sequence numbers
+            em.createQuery("UPDATE PlanInstance p SET p.eventSequence = COALESCE(p.eventSequence, 0) + 1 WHERE p.id = :id")
+                .setParameter("id", planInstanceId)
+                .executeUpdate();
+            final Long sequenceNumber = em.createQuery("SELECT p.eventSequence FROM PlanInstance p WHERE p.id = :id", Long.class)
+                .setParameter("id", planInstanceId)
+                .getSingleResult();
+
+            event.setSequenceNumber(sequenceNumber);
+            event.setPlanInstanceReference(em.getReference(PlanInstance.class, planInstanceId));
+            em.persist(event);
+            return (QName) planInstances.get(0)[1];
+        });
+        if (planId == null) {
+            return false;
+        }
+        if (operationExecution) {
+            PlanOperationStatistics.getInstance().record(planId.getLocalPart(), event.getNodeTemplateID(),
+                event.getOperationName(), event.getExecutionDuration());
+        }
+        return true;
+    }
+
+    /**
+     * Passes the execution time of every operation recorded in the events of all plan instances to the given
+     * consumer, without loading the events themselves.
+     */
+    public void forEachOperationExecution(final OperationExecutionConsumer consumer) {
+        try (AutoCloseableEntityManager em = entityManager();
+             Stream<Object[]> executions = em.createQuery("SELECT p.templateId, e.nodeTemplateID, e.operationName, e.executionDuration FROM PlanInstanceEvent e JOIN e.planInstance p WHERE e.nodeTemplateID IS NOT NULL AND e.operationName IS NOT NULL", Object[].class)
+                 .getResultStream()) {
+            executions.forEach(execution -> consumer.accept(((QName) execution[0]).getLocalPart(),
+                (String) execution[1], (String) execution[2], (Long) execution[3]));
+        }
+    }
+
+    /**
+     * Retrieves a page of the events of the given plan instance, newest first.
+     *
+     * @param offset the number of events to skip
+     * @param limit  the maximum number of events to return
+     */
+    public List<PlanInstanceEvent> findByPlanInstance(final Long planInstanceId, final int offset, final int limit) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            // events appended before sequence numbers were introduced have none and are older than all others
+            return em.createQuery("SELECT e FROM PlanInstanceEvent e WHERE e.planInstance.id = :id ORDER BY e.sequenceNumber DESC, e.createdAt DESC", PlanInstanceEvent.class)
+                .setParameter("id", planInstanceId)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        }
+    }
+
+    public long countByPlanInstance(final Long planInstanceId) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            return em.createQuery("SELECT COUNT(e) FROM PlanInstanceEvent e WHERE e.planInstance.id = :id", Long.class)
+                .setParameter("id", planInstanceId)
+                .getSingleResult();
+        }
+    }
+
+    @Override
+    protected void initializeInstance(final PlanInstanceEvent instance) {
+        // events have no lazy associations that are used after loading
+    }
+
+    @FunctionalInterface
+    public interface OperationExecutionConsumer {
+
+        void accept(String planId, String nodeTemplateId, String operationName, long duration);
+    }
+}
@@ -8,7 +8,6 @@ import javax.persistence.criteria.Root;
 
 import org.hibernate.Hibernate;
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
-import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.PlanInstance;
 
 public class PlanInstanceRepository extends JpaRepository<PlanInstance> {
@@ -18,7 +17,7 @@ public class PlanInstanceRepository extends JpaRepository<PlanInstance> {
     }
 
     public PlanInstance findByCorrelationId(final String correlationId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<String> correlationIdParameter = cb.parameter(String.class);
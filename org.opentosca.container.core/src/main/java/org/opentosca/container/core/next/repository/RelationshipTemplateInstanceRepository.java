@@ -1,17 +1,24 @@
 package org.opentosca.container.core.next.repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import org.hibernate.Hibernate;
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
-import org.opentosca.container.core.next.jpa.EntityManagerProvider;
+import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
+import org.opentosca.container.core.next.model.RelationshipTemplateInstanceState;
+import org.opentosca.container.core.next.model.RelationshipTemplateInstanceSummary;
+import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 
 public class RelationshipTemplateInstanceRepository extends JpaRepository<RelationshipTemplateInstance> {
 
@@ -20,7 +27,7 @@ public class RelationshipTemplateInstanceRepository extends JpaRepository<Relati
     }
 
     public Collection<RelationshipTemplateInstance> findByTemplateId(final String templateId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<String> templateIdParameter = cb.parameter(String.class);
@@ -36,6 +43,60 @@ public class RelationshipTemplateInstanceRepository extends JpaRepository<Relati
         }
     }
 
+    /**
+     * Finds the instances of the given relationship template, filtering and paging in the database.
+     *
+     * @param serviceTemplateId         only instances whose target belongs to this service template, if not
+     *                                  <code>null</code>
+     * @param serviceTemplateInstanceId only instances of this service template instance, if not <code>null</code>
+     * @param states                    only instances in one of these states, if not empty
+     * @param targetId                  only instances with this target node template instance, if not
+     *                                  <code>null</code>
+     * @return the matching instances ordered by id, without their properties, source and target
+     */
+    public List<RelationshipTemplateInstanceSummary> findSummaries(final String templateId,
+                                                                   final String serviceTemplateId,
+                                                                   final Long serviceTemplateInstanceId,
+                                                                   final Collection<RelationshipTemplateInstanceState> states,
+                                                                   final Long targetId,
+                                                                   final int offset, final int limit) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+
+            final CriteriaQuery<RelationshipTemplateInstanceSummary> cq = cb.createQuery(RelationshipTemplateInstanceSummary.class);
+            final Root<RelationshipTemplateInstance> rti = cq.from(RelationshipTemplateInstance.class);
+            final Join<RelationshipTemplateInstance, NodeTemplateInstance> source = rti.join("source");
+            final Join<NodeTemplateInstance, ServiceTemplateInstance> sourceSti = source.join("serviceTemplateInstance");
+            final Join<RelationshipTemplateInstance, NodeTemplateInstance> target = rti.join("target");
+
+            final List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(rti.get("templateId"), templateId));
+            if (serviceTemplateId != null) {
+                predicates.add(cb.equal(target.join("serviceTemplateInstance").get("templateId"), serviceTemplateId));
+            }
+            if (serviceTemplateInstanceId != null) {
+                predicates.add(cb.equal(rti.get("serviceTemplateInstance").get("id"), serviceTemplateInstanceId));
+            }
+            if (states != null && !states.isEmpty()) {
+                predicates.add(rti.get("state").in(states));
+            }
+            if (targetId != null) {
+                predicates.add(cb.equal(target.get("id"), targetId));
+            }
+
+            cq.select(cb.construct(RelationshipTemplateInstanceSummary.class,
+                rti.get("id"), rti.get("templateId"), rti.get("templateType"), rti.get("createdAt"), rti.get("state"),
+                sourceSti.get("templateId"), sourceSti.get("csarId"), source.get("id"), target.get("id")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(rti.get("id")));
+
+            return em.createQuery(cq)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        }
+    }
+
     @Override
     protected void initializeInstance(RelationshipTemplateInstance instance) {
         Hibernate.initialize(instance.getProperties());
@@ -1,5 +1,6 @@
 package org.opentosca.container.core.next.repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -7,13 +8,15 @@ import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import org.hibernate.Hibernate;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
-import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 
 public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemplateInstance> {
 
@@ -37,7 +40,7 @@ public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemp
     }
 
     public Collection<ServiceTemplateInstance> findByTemplateId(final String templateId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<String> templateIdParameter = cb.parameter(String.class);
@@ -56,7 +59,7 @@ public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemp
     }
 
     public Collection<ServiceTemplateInstance> findByCsarId(final CsarId csarId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<CsarId> csarIdParameter = cb.parameter(CsarId.class);
@@ -73,4 +76,37 @@ public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemp
             return results;
         }
     }
+
+    /**
+     * Finds the instances of the given service template, filtering and paging in the database.
+     *
+     * @param states only instances in one of these states, if not empty
+     * @return the matching instances ordered by id, without any of their plan, node or relationship instances
+     */
+    public List<ServiceTemplateInstanceSummary> findSummaries(final String templateId,
+                                                              final Collection<ServiceTemplateInstanceState> states,
+                                                              final int offset, final int limit) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+
+            final CriteriaQuery<ServiceTemplateInstanceSummary> cq = cb.createQuery(ServiceTemplateInstanceSummary.class);
+            final Root<ServiceTemplateInstance> sti = cq.from(ServiceTemplateInstance.class);
+
+            final List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(sti.get("templateId"), templateId));
+            if (states != null && !states.isEmpty()) {
+                predicates.add(sti.get("state").in(states));
+            }
+
+            cq.select(cb.construct(ServiceTemplateInstanceSummary.class,
+                sti.get("id"), sti.get("createdAt"), sti.get("csarId"), sti.get("templateId"), sti.get("state")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(sti.get("id")));
+
+            return em.createQuery(cq)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package org.opentosca.container.core.next.trigger;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.opentosca.container.core.next.model.NodeTemplateInstance;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceProperty;
+import org.opentosca.container.core.next.repository.NodeTemplateInstanceIndex;
+
+/**
+ * Keeps the {@link NodeTemplateInstanceIndex} up to date with the node template instances and their properties
+ * written to the database.
+ */
+public class NodeTemplateInstanceListener {
+
+    @PostPersist
+    @PostUpdate
+    void instanceChanged(final Object entity) {
+        if (entity instanceof NodeTemplateInstance) {
+            NodeTemplateInstanceIndex.getInstance().instanceChanged((NodeTemplateInstance) entity);
+        } else if (entity instanceof NodeTemplateInstanceProperty) {
+            final NodeTemplateInstanceProperty property = (NodeTemplateInstanceProperty) entity;
+            // the instance data matching only regards the properties written as one XML document by the plans
+            if (property.getNodeTemplateInstance() != null && "xml".equalsIgnoreCase(property.getType())) {
+                NodeTemplateInstanceIndex.getInstance()
+                    .propertiesChanged(property.getNodeTemplateInstance(), property.getValue());
+            }
+        }
+    }
+
+    @PostRemove
+    void instanceRemoved(final Object entity) {
+        if (entity instanceof NodeTemplateInstance) {
+            NodeTemplateInstanceIndex.getInstance().instanceRemoved(((NodeTemplateInstance) entity).getId());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.opentosca.container.core.next.trigger;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
+
+import org.opentosca.container.core.next.model.PlanInstance;
+
+/**
+ * Signals state changes of plan instances to the situation triggers waiting for them.
+ */
+public class PlanInstanceListener {
+
+    @PostPersist
+    @PostUpdate
+    void planInstanceChanged(final PlanInstance planInstance) {
+        SituationTriggerExecutor.getInstance().planInstanceChanged(planInstance.getId(), planInstance.getCorrelationId(),
+            planInstance.getState());
+    }
+}
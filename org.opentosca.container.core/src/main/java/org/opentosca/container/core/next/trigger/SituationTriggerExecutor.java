@@ -0,0 +1,272 @@
+package org.opentosca.container.core.next.trigger;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.persistence.NoResultException;
+
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.next.model.PlanInstance;
+import org.opentosca.container.core.next.model.PlanInstanceState;
+import org.opentosca.container.core.next.model.SituationTrigger;
+import org.opentosca.container.core.next.model.SituationTriggerInstance;
+import org.opentosca.container.core.next.repository.PlanInstanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes situation trigger instances on a bounded number of threads.
+ * <p>
+ * Triggers waiting for a free thread are queued up to a configured capacity, further triggers are rejected and stay
+ * unstarted. An instance of a single instance trigger is only executed if no other instance of the same trigger is
+ * running. Triggers waiting for the plan they invoked don't occupy a thread, as the completion of plans is signalled
+ * by the {@link PlanInstanceListener} when their state changes. Plans finished by another container sharing the
+ * database are picked up by a periodic check of the awaited plans. A trigger whose plan doesn't finish within {@link
+ * Settings#SITUATION_TRIGGER_PLAN_TIMEOUT} fails, so a single instance trigger can run again.
+ */
+public final class SituationTriggerExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SituationTriggerExecutor.class);
+
+    private static final SituationTriggerExecutor INSTANCE = new SituationTriggerExecutor(
+        Integer.parseInt(Settings.SITUATION_TRIGGER_THREADS),
+        Integer.parseInt(Settings.SITUATION_TRIGGER_QUEUE_CAPACITY),
+        Long.parseLong(Settings.SITUATION_TRIGGER_RECONCILE_INTERVAL),
+        Long.parseLong(Settings.SITUATION_TRIGGER_PLAN_TIMEOUT));
+
+    private final PlanInstanceRepository planRepository = new PlanInstanceRepository();
+
+    private final long planTimeoutSeconds;
+    private final ThreadPoolExecutor workers;
+    // completes awaited plans and finishes triggers, so this never happens within a persistence callback
+    private final ScheduledExecutorService completions;
+
+    private final Map<String, CompletableFuture<PlanInstance>> awaitedPlans = new ConcurrentHashMap<>();
+    private final Set<Long> runningSingleInstanceTriggers = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+
+    SituationTriggerExecutor(final int threads, final int queueCapacity, final long reconcileIntervalSeconds,
+                             final long planTimeoutSeconds) {
+        this.planTimeoutSeconds = planTimeoutSeconds;
+        final AtomicInteger threadCount = new AtomicInteger();
+        workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            final Thread thread = new Thread(runnable, "situation-trigger-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        completions = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "situation-trigger-completions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        completions.scheduleWithFixedDelay(this::reconcile, reconcileIntervalSeconds, reconcileIntervalSeconds,
+            TimeUnit.SECONDS);
+    }
+
+    public static SituationTriggerExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queues the execution of the given trigger instance.
+     *
+     * @param execution executes the trigger and returns a stage that is completed once the trigger is finished, e.g.
+     *                  when the plan it invoked is finished
+     * @return <code>false</code> if the instance is not executed, because another instance of the same single
+     * instance trigger is running or too many triggers are waiting for execution
+     */
+    public boolean submit(final SituationTriggerInstance instance, final Supplier<CompletionStage<?>> execution) {
+        final SituationTrigger trigger = instance.getSituationTrigger();
+        final Long singleInstanceKey = trigger.isSingleInstance() ? trigger.getId() : null;
+        if (singleInstanceKey != null && !runningSingleInstanceTriggers.add(singleInstanceKey)) {
+            deduplicated.increment();
+            LOG.info("Skipping SituationTriggerInstance {}, another instance of SituationTrigger {} is running",
+                instance.getId(), singleInstanceKey);
+            return false;
+        }
+
+        final long submittedAt = System.nanoTime();
+        try {
+            workers.execute(() -> run(instance, execution, singleInstanceKey, submittedAt));
+        } catch (final RejectedExecutionException e) {
+            release(singleInstanceKey);
+            rejected.increment();
+            LOG.warn("Rejecting SituationTriggerInstance {}, {} triggers are waiting for execution already",
+                instance.getId(), workers.getQueue().size());
+            return false;
+        }
+        submitted.increment();
+        return true;
+    }
+
+    private void run(final SituationTriggerInstance instance, final Supplier<CompletionStage<?>> execution,
+                     final Long singleInstanceKey, final long submittedAt) {
+        queueWaitNanos.add(System.nanoTime() - submittedAt);
+        CompletionStage<?> completion;
+        try {
+            completion = execution.get();
+        } catch (final RuntimeException e) {
+            final CompletableFuture<?> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            completion = failed;
+        }
+        completion.whenComplete((result, error) -> {
+            if (error != null) {
+                LOG.error("Executing SituationTriggerInstance {} failed", instance.getId(), error);
+            }
+            release(singleInstanceKey);
+            completed.increment();
+            latencyNanos.add(System.nanoTime() - submittedAt);
+        });
+    }
+
+    private void release(final Long singleInstanceKey) {
+        if (singleInstanceKey != null) {
+            runningSingleInstanceTriggers.remove(singleInstanceKey);
+        }
+    }
+
+    /**
+     * Starts waiting for the plan instance with the given correlation id. Must be called before the plan is invoked,
+     * so its completion can't be missed.
+     *
+     * @return a future completed with the plan instance once it is finished or failed, or exceptionally with a {@link
+     * TimeoutException} if the plan doesn't finish in time
+     */
+    public CompletableFuture<PlanInstance> awaitPlan(final String correlationId) {
+        return awaitedPlans.computeIfAbsent(correlationId, id -> {
+            final CompletableFuture<PlanInstance> awaited = new CompletableFuture<>();
+            final ScheduledFuture<?> timeout = completions.schedule(() -> expire(id, awaited), planTimeoutSeconds,
+                TimeUnit.SECONDS);
+            awaited.whenComplete((planInstance, error) -> timeout.cancel(false));
+            return awaited;
+        });
+    }
+
+    private void expire(final String correlationId, final CompletableFuture<PlanInstance> awaited) {
+        if (awaitedPlans.remove(correlationId, awaited)) {
+            awaited.completeExceptionally(new TimeoutException(
+                "Plan instance " + correlationId + " did not finish within " + planTimeoutSeconds + "s"));
+        }
+    }
+
+    /**
+     * Stops waiting for the plan instance with the given correlation id, e.g. because its invocation failed.
+     */
+    public void stopAwaiting(final String correlationId) {
+        final CompletableFuture<PlanInstance> awaited = awaitedPlans.remove(correlationId);
+        if (awaited != null) {
+            awaited.cancel(false);
+        }
+    }
+
+    /**
+     * Called within the persistence callbacks of plan instances, so the plan instance is loaded with its outputs in a
+     * separate persistence context afterwards.
+     */
+    void planInstanceChanged(final Long planInstanceId, final String correlationId, final PlanInstanceState state) {
+        if (isCompleted(state) && awaitedPlans.containsKey(correlationId)) {
+            completions.execute(() -> {
+                try {
+                    // if the change is not committed yet, the plan is completed by the next periodic check
+                    planRepository.find(planInstanceId).ifPresent(this::completeIfFinished);
+                } catch (final RuntimeException e) {
+                    LOG.warn("Could not load the plan instance with correlation id {}", correlationId, e);
+                }
+            });
+        }
+    }
+
+    private void completeIfFinished(final PlanInstance planInstance) {
+        if (isCompleted(planInstance.getState())) {
+            final CompletableFuture<PlanInstance> awaited = awaitedPlans.remove(planInstance.getCorrelationId());
+            if (awaited != null) {
+                awaited.complete(planInstance);
+            }
+        }
+    }
+
+    private void reconcile() {
+        for (final String correlationId : awaitedPlans.keySet()) {
+            try {
+                completeIfFinished(planRepository.findByCorrelationId(correlationId));
+            } catch (final NoResultException e) {
+                // the plan instance has not been created yet
+            } catch (final RuntimeException e) {
+                LOG.warn("Could not check the state of the plan instance with correlation id {}", correlationId, e);
+            }
+        }
+    }
+
+    private static boolean isCompleted(final PlanInstanceState state) {
+        return state == PlanInstanceState.FINISHED || state == PlanInstanceState.FAILED;
+    }
+
+    /**
+     * @return the number of triggers waiting for a free thread
+     */
+    public int getQueueDepth() {
+        return workers.getQueue().size();
+    }
+
+    public int getActiveTriggers() {
+        return workers.getActiveCount();
+    }
+
+    public int getAwaitedPlans() {
+        return awaitedPlans.size();
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getDeduplicated() {
+        return deduplicated.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * @return the average time triggers waited for a free thread
+     */
+    public long getAverageQueueWaitMillis() {
+        final long count = submitted.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(queueWaitNanos.sum() / count);
+    }
+
+    /**
+     * @return the average time from submitting a trigger until it finished, including the execution of its plan
+     */
+    public long getAverageTriggerLatencyMillis() {
+        final long count = completed.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latencyNanos.sum() / count);
+    }
+}
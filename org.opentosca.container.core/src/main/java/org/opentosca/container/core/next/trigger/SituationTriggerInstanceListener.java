@@ -1,12 +1,13 @@
 package org.opentosca.container.core.next.trigger;
 
 import java.net.URI;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 import javax.persistence.PostPersist;
 import javax.xml.namespace.QName;
@@ -14,7 +15,6 @@ import javax.xml.namespace.QName;
 import org.eclipse.winery.model.tosca.TExportedOperation;
 import org.eclipse.winery.model.tosca.TPlan;
 
-import com.google.common.collect.Lists;
 import org.glassfish.jersey.uri.UriComponent;
 import org.opentosca.container.core.common.NotFoundException;
 import org.opentosca.container.core.common.Settings;
@@ -22,15 +22,14 @@ import org.opentosca.container.core.engine.ToscaEngine;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.PlanInstance;
-import org.opentosca.container.core.next.model.PlanInstanceEvent;
 import org.opentosca.container.core.next.model.PlanInstanceState;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.Situation;
 import org.opentosca.container.core.next.model.SituationTriggerInstance;
 import org.opentosca.container.core.next.model.SituationTriggerInstanceProperty;
 import org.opentosca.container.core.next.model.SituationTriggerProperty;
-import org.opentosca.container.core.next.repository.PlanInstanceRepository;
 import org.opentosca.container.core.next.repository.SituationTriggerInstanceRepository;
+import org.opentosca.container.core.plan.PlanOperationStatistics;
 import org.opentosca.container.core.service.CsarStorageService;
 import org.opentosca.container.core.service.IPlanInvocationEngine;
 import org.opentosca.container.core.tosca.extension.TParameterDTO;
@@ -42,8 +41,6 @@ import org.springframework.web.context.support.SpringBeanAutowiringSupport;
 
 public class SituationTriggerInstanceListener {
 
-    private static final List<SituationTriggerInstanceObserver> obs = Lists.newArrayList();
-
     private static Map<String, List<String>> planToOperationMap = new HashMap<>();
 
     @PostPersist
@@ -52,11 +49,10 @@ public class SituationTriggerInstanceListener {
         // this performs service injection for us
         SpringBeanAutowiringSupport.processInjectionBasedOnCurrentContext(obs);
 
-        SituationTriggerInstanceListener.obs.add(obs);
-        new Thread(obs).start();
+        SituationTriggerExecutor.getInstance().submit(instance, obs);
     }
 
-    private class SituationTriggerInstanceObserver implements Runnable {
+    private class SituationTriggerInstanceObserver implements Supplier<CompletionStage<?>> {
 
         final private Logger LOG = LoggerFactory.getLogger(SituationTriggerInstanceObserver.class);
 
@@ -67,7 +63,6 @@ public class SituationTriggerInstanceListener {
         @Autowired
         private CsarStorageService storage;
 
-        private final PlanInstanceRepository planRepository = new PlanInstanceRepository();
         private final SituationTriggerInstance instance;
 
         public SituationTriggerInstanceObserver(final SituationTriggerInstance instance) {
@@ -75,7 +70,7 @@ public class SituationTriggerInstanceListener {
         }
 
         @Override
-        public void run() {
+        public CompletionStage<?> get() {
             this.instance.setStarted(true);
             this.repo.update(this.instance);
             this.LOG.debug("Started SituationTriggerInstance " + this.instance.getId());
@@ -124,7 +119,7 @@ public class SituationTriggerInstanceListener {
                     if (calculatedTimeFromPreviousExecutions > timeAvailableInSeconds) {
                         this.LOG.info("Update (WCET = %d ms) not completable in timeframe of %d ms. Aborting.",
                             calculatedTimeFromPreviousExecutions, timeAvailableInSeconds);
-                        return;
+                        return CompletableFuture.completedFuture(null);
                     } else {
                         this.LOG.info("Update (WCET = %d ms) is completable in timeframe of %d ms. Executing.",
                             calculatedTimeFromPreviousExecutions, timeAvailableInSeconds);
@@ -153,8 +148,10 @@ public class SituationTriggerInstanceListener {
                     }
                 }
 
+                final String correlationId = planInvocEngine.createCorrelationId();
+                final SituationTriggerExecutor executor = SituationTriggerExecutor.getInstance();
+                final CompletableFuture<PlanInstance> planCompletion = executor.awaitPlan(correlationId);
                 try {
-                    final String correlationId = planInvocEngine.createCorrelationId();
                     // FIXME QName natural key migration to string leftover
                     if (servInstance != null) {
                         planInvocEngine.invokePlan(servInstance.getCsarId(),
@@ -164,25 +161,27 @@ public class SituationTriggerInstanceListener {
                         planInvocEngine.invokePlan(instance.getSituationTrigger().getCsarId(), new QName(csar.entryServiceTemplate().getTargetNamespace(), csar.entryServiceTemplate().getId()), -1,
                             planDTO, correlationId);
                     }
+                } catch (final RuntimeException e) {
+                    executor.stopAwaiting(correlationId);
+                    throw e;
+                }
 
-                    // now wait for finished execution
-                    PlanInstance planInstance = planRepository.findByCorrelationId(correlationId);
-                    while (!(planInstance.getState() == PlanInstanceState.FINISHED)
-                        || planInstance.getState() == PlanInstanceState.FAILED) {
-                        Thread.sleep(10000);
-                        planInstance = planRepository.findByCorrelationId(correlationId);
+                // no thread is blocked while the plan is running, the trigger finishes once the plan does
+                return planCompletion.thenAccept(planInstance -> {
+                    if (planInstance.getState() == PlanInstanceState.FAILED) {
+                        this.LOG.warn("Plan instance {} of SituationTriggerInstance {} failed", correlationId,
+                            this.instance.getId());
+                    } else {
+                        // plan finished, write output to trigger instance
+                        planInstance.getOutputs().forEach(x -> instance.getOutputs()
+                            .add(new SituationTriggerInstanceProperty(x.getName(), x.getValue(), x.getType())));
                     }
 
-                    // plan finished, write output to trigger instance
-                    planInstance.getOutputs().forEach(x -> instance.getOutputs()
-                        .add(new SituationTriggerInstanceProperty(x.getName(), x.getValue(), x.getType())));
-
                     instance.setFinished(true);
                     repo.update(instance);
-                } catch (final InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
+                });
             }
+            return CompletableFuture.completedFuture(null);
         }
     }
 
@@ -207,73 +206,12 @@ public class SituationTriggerInstanceListener {
     }
 
     /**
-     * calculate the WCET for the given Plan by summing up operation times in plan. Does not regard parallel
-     * executions.
+     * calculate the WCET for the given Plan by summing up the longest execution times of the operations in plan. Does
+     * not regard parallel executions.
      */
     public long calculateWCETForPlan(final TPlan plan) {
-        long calculatedTimeFromPreviousExecutions = 0;
-
-        // contains mapping of PlanName to its contained operations
-        final Map<String, List<String>> planNameToOperationsMap = getPlanToOperationMap();
-        // map of longest execution times for each operation
-        final Map<String, Long> longestDurationMap = new HashMap<>();
-        // find all operations contained in current plan
-        final List<String> allOperationsInPlan = planNameToOperationsMap.get(plan.getId());
-
-        // get all previously completed PlanInstances from DB
-        final PlanInstanceRepository planRepo = new PlanInstanceRepository();
-        final Collection<PlanInstance> allOccurences = planRepo.findAll();
-
-        // iterate all instances until match is found
-        if (allOperationsInPlan != null) {
-            for (final PlanInstance currInstance : allOccurences) {
-                if (currInstance.getTemplateId().getLocalPart().equals(plan.getId())) {
-                    iterateInstanceEventsForExecutionTimes(longestDurationMap, allOperationsInPlan, currInstance);
-                }
-            }
-        }
-        // add up the times of longest durations found for operations in plan
-        for (final Long duration : longestDurationMap.values()) {
-            calculatedTimeFromPreviousExecutions += duration;
-        }
-        return calculatedTimeFromPreviousExecutions;
-    }
-
-    /**
-     * iterate through all PlanInstanceEvents of a PlanInstance and compare with matching operation from current Plan
-     */
-    private void iterateInstanceEventsForExecutionTimes(final Map<String, Long> longestDurationMap,
-                                                        final List<String> allOperationsInPlan, final PlanInstance currInstance) {
-        // iterate all operations from current plan
-        for (final String oneOperationFromPlan : allOperationsInPlan) {
-            // iterate all events from current PlanInstance
-            for (final PlanInstanceEvent aEvent : currInstance.getEvents()) {
-                if (Objects.nonNull(aEvent.getOperationName()) && Objects.nonNull(aEvent.getExecutionDuration())
-                    && Objects.nonNull(aEvent.getNodeTemplateID())) {
-                    if (oneOperationFromPlan.equals(aEvent.getNodeTemplateID() + aEvent.getOperationName())) {
-                        checkIfCurrentOperationExecutionTimeIsLonger(longestDurationMap, aEvent);
-                    }
-                }
-            }
-        }
-    }
-
-    /**
-     * if operation already contained in map, check if current execution duration is larger (replace) or smaller
-     * (leave)
-     */
-    private void checkIfCurrentOperationExecutionTimeIsLonger(final Map<String, Long> longestDurationMap,
-                                                              final PlanInstanceEvent aEvent) {
-        // key already exists in map
-        if (longestDurationMap.containsKey(aEvent.getNodeTemplateID() + aEvent.getOperationName())) {
-            if (longestDurationMap.get(aEvent.getNodeTemplateID() + aEvent.getOperationName()) < aEvent
-                .getExecutionDuration()) {
-                longestDurationMap.put(aEvent.getNodeTemplateID() + aEvent.getOperationName(),
-                    aEvent.getExecutionDuration());
-            }
-        } else {
-            longestDurationMap.put(aEvent.getNodeTemplateID() + aEvent.getOperationName(),
-                aEvent.getExecutionDuration());
-        }
+        // contains mapping of PlanName to its contained operations, all operations executed so far are used otherwise
+        final List<String> allOperationsInPlan = getPlanToOperationMap().get(plan.getId());
+        return PlanOperationStatistics.getInstance().getWorstCaseExecutionTime(plan.getId(), allOperationsInPlan);
     }
 }
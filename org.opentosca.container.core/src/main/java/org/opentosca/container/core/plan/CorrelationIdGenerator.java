@@ -0,0 +1,43 @@
+package org.opentosca.container.core.plan;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opentosca.container.core.common.Settings;
+
+/**
+ * Generates the correlation ids of plan invocations without consulting the database.
+ * <p>
+ * An id consists of a time based sequence number and the id of the node that generated it, e.g.
+ * <code>1592315200123004-a1b2c3d4</code>. The sequence number is the current time in milliseconds followed by a three
+ * digit counter, so up to 1000 ids per millisecond are generated before the sequence runs ahead of the clock. It never
+ * decreases, even if the system clock is turned back, hence ids generated by one node are unique and sort in the order
+ * they were generated. The node id is taken from {@link Settings#OPENTOSCA_CONTAINER_NODE_ID} or randomly chosen on
+ * startup, which keeps ids of several containers sharing a database apart.
+ */
+public final class CorrelationIdGenerator {
+
+    private static final long IDS_PER_MILLISECOND = 1000;
+
+    private static final CorrelationIdGenerator INSTANCE = new CorrelationIdGenerator(
+        Settings.OPENTOSCA_CONTAINER_NODE_ID.isEmpty()
+            ? UUID.randomUUID().toString().substring(0, 8)
+            : Settings.OPENTOSCA_CONTAINER_NODE_ID);
+
+    private final String nodeSuffix;
+    private final AtomicLong lastSequence = new AtomicLong();
+
+    private CorrelationIdGenerator(final String nodeId) {
+        this.nodeSuffix = "-" + nodeId;
+    }
+
+    public static CorrelationIdGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    public String next() {
+        final long now = System.currentTimeMillis() * IDS_PER_MILLISECOND;
+        final long sequence = lastSequence.updateAndGet(last -> Math.max(now, last + 1));
+        return sequence + nodeSuffix;
+    }
+}
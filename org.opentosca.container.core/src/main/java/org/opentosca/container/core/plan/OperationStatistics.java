@@ -0,0 +1,68 @@
+package org.opentosca.container.core.plan;
+
+/**
+ * Execution times in milliseconds of an operation of a node template invoked by a plan. The percentiles are computed
+ * over the most recent executions only.
+ */
+public class OperationStatistics {
+
+    private final String planId;
+    private final String nodeTemplateId;
+    private final String operationName;
+    private final long executions;
+    private final long max;
+    private final double mean;
+    private final long median;
+    private final long percentile90;
+    private final long percentile99;
+
+    OperationStatistics(final String planId, final String nodeTemplateId, final String operationName,
+                        final long executions, final long max, final double mean, final long median,
+                        final long percentile90, final long percentile99) {
+        this.planId = planId;
+        this.nodeTemplateId = nodeTemplateId;
+        this.operationName = operationName;
+        this.executions = executions;
+        this.max = max;
+        this.mean = mean;
+        this.median = median;
+        this.percentile90 = percentile90;
+        this.percentile99 = percentile99;
+    }
+
+    public String getPlanId() {
+        return this.planId;
+    }
+
+    public String getNodeTemplateId() {
+        return this.nodeTemplateId;
+    }
+
+    public String getOperationName() {
+        return this.operationName;
+    }
+
+    public long getExecutions() {
+        return this.executions;
+    }
+
+    public long getMax() {
+        return this.max;
+    }
+
+    public double getMean() {
+        return this.mean;
+    }
+
+    public long getMedian() {
+        return this.median;
+    }
+
+    public long getPercentile90() {
+        return this.percentile90;
+    }
+
+    public long getPercentile99() {
+        return this.percentile99;
+    }
+}
@@ -6,7 +6,6 @@ import java.util.Map;
 import java.util.Objects;
 
 import javax.inject.Inject;
-import javax.persistence.NoResultException;
 import javax.xml.namespace.QName;
 
 import org.eclipse.winery.model.tosca.TExportedOperation;
@@ -18,8 +17,6 @@ import org.opentosca.container.core.engine.ToscaEngine;
 import org.opentosca.container.core.engine.management.IManagementBus;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.model.csar.CsarId;
-import org.opentosca.container.core.next.model.PlanInstance;
-import org.opentosca.container.core.next.repository.PlanInstanceRepository;
 import org.opentosca.container.core.service.CsarStorageService;
 import org.opentosca.container.core.service.IPlanInvocationEngine;
 import org.opentosca.container.core.tosca.extension.TParameterDTO;
@@ -40,7 +37,6 @@ import org.springframework.stereotype.Service;
 public class PlanInvocationEngine implements IPlanInvocationEngine {
 
     private static final Logger LOG = LoggerFactory.getLogger(PlanInvocationEngine.class);
-    private static final PlanInstanceRepository planRepo = new PlanInstanceRepository();
 
     private final IManagementBus managementBus;
     private final CsarStorageService csarStorage;
@@ -57,20 +53,8 @@ public class PlanInvocationEngine implements IPlanInvocationEngine {
 
     @Override
     public String createCorrelationId() {
-        // generate CorrelationId for the plan execution
-        while (true) {
-            final String correlationId = String.valueOf(System.currentTimeMillis());
-
-            try {
-                PlanInstance instance = planRepo.findByCorrelationId(correlationId);
-                if (instance == null) {
-                    return correlationId;
-                }
-                this.LOG.debug("CorrelationId {} already in use.", correlationId);
-            } catch (final NoResultException e) {
-                return correlationId;
-            }
-        }
+        // generated ids are unique by construction, so they don't need to be checked against the plan instances
+        return CorrelationIdGenerator.getInstance().next();
     }
 
     @Override
@@ -0,0 +1,156 @@
+package org.opentosca.container.core.plan;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.opentosca.container.core.next.repository.PlanInstanceEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aggregates the execution times of the operations invoked by plans, so the worst case execution time (WCET) of a
+ * plan can be estimated without going through the events of all its previous executions.
+ * <p>
+ * The aggregate is built from the recorded events once when it is first used and then kept up to date by the {@link
+ * PlanInstanceEventRepository} whenever the event of an executed operation is appended.
+ */
+public final class PlanOperationStatistics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PlanOperationStatistics.class);
+
+    private static final PlanOperationStatistics INSTANCE = new PlanOperationStatistics();
+
+    // number of recent executions percentiles are computed of
+    private static final int SAMPLES = 1024;
+
+    // plan id -> node template id + operation name -> execution times
+    private final Map<String, Map<String, OperationDurations>> plans = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+
+    private PlanOperationStatistics() {
+    }
+
+    public static PlanOperationStatistics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Builds the aggregate from the events recorded so far, unless that already happened. Events appended after this
+     * method returned must be {@link #record recorded}.
+     */
+    public void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                final long start = System.currentTimeMillis();
+                new PlanInstanceEventRepository().forEachOperationExecution(this::add);
+                loaded = true;
+                LOG.debug("Loaded execution times of {} plans in {}ms", plans.size(),
+                    System.currentTimeMillis() - start);
+            }
+        }
+    }
+
+    /**
+     * Records an execution of the given operation by the plan with the given id.
+     */
+    public void record(final String planId, final String nodeTemplateId, final String operationName,
+                       final long duration) {
+        ensureLoaded();
+        add(planId, nodeTemplateId, operationName, duration);
+    }
+
+    private void add(final String planId, final String nodeTemplateId, final String operationName,
+                     final long duration) {
+        plans.computeIfAbsent(planId, id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(nodeTemplateId + operationName, key -> new OperationDurations(nodeTemplateId, operationName))
+            .add(duration);
+    }
+
+    /**
+     * @return the statistics of all operations executed by the plan with the given id
+     */
+    public List<OperationStatistics> getStatistics(final String planId) {
+        ensureLoaded();
+        return plans.getOrDefault(planId, Collections.emptyMap()).values().stream()
+            .map(durations -> durations.snapshot(planId))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Estimates the worst case execution time of a plan by summing up the longest execution times of its operations.
+     * Parallel executions are not regarded.
+     *
+     * @param operations the operations of the plan, each identified by the concatenation of node template id and
+     *                   operation name, or <code>null</code> to use all operations the plan executed so far
+     * @return the estimated execution time in milliseconds, 0 if the plan was not executed yet
+     */
+    public long getWorstCaseExecutionTime(final String planId, final Collection<String> operations) {
+        ensureLoaded();
+        final Map<String, OperationDurations> planOperations = plans.getOrDefault(planId, Collections.emptyMap());
+        if (operations == null) {
+            return planOperations.values().stream().mapToLong(OperationDurations::max).sum();
+        }
+        long wcet = 0;
+        for (final String operation : operations) {
+            final OperationDurations durations = planOperations.get(operation);
+            if (durations != null) {
+                wcet += durations.max();
+            }
+        }
+        return wcet;
+    }
+
+    private static final class OperationDurations {
+
+        private final String nodeTemplateId;
+        private final String operationName;
+
+        // ring buffer of the most recent execution times
+        private final long[] samples = new long[SAMPLES];
+        private long executions = 0;
+        private long total = 0;
+        private long max = 0;
+
+        OperationDurations(final String nodeTemplateId, final String operationName) {
+            this.nodeTemplateId = nodeTemplateId;
+            this.operationName = operationName;
+        }
+
+        synchronized void add(final long duration) {
+            samples[(int) (executions % SAMPLES)] = duration;
+            executions++;
+            total += duration;
+            max = Math.max(max, duration);
+        }
+
+        synchronized long max() {
+            return max;
+        }
+
+        synchronized OperationStatistics snapshot(final String planId) {
+            final long[] sorted = Arrays.copyOf(samples, (int) Math.min(executions, SAMPLES));
+            Arrays.sort(sorted);
+            return new OperationStatistics(planId, nodeTemplateId, operationName, executions, max,
+                executions == 0 ? 0 : total / (double) executions,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99));
+        }
+
+        private static long percentile(final long[] sorted, final int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            // nearest rank
+            final int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.opentosca.container.core.service;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.model.csar.CsarId;
+
+/**
+ * Provides the content of artifacts referenced by URLs of the content API of an OpenTOSCA Container, see {@link
+ * Settings#OPENTOSCA_CONTAINER_CONTENT_API}, as local files.
+ */
+@NonNullByDefault
+public interface ArtifactContentService {
+
+    /**
+     * Resolves the given reference to the stored file, if it refers to the content of a CSAR stored by this container.
+     *
+     * @return the stored file or <code>null</code> if the reference doesn't refer to a file stored by this container
+     */
+    @Nullable
+    public Path resolveLocal(URL reference);
+
+    /**
+     * Provides the content of the given reference of an artifact of the given CSAR as local file. References to files
+     * stored by this container are resolved to these files, all other references are downloaded into a
+     * content-addressed cache. Downloads are revalidated with the ETag or Last-Modified header of their response on
+     * later requests and only downloaded again if the content changed or the server provides neither header.
+     *
+     * @return the file with the content of the reference, which must neither be modified nor deleted. A downloaded file
+     * is deleted once it is evicted from the cache or the artifacts of the CSAR are removed.
+     * @throws IOException if the content can't be downloaded
+     */
+    public Path getArtifact(CsarId csar, URL reference) throws IOException;
+
+    /**
+     * Removes the downloaded artifacts of the given CSAR from the cache, e.g. because the CSAR is deleted. Their files
+     * are deleted unless they are still used by the artifacts of other CSARs.
+     */
+    public void removeArtifacts(CsarId csar);
+}
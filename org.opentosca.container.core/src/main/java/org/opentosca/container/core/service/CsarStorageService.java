@@ -1,6 +1,7 @@
 package org.opentosca.container.core.service;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -40,6 +41,14 @@ public interface CsarStorageService {
      */
     public Path storeCSARTemporarily(final String filename, final InputStream is);
 
+    /**
+     * Deletes a CSAR that has been stored with {@link #storeCSARTemporarily(String, InputStream)}, including everything
+     * else that was staged with it. Must be called once the temporary file is not needed anymore.
+     *
+     * @param temporaryLocation The Path returned by {@link #storeCSARTemporarily(String, InputStream)}.
+     */
+    public void deleteTemporaryCSAR(final Path temporaryLocation);
+
     /**
      * <p>
      * Stores the given CSAR-File permanently.
@@ -98,4 +107,15 @@ public interface CsarStorageService {
      * @throws SystemException if an error occurred during retrieving files of CSAR or compression.
      */
     Path exportCSAR(CsarId csarId) throws UserException, SystemException;
+
+    /**
+     * Exports a stored CSAR {@code csarID} directly to the given stream, e.g. the body of a HTTP response, without
+     * creating a temporary file. The stream is not closed.
+     *
+     * @param csarID of CSAR
+     * @param out    the stream the CSAR file is written to
+     * @throws NoSuchElementException if CSAR {@code csarID} was not found.
+     * @throws SystemException        if an error occurred during retrieving files of CSAR or compression.
+     */
+    void exportCSAR(CsarId csarId, OutputStream out) throws SystemException;
 }
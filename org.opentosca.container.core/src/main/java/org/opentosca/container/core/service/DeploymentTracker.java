@@ -1,6 +1,7 @@
 package org.opentosca.container.core.service;
 
 import java.util.Collection;
+import java.util.Map;
 
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.model.deployment.ia.IADeploymentInfo;
@@ -27,6 +28,13 @@ public interface DeploymentTracker {
      */
     public DeploymentProcessState getDeploymentState(CsarId csar);
 
+    /**
+     * Retrieve the current deployment process states of all Csars at once.
+     *
+     * @return The deployment states by Csar, Csars without deployment state are omitted
+     */
+    public Map<CsarId, DeploymentProcessState> getDeploymentStates();
+
     /**
      * Stores the given information about the encapsulated implementation artifact into the database. Previous
      * deploymentInfo will be overwritten!
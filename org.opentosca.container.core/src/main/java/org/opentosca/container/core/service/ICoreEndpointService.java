@@ -2,6 +2,7 @@ package org.opentosca.container.core.service;
 
 import java.net.URI;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.xml.namespace.QName;
 
@@ -126,6 +127,11 @@ public interface ICoreEndpointService {
      */
     public boolean removeWSDLEndpoint(WSDLEndpoint endpoint);
 
+    /**
+     * Registers a listener that is notified with the URI of every WSDL endpoint removed through this service.
+     */
+    public void addWSDLEndpointRemovalListener(Consumer<URI> listener);
+
     /**
      * Debug print of plan endpoints.
      */
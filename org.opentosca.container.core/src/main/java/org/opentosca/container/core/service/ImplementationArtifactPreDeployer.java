@@ -0,0 +1,30 @@
+package org.opentosca.container.core.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.model.csar.CsarId;
+
+/**
+ * Deploys the implementation artifacts of a CSAR before their operations are invoked for the first time, so the first
+ * instantiation of a service template doesn't have to wait for them. See {@link Settings#IA_PREDEPLOYMENT}.
+ */
+@NonNullByDefault
+public interface ImplementationArtifactPreDeployer {
+
+    /**
+     * Starts the deployment of all implementation artifacts of the node type implementations of the given CSAR which
+     * can be shared by all its service template instances. The progress of each artifact is tracked by the {@link
+     * DeploymentTracker}.
+     *
+     * @return a future completed when all artifacts were processed, whether their deployment succeeded or not
+     */
+    public CompletableFuture<Void> preDeploy(CsarId csar);
+
+    /**
+     * Undeploys the implementation artifacts of the given CSAR that were deployed ahead of time, as their endpoints
+     * aren't removed with the service template instances.
+     */
+    public void undeploy(CsarId csar);
+}
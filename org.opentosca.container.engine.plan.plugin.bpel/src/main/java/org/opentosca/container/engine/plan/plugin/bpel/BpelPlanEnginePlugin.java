@@ -1,9 +1,7 @@
 package org.opentosca.container.engine.plan.plugin.bpel;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URI;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -11,7 +9,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.wsdl.WSDLException;
@@ -30,7 +27,6 @@ import org.opentosca.container.core.common.NotFoundException;
 import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.common.SystemException;
 import org.opentosca.container.core.engine.ToscaEngine;
-import org.opentosca.container.core.impl.service.FileSystem;
 import org.opentosca.container.core.model.AbstractArtifact;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.model.csar.CsarId;
@@ -41,6 +37,7 @@ import org.opentosca.container.core.service.ICoreEndpointService;
 import org.opentosca.container.engine.plan.plugin.IPlanEnginePlanRefPluginService;
 import org.opentosca.container.engine.plan.plugin.bpel.util.BPELRESTLightUpdater;
 import org.opentosca.container.engine.plan.plugin.bpel.util.ODEEndpointUpdater;
+import org.opentosca.container.engine.plan.plugin.bpel.util.PlanArchive;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -55,7 +52,8 @@ import org.xml.sax.SAXException;
  * The class is the highlevel control of the plugin. It uses the classes {@link BPELRESTLightUpdater} to update
  * BPEL4RESTLight (see: OpenTOSCA/trunk/examples/org.opentosca.bpel4restlight.bpelextension) extension activities with
  * up-to-date endpoints. The plugin also uses {@link ODEEndpointUpdater} to update the bindings inside the used WSDL
- * Descriptions referenced in the BPEL process.
+ * Descriptions referenced in the BPEL process. Both update the plan inside a {@link PlanArchive} held in memory, so
+ * plans are deployed without being extracted to and packaged on disk.
  * <p>
  * The endpoints for the update are retrieved through a service that implements the {@link ICoreEndpointService}
  * interface.
@@ -90,6 +88,8 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
 
     private final ICoreEndpointService endpointService;
     private final CsarStorageService storage;
+    // shares the pooled management clients of the engine between all deployments
+    private final OdeConnector connector = new OdeConnector();
 
     @Inject
     public BpelPlanEnginePlugin(ICoreEndpointService endpointService, CsarStorageService storage) {
@@ -124,21 +124,19 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
     }
 
     public boolean deployPlanFile(final Path planLocation, final CsarId csarId, final QName planId, Map<String, String> endpointMetadata) {
-        final List<File> planContents;
-        Path tempDir = null;
+        final PlanArchive planContents;
         try {
-            // creating temporary dir for update
-            tempDir = FileSystem.getTemporaryFolder();
-            LOG.debug("Unzipping Plan '{}' to '{}'.", planLocation.getFileName().toString(), tempDir.toAbsolutePath().toString());
-            planContents = FileSystem.unzip(planLocation, tempDir).parallelStream()
-                .map(Path::toFile)
-                .collect(Collectors.toList());
+            LOG.debug("Reading Plan '{}'.", planLocation.getFileName().toString());
+            planContents = PlanArchive.read(planLocation);
         } catch (IOException e) {
-            LOG.warn("Could not unzip plan from {} to {} due to an exception", planLocation.toString(), tempDir, e);
+            LOG.warn("Could not read plan from {} due to an exception", planLocation.toString(), e);
             return false;
         }
 
-        Path tempPlan = tempDir.resolve(planLocation.getFileName());
+        final String planFileName = planLocation.getFileName().toString();
+        final String packageName = planFileName.endsWith(".zip")
+            ? planFileName.substring(0, planFileName.length() - ".zip".length())
+            : planFileName;
         // changing endpoints in WSDLs
         ODEEndpointUpdater odeUpdater;
         // variable for the (inbound) portType of the process, if this is null
@@ -176,27 +174,26 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
         // package process
         LOG.info("Prepare deployment of PlanModelReference");
 
+        final byte[] planPackage;
         try {
-            Files.createFile(tempPlan);
             // package the updated files
-            LOG.debug("Packaging plan to {} ", tempPlan.toAbsolutePath().toString());
-            FileSystem.zip(tempPlan, tempDir);
+            LOG.debug("Packaging plan {} ", planFileName);
+            planPackage = planContents.toZip();
         } catch (final IOException e) {
-            LOG.error("Can't package temporary plan for deployment", e);
+            LOG.error("Can't package plan for deployment", e);
             return false;
         }
 
         // deploy process
-        LOG.info("Deploying Plan: {}", tempPlan.getFileName().toString());
+        LOG.info("Deploying Plan: {}", planFileName);
         String processId = "";
         Map<String, URI> endpoints = Collections.emptyMap();
         try {
             if (processEngine.equalsIgnoreCase(BPS_ENGINE)) {
                 LOG.error("BPS ENGINE IS NO LONGER SUPPORTED!!");
             } else {
-                final OdeConnector connector = new OdeConnector();
-                processId = connector.deploy(tempPlan.toFile(), url);
-                endpoints = connector.getEndpointsForPID(processId, url);
+                processId = this.connector.deploy(packageName, planPackage, url);
+                endpoints = this.connector.getEndpointsForPID(processId, url);
             }
         } catch (final Exception e) {
             e.printStackTrace();
@@ -237,7 +234,7 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
             return false;
         }
         LOG.debug("Endpoint for ProcessID \"" + processId + "\" is \"" + endpoints + "\".");
-        LOG.info("Deployment of Plan was successfull: {}", tempPlan.getFileName().toString());
+        LOG.info("Deployment of Plan was successfull: {}", planFileName);
 
         // save endpoint
         final String localContainer = Settings.OPENTOSCA_CONTAINER_HOSTNAME;
@@ -284,8 +281,7 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
         if (processEngine.equalsIgnoreCase(BPS_ENGINE)) {
             LOG.error("BPS Engine is no longer supported");
         } else {
-            final OdeConnector connector = new OdeConnector();
-            wasUndeployed = connector.undeploy(planLocation.toFile(), url);
+            wasUndeployed = this.connector.undeploy(planLocation.toFile(), url);
         }
 
         // remove endpoint from core
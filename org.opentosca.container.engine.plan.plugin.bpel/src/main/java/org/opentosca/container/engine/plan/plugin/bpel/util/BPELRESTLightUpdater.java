@@ -1,6 +1,6 @@
 package org.opentosca.container.engine.plan.plugin.bpel.util;
 
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -25,6 +25,7 @@ import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.model.endpoint.rest.RESTEndpoint;
@@ -91,23 +92,24 @@ public class BPELRESTLightUpdater {
      * services contained in the endpoint service and change them accordingly
      * </p>
      *
-     * @param processFiles a list of files containing the complete content of a Apache ODE WS-BPEL 2.0 zip file
-     * @param csarId       a identifier of the CSAR this BPEL file belongs to
+     * @param processArchive the complete content of a Apache ODE WS-BPEL 2.0 zip file, the BPEL file is replaced
+     *                       inside of it
+     * @param csarId         a identifier of the CSAR this BPEL file belongs to
      * @return true only if some change was made
      * @throws IOException  is thrown when access of BPEL file failed
      * @throws SAXException is thrown when parsing of BPEL file failed
      */
-    public boolean changeEndpoints(final List<File> processFiles, final CsarId csarId) throws IOException,
+    public boolean changeEndpoints(final PlanArchive processArchive, final CsarId csarId) throws IOException,
         SAXException {
-        final File bpelFile = getBPELFile(processFiles);
+        final String bpelFile = getBPELFile(processArchive);
 
         if (bpelFile == null) {
             LOG.debug("No bpel file found");
             return false;
         }
 
-        LOG.debug("Parsing bpel file {} ", bpelFile.getAbsoluteFile());
-        final Document document = this.builder.parse(bpelFile);
+        LOG.debug("Parsing bpel file {} ", bpelFile);
+        final Document document = this.builder.parse(processArchive.openEntry(bpelFile));
 
         // get the elements
         final List<BPELRESTLightElement> elements = getAllBPELRESTLightElements(document);
@@ -123,10 +125,11 @@ public class BPELRESTLightUpdater {
 
         if (notChanged.isEmpty()) {
             final DOMSource source = new DOMSource(document);
-            final StreamResult result = new StreamResult(bpelFile);
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
             boolean wroteFile = false;
             try {
-                this.transformer.transform(source, result);
+                this.transformer.transform(source, new StreamResult(content));
+                processArchive.setEntry(bpelFile, content.toByteArray());
                 wroteFile = true;
             } catch (final TransformerException e) {
                 wroteFile = false;
@@ -302,20 +305,14 @@ public class BPELRESTLightUpdater {
     }
 
     /**
-     * Looks for the first BPEL file it finds in the given list
+     * Looks for the first BPEL file it finds in the given archive
      *
-     * @param files a list of files
-     * @return file which ends with .bpel, else null
+     * @param processArchive a process archive
+     * @return path of the file which ends with .bpel, else null
      */
-    private File getBPELFile(final List<File> files) {
-        for (final File file : files) {
-            final int pos = file.getName().lastIndexOf('.');
-            if (pos > 0 && pos < file.getName().length() - 1) {
-                if (file.getName().substring(pos + 1).equals("bpel")) {
-                    return file;
-                }
-            }
-        }
-        return null;
+    @Nullable
+    private String getBPELFile(final PlanArchive processArchive) {
+        final List<String> bpelFiles = processArchive.findEntriesByExtension("bpel");
+        return bpelFiles.isEmpty() ? null : bpelFiles.get(0);
     }
 }
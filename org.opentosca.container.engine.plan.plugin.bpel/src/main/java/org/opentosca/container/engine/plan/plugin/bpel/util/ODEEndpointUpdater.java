@@ -1,15 +1,15 @@
 package org.opentosca.container.engine.plan.plugin.bpel.util;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.wsdl.Definition;
 import javax.wsdl.Port;
@@ -32,6 +32,7 @@ import com.ibm.wsdl.extensions.soap.SOAPConstants;
 import org.apache.ode.schemas.dd._2007._03.TDeployment;
 import org.apache.ode.schemas.dd._2007._03.TInvoke;
 import org.apache.ode.schemas.dd._2007._03.TProvide;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
@@ -46,9 +47,9 @@ import org.slf4j.LoggerFactory;
  * deloy.xml file.
  * </p>
  * <p>
- * The update is done on a list of files which must include one deploy.xml file (schema:
+ * The update is done on a process archive which must include one deploy.xml file (schema:
  * http://svn.apache.org/viewvc/ode/trunk/bpel-schemas/src/main/xsd/) and wsdl files which are referenced inside the
- * deploy.xml.
+ * deploy.xml. Each wsdl file is parsed once per update and only written back to the archive if it was changed.
  * </p>
  * <p>
  * This class uses the ICoreEndpointService to get the up-to-date endpoints from the openTOSCA Core
@@ -74,6 +75,11 @@ public class ODEEndpointUpdater {
     // @hahnml: The type of plan engine used (BPS or ODE)
     private String engineType;
 
+    // the archive currently updated, its parsed wsdl files and the ones that were changed
+    private PlanArchive archive;
+    private final Map<String, Definition> definitions = new HashMap<>();
+    private final Set<String> changedDefinitions = new HashSet<>();
+
     // private static IToscaEngineService toscaEngineService = null;
 
     /**
@@ -91,16 +97,19 @@ public class ODEEndpointUpdater {
     /**
      * Changes the endpoints of all WSDL files used by the given WS-BPEL 2.0 Process
      *
-     * @param processFiles a list of files containing the complete content of a Apache ODE WS-BPEL 2.0 zip file
-     * @param csarId       the identifier of the CSAR where this process/plan is declared
+     * @param processArchive the complete content of a Apache ODE WS-BPEL 2.0 zip file
+     * @param csarId         the identifier of the CSAR where this process/plan is declared
      * @return true if every WSDL file used by the process was updated (if needed) with endpoints from the openTOSCA
      * Core, else false
      */
-    public boolean changeEndpoints(final List<File> processFiles, final CsarId csarId) {
+    public boolean changeEndpoints(final PlanArchive processArchive, final CsarId csarId) {
         this.csarId = csarId;
+        this.archive = processArchive;
+        this.definitions.clear();
+        this.changedDefinitions.clear();
 
-        final Map<QName, List<File>> unchangedFiles = new HashMap<>();
-        final File deployXml = getDeployXML(processFiles);
+        final Map<QName, List<String>> unchangedFiles = new HashMap<>();
+        final String deployXml = getDeployXML(processArchive);
 
         if (deployXml == null) {
             LOG.error("Given BPEL Plan has no deploy.xml file! Can't change addresses!");
@@ -116,8 +125,8 @@ public class ODEEndpointUpdater {
                 for (final QName portType : portsInDeployXml) {
                     LOG.debug("Proceeding to update address for portType: {}", portType);
                 }
-                final Map<QName, List<File>> changeMap =
-                    getWSDLtoChange(portsInDeployXml, getAllWSDLFiles(processFiles));
+                final Map<QName, List<String>> changeMap =
+                    getWSDLtoChange(portsInDeployXml, getAllWSDLFiles(processArchive));
                 unchangedFiles.putAll(this.updateInvokedWSDLAddresses(changeMap));
             } else {
                 LOG.debug("No PortTypes to change were found: No portType in plan is referenced in ServiceTemplate");
@@ -132,7 +141,7 @@ public class ODEEndpointUpdater {
         try {
             final List<QName> portsInDeployXml = getProvidedDeployXMLPorts(deployXml);
 
-            final Map<QName, List<File>> changeMap = getWSDLtoChange(portsInDeployXml, getAllWSDLFiles(processFiles));
+            final Map<QName, List<String>> changeMap = getWSDLtoChange(portsInDeployXml, getAllWSDLFiles(processArchive));
             unchangedFiles.putAll(this.updateProvidedWSDLAddresses(changeMap));
         } catch (final JAXBException e) {
             e.printStackTrace();
@@ -142,11 +151,25 @@ public class ODEEndpointUpdater {
 
         for (final QName portType : unchangedFiles.keySet()) {
             LOG.warn("Following files weren't changed for PortType {}", portType.toString());
-            for (final File file : unchangedFiles.get(portType)) {
+            for (final String file : unchangedFiles.get(portType)) {
                 LOG.warn("WSDL file {} which contained portType {} and couldn't be updated",
-                    file.toPath().toString(), portType.toString());
+                    file, portType.toString());
+            }
+        }
+
+        // write back the changed wsdl files
+        for (final String wsdlFile : this.changedDefinitions) {
+            try {
+                final ByteArrayOutputStream content = new ByteArrayOutputStream();
+                this.factory.newWSDLWriter().writeWSDL(this.definitions.get(wsdlFile), content);
+                processArchive.setEntry(wsdlFile, content.toByteArray());
+            } catch (final WSDLException e) {
+                LOG.error("Couldn't write updated wsdl file {}", wsdlFile, e);
             }
         }
+        this.definitions.clear();
+        this.changedDefinitions.clear();
+        this.archive = null;
 
         // as of recent events, when some address couldn't be changed we return
         // true, even if nothing was changed
@@ -154,37 +177,42 @@ public class ODEEndpointUpdater {
     }
 
     /**
-     * Returns a file named deploy.xml,if it is in the list of files
+     * Returns the entry named deploy.xml, if it is in the given archive
      *
-     * @param files a list of files
-     * @return a file object of a deploy.xml (can be invalid) file if it was found in the given list, else null
+     * @param processArchive a process archive
+     * @return the path of a deploy.xml (can be invalid) file if it was found in the given archive, else null
      */
-    private File getDeployXML(final List<File> files) {
-        for (final File file : files) {
-            if (file.getName().equals("deploy.xml")) {
-                LOG.debug("Found deploy.xml file");
-                return file;
-            }
+    @Nullable
+    private String getDeployXML(final PlanArchive processArchive) {
+        final String deployXml = processArchive.findEntry("deploy.xml");
+        if (deployXml != null) {
+            LOG.debug("Found deploy.xml file");
+        } else {
+            LOG.debug("Didn't find deploy.xml file");
         }
-        LOG.debug("Didn't find deploy.xml file");
-        return null;
+        return deployXml;
+    }
+
+    private TDeployment readDeployXML(final PlanArchive processArchive, final String deployXML) throws JAXBException {
+        final JAXBContext context =
+            JAXBContext.newInstance("org.apache.ode.schemas.dd._2007._03", this.getClass().getClassLoader());
+        final Unmarshaller unmarshaller = context.createUnmarshaller();
+        return unmarshaller.unmarshal(new StreamSource(processArchive.openEntry(deployXML)), TDeployment.class)
+            .getValue();
     }
 
     /**
      * Returns a list of QName's which are referenced in the ODE deploy.xml File as invoked service.<br>
      *
-     * @param deployXML a file object of a valid deploy.xml File
+     * @param deployXML the path of a valid deploy.xml File
      * @return a list of QNames which represent the PortTypes used by the BPEL process to invoke operations
      * @throws JAXBException if the JAXB parser couldn't work properly
      */
-    private List<QName> getInvokedDeployXMLPorts(final File deployXML) throws JAXBException {
+    private List<QName> getInvokedDeployXMLPorts(final String deployXML) throws JAXBException {
         // http://svn.apache.org/viewvc/ode/trunk/bpel-schemas/src/main/xsd/
         // grabbed that and using jaxb
         final List<QName> qnames = new LinkedList<>();
-        final JAXBContext context =
-            JAXBContext.newInstance("org.apache.ode.schemas.dd._2007._03", this.getClass().getClassLoader());
-        final Unmarshaller unmarshaller = context.createUnmarshaller();
-        final TDeployment deploy = unmarshaller.unmarshal(new StreamSource(deployXML), TDeployment.class).getValue();
+        final TDeployment deploy = readDeployXML(this.archive, deployXML);
         for (final org.apache.ode.schemas.dd._2007._03.TDeployment.Process process : deploy.getProcess()) {
             for (final TInvoke invoke : process.getInvoke()) {
                 final QName serviceName = invoke.getService().getName();
@@ -200,16 +228,13 @@ public class ODEEndpointUpdater {
     /**
      * Returns a List of Services referenced in the provide elements of the given deploy.xml file
      *
-     * @param deployXML a Apache ODE deploy.xml file
+     * @param deployXML the path of a Apache ODE deploy.xml file
      * @return a List of QNames denoting services
      * @throws JAXBException is thrown when the given file can't be parsed
      */
-    private List<QName> getProvidedDeployXMLPorts(final File deployXML) throws JAXBException {
+    private List<QName> getProvidedDeployXMLPorts(final String deployXML) throws JAXBException {
         final List<QName> ports = new ArrayList<>();
-        final JAXBContext context =
-            JAXBContext.newInstance("org.apache.ode.schemas.dd._2007._03", this.getClass().getClassLoader());
-        final Unmarshaller unmarshaller = context.createUnmarshaller();
-        final TDeployment deploy = unmarshaller.unmarshal(new StreamSource(deployXML), TDeployment.class).getValue();
+        final TDeployment deploy = readDeployXML(this.archive, deployXML);
         for (final org.apache.ode.schemas.dd._2007._03.TDeployment.Process process : deploy.getProcess()) {
             for (final TProvide provide : process.getProvide()) {
                 final QName serviceName = provide.getService().getName();
@@ -235,34 +260,29 @@ public class ODEEndpointUpdater {
     }
 
     /**
-     * Returns all WSDL files of the given List
+     * Returns all WSDL files of the given archive, including the ones in directories
      *
-     * @param files a list of files
-     * @return a list of WSDL files if there are any
+     * @param processArchive a process archive
+     * @return a list of the paths of the WSDL files if there are any
      */
-    private List<File> getAllWSDLFiles(final List<File> files) {
-        final List<File> tempFiles = new LinkedList<>();
-        for (final File file : files) {
-            if (file.isDirectory()) {
-                // recursive call to allow searching in directories
-                LOG.debug("Found directory inside bpel archive: {}", file.getAbsolutePath());
-                final File[] subFiles = file.listFiles();
-                // this is just here to transform the array to a list
-                final List<File> temp = new LinkedList<>();
-                for (final File subFile : subFiles) {
-                    temp.add(subFile);
-                }
-                tempFiles.addAll(getAllWSDLFiles(temp));
-            }
-            final int pos = file.getName().lastIndexOf('.');
-            if (pos > 0 && pos < file.getName().length() - 1) {
-                if (file.getName().substring(pos + 1).equals("wsdl")) {
-                    LOG.debug("Adding .wsdl file {} ", file.getName());
-                    tempFiles.add(file);
-                }
-            }
+    private List<String> getAllWSDLFiles(final PlanArchive processArchive) {
+        final List<String> wsdlFiles = processArchive.findEntriesByExtension("wsdl");
+        for (final String wsdlFile : wsdlFiles) {
+            LOG.debug("Adding .wsdl file {} ", wsdlFile);
+        }
+        return wsdlFiles;
+    }
+
+    /**
+     * Returns the parsed WSDL Definition of the given file, each file is parsed only once per update
+     */
+    private Definition getWsdlDefinition(final String wsdlFile) throws WSDLException {
+        Definition wsdlDef = this.definitions.get(wsdlFile);
+        if (wsdlDef == null) {
+            wsdlDef = getWsdlReader().readWSDL(this.archive.getWsdlLocator(wsdlFile));
+            this.definitions.put(wsdlFile, wsdlDef);
         }
-        return tempFiles;
+        return wsdlDef;
     }
 
     /**
@@ -270,21 +290,21 @@ public class ODEEndpointUpdater {
      * of portTypes and the files from the other given List
      *
      * @param ports     a list of portType QName's
-     * @param wsdlFiles a list of wsdl Files
-     * @return a Map<QName, List<File>> containing information which porttype is in which wsdl file
+     * @param wsdlFiles a list of wsdl file paths
+     * @return a Map<QName, List<String>> containing information which porttype is in which wsdl file
      */
-    private Map<QName, List<File>> getWSDLtoChange(final List<QName> ports,
-                                                   final List<File> wsdlFiles) throws WSDLException {
-        final Map<QName, List<File>> portTypeToFileMap = new HashMap<>();
+    private Map<QName, List<String>> getWSDLtoChange(final List<QName> ports,
+                                                     final List<String> wsdlFiles) throws WSDLException {
+        final Map<QName, List<String>> portTypeToFileMap = new HashMap<>();
         // we check if we have any porttypes which isn't in the endpoint db
         for (final QName port : ports) {
             LOG.debug("Searching through wsdls for porttype: {}", port.toString());
-            final List<File> filesContainingPortType = new LinkedList<>();
+            final List<String> filesContainingPortType = new LinkedList<>();
             QName portType = null;
-            for (final File wsdlFile : wsdlFiles) {
+            for (final String wsdlFile : wsdlFiles) {
                 LOG.debug("Checking if wsdl file {} contains portType {}",
-                    wsdlFile.getAbsolutePath(), port.toString());
-                final Definition wsdlDef = getWsdlReader().readWSDL(wsdlFile.getAbsolutePath());
+                    wsdlFile, port.toString());
+                final Definition wsdlDef = getWsdlDefinition(wsdlFile);
                 // check if port is in wsdl file
                 if (!checkIfPortIsInWsdlDef(port, wsdlDef)) {
                     continue;
@@ -364,12 +384,12 @@ public class ODEEndpointUpdater {
         return false;
     }
 
-    private Map<QName, List<File>> updateProvidedWSDLAddresses(final Map<QName, List<File>> changeMap) throws WSDLException {
-        final Map<QName, List<File>> notChanged = new HashMap<>();
+    private Map<QName, List<String>> updateProvidedWSDLAddresses(final Map<QName, List<String>> changeMap) throws WSDLException {
+        final Map<QName, List<String>> notChanged = new HashMap<>();
         for (final QName portType : changeMap.keySet()) {
-            final List<File> notUpdateWSDLs = new ArrayList<>();
+            final List<String> notUpdateWSDLs = new ArrayList<>();
 
-            for (final File wsdlFile : changeMap.get(portType)) {
+            for (final String wsdlFile : changeMap.get(portType)) {
                 if (!this.updateProvidedWSDLAddresses(portType, wsdlFile)) {
                     notUpdateWSDLs.add(wsdlFile);
                 }
@@ -384,18 +404,18 @@ public class ODEEndpointUpdater {
     /**
      * Updates the addresses in the given WSDL files by using endpoints added in the endpoint db
      *
-     * @param map a map containing <QName,List<File>> pairs. A QName here represents a portType that is inside the
+     * @param map a map containing <QName,List<String>> pairs. A QName here represents a portType that is inside the
      *            files
-     * @return returns a map <QName,List<File>> containing all the files which weren't changed
+     * @return returns a map <QName,List<String>> containing all the files which weren't changed
      */
-    private Map<QName, List<File>> updateInvokedWSDLAddresses(final Map<QName, List<File>> map) throws WSDLException {
-        final Map<QName, List<File>> notChanged = new HashMap<>();
+    private Map<QName, List<String>> updateInvokedWSDLAddresses(final Map<QName, List<String>> map) throws WSDLException {
+        final Map<QName, List<String>> notChanged = new HashMap<>();
         for (final QName portType : map.keySet()) {
-            final List<File> notUpdatedWSDLs = new LinkedList<>();
+            final List<String> notUpdatedWSDLs = new LinkedList<>();
             // update wsdl files associated with the given porttype
-            for (final File wsdlFile : map.get(portType)) {
+            for (final String wsdlFile : map.get(portType)) {
                 if (!this.updateInvokedWSDLAddresses(portType, wsdlFile)) {
-                    LOG.error("Unable to update '{}' for porttype '{}'.", wsdlFile.toString(),
+                    LOG.error("Unable to update '{}' for porttype '{}'.", wsdlFile,
                         portType.toString());
                     notUpdatedWSDLs.add(wsdlFile);
                 }
@@ -409,9 +429,9 @@ public class ODEEndpointUpdater {
         return notChanged;
     }
 
-    private boolean updateProvidedWSDLAddresses(final QName portType, final File wsdlFile) throws WSDLException {
+    private boolean updateProvidedWSDLAddresses(final QName portType, final String wsdlFile) throws WSDLException {
         boolean changed = false;
-        final Definition wsdlDef = getWsdlReader().readWSDL(wsdlFile.getAbsolutePath());
+        final Definition wsdlDef = getWsdlDefinition(wsdlFile);
         for (final Object o : wsdlDef.getAllServices().values()) {
             final Service service = (Service) o;
             for (final Object obj : service.getPorts().values()) {
@@ -423,14 +443,9 @@ public class ODEEndpointUpdater {
                 }
             }
         }
-        try {
-            // if we changed something, rewrite the the wsdl
-            if (changed) {
-                this.factory.newWSDLWriter().writeWSDL(wsdlDef, new FileOutputStream(wsdlFile));
-            }
-        } catch (final FileNotFoundException e) {
-            LOG.debug("Couldn't locate wsdl file", e);
-            changed = false;
+        // if we changed something, the wsdl is rewritten once all updates are done
+        if (changed) {
+            this.changedDefinitions.add(wsdlFile);
         }
         return changed;
     }
@@ -439,13 +454,13 @@ public class ODEEndpointUpdater {
      * Updates the addresses inside the given WSDL file by using endpoints inside the endpoint db
      *
      * @param portType a QName which represents a PortType
-     * @param wsdl     a File which is from type .wsdl
+     * @param wsdl     the path of a file which is from type .wsdl
      * @throws WSDLException if the WSDL parser couldn't parse
      */
-    private boolean updateInvokedWSDLAddresses(final QName portType, final File wsdl) throws WSDLException {
+    private boolean updateInvokedWSDLAddresses(final QName portType, final String wsdl) throws WSDLException {
         boolean changed = false;
-        LOG.debug("Trying to change WSDL file {} ", wsdl.getName());
-        final Definition wsdlDef = getWsdlReader().readWSDL(wsdl.getAbsolutePath());
+        LOG.debug("Trying to change WSDL file {} ", wsdl);
+        final Definition wsdlDef = getWsdlDefinition(wsdl);
         for (final Object o : wsdlDef.getAllServices().values()) {
             // get the services
             final Service service = (Service) o;
@@ -457,7 +472,7 @@ public class ODEEndpointUpdater {
                     // get the extensible elements out of wsdl and check them
                     // with endpointservice
 
-                    LOG.debug("Found matching porttype for WSDL file {} ", wsdl.getName());
+                    LOG.debug("Found matching porttype for WSDL file {} ", wsdl);
                     if (changePortAddressWithEndpointDB(port)) {
                         // changing -> success
                         changed = true;
@@ -465,14 +480,9 @@ public class ODEEndpointUpdater {
                 }
             }
         }
-        try {
-            // if we changed something, rewrite the the wsdl
-            if (changed) {
-                this.factory.newWSDLWriter().writeWSDL(wsdlDef, new FileOutputStream(wsdl));
-            }
-        } catch (final FileNotFoundException e) {
-            LOG.debug("Couldn't locate wsdl file", e);
-            changed = false;
+        // if we changed something, the wsdl is rewritten once all updates are done
+        if (changed) {
+            this.changedDefinitions.add(wsdl);
         }
         return changed;
     }
@@ -603,17 +613,16 @@ public class ODEEndpointUpdater {
     /**
      * Returns PortType of the bpel process composed of the given files list
      *
-     * @param planContents List of Files which make up the BPEL Process
+     * @param planContents the archive which makes up the BPEL Process
      * @return QName which should be exactly the PortType of the given BPEL Process
      */
-    public QName getPortType(final List<File> planContents) {
+    public QName getPortType(final PlanArchive planContents) {
         try {
-            final File deployXML = getDeployXML(planContents);
-            final JAXBContext context =
-                JAXBContext.newInstance("org.apache.ode.schemas.dd._2007._03", this.getClass().getClassLoader());
-            final Unmarshaller unmarshaller = context.createUnmarshaller();
-            final TDeployment deploy =
-                unmarshaller.unmarshal(new StreamSource(deployXML), TDeployment.class).getValue();
+            final String deployXML = getDeployXML(planContents);
+            if (deployXML == null) {
+                return null;
+            }
+            final TDeployment deploy = readDeployXML(planContents, deployXML);
             for (final TDeployment.Process process : deploy.getProcess()) {
                 return process.getName();
             }
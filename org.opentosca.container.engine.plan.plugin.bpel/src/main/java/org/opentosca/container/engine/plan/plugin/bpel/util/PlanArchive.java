@@ -0,0 +1,175 @@
+package org.opentosca.container.engine.plan.plugin.bpel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import javax.wsdl.xml.WSDLLocator;
+
+import com.google.common.io.ByteStreams;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.xml.sax.InputSource;
+
+/**
+ * The content of an Apache ODE WS-BPEL 2.0 process archive held in memory.
+ * <p>
+ * The endpoint updaters read and replace the entries of the archive, which is then packaged for deployment without
+ * extracting it to disk. Entries are identified by their path inside the archive and kept in their original order.
+ */
+@NonNullByDefault
+public class PlanArchive {
+
+    private final Map<String, byte[]> entries = new LinkedHashMap<>();
+
+    private PlanArchive() {
+    }
+
+    /**
+     * Reads the files contained in the given zip archive
+     *
+     * @param zipFile the process archive
+     * @return the archive with the content of all files, directories are omitted
+     * @throws IOException if the archive can't be read
+     */
+    public static PlanArchive read(final Path zipFile) throws IOException {
+        final PlanArchive archive = new PlanArchive();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(zipFile))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (!entry.isDirectory()) {
+                    archive.entries.put(entry.getName(), ByteStreams.toByteArray(zip));
+                }
+            }
+        }
+        return archive;
+    }
+
+    /**
+     * @return the path of the first entry named <code>fileName</code>, regardless of its directory, or null
+     */
+    @Nullable
+    public String findEntry(final String fileName) {
+        for (final String name : this.entries.keySet()) {
+            if (name.equals(fileName) || name.endsWith("/" + fileName)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the paths of all entries with the given file extension, e.g. "wsdl"
+     */
+    public List<String> findEntriesByExtension(final String extension) {
+        final List<String> names = new ArrayList<>();
+        for (final String name : this.entries.keySet()) {
+            final String fileName = name.substring(name.lastIndexOf('/') + 1);
+            final int pos = fileName.lastIndexOf('.');
+            if (pos > 0 && fileName.substring(pos + 1).equals(extension)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    public InputStream openEntry(final String name) {
+        final byte[] content = this.entries.get(name);
+        if (content == null) {
+            throw new IllegalArgumentException("Process archive has no entry " + name);
+        }
+        return new ByteArrayInputStream(content);
+    }
+
+    /**
+     * Replaces the content of the given entry
+     */
+    public void setEntry(final String name, final byte[] content) {
+        this.entries.put(name, content);
+    }
+
+    /**
+     * Packages the entries into a zip archive
+     *
+     * @return the bytes of the zip archive
+     */
+    public byte[] toZip() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (final Map.Entry<String, byte[]> entry : this.entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns a locator reading the given WSDL entry, which resolves relative imports against the other entries of the
+     * archive.
+     */
+    public WSDLLocator getWsdlLocator(final String name) {
+        return new ArchiveWsdlLocator(name);
+    }
+
+    private class ArchiveWsdlLocator implements WSDLLocator {
+
+        private final String baseName;
+        @Nullable
+        private String latestImport = null;
+
+        ArchiveWsdlLocator(final String baseName) {
+            this.baseName = baseName;
+        }
+
+        @Override
+        public InputSource getBaseInputSource() {
+            return inputSource(this.baseName);
+        }
+
+        @Override
+        public InputSource getImportInputSource(final String parentLocation, final String importLocation) {
+            final URI resolved = URI.create(parentLocation).resolve(importLocation).normalize();
+            this.latestImport = resolved.toString();
+            if (resolved.isAbsolute()) {
+                // not part of the archive, let the parser fetch it
+                return new InputSource(this.latestImport);
+            }
+            return inputSource(this.latestImport);
+        }
+
+        private InputSource inputSource(final String name) {
+            final InputSource source = new InputSource(openEntry(name));
+            source.setSystemId(name);
+            return source;
+        }
+
+        @Override
+        public String getBaseURI() {
+            return this.baseName;
+        }
+
+        @Override
+        @Nullable
+        public String getLatestImportURI() {
+            return this.latestImport;
+        }
+
+        @Override
+        public void close() {
+            // nothing to release, the content is held in memory
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.opentosca.bus.management.service.impl.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.xml.namespace.QName;
+
+import org.junit.After;
+import org.junit.Test;
+import org.opentosca.bus.management.service.impl.ManagementBusServiceImpl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+
+public class IALockRegistryTest {
+
+    private static final String IDENTIFIER = "container/container/{ns}Impl/IA/1";
+    private static final String IA = "{ns}Impl/IA";
+
+    private final IALockRegistry registry = new IALockRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void sharedLocksAreHeldConcurrently() throws Exception {
+        try (IALockRegistry.Handle first = registry.acquireShared(IDENTIFIER, IA)) {
+            final Future<?> second = executor.submit(() -> registry.acquireShared(IDENTIFIER, IA).close());
+            second.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(registry.size(), is(0));
+    }
+
+    @Test
+    public void escalationWaitsForOtherSharedHolders() throws Exception {
+        final IALockRegistry.Handle reader = registry.acquireShared(IDENTIFIER, IA);
+        final Future<?> deployer = executor.submit(() -> {
+            try (IALockRegistry.Handle lock = registry.acquireShared(IDENTIFIER, IA)) {
+                lock.escalate();
+                lock.downgrade();
+            }
+        });
+        assertBlocked(deployer);
+
+        reader.close();
+        deployer.get(5, TimeUnit.SECONDS);
+        assertThat(registry.size(), is(0));
+    }
+
+    @Test
+    public void exclusiveLockBlocksSharedLocksUntilDowngraded() throws Exception {
+        final IALockRegistry.Handle deployer = registry.acquire(IDENTIFIER, IA);
+        final Future<?> invocation = executor.submit(() -> registry.acquireShared(IDENTIFIER, IA).close());
+        assertBlocked(invocation);
+
+        deployer.downgrade();
+        invocation.get(5, TimeUnit.SECONDS);
+        deployer.close();
+        assertThat(registry.size(), is(0));
+    }
+
+    @Test
+    public void handleCanBeClosedByTheThreadCompletingTheInvocation() throws Exception {
+        final IALockRegistry.Handle invocation = registry.acquireShared(IDENTIFIER, IA);
+        executor.submit(invocation::close).get(5, TimeUnit.SECONDS);
+
+        registry.acquire(IDENTIFIER, IA).close();
+        assertThat(registry.size(), is(0));
+    }
+
+    @Test
+    public void waitTimesAreRecordedPerIA() {
+        registry.acquireShared(IDENTIFIER, IA).close();
+        try (IALockRegistry.Handle lock = registry.acquireShared(IDENTIFIER, IA)) {
+            lock.escalate();
+        }
+
+        assertThat(registry.getWaitStatistics(), hasKey(IA));
+        assertThat(registry.getWaitStatistics().get(IA).getAcquisitions(), is(3L));
+    }
+
+    @Test
+    public void preDeploymentAndInvocationOfAnInstanceExcludeEachOther() throws Exception {
+        final QName typeImplementation = QName.valueOf("{ns}Impl");
+        final String deploymentLock =
+            ManagementBusServiceImpl.getUniqueSynchronizationString("container", "container", typeImplementation, "IA");
+        final String instanceLock =
+            ManagementBusServiceImpl.getUniqueSynchronizationString("container", "container", typeImplementation, "IA", "1");
+
+        final IALockRegistry.Handle preDeployment = registry.acquire(deploymentLock, IA);
+        final Future<?> invocation = executor.submit(() -> {
+            // as done by an invocation of the first build plan that finds no endpoint for its instance
+            try (IALockRegistry.Handle lock = registry.acquireShared(instanceLock, IA)) {
+                lock.escalate();
+                registry.acquire(ManagementBusServiceImpl.getUniqueSynchronizationString("container", "container",
+                    typeImplementation, "IA"), IA).close();
+            }
+        });
+        assertBlocked(invocation);
+
+        preDeployment.close();
+        invocation.get(5, TimeUnit.SECONDS);
+        assertThat(registry.size(), is(0));
+    }
+
+    private static void assertBlocked(final Future<?> future) throws Exception {
+        try {
+            future.get(200, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            return;
+        }
+        throw new AssertionError("Lock was acquired although it is held by another thread");
+    }
+}
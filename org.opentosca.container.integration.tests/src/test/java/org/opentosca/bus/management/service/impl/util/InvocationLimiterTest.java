@@ -0,0 +1,115 @@
+package org.opentosca.bus.management.service.impl.util;
+
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class InvocationLimiterTest {
+
+    private static final URI ENDPOINT = URI.create("http://ia-host:8080/services/IA");
+    private static final URI OTHER_ENDPOINT = URI.create("http://other-host:8080/services/IA");
+    private static final String TARGET = "ia-host:8080";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void slotsAreLimitedPerTarget() throws Exception {
+        final InvocationLimiter limiter = new InvocationLimiter(1, 10, 10, TimeUnit.SECONDS.toNanos(5));
+        final InvocationLimiter.Slot first = limiter.acquire(ENDPOINT);
+        final Future<InvocationLimiter.Slot> second = executor.submit(() -> limiter.acquire(ENDPOINT));
+        assertBlocked(second);
+
+        final InvocationLimiter.Slot other = limiter.acquire(OTHER_ENDPOINT);
+        assertThat(other, is(notNullValue()));
+        other.close();
+
+        first.close();
+        assertThat(second.get(5, TimeUnit.SECONDS), is(notNullValue()));
+        assertThat(limiter.getStatistics().get(TARGET).getInvocations(), is(2L));
+    }
+
+    @Test
+    public void invocationIsRejectedIfTooManyInvocationsAreWaiting() throws Exception {
+        final InvocationLimiter limiter = new InvocationLimiter(1, 10, 1, TimeUnit.SECONDS.toNanos(5));
+        final InvocationLimiter.Slot first = limiter.acquire(ENDPOINT);
+        final Future<InvocationLimiter.Slot> waiting = executor.submit(() -> limiter.acquire(ENDPOINT));
+        awaitWaiting(limiter, 1);
+
+        assertThat(limiter.acquire(ENDPOINT), is(nullValue()));
+        assertThat(limiter.getStatistics().get(TARGET).getRejections(), is(1L));
+
+        first.close();
+        assertThat(waiting.get(5, TimeUnit.SECONDS), is(notNullValue()));
+    }
+
+    @Test
+    public void invocationIsRejectedIfNoSlotIsFreedInTime() {
+        final InvocationLimiter limiter = new InvocationLimiter(1, 10, 10, TimeUnit.MILLISECONDS.toNanos(50));
+        try (InvocationLimiter.Slot first = limiter.acquire(ENDPOINT)) {
+            assertThat(limiter.acquire(ENDPOINT), is(nullValue()));
+        }
+        assertThat(limiter.getStatistics().get(TARGET).getRejections(), is(1L));
+        assertThat(limiter.getStatistics().get(TARGET).getActive(), is(0));
+    }
+
+    @Test
+    public void freedSlotIsPassedToTheWaitingInvocation() throws Exception {
+        final InvocationLimiter limiter = new InvocationLimiter(1, 10, 10, TimeUnit.SECONDS.toNanos(1));
+        final InvocationLimiter.Slot first = limiter.acquire(ENDPOINT);
+        final Future<InvocationLimiter.Slot> waiting = executor.submit(() -> limiter.acquire(ENDPOINT));
+        awaitWaiting(limiter, 1);
+        // let the waiting invocation queue up for the slot
+        Thread.sleep(100);
+
+        first.close();
+        // arrives after the waiting invocation, so it must not take the freed slot
+        assertThat(limiter.acquire(ENDPOINT), is(nullValue()));
+        assertThat(waiting.get(5, TimeUnit.SECONDS), is(notNullValue()));
+    }
+
+    @Test
+    public void invocationsWithoutHostAreNotLimited() {
+        final InvocationLimiter limiter = new InvocationLimiter(1, 1, 0, 0);
+        final InvocationLimiter.Slot first = limiter.acquire(URI.create("urn:script:install"));
+        final InvocationLimiter.Slot second = limiter.acquire(null);
+
+        assertThat(first, is(notNullValue()));
+        assertThat(second, is(notNullValue()));
+        assertThat(limiter.getStatistics().isEmpty(), is(true));
+    }
+
+    private static void awaitWaiting(final InvocationLimiter limiter, final int waiting) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getStatistics().get(TARGET).getWaiting() < waiting) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("No invocation is waiting for a slot");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void assertBlocked(final Future<?> future) throws Exception {
+        try {
+            future.get(200, TimeUnit.MILLISECONDS);
+            throw new AssertionError("Expected the slot to be blocked");
+        } catch (final TimeoutException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.opentosca.container.core.next.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+
+import org.junit.Test;
+import org.opentosca.container.core.next.model.NodeTemplateInstance;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class NodeTemplateInstanceIndexTest {
+
+    private static final QName VM_TYPE = QName.valueOf("{http://opentosca.org/nodetypes}VM");
+
+    private final List<Object[]> stored = new ArrayList<>();
+    private final NodeTemplateInstanceIndex index = new NodeTemplateInstanceIndex(consumer -> stored.forEach(row ->
+        consumer.accept((Long) row[0], (QName) row[1], (NodeTemplateInstanceState) row[2], (String) row[3], (String) row[4])));
+
+    @Test
+    public void storedInstancesAreMatchedWithoutState() {
+        store(1L, NodeTemplateInstanceState.STARTED, properties("10.0.0.1", "Running"));
+        store(2L, NodeTemplateInstanceState.CREATED, properties("10.0.0.1", "Running"));
+        store(3L, NodeTemplateInstanceState.STARTED, properties("10.0.0.2", "Running"));
+
+        assertThat(ids(index.findStarted(VM_TYPE, ip("10.0.0.1", "Stopped"))), contains(1L));
+        assertThat(index.findStarted(QName.valueOf("Other"), ip("10.0.0.1", "Running")), is(empty()));
+    }
+
+    @Test
+    public void laterStoredPropertiesReplaceEarlierOnes() {
+        store(1L, NodeTemplateInstanceState.STARTED, properties("10.0.0.1", "Running"));
+        store(1L, NodeTemplateInstanceState.STARTED, properties("10.0.0.2", "Running"));
+
+        assertThat(index.findStarted(VM_TYPE, ip("10.0.0.1", null)), is(empty()));
+        assertThat(ids(index.findStarted(VM_TYPE, ip("10.0.0.2", null))), contains(1L));
+    }
+
+    @Test
+    public void instanceChangedBeforeLoadingKeepsStoredProperties() {
+        store(1L, NodeTemplateInstanceState.CREATED, properties("10.0.0.1", "Running"));
+        index.instanceChanged(instance(1L, NodeTemplateInstanceState.STARTED));
+
+        assertThat(ids(index.findStarted(VM_TYPE, ip("10.0.0.1", null))), contains(1L));
+    }
+
+    @Test
+    public void propertiesChangedBeforeLoadingReplaceStoredOnes() {
+        store(1L, NodeTemplateInstanceState.STARTED, properties("10.0.0.1", "Running"));
+        index.propertiesChanged(instance(1L, NodeTemplateInstanceState.STARTED), properties("10.0.0.2", "Running"));
+
+        assertThat(index.findStarted(VM_TYPE, ip("10.0.0.1", null)), is(empty()));
+        assertThat(ids(index.findStarted(VM_TYPE, ip("10.0.0.2", null))), contains(1L));
+    }
+
+    @Test
+    public void changesAfterLoadingAreApplied() {
+        store(1L, NodeTemplateInstanceState.STARTED, properties("10.0.0.1", "Running"));
+        assertThat(ids(index.findStarted(VM_TYPE, ip("10.0.0.1", null))), contains(1L));
+
+        index.instanceChanged(instance(1L, NodeTemplateInstanceState.STOPPED));
+        assertThat(index.findStarted(VM_TYPE, ip("10.0.0.1", null)), is(empty()));
+
+        index.instanceChanged(instance(1L, NodeTemplateInstanceState.STARTED));
+        index.propertiesChanged(instance(2L, NodeTemplateInstanceState.STARTED), properties("10.0.0.1", "Running"));
+        assertThat(ids(index.findStarted(VM_TYPE, ip("10.0.0.1", null))), contains(1L, 2L));
+
+        index.instanceRemoved(1L);
+        assertThat(ids(index.findStarted(VM_TYPE, ip("10.0.0.1", null))), contains(2L));
+    }
+
+    private void store(final Long id, final NodeTemplateInstanceState state, final String properties) {
+        stored.add(new Object[] {id, VM_TYPE, state, null, properties});
+    }
+
+    private static NodeTemplateInstance instance(final Long id, final NodeTemplateInstanceState state) {
+        final NodeTemplateInstance instance = new NodeTemplateInstance();
+        instance.setId(id);
+        instance.setState(state);
+        instance.setTemplateType(VM_TYPE);
+        return instance;
+    }
+
+    private static String properties(final String ip, final String state) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"
+            + "<Properties xmlns=\"http://opentosca.org/nodetypes/properties\">"
+            + "<IP>" + ip + "</IP><State>" + state + "</State></Properties>";
+    }
+
+    private static Map<String, String> ip(final String ip, final String state) {
+        final Map<String, String> properties = new HashMap<>(Collections.singletonMap("IP", ip));
+        if (state != null) {
+            properties.put("State", state);
+        }
+        return properties;
+    }
+
+    private static List<Long> ids(final List<NodeTemplateInstanceIndex.Match> matches) {
+        return matches.stream().map(NodeTemplateInstanceIndex.Match::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,79 @@
+package org.opentosca.container.core.next.trigger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import org.opentosca.container.core.next.model.SituationTrigger;
+import org.opentosca.container.core.next.model.SituationTriggerInstance;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+public class SituationTriggerExecutorTest {
+
+    @Test
+    public void statisticsReportQueuedRejectedAndFinishedTriggers() throws Exception {
+        // one thread and one queued trigger, the awaited plans are never checked
+        final SituationTriggerExecutor executor = new SituationTriggerExecutor(1, 1, TimeUnit.HOURS.toSeconds(1), 60);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Supplier<CompletionStage<?>> blocking = () -> {
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture(null);
+        };
+
+        assertThat(executor.submit(instance(1L), blocking), is(true));
+        awaitActive(executor);
+        assertThat(executor.submit(instance(2L), blocking), is(true));
+        assertThat(executor.submit(instance(3L), blocking), is(false));
+
+        assertThat(executor.getQueueDepth(), is(1));
+        assertThat(executor.getSubmitted(), is(2L));
+        assertThat(executor.getRejected(), is(1L));
+
+        Thread.sleep(50);
+        release.countDown();
+        awaitCompleted(executor, 2);
+
+        assertThat(executor.getQueueDepth(), is(0));
+        assertThat(executor.getRejected(), is(1L));
+        assertThat(executor.getAverageTriggerLatencyMillis(), is(greaterThanOrEqualTo(50L)));
+    }
+
+    private static SituationTriggerInstance instance(final Long id) {
+        final SituationTrigger trigger = new SituationTrigger();
+        trigger.setId(id);
+        final SituationTriggerInstance instance = new SituationTriggerInstance();
+        instance.setId(id);
+        instance.setSituationTrigger(trigger);
+        return instance;
+    }
+
+    private static void awaitActive(final SituationTriggerExecutor executor) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getActiveTriggers() < 1) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("No trigger is running");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitCompleted(final SituationTriggerExecutor executor, final long completed) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getCompleted() < completed) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("The triggers did not finish");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.opentosca.container.core.plan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class CorrelationIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 10000;
+
+    private final CorrelationIdGenerator generator = CorrelationIdGenerator.getInstance();
+
+    @Test
+    public void idsAreUniqueAcrossThreads() throws Exception {
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> generators = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                generators.add(executor.submit(() -> {
+                    for (int j = 0; j < IDS_PER_THREAD; j++) {
+                        ids.add(generator.next());
+                    }
+                }));
+            }
+            for (final Future<?> future : generators) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(ids.size(), is(THREADS * IDS_PER_THREAD));
+    }
+
+    @Test
+    public void idsIncreaseWithinOneMillisecond() {
+        long previous = sequence(generator.next());
+        for (int i = 0; i < 5000; i++) {
+            final long current = sequence(generator.next());
+            assertThat(current, greaterThan(previous));
+            previous = current;
+        }
+    }
+
+    @Test
+    public void idsEndWithTheSameNodeId() {
+        final String first = generator.next();
+        final String second = generator.next();
+        assertThat(first.substring(first.indexOf('-')), is(second.substring(second.indexOf('-'))));
+    }
+
+    private static long sequence(final String correlationId) {
+        return Long.parseLong(correlationId.substring(0, correlationId.indexOf('-')));
+    }
+}